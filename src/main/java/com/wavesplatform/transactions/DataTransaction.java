@@ -4,6 +4,7 @@ import com.wavesplatform.transactions.account.PublicKey;
 import com.wavesplatform.transactions.common.Amount;
 import com.wavesplatform.transactions.common.Proof;
 import com.wavesplatform.transactions.data.DataEntry;
+import com.wavesplatform.transactions.serializers.SizeCalculator;
 
 import java.io.IOException;
 import java.util.*;
@@ -23,7 +24,11 @@ public class DataTransaction extends Transaction {
     }
 
     public DataTransaction(PublicKey sender, List<DataEntry> data, byte chainId, Amount fee, long timestamp, int version, List<Proof> proofs) {
-        super(TYPE, version, chainId, sender, calculateFee(data, fee, version), timestamp, proofs);
+        this(sender, data, chainId, fee, timestamp, version, proofs, false);
+    }
+
+    DataTransaction(PublicKey sender, List<DataEntry> data, byte chainId, Amount fee, long timestamp, int version, List<Proof> proofs, boolean trustedFee) {
+        super(TYPE, version, chainId, sender, trustedFee ? fee : calculateFee(data, fee, version), timestamp, proofs);
 
         this.data = data == null ? Collections.emptyList() : data;
     }
@@ -48,11 +53,13 @@ public class DataTransaction extends Transaction {
         if (fee.value() > 0)
             return fee;
 
-        DataTransaction tempTx = new DataTransaction(PublicKey.ZERO, data,
-                WavesConfig.chainId(), Amount.of(MIN_FEE), System.currentTimeMillis(), version, Proof.emptyList());
-        int payloadSize = tempTx.version() == 1
-                ? tempTx.bodyBytes().length
-                : tempTx.toProtobuf().getWavesTransaction().getDataTransaction().toByteArray().length;
+        int payloadSize;
+        if (version == 1) {
+            DataTransaction tempTx = new DataTransaction(PublicKey.ZERO, data,
+                    WavesConfig.chainId(), Amount.of(MIN_FEE), System.currentTimeMillis(), version, Proof.emptyList());
+            payloadSize = SizeCalculator.bodyBytesSize(tempTx);
+        } else
+            payloadSize = SizeCalculator.protobufDataSize(data == null ? Collections.emptyList() : data);
 
         long payloadFee = MIN_FEE * (1 + (payloadSize - 1) / 1024);
         return Amount.of(payloadFee);
@@ -12,7 +12,9 @@ import com.wavesplatform.transactions.common.Id;
 import com.wavesplatform.transactions.common.Proof;
 import com.wavesplatform.transactions.invocation.Function;
 import com.wavesplatform.transactions.invocation.*;
+import com.wavesplatform.transactions.serializers.Chunks;
 import com.wavesplatform.transactions.serializers.ProtobufConverter;
+import com.wavesplatform.transactions.serializers.eth.EthRawTransaction;
 import org.web3j.abi.TypeEncoder;
 import org.web3j.abi.datatypes.*;
 import org.web3j.abi.datatypes.generated.Bytes32;
@@ -25,10 +27,12 @@ import org.web3j.utils.Numeric;
 import java.io.IOException;
 import java.lang.reflect.Method;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import static com.wavesplatform.transactions.invocation.Function.DEFAULT_NAME;
@@ -45,6 +49,7 @@ public class EthereumTransaction extends Transaction {
     private final BigInteger gasPrice;
     private final Payload payload;
     private final Sign.SignatureData signatureData;
+    private volatile PublicKey sender;
 
     private static Method encodeMethod;
 
@@ -57,19 +62,54 @@ public class EthereumTransaction extends Transaction {
         }
     }
 
+    /**
+     * @param sender sender, or null to recover it from the signature on the first call of {@link #sender()}
+     */
     public EthereumTransaction(byte chainId, long timestamp, BigInteger gasPrice, long fee, Payload payload, Sign.SignatureData signatureData, PublicKey sender) {
-        super(TYPE_TAG, 1, chainId, sender, Amount.of(fee), timestamp, Collections.emptyList());
+        super(TYPE_TAG, 1, chainId, null, Amount.of(fee), timestamp, Collections.emptyList());
         this.gasPrice = gasPrice;
         this.payload = payload;
         this.signatureData = signatureData;
+        this.sender = sender;
     }
 
     public EthereumTransaction(Id id, byte chainId, long timestamp, BigInteger gasPrice, long fee, Payload payload, Sign.SignatureData signatureData, PublicKey sender) {
-        super(TYPE_TAG, 1, chainId, sender, Amount.of(fee), timestamp, Collections.emptyList());
+        this(chainId, timestamp, gasPrice, fee, payload, signatureData, sender);
         this.id = id;
-        this.gasPrice = gasPrice;
-        this.payload = payload;
-        this.signatureData = signatureData;
+    }
+
+    /**
+     * The sender is recovered from the signature once, on the first call. It's safe to call from several threads.
+     *
+     * @return sender public key
+     */
+    @Override
+    public PublicKey sender() {
+        PublicKey recovered = sender;
+        if (recovered == null)
+            sender = recovered = recoverFromSignature(signatureData, chainId(), payload.toRawTransaction(timestamp(), gasPrice, fee().value()));
+        return recovered;
+    }
+
+    /**
+     * Recover senders of the Ethereum transactions in parallel. Other transactions and the ones whose senders
+     * are already known are skipped, e.g. all transactions of a block can be passed.
+     *
+     * @param transactions transactions of any type
+     * @param executor executor of the recovery
+     */
+    public static void recoverSenders(List<? extends Transaction> transactions, Executor executor) {
+        List<EthereumTransaction> pending = new ArrayList<>();
+        for (Transaction tx : transactions)
+            if (tx instanceof EthereumTransaction && ((EthereumTransaction) tx).sender == null)
+                pending.add((EthereumTransaction) tx);
+        if (pending.isEmpty())
+            return;
+
+        Chunks.run(pending.size(), 1, executor, (start, end) -> {
+            for (int i = start; i < end; i++)
+                pending.get(i).sender();
+        });
     }
 
     @Override
@@ -151,6 +191,11 @@ public class EthereumTransaction extends Transaction {
         return encode(payload.toRawTransaction(timestamp(), gasPrice, fee().value()), signatureData);
     }
 
+    @Override
+    public void writeTo(ByteBuffer buffer) {
+        buffer.put(toBytes());
+    }
+
     public static byte[] encode(RawTransaction transaction, Sign.SignatureData signatureData) {
         requireNonNull(encodeMethod, "encode is not available");
         try {
@@ -293,10 +338,7 @@ public class EthereumTransaction extends Transaction {
 
     public static EthereumTransaction transfer(Address recipient, Amount amount,
                                                BigInteger gasPrice, byte chainId, long fee, long timestamp, Sign.SignatureData signatureData) {
-        Payload payload = new Transfer(recipient, amount);
-        PublicKey sender = recoverFromSignature(signatureData, chainId, payload.toRawTransaction(timestamp, gasPrice, fee));
-
-        return new EthereumTransaction(chainId, timestamp, gasPrice, fee, payload, signatureData, sender);
+        return new EthereumTransaction(chainId, timestamp, gasPrice, fee, new Transfer(recipient, amount), signatureData, null);
     }
 
     public static EthereumTransaction transfer(Address recipient, Amount amount,
@@ -306,10 +348,7 @@ public class EthereumTransaction extends Transaction {
 
     public static EthereumTransaction invocation(Address dapp, Function function, List<Amount> payments,
                                                  BigInteger gasPrice, byte chainId, long fee, long timestamp, Sign.SignatureData signatureData) {
-        Payload payload = new Invocation(dapp, function, payments);
-        PublicKey sender = recoverFromSignature(signatureData, chainId, payload.toRawTransaction(timestamp, gasPrice, fee));
-
-        return new EthereumTransaction(chainId, timestamp, gasPrice, fee, payload, signatureData, sender);
+        return new EthereumTransaction(chainId, timestamp, gasPrice, fee, new Invocation(dapp, function, payments), signatureData, null);
     }
 
     public static EthereumTransaction invocation(Address dapp, Function function, List<Amount> payments,
@@ -328,37 +367,51 @@ public class EthereumTransaction extends Transaction {
 
 
     public static EthereumTransaction parse(String transactionBytesAsHex) {
-        SignedRawTransaction srt = (SignedRawTransaction) TransactionDecoder.decode(transactionBytesAsHex);
-        String data = Numeric.cleanHexPrefix(srt.getTransaction().getData());
-        if (data.isEmpty() && !srt.getTransaction().getValue().equals(BigInteger.ZERO)) {
-            return EthereumTransaction.transfer(
-                    Address.fromPart(srt.getChainId().byteValue(), Numeric.hexStringToByteArray(srt.getTo())),
-                    Amount.of(srt.getValue().divide(AMOUNT_MULTIPLIER).longValueExact()),
-                    srt.getGasPrice(),
-                    srt.getChainId().byteValue(),
-                    srt.getGasLimit().longValueExact(),
-                    srt.getNonce().longValueExact(),
-                    srt.getSignatureData()
-            );
-        } else if (data.startsWith(ERC20_PREFIX) && srt.getTransaction().getValue().equals(BigInteger.ZERO)) {
-            return EthereumTransaction.transfer(
-                    Address.fromPart(
-                            srt.getChainId().byteValue(),
-                            Numeric.hexStringToByteArray(new org.web3j.abi.datatypes.Address(data.substring(8, 71)).toString())
-                    ),
-                    Amount.of(
-                            Numeric.toBigInt(data.substring(72)).divide(AMOUNT_MULTIPLIER).longValueExact(),
-                            AssetId.as(Numeric.hexStringToByteArray(srt.getTo()))
-                    ),
-                    srt.getGasPrice(),
-                    srt.getChainId().byteValue(),
-                    srt.getGasLimit().longValueExact(),
-                    srt.getNonce().longValueExact(),
-                    srt.getSignatureData()
-            );
-        }
+        return parse(Numeric.hexStringToByteArray(transactionBytesAsHex));
+    }
+
+    /**
+     * Create the transfer from the decoded fields of a signed Waves or ERC20 transfer.
+     * The amount of a Waves transfer is converted from wei, while the amount of an ERC20 transfer is taken as is.
+     *
+     * @param raw decoded transaction
+     * @return transfer, whose sender is recovered on the first access
+     * @throws IllegalArgumentException if it's not a transfer, it has no chain id or the ERC20 amount exceeds a long
+     */
+    public static EthereumTransaction transfer(EthRawTransaction raw) {
+        byte chainId = chainId(raw);
+        Address recipient;
+        Amount amount;
+        if (raw.isErc20Transfer()) {
+            byte[] data = raw.data();
+            recipient = Address.fromPart(chainId, Arrays.copyOfRange(data, 4 + 32 - ADDRESS_LENGTH, 4 + 32));
+            BigInteger value = new BigInteger(1, Arrays.copyOfRange(data, 4 + 32, data.length));
+            try {
+                amount = Amount.of(value.longValueExact(), AssetId.as(raw.to()));
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("ERC20 transfer amount " + value + " is out of the long range", e);
+            }
+        } else if (raw.isTransfer()) {
+            recipient = Address.fromPart(chainId, raw.to());
+            amount = Amount.of(raw.value().divide(AMOUNT_MULTIPLIER).longValueExact());
+        } else throw new IllegalArgumentException("Ethereum transaction is not a transfer");
+
+        return transfer(recipient, amount, raw.gasPrice(), chainId, raw.gasLimit().longValueExact(),
+                raw.nonce().longValueExact(), raw.signatureData());
+    }
 
-        throw new IllegalArgumentException("Could not parse transaction");
+    /**
+     * @param raw decoded transaction
+     * @return chain id of the EIP-155 signature
+     * @throws IllegalArgumentException if the transaction is signed without chain id or the chain id is not a byte
+     */
+    public static byte chainId(EthRawTransaction raw) {
+        Long chainId = raw.chainId();
+        if (chainId == null)
+            throw new IllegalArgumentException("Ethereum transaction without chain id is not supported");
+        if (chainId > 0xFF)
+            throw new IllegalArgumentException("Chain id " + chainId + " is not a Waves chain id");
+        return chainId.byteValue();
     }
 
     public String toRawHexString() {
@@ -382,6 +435,20 @@ public class EthereumTransaction extends Transaction {
     }
 
     public static EthereumTransaction parse(byte[] transactionBytes) {
-        return parse(Numeric.toHexString(transactionBytes));
+        return parse(ByteBuffer.wrap(transactionBytes));
+    }
+
+    /**
+     * Parse the signed transfer from the remaining bytes of the buffer without converting them to hex.
+     *
+     * @param transactionBytes RLP bytes of the signed transaction
+     * @return transfer
+     * @throws IllegalArgumentException if the bytes are not a signed transfer
+     */
+    public static EthereumTransaction parse(ByteBuffer transactionBytes) {
+        EthRawTransaction raw = EthRawTransaction.decode(transactionBytes);
+        if (!raw.isTransfer())
+            throw new IllegalArgumentException("Could not parse transaction");
+        return transfer(raw);
     }
 }
@@ -0,0 +1,304 @@
+package com.wavesplatform.transactions;
+
+import com.wavesplatform.crypto.Hash;
+import com.wavesplatform.protobuf.transaction.RecipientOuterClass;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.transactions.account.Address;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.Id;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.common.Recipient;
+import com.wavesplatform.transactions.data.DataEntry;
+import com.wavesplatform.transactions.invocation.Function;
+import com.wavesplatform.transactions.mass.Transfer;
+import com.wavesplatform.transactions.serializers.ProtobufConverter;
+import com.wavesplatform.transactions.serializers.binary.BinaryFormat;
+import com.wavesplatform.transactions.serializers.binary.BinarySerializer;
+import com.wavesplatform.transactions.serializers.binary.BytesReader;
+import com.wavesplatform.transactions.serializers.binary.LegacyBinarySerializer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Transaction view over its serialized bytes, legacy or protobuf.
+ * <p>
+ * Only the location of the body is resolved on creation. Header fields are read on first access
+ * without building the payload, and {@link #bodyBytes()} and {@link #id()} use the original body bytes as is.
+ * <p>
+ * The header scan also records where the payload field is, so {@link #recipient()}, {@link #transfers()},
+ * {@link #data()} and {@link #function()} decode only their own field, once, and other fields stay undecoded.
+ * The payload accessors throw {@link IllegalStateException} if the transaction type has no such field.
+ * Only {@link #transaction()} decodes the whole transaction.
+ * <p>
+ * The source bytes must not be modified while the view is in use. Instances are not thread-safe.
+ */
+public class LazyTransaction {
+
+    private final ByteBuffer source;
+    private final BinaryFormat format;
+    private final int bodyStart;
+    private final int bodyEnd;
+
+    private final int[] payloadRange = {-1, -1};
+
+    private TransactionHeader header;
+    private Transaction transaction;
+    private Recipient recipient;
+    private List<Transfer> transfers;
+    private List<DataEntry> data;
+    private Function function;
+    private byte[] bodyBytes;
+    private Id id;
+
+    private LazyTransaction(ByteBuffer source) throws IOException {
+        this.source = source.slice().asReadOnlyBuffer();
+        this.format = BinaryFormat.ofTransaction(this.source);
+
+        int[] bodyRange = format == BinaryFormat.PROTOBUF
+                ? BinarySerializer.protobufBodyRange(this.source)
+                : LegacyBinarySerializer.bodyRange(this.source);
+        this.bodyStart = bodyRange == null ? -1 : bodyRange[0];
+        this.bodyEnd = bodyRange == null ? -1 : bodyRange[1];
+    }
+
+    public static LazyTransaction of(byte[] bytes) throws IOException {
+        return new LazyTransaction(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Create view of the remaining bytes of the buffer. The position of the buffer is not changed.
+     *
+     * @param bytes heap or direct buffer
+     * @return transaction view
+     * @throws IOException if the bytes are not a transaction
+     */
+    public static LazyTransaction of(ByteBuffer bytes) throws IOException {
+        return new LazyTransaction(bytes);
+    }
+
+    public TransactionHeader header() {
+        if (header == null)
+            try {
+                header = BinarySerializer.transactionHeaderFromBytes(source, payloadRange);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        return header;
+    }
+
+    public int type() {
+        return header().type();
+    }
+
+    public int version() {
+        return header().version();
+    }
+
+    public byte chainId() {
+        return header().chainId();
+    }
+
+    public PublicKey sender() {
+        return header().sender();
+    }
+
+    public Amount fee() {
+        return header().fee();
+    }
+
+    public long timestamp() {
+        return header().timestamp();
+    }
+
+    /**
+     * @return read-only view of the body bytes in the source
+     */
+    public ByteBuffer bodyBuffer() {
+        if (bodyStart < 0)
+            return ByteBuffer.wrap(transaction().bodyBytes()).asReadOnlyBuffer();
+        ByteBuffer body = source.duplicate();
+        ((Buffer) body).position(bodyStart).limit(bodyEnd);
+        return body.slice();
+    }
+
+    public byte[] bodyBytes() {
+        if (bodyBytes == null) {
+            ByteBuffer body = bodyBuffer();
+            bodyBytes = new byte[body.remaining()];
+            body.get(bodyBytes);
+        }
+        return bodyBytes;
+    }
+
+    public Id id() {
+        if (id == null) {
+            if (bodyStart < 0 || type() == GenesisTransaction.TYPE
+                    || (type() == CreateAliasTransaction.TYPE && version() < 3))
+                id = transaction().id();
+            else
+                id = new Id(Hash.blake(bodyBytes()));
+        }
+        return id;
+    }
+
+    public List<Proof> proofs() {
+        if (bodyStart < 0 || format == BinaryFormat.PROTOBUF || type() == GenesisTransaction.TYPE)
+            return transaction().proofs();
+
+        ByteBuffer rest = source.duplicate();
+        if (bodyStart > 0 && bodyEnd == source.limit()) {
+            ((Buffer) rest).position(bodyStart - Proof.BYTE_LENGTH);
+            return new BytesReader(rest).readSignature();
+        }
+        ((Buffer) rest).position(bodyEnd);
+        BytesReader reader = new BytesReader(rest);
+        return format == BinaryFormat.LEGACY_UNVERSIONED ? reader.readSignature() : reader.readProofs();
+    }
+
+    /**
+     * @return fully decoded transaction, which is decoded once on the first call
+     */
+    public Transaction transaction() {
+        if (transaction == null)
+            try {
+                transaction = BinarySerializer.transactionFromBytes(source.duplicate(), format);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        return transaction;
+    }
+
+    public Recipient recipient() {
+        if (recipient == null) {
+            int type = type();
+            if (type != TransferTransaction.TYPE && type != LeaseTransaction.TYPE
+                    && type != GenesisTransaction.TYPE && type != PaymentTransaction.TYPE)
+                throw noPayload("recipient");
+            if (format != BinaryFormat.PROTOBUF) {
+                BytesReader reader = payloadReader();
+                recipient = type == TransferTransaction.TYPE || type == LeaseTransaction.TYPE
+                        ? reader.readRecipient()
+                        : Address.as(reader.readBytes(Address.BYTES_LENGTH));
+            } else if (type == GenesisTransaction.TYPE || type == PaymentTransaction.TYPE)
+                recipient = Address.as(bytesOf(lastProtobufField(type == GenesisTransaction.TYPE
+                        ? TransactionOuterClass.GenesisTransactionData.RECIPIENT_ADDRESS_FIELD_NUMBER
+                        : TransactionOuterClass.PaymentTransactionData.RECIPIENT_ADDRESS_FIELD_NUMBER)));
+            else try {
+                recipient = ProtobufConverter.recipientFromProto(RecipientOuterClass.Recipient.parseFrom(
+                        lastProtobufField(type == TransferTransaction.TYPE
+                                ? TransactionOuterClass.TransferTransactionData.RECIPIENT_FIELD_NUMBER
+                                : TransactionOuterClass.LeaseTransactionData.RECIPIENT_FIELD_NUMBER)), chainId());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return recipient;
+    }
+
+    public List<Transfer> transfers() {
+        if (transfers == null) {
+            if (type() != MassTransferTransaction.TYPE)
+                throw noPayload("transfers");
+            List<Transfer> result = new ArrayList<>();
+            if (format != BinaryFormat.PROTOBUF) {
+                BytesReader reader = payloadReader();
+                short transfersCount = reader.readShort();
+                for (int i = 0; i < transfersCount; i++)
+                    result.add(Transfer.to(reader.readRecipient(), reader.readLong()));
+            } else try {
+                for (ByteBuffer field : protobufFields(TransactionOuterClass.MassTransferTransactionData.TRANSFERS_FIELD_NUMBER)) {
+                    TransactionOuterClass.MassTransferTransactionData.Transfer transfer =
+                            TransactionOuterClass.MassTransferTransactionData.Transfer.parseFrom(field);
+                    result.add(Transfer.to(ProtobufConverter.recipientFromProto(transfer.getRecipient(), chainId()),
+                            transfer.getAmount()));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            transfers = Collections.unmodifiableList(result);
+        }
+        return transfers;
+    }
+
+    public List<DataEntry> data() {
+        if (data == null) {
+            if (type() != DataTransaction.TYPE)
+                throw noPayload("data");
+            List<DataEntry> result = new ArrayList<>();
+            if (format != BinaryFormat.PROTOBUF) {
+                BytesReader reader = payloadReader();
+                short entriesCount = reader.readShort();
+                for (int i = 0; i < entriesCount; i++)
+                    result.add(reader.readDataEntry(i));
+            } else try {
+                for (ByteBuffer field : protobufFields(TransactionOuterClass.DataTransactionData.DATA_FIELD_NUMBER))
+                    result.add(ProtobufConverter.dataEntryFromProto(TransactionOuterClass.DataEntry.parseFrom(field)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            data = Collections.unmodifiableList(result);
+        }
+        return data;
+    }
+
+    public Function function() {
+        if (function == null) {
+            if (type() != InvokeScriptTransaction.TYPE)
+                throw noPayload("function");
+            if (format != BinaryFormat.PROTOBUF)
+                function = payloadReader().readFunctionCall();
+            else
+                function = new BytesReader(lastProtobufField(
+                        TransactionOuterClass.InvokeScriptTransactionData.FUNCTION_CALL_FIELD_NUMBER)).readFunctionCall();
+        }
+        return function;
+    }
+
+    public byte[] toBytes() {
+        return bytesOf(source);
+    }
+
+    private IllegalStateException noPayload(String field) {
+        return new IllegalStateException("Transaction of type " + type() + " has no " + field);
+    }
+
+    private ByteBuffer payloadBuffer() {
+        header();
+        if (payloadRange[0] < 0)
+            throw new IllegalStateException("Payload of the transaction is not located");
+        ByteBuffer payload = source.duplicate();
+        ((Buffer) payload).position(payloadRange[0]).limit(payloadRange[1]);
+        return payload.slice();
+    }
+
+    private BytesReader payloadReader() {
+        return new BytesReader(payloadBuffer());
+    }
+
+    private List<ByteBuffer> protobufFields(int fieldNumber) {
+        try {
+            return BinarySerializer.protobufFields(payloadBuffer(), fieldNumber);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ByteBuffer lastProtobufField(int fieldNumber) {
+        List<ByteBuffer> fields = protobufFields(fieldNumber);
+        return fields.isEmpty() ? ByteBuffer.allocate(0) : fields.get(fields.size() - 1);
+    }
+
+    private static byte[] bytesOf(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+}
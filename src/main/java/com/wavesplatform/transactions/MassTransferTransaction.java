@@ -29,7 +29,11 @@ public class MassTransferTransaction extends Transaction {
     }
 
     public MassTransferTransaction(Id id, PublicKey sender, AssetId assetId, List<Transfer> transfers, Base58String attachment, byte chainId, Amount fee, long timestamp, int version, List<Proof> proofs) {
-        super(id, TYPE, version, chainId, sender, calculateFee(transfers, fee), timestamp, proofs);
+        this(id, sender, assetId, transfers, attachment, chainId, fee, timestamp, version, proofs, false);
+    }
+
+    MassTransferTransaction(Id id, PublicKey sender, AssetId assetId, List<Transfer> transfers, Base58String attachment, byte chainId, Amount fee, long timestamp, int version, List<Proof> proofs, boolean trustedFee) {
+        super(id, TYPE, version, chainId, sender, trustedFee ? fee : calculateFee(transfers, fee), timestamp, proofs);
 
         this.assetId = assetId == null ? AssetId.WAVES : assetId;
         this.transfers = transfers == null ? new ArrayList<>() : transfers;
@@ -1,11 +1,13 @@
 package com.wavesplatform.transactions;
 
+import com.google.protobuf.MessageLite;
 import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
 import com.wavesplatform.transactions.account.PublicKey;
 import com.wavesplatform.transactions.common.Amount;
 import com.wavesplatform.transactions.common.Id;
 import com.wavesplatform.transactions.common.Proof;
 import com.wavesplatform.transactions.serializers.ProtobufConverter;
+import com.wavesplatform.transactions.serializers.Scheme;
 import com.wavesplatform.transactions.serializers.binary.BinarySerializer;
 import com.wavesplatform.transactions.serializers.json.JsonSerializer;
 
@@ -16,6 +18,7 @@ import java.util.Objects;
 public abstract class Transaction extends TransactionOrOrder {
 
     private final int type;
+    private TransactionOuterClass.SignedTransaction protobuf;
 
     protected Transaction(int type, int version, byte chainId, PublicKey sender, Amount fee, long timestamp, List<Proof> proofs) {
         this(null, type, version, chainId, sender, fee, timestamp, proofs);
@@ -30,6 +33,10 @@ public abstract class Transaction extends TransactionOrOrder {
         return BinarySerializer.transactionFromBytes(bytes);
     }
 
+    public static Transaction fromBytes(byte[] bytes, Scheme scheme) throws IOException {
+        return BinarySerializer.transactionFromBytes(bytes, scheme);
+    }
+
     public static Transaction fromJson(String json) throws IOException {
         return JsonSerializer.fromJson(json);
     }
@@ -43,7 +50,42 @@ public abstract class Transaction extends TransactionOrOrder {
     }
 
     public TransactionOuterClass.SignedTransaction toProtobuf() {
-        return ProtobufConverter.toProtobuf(this);
+        TransactionOuterClass.SignedTransaction original = originalProtobuf();
+        return original != null ? original : ProtobufConverter.toProtobuf(this);
+    }
+
+    /**
+     * @return protobuf message which this transaction was converted from, or null if there is none or proofs were changed
+     */
+    public TransactionOuterClass.SignedTransaction originalProtobuf() {
+        return protobuf != null && isOriginalEncoding() ? protobuf : null;
+    }
+
+    @Override
+    protected void keepProtobuf(MessageLite protobuf) {
+        this.protobuf = (TransactionOuterClass.SignedTransaction) protobuf;
+        keepEncodedProofs();
+    }
+
+    @Override
+    protected byte[] encodeBody() {
+        if (protobuf != null && Scheme.of(this) == Scheme.PROTOBUF)
+            return protobuf.getWavesTransaction().toByteArray();
+        return super.encodeBody();
+    }
+
+    @Override
+    protected Id hashBody() {
+        if (protobuf != null && Scheme.of(this) == Scheme.PROTOBUF)
+            return BinarySerializer.id(protobuf.getWavesTransaction());
+        return super.hashBody();
+    }
+
+    @Override
+    protected byte[] encode() {
+        if (protobuf != null && isOriginalEncoding() && Scheme.of(this) == Scheme.PROTOBUF)
+            return protobuf.toByteArray();
+        return super.encode();
     }
 
     @Override
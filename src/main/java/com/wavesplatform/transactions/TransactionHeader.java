@@ -0,0 +1,106 @@
+package com.wavesplatform.transactions;
+
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.serializers.binary.BinarySerializer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Common fields of a transaction which can be read from its bytes without decoding the whole transaction.
+ * Payload, recipients and proofs are skipped, and addresses are not validated.
+ */
+public class TransactionHeader {
+
+    private final int type;
+    private final int version;
+    private final byte chainId;
+    private final PublicKey sender;
+    private final Amount fee;
+    private final long timestamp;
+
+    public TransactionHeader(int type, int version, byte chainId, PublicKey sender, Amount fee, long timestamp) {
+        this.type = type;
+        this.version = version;
+        this.chainId = chainId;
+        this.sender = sender;
+        this.fee = fee;
+        this.timestamp = timestamp;
+    }
+
+    public static TransactionHeader of(Transaction tx) {
+        return new TransactionHeader(tx.type(), tx.version(), tx.chainId(), tx.sender(), tx.fee(), tx.timestamp());
+    }
+
+    /**
+     * Read the header of the transaction in legacy or protobuf bytes.
+     *
+     * @param bytes transaction bytes
+     * @return header of the transaction
+     * @throws IOException if the bytes are not a transaction
+     */
+    public static TransactionHeader fromBytes(byte[] bytes) throws IOException {
+        return BinarySerializer.transactionHeaderFromBytes(ByteBuffer.wrap(bytes));
+    }
+
+    public static TransactionHeader fromBytes(ByteBuffer bytes) throws IOException {
+        return BinarySerializer.transactionHeaderFromBytes(bytes);
+    }
+
+    public int type() {
+        return type;
+    }
+
+    public int version() {
+        return version;
+    }
+
+    public byte chainId() {
+        return chainId;
+    }
+
+    public PublicKey sender() {
+        return sender;
+    }
+
+    public Amount fee() {
+        return fee;
+    }
+
+    public long timestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TransactionHeader that = (TransactionHeader) o;
+        return this.type == that.type
+                && this.version == that.version
+                && this.chainId == that.chainId
+                && this.timestamp == that.timestamp
+                && this.sender.equals(that.sender)
+                && this.fee.equals(that.fee);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, version, chainId, sender, fee, timestamp);
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionHeader{" +
+                "type=" + type +
+                ", version=" + version +
+                ", chainId=" + chainId +
+                ", sender=" + sender +
+                ", fee=" + fee +
+                ", timestamp=" + timestamp +
+                '}';
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.wavesplatform.transactions;
+
+import com.wavesplatform.protobuf.order.OrderOuterClass;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.AssetId;
+import com.wavesplatform.transactions.common.Base58String;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.data.DataEntry;
+import com.wavesplatform.transactions.exchange.Order;
+import com.wavesplatform.transactions.mass.Transfer;
+
+import java.util.List;
+
+/**
+ * Hooks of the deserializers into the decoded instances. Not a part of the public API.
+ * <p>
+ * The kept encodings are trusted: they must match the fields of the instance and must not be modified afterwards.
+ */
+public abstract class TransactionInternals {
+
+    /**
+     * Keep the bytes which the instance was decoded from.
+     *
+     * @param txOrOrder decoded transaction or order
+     * @param bytes original bytes with proofs, kept by reference
+     * @param bodyRange start and end of the body in the bytes, or null if unknown
+     * @return the same instance
+     */
+    public static <T extends TransactionOrOrder> T withEncoding(T txOrOrder, byte[] bytes, int[] bodyRange) {
+        txOrOrder.keepEncoding(bytes, bodyRange);
+        return txOrOrder;
+    }
+
+    /**
+     * @param txOrOrder transaction or order
+     * @return the kept original bytes with proofs by reference, or null if there are none or the proofs were changed
+     */
+    public static byte[] encoding(TransactionOrOrder txOrOrder) {
+        return txOrOrder.encoding();
+    }
+
+    /**
+     * Keep the protobuf message which the transaction was converted from.
+     *
+     * @param tx converted transaction
+     * @param protobuf original message
+     * @return the same transaction
+     */
+    public static <T extends Transaction> T withProtobuf(T tx, TransactionOuterClass.SignedTransaction protobuf) {
+        tx.keepProtobuf(protobuf);
+        return tx;
+    }
+
+    /**
+     * Keep the protobuf message which the order was converted from.
+     *
+     * @param order converted order
+     * @param protobuf original message
+     * @return the same order
+     */
+    public static Order withProtobuf(Order order, OrderOuterClass.Order protobuf) {
+        ((TransactionOrOrder) order).keepProtobuf(protobuf);
+        return order;
+    }
+
+    /**
+     * Create a mass transfer transaction already validated by a node. Unlike the constructors,
+     * the fee is taken as is even if it's zero.
+     *
+     * @return mass transfer transaction with the given fee
+     */
+    public static MassTransferTransaction trustedMassTransfer(PublicKey sender, AssetId assetId, List<Transfer> transfers,
+                                                              Base58String attachment, byte chainId, Amount fee,
+                                                              long timestamp, int version, List<Proof> proofs) {
+        return new MassTransferTransaction(
+                null, sender, assetId, transfers, attachment, chainId, fee, timestamp, version, proofs, true);
+    }
+
+    /**
+     * Create a data transaction already validated by a node. Unlike the constructors,
+     * the fee is taken as is even if it's zero.
+     *
+     * @return data transaction with the given fee
+     */
+    public static DataTransaction trustedData(PublicKey sender, List<DataEntry> data, byte chainId, Amount fee,
+                                              long timestamp, int version, List<Proof> proofs) {
+        return new DataTransaction(sender, data, chainId, fee, timestamp, version, proofs, true);
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.wavesplatform.transactions;
 
+import com.google.protobuf.MessageLite;
 import com.wavesplatform.crypto.Bytes;
 import com.wavesplatform.crypto.Hash;
 import com.wavesplatform.transactions.account.PrivateKey;
@@ -7,9 +8,11 @@ import com.wavesplatform.transactions.account.PublicKey;
 import com.wavesplatform.transactions.common.Amount;
 import com.wavesplatform.transactions.common.Id;
 import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.serializers.SizeCalculator;
 import com.wavesplatform.transactions.serializers.binary.BinarySerializer;
 import com.wavesplatform.transactions.serializers.json.JsonSerializer;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -26,6 +29,10 @@ public abstract class TransactionOrOrder {
     private final long timestamp;
     private final List<Proof> proofs;
     private byte[] bodyBytes;
+    private byte[] bytes;
+    private int bodyOffset;
+    private int bodyLength = -1;
+    private List<Proof> encodedProofs;
 
     protected TransactionOrOrder(int version, byte chainId, PublicKey sender, Amount fee, long timestamp, List<Proof> proofs) {
         this(null, version, chainId, sender, fee, timestamp, proofs);
@@ -67,13 +74,91 @@ public abstract class TransactionOrOrder {
 
     public byte[] bodyBytes() {
         if (this.bodyBytes == null)
-            this.bodyBytes = BinarySerializer.bodyBytes(this);
+            this.bodyBytes = hasEncodedBody()
+                    ? Arrays.copyOfRange(bytes, bodyOffset, bodyOffset + bodyLength)
+                    : encodeBody();
         return this.bodyBytes;
     }
 
+    /**
+     * Keep the encoding which this instance was decoded from,
+     * so {@link #bodyBytes()}, {@link #id()} and {@link #toBytes()} return it instead of serializing the fields again.
+     * The body is kept as a range of the bytes and copied only when {@link #bodyBytes()} is requested.
+     * The kept bytes with proofs are ignored as soon as the proofs are changed.
+     * Used by the deserializers through {@link TransactionInternals}, the bytes must match the fields of the instance.
+     *
+     * @param bytes original bytes with proofs, kept by reference
+     * @param bodyRange start and end of the body in the bytes, or null if unknown
+     */
+    void keepEncoding(byte[] bytes, int[] bodyRange) {
+        if (bodyRange != null) {
+            this.bodyOffset = bodyRange[0];
+            this.bodyLength = bodyRange[1] - bodyRange[0];
+        }
+        this.bytes = bytes;
+        keepEncodedProofs();
+    }
+
+    /**
+     * Keep the protobuf message which this instance was converted from, so it's not built again.
+     * Used by the deserializers through {@link TransactionInternals}, the message must match the fields of the instance.
+     *
+     * @param protobuf original message
+     */
+    protected void keepProtobuf(MessageLite protobuf) {
+        throw new IllegalArgumentException("Can't keep protobuf message of " + getClass().getCanonicalName());
+    }
+
+    /**
+     * Remember the current proofs as the proofs of the kept original encoding.
+     */
+    protected void keepEncodedProofs() {
+        this.encodedProofs = new ArrayList<>(proofs);
+    }
+
+    /**
+     * @return true if the proofs were not changed since the original encoding was kept
+     */
+    protected boolean isOriginalEncoding() {
+        return encodedProofs != null && encodedProofs.equals(proofs);
+    }
+
+    /**
+     * @return the kept original bytes with proofs, or null if there are none or the proofs were changed
+     */
+    byte[] encoding() {
+        return bytes != null && isOriginalEncoding() ? bytes : null;
+    }
+
+    private boolean hasEncodedBody() {
+        return bytes != null && bodyLength >= 0;
+    }
+
+    protected byte[] encodeBody() {
+        return BinarySerializer.bodyBytes(this);
+    }
+
+    protected byte[] encode() {
+        return BinarySerializer.toBytes(this);
+    }
+
+    /**
+     * Hash the body without keeping it, if the body bytes were not requested before.
+     *
+     * @return id of this instance
+     */
+    protected Id hashBody() {
+        return BinarySerializer.id(this);
+    }
+
     public Id id() {
         if (id == null)
-            id = new Id(Hash.blake(bodyBytes()));
+            if (bodyBytes != null)
+                id = new Id(Hash.blake(bodyBytes));
+            else if (hasEncodedBody())
+                id = BinarySerializer.id(bytes, bodyOffset, bodyLength);
+            else
+                id = hashBody();
         return id;
     }
 
@@ -105,7 +190,44 @@ public abstract class TransactionOrOrder {
     }
 
     public byte[] toBytes() {
-        return BinarySerializer.toBytes(this);
+        if (bytes != null && isOriginalEncoding())
+            return bytes.clone();
+        return encode();
+    }
+
+    /**
+     * Write {@link #toBytes()} into the buffer starting at its position, without intermediate arrays.
+     * The position is advanced by {@link #serializedSize()}.
+     *
+     * @param buffer target buffer
+     * @throws java.nio.BufferOverflowException if the buffer doesn't have enough space, nothing is written then
+     */
+    public void writeTo(ByteBuffer buffer) {
+        if (bytes != null && isOriginalEncoding())
+            buffer.put(bytes);
+        else
+            BinarySerializer.writeTo(this, buffer);
+    }
+
+    /**
+     * Write {@link #bodyBytes()} into the buffer starting at its position.
+     *
+     * @param buffer target buffer
+     * @throws java.nio.BufferOverflowException if the buffer doesn't have enough space, nothing is written then
+     */
+    public void writeBodyTo(ByteBuffer buffer) {
+        BinarySerializer.writeBodyTo(this, buffer);
+    }
+
+    /**
+     * Length of {@link #toBytes()} calculated without serialization.
+     *
+     * @return size in bytes
+     */
+    public int serializedSize() {
+        if (bytes != null && isOriginalEncoding())
+            return bytes.length;
+        return SizeCalculator.toBytesSize(this);
     }
 
     public String toPrettyJson() {
@@ -16,8 +16,8 @@ import java.util.Arrays;
 public class Address extends Base58String implements Recipient {
 
     private static final int CHECKSUM_LENGTH = 4;
-    private static final int PUBLIC_KEY_HASH_LENGTH = 20;
 
+    public static final int PUBLIC_KEY_HASH_LENGTH = 20;
     public static final String PREFIX = "address:";
     public static final byte TYPE = 1;
     public static final int BYTES_LENGTH = 1 + 1 + PUBLIC_KEY_HASH_LENGTH + CHECKSUM_LENGTH;
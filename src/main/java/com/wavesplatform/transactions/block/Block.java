@@ -0,0 +1,161 @@
+package com.wavesplatform.transactions.block;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.wavesplatform.crypto.Hash;
+import com.wavesplatform.protobuf.block.BlockOuterClass;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransaction;
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.common.Id;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.serializers.Chunks;
+import com.wavesplatform.transactions.serializers.ProtobufConverter;
+import com.wavesplatform.transactions.serializers.json.JsonSerializer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Block with its transactions, as returned by the node.
+ * <p>
+ * Transactions are decoded in chunks on the given executor, and are kept in the order of the block.
+ */
+public class Block {
+
+    private static final int MIN_CHUNK_SIZE = 16;
+
+    private final Id id;
+    private final BlockHeader header;
+    private final Proof signature;
+    private final List<Transaction> transactions;
+
+    public Block(Id id, BlockHeader header, Proof signature, List<Transaction> transactions) {
+        this.id = id;
+        this.header = header;
+        this.signature = signature;
+        this.transactions = transactions == null ? Collections.emptyList() : transactions;
+    }
+
+    public static Block fromProtobuf(BlockOuterClass.Block pbBlock) throws IOException {
+        return fromProtobuf(pbBlock, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Convert the block received from the node. Transactions are taken as trusted,
+     * see {@link ProtobufConverter#fromTrustedProtobuf(SignedTransaction)}.
+     * Ethereum invocations can't be decoded without their metadata, so such a block is rejected.
+     *
+     * @param pbBlock protobuf block
+     * @param executor executor of the transaction decoding
+     * @return block
+     * @throws IOException if a transaction can't be decoded
+     */
+    public static Block fromProtobuf(BlockOuterClass.Block pbBlock, Executor executor) throws IOException {
+        BlockHeader header = ProtobufConverter.blockHeaderFromProtobuf(pbBlock.getHeader());
+        Proof signature = Proof.as(pbBlock.getSignature().toByteArray());
+        Id id = header.version() >= BlockHeader.PROTOBUF_VERSION
+                ? new Id(Hash.blake(pbBlock.getHeader().toByteArray()))
+                : new Id(signature.bytes());
+        return new Block(id, header, signature,
+                decodeTransactions(pbBlock.getTransactionsList(), Block::transactionFromProtobuf, executor));
+    }
+
+    public static Block fromJson(String json) throws IOException {
+        return fromJson(JsonSerializer.JSON_MAPPER.readTree(json), ForkJoinPool.commonPool());
+    }
+
+    public static Block fromJson(JsonNode json) throws IOException {
+        return fromJson(json, ForkJoinPool.commonPool());
+    }
+
+    public static Block fromJson(JsonNode json, Executor executor) throws IOException {
+        List<JsonNode> jsonTxs = new ArrayList<>();
+        if (json.has("transactions"))
+            json.get("transactions").forEach(jsonTxs::add);
+        return new Block(
+                Id.as(json.get("id").asText()),
+                JsonSerializer.blockHeaderFromJson(json),
+                Proof.as(json.get("signature").asText()),
+                decodeTransactions(jsonTxs, JsonSerializer::fromJson, executor));
+    }
+
+    private static Transaction transactionFromProtobuf(SignedTransaction pbTx) throws IOException {
+        return pbTx.getEthereumTransaction().isEmpty()
+                ? ProtobufConverter.fromTrustedProtobuf(pbTx)
+                : ProtobufConverter.ethTransferTxFromProtobuf(pbTx);
+    }
+
+    private interface Decoder<S> {
+        Transaction decode(S source) throws IOException;
+    }
+
+    private static <S> List<Transaction> decodeTransactions(List<S> sources, Decoder<S> decoder, Executor executor)
+            throws IOException {
+        Transaction[] transactions = new Transaction[sources.size()];
+        try {
+            Chunks.run(sources.size(), MIN_CHUNK_SIZE, executor, (start, end) -> {
+                try {
+                    for (int i = start; i < end; i++)
+                        transactions[i] = decoder.decode(sources.get(i));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return Collections.unmodifiableList(Arrays.asList(transactions));
+    }
+
+    /**
+     * @return id of the block, which is the hash of the header since version 5 and the signature before
+     */
+    public Id id() {
+        return id;
+    }
+
+    public BlockHeader header() {
+        return header;
+    }
+
+    public Proof signature() {
+        return signature;
+    }
+
+    public List<Transaction> transactions() {
+        return transactions;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Block that = (Block) o;
+        return this.id.equals(that.id)
+                && this.header.equals(that.header)
+                && this.signature.equals(that.signature)
+                && this.transactions.equals(that.transactions);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, header, signature, transactions);
+    }
+
+    @Override
+    public String toString() {
+        return "Block{" +
+                "id=" + id +
+                ", header=" + header +
+                ", signature=" + signature +
+                ", transactions=" + transactions.size() +
+                '}';
+    }
+
+}
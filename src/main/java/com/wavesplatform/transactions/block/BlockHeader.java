@@ -0,0 +1,135 @@
+package com.wavesplatform.transactions.block;
+
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.Base58String;
+import com.wavesplatform.transactions.common.Id;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Header of a block: consensus fields and votes of the generator.
+ * Transactions root and state hash are empty for the blocks which don't have them.
+ */
+public class BlockHeader {
+
+    public static final int PROTOBUF_VERSION = 5;
+
+    private final int version;
+    private final byte chainId;
+    private final long timestamp;
+    private final Id reference;
+    private final long baseTarget;
+    private final Base58String generationSignature;
+    private final List<Integer> featureVotes;
+    private final PublicKey generator;
+    private final long rewardVote;
+    private final Base58String transactionsRoot;
+    private final Base58String stateHash;
+
+    public BlockHeader(int version, byte chainId, long timestamp, Id reference, long baseTarget,
+                       Base58String generationSignature, List<Integer> featureVotes, PublicKey generator,
+                       long rewardVote, Base58String transactionsRoot, Base58String stateHash) {
+        this.version = version;
+        this.chainId = chainId;
+        this.timestamp = timestamp;
+        this.reference = reference;
+        this.baseTarget = baseTarget;
+        this.generationSignature = generationSignature;
+        this.featureVotes = featureVotes == null ? Collections.emptyList() : featureVotes;
+        this.generator = generator;
+        this.rewardVote = rewardVote;
+        this.transactionsRoot = transactionsRoot == null ? Base58String.empty() : transactionsRoot;
+        this.stateHash = stateHash == null ? Base58String.empty() : stateHash;
+    }
+
+    public int version() {
+        return version;
+    }
+
+    public byte chainId() {
+        return chainId;
+    }
+
+    public long timestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return id of the parent block
+     */
+    public Id reference() {
+        return reference;
+    }
+
+    public long baseTarget() {
+        return baseTarget;
+    }
+
+    public Base58String generationSignature() {
+        return generationSignature;
+    }
+
+    public List<Integer> featureVotes() {
+        return featureVotes;
+    }
+
+    public PublicKey generator() {
+        return generator;
+    }
+
+    public long rewardVote() {
+        return rewardVote;
+    }
+
+    public Base58String transactionsRoot() {
+        return transactionsRoot;
+    }
+
+    public Base58String stateHash() {
+        return stateHash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BlockHeader that = (BlockHeader) o;
+        return this.version == that.version
+                && this.chainId == that.chainId
+                && this.timestamp == that.timestamp
+                && this.baseTarget == that.baseTarget
+                && this.rewardVote == that.rewardVote
+                && this.reference.equals(that.reference)
+                && this.generationSignature.equals(that.generationSignature)
+                && this.featureVotes.equals(that.featureVotes)
+                && this.generator.equals(that.generator)
+                && this.transactionsRoot.equals(that.transactionsRoot)
+                && this.stateHash.equals(that.stateHash);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(version, chainId, timestamp, reference, baseTarget, generationSignature, featureVotes,
+                generator, rewardVote, transactionsRoot, stateHash);
+    }
+
+    @Override
+    public String toString() {
+        return "BlockHeader{" +
+                "version=" + version +
+                ", chainId=" + chainId +
+                ", timestamp=" + timestamp +
+                ", reference=" + reference +
+                ", baseTarget=" + baseTarget +
+                ", generationSignature=" + generationSignature +
+                ", featureVotes=" + featureVotes +
+                ", generator=" + generator +
+                ", rewardVote=" + rewardVote +
+                ", transactionsRoot=" + transactionsRoot +
+                ", stateHash=" + stateHash +
+                '}';
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.wavesplatform.transactions.block;
+
+import com.wavesplatform.crypto.Hash;
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.common.Base58String;
+import com.wavesplatform.transactions.serializers.Chunks;
+import com.wavesplatform.transactions.serializers.binary.BinarySerializer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Merkle tree of the transactions of a block, as built by the node for the transactions root of protobuf blocks.
+ * <p>
+ * Leaves are BLAKE2b-256 hashes of the signed protobuf bytes of the transactions,
+ * a node is the hash of its children, and a missing right child is replaced with the hash of a single zero byte,
+ * which is also the root of an empty block.
+ * Proofs list the sibling hashes from the level below the root down to the leaf level.
+ */
+public class MerkleTree {
+
+    private static final byte[] EMPTY_HASH = Hash.blake(new byte[]{0});
+    private static final int MIN_CHUNK_SIZE = 16;
+
+    // levels from the leaves up to the root
+    private final List<byte[][]> levels;
+
+    private MerkleTree(List<byte[][]> levels) {
+        this.levels = levels;
+    }
+
+    private static MerkleTree build(byte[][] leaves) {
+        List<byte[][]> levels = new ArrayList<>();
+        levels.add(leaves);
+        byte[][] level = leaves;
+        do {
+            byte[][] parents = new byte[(level.length + 1) / 2][];
+            for (int i = 0; i < parents.length; i++)
+                parents[i] = hash(level[2 * i], 2 * i + 1 < level.length ? level[2 * i + 1] : EMPTY_HASH);
+            levels.add(parents);
+            level = parents;
+        } while (level.length > 1);
+        return new MerkleTree(levels);
+    }
+
+    public static MerkleTree of(List<Transaction> transactions) {
+        return of(transactions, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Build the tree of the transactions. Leaves are hashed in chunks on the executor.
+     *
+     * @param transactions transactions in the order of the block
+     * @param executor executor of the leaf hashing
+     * @return tree
+     */
+    public static MerkleTree of(List<Transaction> transactions, Executor executor) {
+        if (transactions.isEmpty())
+            return new MerkleTree(Collections.singletonList(new byte[][]{EMPTY_HASH}));
+
+        byte[][] leaves = new byte[transactions.size()][];
+        Chunks.run(leaves.length, MIN_CHUNK_SIZE, executor, (start, end) -> {
+            for (int i = start; i < end; i++)
+                leaves[i] = leafHash(transactions.get(i));
+        });
+        return build(leaves);
+    }
+
+    static MerkleTree fromLeafHashes(List<byte[]> leafHashes) {
+        if (leafHashes.isEmpty())
+            return new MerkleTree(Collections.singletonList(new byte[][]{EMPTY_HASH}));
+        return build(leafHashes.toArray(new byte[0][]));
+    }
+
+    /**
+     * @param transaction transaction
+     * @return leaf hash of the transaction
+     */
+    public static byte[] leafHash(Transaction transaction) {
+        return BinarySerializer.protobufHash(transaction);
+    }
+
+    /**
+     * Check that the transaction is included into the block with the given transactions root.
+     *
+     * @param transaction transaction
+     * @param index index of the transaction in the block
+     * @param proof sibling hashes as returned by {@link #proof(int)}
+     * @param root transactions root of the block
+     * @return true if the proof is valid
+     */
+    public static boolean verify(Transaction transaction, int index, List<Base58String> proof, Base58String root) {
+        return verify(leafHash(transaction), index, proof, root);
+    }
+
+    public static boolean verify(byte[] leafHash, int index, List<Base58String> proof, Base58String root) {
+        if (index < 0)
+            return false;
+        byte[] hash = leafHash;
+        for (int i = proof.size() - 1; i >= 0; i--) {
+            byte[] sibling = proof.get(i).bytes();
+            hash = index % 2 == 0 ? hash(hash, sibling) : hash(sibling, hash);
+            index /= 2;
+        }
+        return index == 0 && Arrays.equals(hash, root.bytes());
+    }
+
+    private static byte[] hash(byte[] left, byte[] right) {
+        byte[] pair = new byte[left.length + right.length];
+        System.arraycopy(left, 0, pair, 0, left.length);
+        System.arraycopy(right, 0, pair, left.length, right.length);
+        return Hash.blake(pair);
+    }
+
+    public Base58String root() {
+        return new Base58String(levels.get(levels.size() - 1)[0]);
+    }
+
+    /**
+     * @return number of the transactions
+     */
+    public int size() {
+        return levels.size() == 1 ? 0 : levels.get(0).length;
+    }
+
+    /**
+     * @param index index of the transaction in the block
+     * @return sibling hashes from the level below the root down to the leaf level
+     * @throws IndexOutOfBoundsException if there is no such transaction
+     */
+    public List<Base58String> proof(int index) {
+        if (index < 0 || index >= size())
+            throw new IndexOutOfBoundsException("Index " + index + " is out of " + size() + " leaves");
+        Base58String[] proof = new Base58String[levels.size() - 1];
+        for (int level = 0; level < proof.length; level++) {
+            byte[][] hashes = levels.get(level);
+            int sibling = index % 2 == 0 ? index + 1 : index - 1;
+            proof[proof.length - 1 - level] = new Base58String(sibling < hashes.length ? hashes[sibling] : EMPTY_HASH);
+            index /= 2;
+        }
+        return Collections.unmodifiableList(Arrays.asList(proof));
+    }
+
+}
@@ -16,6 +16,9 @@ public class Base58String implements ByteString {
         return new Base58String(Bytes.empty());
     }
 
+    /**
+     * @param bytes bytes which are kept without a copy and must not be modified after
+     */
     public Base58String(byte[] bytes) throws IllegalArgumentException {
         this.bytes = bytes == null ? Bytes.empty() : bytes;
         this.encoded = Suppliers.memoize(() -> Base58.encode(this.bytes))::get;
@@ -16,6 +16,9 @@ public class Base64String implements ByteString {
         return new Base64String(Bytes.empty());
     }
 
+    /**
+     * @param bytes bytes which are kept without a copy and must not be modified after
+     */
     public Base64String(byte[] bytes) throws IllegalArgumentException {
         this.bytes = bytes == null ? Bytes.empty() : bytes;
         this.encoded = Suppliers.memoize(() -> Base64.encode(this.bytes))::get;
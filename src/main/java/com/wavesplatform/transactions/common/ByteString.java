@@ -1,5 +1,12 @@
 package com.wavesplatform.transactions.common;
 
+/**
+ * Immutable bytes with their string representation.
+ * <p>
+ * The bytes are neither copied on creation nor on access, so the array passed to the constructor
+ * and the array returned by {@link #bytes()} must not be modified.
+ * Serializers rely on this and share the array instead of copying it.
+ */
 public interface ByteString {
 
     byte[] bytes();
@@ -1,5 +1,6 @@
 package com.wavesplatform.transactions.exchange;
 
+import com.google.protobuf.MessageLite;
 import com.wavesplatform.crypto.Bytes;
 import com.wavesplatform.protobuf.order.OrderOuterClass;
 import com.wavesplatform.transactions.TransactionOrOrder;
@@ -9,6 +10,7 @@ import com.wavesplatform.transactions.common.Amount;
 import com.wavesplatform.transactions.common.Id;
 import com.wavesplatform.transactions.common.Proof;
 import com.wavesplatform.transactions.serializers.ProtobufConverter;
+import com.wavesplatform.transactions.serializers.Scheme;
 import com.wavesplatform.transactions.serializers.binary.BinarySerializer;
 import com.wavesplatform.transactions.serializers.json.JsonSerializer;
 
@@ -28,6 +30,7 @@ public class Order extends TransactionOrOrder {
     private final PublicKey matcher;
     private final long expiration;
     private final byte[] eip712Signature;
+    private OrderOuterClass.Order protobuf;
 
     public Order(PublicKey sender, OrderType type, Amount amount, Amount price, PublicKey matcher) {
         this(sender, type, amount, price, matcher, WavesConfig.chainId(), Amount.of(MIN_FEE), System.currentTimeMillis(),
@@ -62,6 +65,10 @@ public class Order extends TransactionOrOrder {
         return BinarySerializer.orderFromBytes(bytes);
     }
 
+    public static Order fromBytes(byte[] bytes, Scheme scheme) throws IOException {
+        return BinarySerializer.orderFromBytes(bytes, scheme);
+    }
+
     public static Order fromJson(String json) throws IOException {
         return JsonSerializer.orderFromJson(json);
     }
@@ -109,7 +116,42 @@ public class Order extends TransactionOrOrder {
     public byte[] eip712Signature() { return eip712Signature; }
 
     public OrderOuterClass.Order toProtobuf() {
-        return ProtobufConverter.toProtobuf(this);
+        OrderOuterClass.Order original = originalProtobuf();
+        return original != null ? original : ProtobufConverter.toProtobuf(this);
+    }
+
+    /**
+     * @return protobuf message which this order was converted from, or null if there is none or proofs were changed
+     */
+    public OrderOuterClass.Order originalProtobuf() {
+        return protobuf != null && isOriginalEncoding() ? protobuf : null;
+    }
+
+    @Override
+    protected void keepProtobuf(MessageLite protobuf) {
+        this.protobuf = (OrderOuterClass.Order) protobuf;
+        keepEncodedProofs();
+    }
+
+    @Override
+    protected byte[] encodeBody() {
+        if (protobuf != null && Scheme.of(this) == Scheme.PROTOBUF)
+            return protobuf.toBuilder().clearProofs().build().toByteArray();
+        return super.encodeBody();
+    }
+
+    @Override
+    protected Id hashBody() {
+        if (protobuf != null && Scheme.of(this) == Scheme.PROTOBUF)
+            return BinarySerializer.id(protobuf.toBuilder().clearProofs().build());
+        return super.hashBody();
+    }
+
+    @Override
+    protected byte[] encode() {
+        if (protobuf != null && isOriginalEncoding() && Scheme.of(this) == Scheme.PROTOBUF)
+            return protobuf.toByteArray();
+        return super.encode();
     }
 
     @Override
@@ -0,0 +1,189 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.protobuf.CodedOutputStream;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransaction;
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.TransactionHeader;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.serializers.binary.BytesReader;
+import com.wavesplatform.transactions.serializers.binary.BytesWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Built-in encoding of the transactions of one type, registered in {@link TransactionCodecs} by the type id.
+ * <p>
+ * The serializers handle the fields which are common to all types and dispatch the type specific part
+ * to the codec of the type instead of checking the class of the transaction.
+ * Formats which the type doesn't have throw {@link IllegalArgumentException}.
+ * Not a part of the public API, custom encodings are provided by {@link TransactionCodec}.
+ *
+ * @param <T> transaction class
+ */
+public abstract class BuiltInCodec<T extends Transaction> {
+
+    private final int type;
+    private final Class<T> transactionClass;
+
+    protected BuiltInCodec(int type, Class<T> transactionClass) {
+        this.type = type;
+        this.transactionClass = transactionClass;
+    }
+
+    public int type() {
+        return type;
+    }
+
+    public Class<T> transactionClass() {
+        return transactionClass;
+    }
+
+    /**
+     * Write the legacy body bytes which follow the type and the version.
+     *
+     * @param tx transaction with legacy scheme
+     * @param scheme scheme of the transaction
+     * @param writer target writer
+     */
+    public void writeLegacyBody(T tx, Scheme scheme, BytesWriter writer) {
+        throw unsupported("legacy binary");
+    }
+
+    /**
+     * @param tx transaction with legacy scheme
+     * @param scheme scheme of the transaction
+     * @return size of the bytes written by {@link #writeLegacyBody}
+     */
+    public int legacyBodySize(T tx, Scheme scheme) {
+        throw unsupported("legacy binary");
+    }
+
+    /**
+     * Read the legacy bytes which follow the type and the version, including the proofs.
+     *
+     * @param reader reader positioned after the version
+     * @param version transaction version
+     * @param scheme scheme of the version
+     * @param signature signature which precedes the body for some types of version 1, otherwise empty
+     * @return transaction
+     */
+    public T readLegacy(BytesReader reader, int version, Scheme scheme, List<Proof> signature) {
+        throw unsupported("legacy binary");
+    }
+
+    /**
+     * Set the type specific data of the protobuf message.
+     * The message shares the byte arrays of the transaction, the bytes are written by {@link #writeProtobufPayload}.
+     *
+     * @param tx transaction with protobuf scheme
+     * @param builder message with the common fields
+     */
+    public void writeProtobuf(T tx, TransactionOuterClass.Transaction.Builder builder) {
+        throw unsupported("protobuf");
+    }
+
+    /**
+     * @param tx transaction
+     * @return size of the type specific data message, without its tag and length
+     */
+    public int protobufPayloadSize(T tx) {
+        throw unsupported("protobuf");
+    }
+
+    /**
+     * Write the fields of the type specific data message, the tag and the length are written by the caller.
+     *
+     * @param tx transaction
+     * @param output protobuf output
+     * @throws IOException if the output can't be written
+     */
+    public void writeProtobufPayload(T tx, CodedOutputStream output) throws IOException {
+        throw unsupported("protobuf");
+    }
+
+    /**
+     * Read the transaction with the builders, so absent fields are replaced with the defaults.
+     * Proofs are added by the caller.
+     *
+     * @param pbSignedTx signed transaction
+     * @return transaction without proofs
+     * @throws IOException if the message is malformed
+     */
+    public T readProtobuf(SignedTransaction pbSignedTx) throws IOException {
+        throw unsupported("protobuf");
+    }
+
+    /**
+     * Read the transaction with its constructor, all fields are taken as is.
+     *
+     * @param pbTx transaction message
+     * @param proofs proofs of the signed transaction
+     * @return transaction
+     * @throws IOException if the message is malformed
+     */
+    public T readTrustedProtobuf(TransactionOuterClass.Transaction pbTx, List<Proof> proofs) throws IOException {
+        throw unsupported("protobuf");
+    }
+
+    /**
+     * Write the type specific fields of the json object, which already has the id, type, version and sender fields.
+     *
+     * @param tx transaction
+     * @param generator generator inside the json object
+     * @throws IOException if the generator can't write
+     */
+    public void writeJson(T tx, JsonGenerator generator) throws IOException {
+        throw unsupported("json");
+    }
+
+    /**
+     * @param tx transaction
+     * @return true if the json has the "version" field
+     */
+    public boolean hasJsonVersion(T tx) {
+        return true;
+    }
+
+    /**
+     * @param tx transaction
+     * @return true if the json has the "chainId" field, which is written only with the version
+     */
+    public boolean hasJsonChainId(T tx) {
+        return true;
+    }
+
+    /**
+     * @param tx transaction
+     * @return true if the first proof is also written as the "signature" field
+     */
+    public boolean hasJsonSignature(T tx) {
+        return Scheme.of(tx) == Scheme.WITH_SIGNATURE;
+    }
+
+    /**
+     * @param json json object of the transaction
+     * @param header common fields read from the json
+     * @param proofs proofs read from the json
+     * @return transaction
+     * @throws IOException if the json is malformed
+     */
+    public T readJson(JsonNode json, TransactionHeader header, List<Proof> proofs) throws IOException {
+        throw unsupported("json");
+    }
+
+    protected TransactionHeader protobufHeader(TransactionOuterClass.Transaction pbTx) {
+        return new TransactionHeader(type, pbTx.getVersion(), (byte) pbTx.getChainId(),
+                PublicKey.as(pbTx.getSenderPublicKey().toByteArray()),
+                ProtobufConverter.pbAmountToAmount(pbTx.getFee()), pbTx.getTimestamp());
+    }
+
+    private IllegalArgumentException unsupported(String format) {
+        return new IllegalArgumentException("Transaction type " + type + " has no " + format + " format");
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnsafeByteOperations;
+import com.wavesplatform.protobuf.AmountOuterClass;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransaction;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.transactions.BurnTransaction;
+import com.wavesplatform.transactions.TransactionHeader;
+import com.wavesplatform.transactions.WavesConfig;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.AssetId;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.serializers.binary.BytesReader;
+import com.wavesplatform.transactions.serializers.binary.BytesWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.wavesplatform.transactions.serializers.ProtobufConverter.pbAmountToAmount;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeAmount;
+import static com.wavesplatform.transactions.serializers.Scheme.WITH_PROOFS;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.amountSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.messageSize;
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.assetIdFromJson;
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.assetIdToJson;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.AMOUNT;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.ASSET_ID;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeNumber;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeString;
+
+final class BurnTransactionCodec extends BuiltInCodec<BurnTransaction> {
+
+    BurnTransactionCodec() {
+        super(BurnTransaction.TYPE, BurnTransaction.class);
+    }
+
+    @Override
+    public void writeLegacyBody(BurnTransaction tx, Scheme scheme, BytesWriter writer) {
+        if (scheme == WITH_PROOFS)
+            writer.write(tx.chainId());
+        writer.writePublicKey(tx.sender())
+                .writeAssetId(tx.amount().assetId())
+                .writeLong(tx.amount().value())
+                .writeLong(tx.fee().value())
+                .writeLong(tx.timestamp());
+    }
+
+    @Override
+    public int legacyBodySize(BurnTransaction tx, Scheme scheme) {
+        return (scheme == WITH_PROOFS ? 1 : 0)
+                + tx.sender().bytes().length
+                + tx.amount().assetId().bytes().length
+                + Long.BYTES * 3;
+    }
+
+    @Override
+    public BurnTransaction readLegacy(BytesReader reader, int version, Scheme scheme, List<Proof> signature) {
+        byte chainId = scheme == WITH_PROOFS ? reader.readByte() : WavesConfig.chainId();
+        PublicKey sender = reader.readPublicKey();
+        AssetId assetId = reader.readAssetId();
+        long amount = reader.readLong();
+        long fee = reader.readLong();
+        long timestamp = reader.readLong();
+        List<Proof> proofs = scheme == WITH_PROOFS ? reader.readProofs() : reader.readSignature();
+
+        return new BurnTransaction(
+                sender, Amount.of(amount, assetId), chainId, Amount.of(fee), timestamp, version, proofs);
+    }
+
+    @Override
+    public void writeProtobuf(BurnTransaction tx, TransactionOuterClass.Transaction.Builder builder) {
+        builder.setBurn(TransactionOuterClass.BurnTransactionData.newBuilder()
+                .setAssetAmount(AmountOuterClass.Amount.newBuilder()
+                        .setAssetId(UnsafeByteOperations.unsafeWrap(tx.amount().assetId().bytes()))
+                        .setAmount(tx.amount().value())
+                        .build())
+                .build());
+    }
+
+    @Override
+    public int protobufPayloadSize(BurnTransaction tx) {
+        return messageSize(1, amountSize(tx.amount()));
+    }
+
+    @Override
+    public void writeProtobufPayload(BurnTransaction tx, CodedOutputStream output) throws IOException {
+        writeAmount(output, 1, tx.amount());
+    }
+
+    @Override
+    public BurnTransaction readProtobuf(SignedTransaction pbSignedTx) {
+        TransactionOuterClass.Transaction pbTx = pbSignedTx.getWavesTransaction();
+        TransactionOuterClass.BurnTransactionData burn = pbTx.getBurn();
+        return BurnTransaction
+                .builder(Amount.of(burn.getAssetAmount().getAmount(),
+                        AssetId.as(burn.getAssetAmount().getAssetId().toByteArray())))
+                .version(pbTx.getVersion())
+                .chainId((byte) pbTx.getChainId())
+                .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
+                .fee(pbAmountToAmount(pbTx.getFee()))
+                .timestamp(pbTx.getTimestamp())
+                .getUnsigned();
+    }
+
+    @Override
+    public BurnTransaction readTrustedProtobuf(TransactionOuterClass.Transaction pbTx, List<Proof> proofs) {
+        TransactionHeader header = protobufHeader(pbTx);
+        return new BurnTransaction(header.sender(), pbAmountToAmount(pbTx.getBurn().getAssetAmount()),
+                header.chainId(), header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+    @Override
+    public void writeJson(BurnTransaction tx, JsonGenerator generator) throws IOException {
+        writeString(generator, ASSET_ID, assetIdToJson(tx.amount().assetId()));
+        writeNumber(generator, AMOUNT, tx.amount().value());
+    }
+
+    @Override
+    public boolean hasJsonChainId(BurnTransaction tx) {
+        return tx.version() != 1;
+    }
+
+    @Override
+    public BurnTransaction readJson(JsonNode json, TransactionHeader header, List<Proof> proofs) throws IOException {
+        if (!header.fee().assetId().isWaves())
+            throw new IOException("feeAssetId field must be null for BurnTransaction");
+
+        if (header.version() == 1 && json.has("signature"))
+            proofs = Proof.list(Proof.as(json.get("signature").asText()));
+
+        long amount = json.get(json.hasNonNull("amount") ? "amount" : "quantity").asLong();
+
+        return new BurnTransaction(
+                header.sender(), Amount.of(amount, assetIdFromJson(json.get("assetId"))),
+                header.chainId(), header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.wavesplatform.transactions.serializers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Splits a range of indexes into chunks processed on an executor. Not a part of the public API.
+ * <p>
+ * The range is split into up to four chunks per available processor, so the chunks of a slow thread
+ * can be taken by the others.
+ */
+public abstract class Chunks {
+
+    public interface Task {
+        void run(int start, int end);
+    }
+
+    /**
+     * Size of a chunk of the range.
+     *
+     * @param count size of the range
+     * @param minSize minimal size of a chunk, so small chunks don't cost more to schedule than to process
+     * @return size of every chunk except the last one
+     */
+    public static int size(int count, int minSize) {
+        int chunks = Runtime.getRuntime().availableProcessors() * 4;
+        return Math.max(Math.max(1, minSize), (count + chunks - 1) / chunks);
+    }
+
+    /**
+     * Run the task for chunks of the range and wait for all of them.
+     * A range of a single chunk is processed on the calling thread.
+     *
+     * @param count size of the range
+     * @param minSize minimal size of a chunk
+     * @param executor executor of the chunks
+     * @param task task of one chunk
+     * @throws RuntimeException the error of the first failed chunk
+     * @throws RejectedExecutionException if the executor rejects a chunk, after the already submitted chunks are done
+     */
+    public static void run(int count, int minSize, Executor executor, Task task) {
+        int chunkSize = size(count, minSize);
+        if (count <= chunkSize) {
+            task.run(0, count);
+            return;
+        }
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (int from = 0; from < count; from += chunkSize) {
+            int start = from;
+            int end = Math.min(count, from + chunkSize);
+            try {
+                tasks.add(CompletableFuture.runAsync(() -> task.run(start, end), executor));
+            } catch (RejectedExecutionException e) {
+                for (CompletableFuture<Void> chunk : tasks)
+                    try {
+                        chunk.join();
+                    } catch (CompletionException | CancellationException failure) {
+                        e.addSuppressed(failure.getCause() == null ? failure : failure.getCause());
+                    }
+                throw e;
+            }
+        }
+        for (CompletableFuture<Void> chunk : tasks)
+            try {
+                chunk.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException)
+                    throw (RuntimeException) e.getCause();
+                else throw e;
+            }
+    }
+
+}
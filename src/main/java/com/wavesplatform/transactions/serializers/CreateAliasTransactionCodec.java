@@ -0,0 +1,120 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnsafeByteOperations;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransaction;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.transactions.CreateAliasTransaction;
+import com.wavesplatform.transactions.TransactionHeader;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.Alias;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.serializers.binary.BytesReader;
+import com.wavesplatform.transactions.serializers.binary.BytesWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.wavesplatform.transactions.serializers.ProtobufConverter.pbAmountToAmount;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeString;
+import static com.wavesplatform.transactions.serializers.Scheme.WITH_PROOFS;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.stringSize;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.ALIAS;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeString;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+final class CreateAliasTransactionCodec extends BuiltInCodec<CreateAliasTransaction> {
+
+    CreateAliasTransactionCodec() {
+        super(CreateAliasTransaction.TYPE, CreateAliasTransaction.class);
+    }
+
+    @Override
+    public void writeLegacyBody(CreateAliasTransaction tx, Scheme scheme, BytesWriter writer) {
+        writer.writePublicKey(tx.sender())
+                .writeArrayWithLength(tx.alias().bytes())
+                .writeLong(tx.fee().value())
+                .writeLong(tx.timestamp());
+    }
+
+    @Override
+    public int legacyBodySize(CreateAliasTransaction tx, Scheme scheme) {
+        return tx.sender().bytes().length + 2 + tx.alias().bytes().length + Long.BYTES * 2;
+    }
+
+    @Override
+    public CreateAliasTransaction readLegacy(BytesReader reader, int version, Scheme scheme, List<Proof> signature) {
+        PublicKey sender = reader.readPublicKey();
+        Alias alias = (Alias) new BytesReader(reader.readSliceWithLength()).readRecipient();
+        long fee = reader.readLong();
+        long timestamp = reader.readLong();
+        List<Proof> proofs = scheme == WITH_PROOFS ? reader.readProofs() : reader.readSignature();
+
+        return new CreateAliasTransaction(
+                sender, alias.name(), alias.chainId(), Amount.of(fee), timestamp, version, proofs);
+    }
+
+    @Override
+    public void writeProtobuf(CreateAliasTransaction tx, TransactionOuterClass.Transaction.Builder builder) {
+        builder.setCreateAlias(TransactionOuterClass.CreateAliasTransactionData.newBuilder()
+                .setAliasBytes(UnsafeByteOperations.unsafeWrap(tx.alias().name().getBytes(UTF_8)))
+                .build());
+    }
+
+    @Override
+    public int protobufPayloadSize(CreateAliasTransaction tx) {
+        return stringSize(1, tx.alias().name());
+    }
+
+    @Override
+    public void writeProtobufPayload(CreateAliasTransaction tx, CodedOutputStream output) throws IOException {
+        writeString(output, 1, tx.alias().name());
+    }
+
+    @Override
+    public CreateAliasTransaction readProtobuf(SignedTransaction pbSignedTx) {
+        TransactionOuterClass.Transaction pbTx = pbSignedTx.getWavesTransaction();
+        TransactionOuterClass.CreateAliasTransactionData alias = pbTx.getCreateAlias();
+        return CreateAliasTransaction
+                .builder(new String(alias.getAliasBytes().toByteArray(), UTF_8))
+                .version(pbTx.getVersion())
+                .chainId((byte) pbTx.getChainId())
+                .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
+                .fee(pbAmountToAmount(pbTx.getFee()))
+                .timestamp(pbTx.getTimestamp())
+                .getUnsigned();
+    }
+
+    @Override
+    public CreateAliasTransaction readTrustedProtobuf(TransactionOuterClass.Transaction pbTx, List<Proof> proofs) {
+        TransactionHeader header = protobufHeader(pbTx);
+        return new CreateAliasTransaction(header.sender(), pbTx.getCreateAlias().getAlias(),
+                header.chainId(), header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+    @Override
+    public void writeJson(CreateAliasTransaction tx, JsonGenerator generator) throws IOException {
+        writeString(generator, ALIAS, tx.alias().name());
+    }
+
+    @Override
+    public boolean hasJsonChainId(CreateAliasTransaction tx) {
+        return tx.version() >= 3;
+    }
+
+    @Override
+    public CreateAliasTransaction readJson(JsonNode json, TransactionHeader header, List<Proof> proofs)
+            throws IOException {
+        if (!header.fee().assetId().isWaves())
+            throw new IOException("feeAssetId field must be null for CreateAliasTransaction");
+
+        if (header.version() == 1 && json.has("signature"))
+            proofs = Proof.list(Proof.as(json.get("signature").asText()));
+        return new CreateAliasTransaction(header.sender(), json.get("alias").asText(),
+                header.chainId(), header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+}
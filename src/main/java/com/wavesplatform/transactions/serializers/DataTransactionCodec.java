@@ -0,0 +1,177 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnsafeByteOperations;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransaction;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.transactions.DataTransaction;
+import com.wavesplatform.transactions.TransactionHeader;
+import com.wavesplatform.transactions.TransactionInternals;
+import com.wavesplatform.transactions.WavesConfig;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.data.*;
+import com.wavesplatform.transactions.serializers.binary.BytesReader;
+import com.wavesplatform.transactions.serializers.binary.BytesWriter;
+import com.wavesplatform.transactions.serializers.json.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.wavesplatform.transactions.serializers.ProtobufConverter.dataEntryFromProto;
+import static com.wavesplatform.transactions.serializers.ProtobufConverter.pbAmountToAmount;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeDataEntry;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.protobufDataSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.utf8Length;
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.dataEntriesFromJson;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.DATA;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+
+final class DataTransactionCodec extends BuiltInCodec<DataTransaction> {
+
+    DataTransactionCodec() {
+        super(DataTransaction.TYPE, DataTransaction.class);
+    }
+
+    @Override
+    public void writeLegacyBody(DataTransaction tx, Scheme scheme, BytesWriter writer) {
+        writer.writePublicKey(tx.sender())
+                .writeShort((short) tx.data().size());
+        for (DataEntry entry : tx.data()) {
+            writer.writeArrayWithLength(entry.key().getBytes(UTF_8));
+            if (entry instanceof IntegerEntry)
+                writer.write((byte) 0)
+                        .writeLong(((IntegerEntry) entry).value());
+            else if (entry instanceof BooleanEntry)
+                writer.write((byte) 1)
+                        .writeBoolean(((BooleanEntry) entry).value());
+            else if (entry instanceof BinaryEntry)
+                writer.write((byte) 2)
+                        .writeArrayWithLength(((BinaryEntry) entry).value().bytes());
+            else if (entry instanceof StringEntry)
+                writer.write((byte) 3)
+                        .writeArrayWithLength(((StringEntry) entry).value().getBytes(UTF_8));
+            else
+                throw new IllegalArgumentException("Unknown entry type " + entry.getClass().getCanonicalName());
+        }
+        writer.writeLong(tx.timestamp())
+                .writeLong(tx.fee().value());
+    }
+
+    @Override
+    public int legacyBodySize(DataTransaction tx, Scheme scheme) {
+        int size = tx.sender().bytes().length + 2;
+        for (DataEntry entry : tx.data()) {
+            size += 2 + utf8Length(entry.key()) + 1;
+            if (entry instanceof IntegerEntry)
+                size += Long.BYTES;
+            else if (entry instanceof BooleanEntry)
+                size += 1;
+            else if (entry instanceof BinaryEntry)
+                size += 2 + ((BinaryEntry) entry).value().bytes().length;
+            else if (entry instanceof StringEntry)
+                size += 2 + utf8Length(((StringEntry) entry).value());
+            else
+                throw new IllegalArgumentException("Unknown entry type " + entry.getClass().getCanonicalName());
+        }
+        return size + Long.BYTES * 2;
+    }
+
+    @Override
+    public DataTransaction readLegacy(BytesReader reader, int version, Scheme scheme, List<Proof> signature) {
+        PublicKey sender = reader.readPublicKey();
+        short entriesCount = reader.readShort();
+        List<DataEntry> entries = new ArrayList<>();
+        for (int i = 0; i < entriesCount; i++)
+            entries.add(reader.readDataEntry(i));
+        long timestamp = reader.readLong();
+        long fee = reader.readLong();
+        List<Proof> proofs = reader.readProofs();
+
+        return new DataTransaction(
+                sender, entries, WavesConfig.chainId(), Amount.of(fee), timestamp, version, proofs);
+    }
+
+    @Override
+    public void writeProtobuf(DataTransaction tx, TransactionOuterClass.Transaction.Builder builder) {
+        builder.setDataTransaction(TransactionOuterClass.DataTransactionData.newBuilder()
+                .addAllData(tx.data().stream().map(e -> {
+                    TransactionOuterClass.DataEntry.Builder entry =
+                            TransactionOuterClass.DataEntry.newBuilder().setKey(e.key());
+                    if (e instanceof BinaryEntry)
+                        entry.setBinaryValue(UnsafeByteOperations.unsafeWrap(((BinaryEntry) e).value().bytes()));
+                    else if (e instanceof BooleanEntry) entry.setBoolValue(((BooleanEntry) e).value());
+                    else if (e instanceof IntegerEntry) entry.setIntValue(((IntegerEntry) e).value());
+                    else if (e instanceof StringEntry) entry.setStringValue(((StringEntry) e).value());
+                    else if (!(e instanceof DeleteEntry))
+                        throw new IllegalArgumentException("Unknown entry type " + e.type());
+                    return entry.build();
+                }).collect(toList()))
+                .build());
+    }
+
+    @Override
+    public int protobufPayloadSize(DataTransaction tx) {
+        return protobufDataSize(tx.data());
+    }
+
+    @Override
+    public void writeProtobufPayload(DataTransaction tx, CodedOutputStream output) throws IOException {
+        for (DataEntry entry : tx.data())
+            writeDataEntry(output, 1, entry);
+    }
+
+    @Override
+    public DataTransaction readProtobuf(SignedTransaction pbSignedTx) {
+        TransactionOuterClass.Transaction pbTx = pbSignedTx.getWavesTransaction();
+        TransactionOuterClass.DataTransactionData data = pbTx.getDataTransaction();
+        return DataTransaction
+                .builder(data.getDataList().stream().map(ProtobufConverter::dataEntryFromProto).collect(toList()))
+                .version(pbTx.getVersion())
+                .chainId((byte) pbTx.getChainId())
+                .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
+                .fee(pbAmountToAmount(pbTx.getFee()))
+                .timestamp(pbTx.getTimestamp())
+                .getUnsigned();
+    }
+
+    @Override
+    public DataTransaction readTrustedProtobuf(TransactionOuterClass.Transaction pbTx, List<Proof> proofs) {
+        TransactionHeader header = protobufHeader(pbTx);
+        TransactionOuterClass.DataTransactionData data = pbTx.getDataTransaction();
+        List<DataEntry> entries = new ArrayList<>(data.getDataCount());
+        for (int i = 0; i < data.getDataCount(); i++)
+            entries.add(dataEntryFromProto(data.getData(i)));
+        return TransactionInternals.trustedData(header.sender(), entries,
+                header.chainId(), header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+    @Override
+    public void writeJson(DataTransaction tx, JsonGenerator generator) throws IOException {
+        generator.writeFieldName(DATA);
+        generator.writeStartArray();
+        for (DataEntry entry : tx.data())
+            JsonWriter.write(entry, generator);
+        generator.writeEndArray();
+    }
+
+    @Override
+    public boolean hasJsonChainId(DataTransaction tx) {
+        return tx.version() != 1;
+    }
+
+    @Override
+    public DataTransaction readJson(JsonNode json, TransactionHeader header, List<Proof> proofs) throws IOException {
+        if (!header.fee().assetId().isWaves())
+            throw new IOException("feeAssetId field must be null for DataTransaction");
+
+        return new DataTransaction(header.sender(), dataEntriesFromJson(json.get("data")),
+                header.chainId(), header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.transactions.EthereumTransaction;
+import com.wavesplatform.transactions.TransactionHeader;
+import com.wavesplatform.transactions.account.Address;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.AssetId;
+import com.wavesplatform.transactions.common.Id;
+import com.wavesplatform.transactions.common.Proof;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.Sign;
+import org.web3j.crypto.SignedRawTransaction;
+import org.web3j.crypto.TransactionDecoder;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.*;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.BYTES;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.PAYLOAD;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.TYPE;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeInvocation;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeString;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeTransfer;
+
+/**
+ * Ethereum transactions are encoded by their own raw bytes, so only the json of the node is built here.
+ */
+final class EthereumTransactionCodec extends BuiltInCodec<EthereumTransaction> {
+
+    EthereumTransactionCodec() {
+        super(EthereumTransaction.TYPE_TAG, EthereumTransaction.class);
+    }
+
+    @Override
+    public void writeProtobuf(EthereumTransaction tx, TransactionOuterClass.Transaction.Builder builder) {
+    }
+
+    @Override
+    public void writeJson(EthereumTransaction tx, JsonGenerator generator) throws IOException {
+        writeString(generator, BYTES, "");
+        generator.writeFieldName(PAYLOAD);
+        generator.writeStartObject();
+        if (tx.payload() instanceof EthereumTransaction.Invocation) {
+            EthereumTransaction.Invocation invocation = (EthereumTransaction.Invocation) tx.payload();
+            writeString(generator, TYPE, "invocation");
+            writeInvocation(generator, invocation.dApp(), invocation.function(), invocation.payments());
+        } else if (tx.payload() instanceof EthereumTransaction.Transfer) {
+            EthereumTransaction.Transfer transfer = (EthereumTransaction.Transfer) tx.payload();
+            writeString(generator, TYPE, "transfer");
+            writeTransfer(generator, transfer.recipient(), transfer.amount());
+        }
+        generator.writeEndObject();
+    }
+
+    @Override
+    public EthereumTransaction readJson(JsonNode json, TransactionHeader header, List<Proof> proofs)
+            throws IOException {
+        RawTransaction rt = TransactionDecoder.decode(json.get("bytes").asText());
+        Sign.SignatureData signatureData = rt instanceof SignedRawTransaction ?
+                ((SignedRawTransaction) rt).getSignatureData() :
+                new Sign.SignatureData(new byte[]{header.chainId()}, new byte[]{}, new byte[]{});
+
+        JsonNode payload = json.get("payload");
+        Id id = new Id(json.get("id").asText());
+        if (payload == null) {
+            return new EthereumTransaction(id,
+                    header.chainId(), rt.getNonce().longValueExact(), rt.getGasPrice(),
+                    header.fee().value(), null, signatureData, header.sender()
+            );
+        }
+        switch (payload.get("type").asText()) {
+            case "invocation":
+                return new EthereumTransaction(id, header.chainId(), rt.getNonce().longValueExact(), rt.getGasPrice(),
+                        header.fee().value(),
+                        new EthereumTransaction.Invocation(
+                                Address.as(payload.get("dApp").asText()),
+                                functionFromJson(payload),
+                                paymentsFromJson(payload)), signatureData, header.sender());
+            case "transfer":
+                AssetId assetId = assetIdFromJson(payload.get("asset"));
+                return new EthereumTransaction(id, header.chainId(), rt.getNonce().longValueExact(), rt.getGasPrice(),
+                        header.fee().value(),
+                        new EthereumTransaction.Transfer(
+                                Address.as(payload.get("recipient").asText()),
+                                Amount.of(payload.get("amount").asLong(), assetId)
+                        ), signatureData, header.sender());
+            default:
+                throw new IOException("Unsupported payload type");
+        }
+    }
+
+}
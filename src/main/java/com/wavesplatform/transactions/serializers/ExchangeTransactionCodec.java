@@ -0,0 +1,231 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.protobuf.CodedOutputStream;
+import com.wavesplatform.protobuf.order.OrderOuterClass;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransaction;
+import com.wavesplatform.transactions.ExchangeTransaction;
+import com.wavesplatform.transactions.TransactionHeader;
+import com.wavesplatform.transactions.WavesConfig;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.Id;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.exchange.Order;
+import com.wavesplatform.transactions.serializers.binary.BytesReader;
+import com.wavesplatform.transactions.serializers.binary.BytesWriter;
+import com.wavesplatform.transactions.serializers.binary.LegacyBinarySerializer;
+import com.wavesplatform.transactions.serializers.json.JsonWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.wavesplatform.transactions.serializers.ProtobufConverter.*;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeInt64;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeMessageHeader;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeOrder;
+import static com.wavesplatform.transactions.serializers.Scheme.WITH_PROOFS;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.int64Size;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.messageSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.signedProtobufOrderSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.toBytesSize;
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.orderFromJson;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.AMOUNT;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.BUY_MATCHER_FEE;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.ORDER_1;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.ORDER_2;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.PRICE;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.SELL_MATCHER_FEE;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeNumber;
+
+final class ExchangeTransactionCodec extends BuiltInCodec<ExchangeTransaction> {
+
+    ExchangeTransactionCodec() {
+        super(ExchangeTransaction.TYPE, ExchangeTransaction.class);
+    }
+
+    @Override
+    public void writeLegacyBody(ExchangeTransaction tx, Scheme scheme, BytesWriter writer) {
+        Order order1 = tx.orders().get(0);
+        Order order2 = tx.orders().get(1);
+        byte[] order1Bytes = order1.toBytes();
+        byte[] order2Bytes = order2.toBytes();
+        writer.writeInt(order1Bytes.length);
+        if (scheme == WITH_PROOFS) {
+            if (order1.version() == 1)
+                writer.write((byte) order1.version());
+            writer.write(order1Bytes)
+                    .writeInt(order2Bytes.length);
+            if (order2.version() == 1)
+                writer.write((byte) order2.version());
+        } else
+            writer.writeInt(order2Bytes.length)
+                    .write(order1Bytes);
+        writer.write(order2Bytes)
+                .writeLong(tx.price())
+                .writeLong(tx.amount())
+                .writeLong(tx.buyMatcherFee())
+                .writeLong(tx.sellMatcherFee())
+                .writeLong(tx.fee().value())
+                .writeLong(tx.timestamp());
+    }
+
+    @Override
+    public int legacyBodySize(ExchangeTransaction tx, Scheme scheme) {
+        Order order1 = tx.orders().get(0);
+        Order order2 = tx.orders().get(1);
+        int size = Integer.BYTES * 2 + toBytesSize(order1) + toBytesSize(order2) + Long.BYTES * 6;
+        if (scheme == WITH_PROOFS) {
+            if (order1.version() == 1)
+                size += 1;
+            if (order2.version() == 1)
+                size += 1;
+        }
+        return size;
+    }
+
+    @Override
+    public ExchangeTransaction readLegacy(BytesReader reader, int version, Scheme scheme, List<Proof> signature) {
+        Order order1, order2;
+        if (scheme == WITH_PROOFS) {
+            order1 = orderFromBytes(reader, reader.readInt());
+            order2 = orderFromBytes(reader, reader.readInt());
+        } else {
+            int order1Length = reader.readInt();
+            int order2Length = reader.readInt();
+            order1 = LegacyBinarySerializer.orderFromBytes(reader.readSlice(order1Length), false);
+            order2 = LegacyBinarySerializer.orderFromBytes(reader.readSlice(order2Length), false);
+        }
+        long price = reader.readLong();
+        long amount = reader.readLong();
+        long buyMatcherFee = reader.readLong();
+        long sellMatcherFee = reader.readLong();
+        long fee = reader.readLong();
+        long timestamp = reader.readLong();
+        List<Proof> proofs = scheme == WITH_PROOFS ? reader.readProofs() : reader.readSignature();
+
+        return new ExchangeTransaction(order1.matcher(), order1, order2, amount, price,
+                buyMatcherFee, sellMatcherFee, WavesConfig.chainId(), Amount.of(fee), timestamp, version, proofs);
+    }
+
+    /**
+     * Parse the order of the exchange transaction with proofs in place.
+     * The length includes the version byte of the order unless it's an order of version 1,
+     * which is stored without the version.
+     */
+    private static Order orderFromBytes(BytesReader reader, int length) {
+        if (reader.peekByte() > 1)
+            return LegacyBinarySerializer.orderFromBytes(reader.readSlice(length), true);
+        reader.readByte();
+        return LegacyBinarySerializer.orderFromBytes(reader.readSlice(length), false);
+    }
+
+    @Override
+    public void writeProtobuf(ExchangeTransaction tx, TransactionOuterClass.Transaction.Builder builder) {
+        OrderOuterClass.Order order1 = tx.orders().get(0).toProtobuf();
+        OrderOuterClass.Order order2 = tx.orders().get(1).toProtobuf();
+        builder.setExchange(TransactionOuterClass.ExchangeTransactionData.newBuilder()
+                .addOrders(order1)
+                .addOrders(order2)
+                .setAmount(tx.amount())
+                .setPrice(tx.price())
+                .setBuyMatcherFee(tx.buyMatcherFee())
+                .setSellMatcherFee(tx.sellMatcherFee())
+                .build());
+    }
+
+    @Override
+    public int protobufPayloadSize(ExchangeTransaction tx) {
+        int size = int64Size(1, tx.amount())
+                + int64Size(2, tx.price())
+                + int64Size(3, tx.buyMatcherFee())
+                + int64Size(4, tx.sellMatcherFee());
+        for (Order order : tx.orders())
+            size += messageSize(5, signedProtobufOrderSize(order));
+        return size;
+    }
+
+    @Override
+    public void writeProtobufPayload(ExchangeTransaction tx, CodedOutputStream output) throws IOException {
+        writeInt64(output, 1, tx.amount());
+        writeInt64(output, 2, tx.price());
+        writeInt64(output, 3, tx.buyMatcherFee());
+        writeInt64(output, 4, tx.sellMatcherFee());
+        for (Order order : tx.orders()) {
+            OrderOuterClass.Order original = order.originalProtobuf();
+            if (original != null)
+                output.writeMessage(5, original);
+            else {
+                writeMessageHeader(output, 5, signedProtobufOrderSize(order));
+                writeOrder(order, output, true);
+            }
+        }
+    }
+
+    @Override
+    public ExchangeTransaction readProtobuf(SignedTransaction pbSignedTx) throws IOException {
+        TransactionOuterClass.Transaction pbTx = pbSignedTx.getWavesTransaction();
+        TransactionOuterClass.ExchangeTransactionData exchange = pbTx.getExchange();
+        return ExchangeTransaction
+                .builder(fromProtobuf(exchange.getOrders(0)),
+                        fromProtobuf(exchange.getOrders(1)),
+                        exchange.getAmount(),
+                        exchange.getPrice(),
+                        exchange.getBuyMatcherFee(),
+                        exchange.getSellMatcherFee())
+                .version(pbTx.getVersion())
+                .chainId((byte) pbTx.getChainId())
+                .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
+                .fee(pbAmountToAmount(pbTx.getFee()))
+                .timestamp(pbTx.getTimestamp())
+                .getUnsigned();
+    }
+
+    @Override
+    public ExchangeTransaction readTrustedProtobuf(TransactionOuterClass.Transaction pbTx, List<Proof> proofs)
+            throws IOException {
+        TransactionHeader header = protobufHeader(pbTx);
+        TransactionOuterClass.ExchangeTransactionData exchange = pbTx.getExchange();
+        return new ExchangeTransaction(header.sender(),
+                fromTrustedProtobuf(exchange.getOrders(0)), fromTrustedProtobuf(exchange.getOrders(1)),
+                exchange.getAmount(), exchange.getPrice(), exchange.getBuyMatcherFee(), exchange.getSellMatcherFee(),
+                header.chainId(), header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+    @Override
+    public void writeJson(ExchangeTransaction tx, JsonGenerator generator) throws IOException {
+        generator.writeFieldName(ORDER_1);
+        JsonWriter.write(tx.orders().get(0), generator);
+        generator.writeFieldName(ORDER_2);
+        JsonWriter.write(tx.orders().get(1), generator);
+        writeNumber(generator, AMOUNT, tx.amount());
+        writeNumber(generator, PRICE, tx.price());
+        writeNumber(generator, BUY_MATCHER_FEE, tx.buyMatcherFee());
+        writeNumber(generator, SELL_MATCHER_FEE, tx.sellMatcherFee());
+    }
+
+    @Override
+    public boolean hasJsonChainId(ExchangeTransaction tx) {
+        return Scheme.of(tx) == Scheme.PROTOBUF;
+    }
+
+    @Override
+    public ExchangeTransaction readJson(JsonNode json, TransactionHeader header, List<Proof> proofs) throws IOException {
+        if (!header.fee().assetId().isWaves())
+            throw new IOException("feeAssetId field must be null for ExchangeTransaction");
+
+        if (header.version() == 1 && json.has("signature"))
+            proofs = Proof.list(Proof.as(json.get("signature").asText()));
+
+        Id id = json.hasNonNull("id") ? new Id(json.get("id").asText()) : null;
+
+        return new ExchangeTransaction(id, header.sender(),
+                orderFromJson(json.get("order1")), orderFromJson(json.get("order2")),
+                json.get("amount").asLong(), json.get("price").asLong(), json.get("buyMatcherFee").asLong(),
+                json.get("sellMatcherFee").asLong(), header.chainId(), header.fee(), header.timestamp(),
+                header.version(), proofs);
+    }
+
+}
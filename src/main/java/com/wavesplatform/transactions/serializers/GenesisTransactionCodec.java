@@ -0,0 +1,113 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnsafeByteOperations;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransaction;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.transactions.GenesisTransaction;
+import com.wavesplatform.transactions.TransactionHeader;
+import com.wavesplatform.transactions.account.Address;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.serializers.binary.BytesReader;
+import com.wavesplatform.transactions.serializers.binary.BytesWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeBytes;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeInt64;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.bytesSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.int64Size;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.AMOUNT;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.RECIPIENT;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeNumber;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeString;
+
+final class GenesisTransactionCodec extends BuiltInCodec<GenesisTransaction> {
+
+    GenesisTransactionCodec() {
+        super(GenesisTransaction.TYPE, GenesisTransaction.class);
+    }
+
+    @Override
+    public void writeLegacyBody(GenesisTransaction tx, Scheme scheme, BytesWriter writer) {
+        writer.writeLong(tx.timestamp())
+                .write(tx.recipient().bytes())
+                .writeLong(tx.amount());
+    }
+
+    @Override
+    public int legacyBodySize(GenesisTransaction tx, Scheme scheme) {
+        return Long.BYTES + tx.recipient().bytes().length + Long.BYTES;
+    }
+
+    @Override
+    public GenesisTransaction readLegacy(BytesReader reader, int version, Scheme scheme, List<Proof> signature) {
+        long timestamp = reader.readLong();
+        Address recipient = Address.as(reader.readBytes(Address.BYTES_LENGTH));
+        long amount = reader.readLong();
+
+        return new GenesisTransaction(recipient, amount, timestamp);
+    }
+
+    @Override
+    public void writeProtobuf(GenesisTransaction tx, TransactionOuterClass.Transaction.Builder builder) {
+        builder.setGenesis(TransactionOuterClass.GenesisTransactionData.newBuilder()
+                .setRecipientAddress(UnsafeByteOperations.unsafeWrap(tx.recipient().bytes()))
+                .setAmount(tx.amount())
+                .build());
+    }
+
+    @Override
+    public int protobufPayloadSize(GenesisTransaction tx) {
+        return bytesSize(1, tx.recipient().bytes()) + int64Size(2, tx.amount());
+    }
+
+    @Override
+    public void writeProtobufPayload(GenesisTransaction tx, CodedOutputStream output) throws IOException {
+        writeBytes(output, 1, tx.recipient().bytes());
+        writeInt64(output, 2, tx.amount());
+    }
+
+    @Override
+    public GenesisTransaction readProtobuf(SignedTransaction pbSignedTx) {
+        TransactionOuterClass.Transaction pbTx = pbSignedTx.getWavesTransaction();
+        TransactionOuterClass.GenesisTransactionData genesis = pbTx.getGenesis();
+        return new GenesisTransaction(
+                Address.as(genesis.getRecipientAddress().toByteArray()),
+                genesis.getAmount(),
+                pbTx.getTimestamp(),
+                pbSignedTx.getProofsCount() > 0 ? Proof.as(pbSignedTx.getProofs(0).toByteArray()) : Proof.EMPTY
+        );
+    }
+
+    @Override
+    public GenesisTransaction readTrustedProtobuf(TransactionOuterClass.Transaction pbTx, List<Proof> proofs) {
+        TransactionOuterClass.GenesisTransactionData genesis = pbTx.getGenesis();
+        Address recipient = Address.as(genesis.getRecipientAddress().toByteArray());
+        return proofs.isEmpty()
+                ? new GenesisTransaction(recipient, genesis.getAmount(), pbTx.getTimestamp())
+                : new GenesisTransaction(recipient, genesis.getAmount(), pbTx.getTimestamp(), proofs.get(0));
+    }
+
+    @Override
+    public void writeJson(GenesisTransaction tx, JsonGenerator generator) throws IOException {
+        writeString(generator, RECIPIENT, tx.recipient().toString());
+        writeNumber(generator, AMOUNT, tx.amount());
+    }
+
+    @Override
+    public boolean hasJsonVersion(GenesisTransaction tx) {
+        return false;
+    }
+
+    @Override
+    public GenesisTransaction readJson(JsonNode json, TransactionHeader header, List<Proof> proofs) {
+        Address recipient = Address.as(json.get("recipient").asText());
+        return new GenesisTransaction(recipient, json.get("amount").asLong(), header.timestamp(),
+                Proof.as(json.get("signature").asText()));
+    }
+
+}
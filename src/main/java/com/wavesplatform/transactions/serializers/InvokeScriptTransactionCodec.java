@@ -0,0 +1,169 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnsafeByteOperations;
+import com.wavesplatform.protobuf.AmountOuterClass;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransaction;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.transactions.InvokeScriptTransaction;
+import com.wavesplatform.transactions.TransactionHeader;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.AssetId;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.common.Recipient;
+import com.wavesplatform.transactions.invocation.Function;
+import com.wavesplatform.transactions.serializers.binary.BytesReader;
+import com.wavesplatform.transactions.serializers.binary.BytesWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.wavesplatform.transactions.serializers.ProtobufConverter.*;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeAmount;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeRecipient;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.amountSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.assetIdOrWavesSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.functionSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.messageSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.recipientSize;
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.*;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeInvocation;
+import static java.util.stream.Collectors.toList;
+
+final class InvokeScriptTransactionCodec extends BuiltInCodec<InvokeScriptTransaction> {
+
+    InvokeScriptTransactionCodec() {
+        super(InvokeScriptTransaction.TYPE, InvokeScriptTransaction.class);
+    }
+
+    @Override
+    public void writeLegacyBody(InvokeScriptTransaction tx, Scheme scheme, BytesWriter writer) {
+        writer.write(tx.chainId())
+                .writePublicKey(tx.sender())
+                .writeRecipient(tx.dApp())
+                .writeFunction(tx.function())
+                .writeShort((short) tx.payments().size());
+        for (Amount payment : tx.payments())
+            writer.writeShort((short) (Long.BYTES + 1 + payment.assetId().bytes().length))
+                    .writeLong(payment.value())
+                    .writeAssetIdOrWaves(payment.assetId());
+        writer.writeLong(tx.fee().value())
+                .writeAssetIdOrWaves(tx.fee().assetId())
+                .writeLong(tx.timestamp());
+    }
+
+    @Override
+    public int legacyBodySize(InvokeScriptTransaction tx, Scheme scheme) {
+        int size = 1 + tx.sender().bytes().length + tx.dApp().bytes().length + functionSize(tx.function()) + 2;
+        for (Amount payment : tx.payments())
+            size += 2 + Long.BYTES + assetIdOrWavesSize(payment.assetId());
+        return size + Long.BYTES + assetIdOrWavesSize(tx.fee().assetId()) + Long.BYTES;
+    }
+
+    @Override
+    public InvokeScriptTransaction readLegacy(BytesReader reader, int version, Scheme scheme, List<Proof> signature) {
+        byte chainId = reader.readByte();
+        PublicKey sender = reader.readPublicKey();
+        Recipient dApp = reader.readRecipient();
+        Function functionCall = reader.readFunctionCall();
+        short paymentsCount = reader.readShort();
+        List<Amount> payments = new ArrayList<>();
+        for (int i = 0; i < paymentsCount; i++) {
+            BytesReader paymentReader = new BytesReader(reader.readSliceWithLength());
+            payments.add(Amount.of(paymentReader.readLong(), paymentReader.readAssetIdOrWaves()));
+            if (paymentReader.hasNext())
+                throw new IllegalArgumentException("The size of " + (paymentReader.position() + paymentReader.rest())
+                        + " bytes is " + paymentReader.rest()
+                        + " greater than expected for the payment with index " + i + " of the parsed InvokeScriptTransaction");
+        }
+        long fee = reader.readLong();
+        AssetId feeAssetId = reader.readAssetIdOrWaves();
+        long timestamp = reader.readLong();
+        List<Proof> proofs = reader.readProofs();
+
+        return new InvokeScriptTransaction(
+                sender, dApp, functionCall, payments, chainId, Amount.of(fee, feeAssetId), timestamp, version, proofs);
+    }
+
+    @Override
+    public void writeProtobuf(InvokeScriptTransaction tx, TransactionOuterClass.Transaction.Builder builder) {
+        TransactionOuterClass.InvokeScriptTransactionData.Builder invoke =
+                TransactionOuterClass.InvokeScriptTransactionData.newBuilder();
+        invoke.setDApp(recipientToProto(tx.dApp()));
+        invoke.setFunctionCall(UnsafeByteOperations.unsafeWrap(new BytesWriter().writeFunction(tx.function()).getBytes()));
+        tx.payments().forEach(p -> invoke.addPayments(AmountOuterClass.Amount.newBuilder()
+                .setAmount(p.value())
+                .setAssetId(UnsafeByteOperations.unsafeWrap(p.assetId().bytes()))
+                .build()));
+        builder.setInvokeScript(invoke.build());
+    }
+
+    @Override
+    public int protobufPayloadSize(InvokeScriptTransaction tx) {
+        int size = messageSize(1, recipientSize(tx.dApp())) + messageSize(2, functionSize(tx.function()));
+        for (Amount payment : tx.payments())
+            size += messageSize(3, amountSize(payment));
+        return size;
+    }
+
+    @Override
+    public void writeProtobufPayload(InvokeScriptTransaction tx, CodedOutputStream output) throws IOException {
+        writeRecipient(output, 1, tx.dApp());
+        output.writeByteArray(2, new BytesWriter(functionSize(tx.function())).writeFunction(tx.function()).getBytes());
+        for (Amount payment : tx.payments())
+            writeAmount(output, 3, payment);
+    }
+
+    @Override
+    public InvokeScriptTransaction readProtobuf(SignedTransaction pbSignedTx) {
+        TransactionOuterClass.Transaction pbTx = pbSignedTx.getWavesTransaction();
+        TransactionOuterClass.InvokeScriptTransactionData invoke = pbTx.getInvokeScript();
+        Function functionCall = new BytesReader(invoke.getFunctionCall().asReadOnlyByteBuffer()).readFunctionCall();
+        return InvokeScriptTransaction
+                .builder(recipientFromProto(invoke.getDApp(), (byte) pbTx.getChainId()), functionCall)
+                .payments(invoke.getPaymentsList().stream().map(p ->
+                                Amount.of(p.getAmount(), AssetId.as(p.getAssetId().toByteArray())))
+                        .collect(toList()))
+                .version(pbTx.getVersion())
+                .chainId((byte) pbTx.getChainId())
+                .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
+                .fee(pbAmountToAmount(pbTx.getFee()))
+                .timestamp(pbTx.getTimestamp())
+                .getUnsigned();
+    }
+
+    @Override
+    public InvokeScriptTransaction readTrustedProtobuf(TransactionOuterClass.Transaction pbTx, List<Proof> proofs) {
+        TransactionHeader header = protobufHeader(pbTx);
+        TransactionOuterClass.InvokeScriptTransactionData invoke = pbTx.getInvokeScript();
+        List<Amount> payments = new ArrayList<>(invoke.getPaymentsCount());
+        for (int i = 0; i < invoke.getPaymentsCount(); i++)
+            payments.add(pbAmountToAmount(invoke.getPayments(i)));
+        return new InvokeScriptTransaction(header.sender(), recipientFromProto(invoke.getDApp(), header.chainId()),
+                new BytesReader(invoke.getFunctionCall().asReadOnlyByteBuffer()).readFunctionCall(), payments,
+                header.chainId(), header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+    @Override
+    public void writeJson(InvokeScriptTransaction tx, JsonGenerator generator) throws IOException {
+        writeInvocation(generator, tx.dApp(), tx.function(), tx.payments());
+    }
+
+    @Override
+    public boolean hasJsonChainId(InvokeScriptTransaction tx) {
+        return tx.version() != 1;
+    }
+
+    @Override
+    public InvokeScriptTransaction readJson(JsonNode json, TransactionHeader header, List<Proof> proofs)
+            throws IOException {
+        return new InvokeScriptTransaction(header.sender(), recipientFromJson(json.get("dApp")),
+                functionFromJson(json), paymentsFromJson(json),
+                header.chainId(), header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+}
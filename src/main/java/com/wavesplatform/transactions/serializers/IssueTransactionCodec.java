@@ -0,0 +1,183 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnsafeByteOperations;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransaction;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.transactions.IssueTransaction;
+import com.wavesplatform.transactions.TransactionHeader;
+import com.wavesplatform.transactions.WavesConfig;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.Base64String;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.serializers.binary.BytesReader;
+import com.wavesplatform.transactions.serializers.binary.BytesWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.wavesplatform.transactions.serializers.ProtobufConverter.pbAmountToAmount;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeBool;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeBytes;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeInt32;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeInt64;
+import static com.wavesplatform.transactions.serializers.Scheme.WITH_PROOFS;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.boolSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.bytesSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.int32Size;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.int64Size;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.optionArraySize;
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.scriptFromJson;
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.scriptToJson;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.DECIMALS;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.DESCRIPTION;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.NAME;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.QUANTITY;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.REISSUABLE;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.SCRIPT;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeBoolean;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeNumber;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeString;
+
+final class IssueTransactionCodec extends BuiltInCodec<IssueTransaction> {
+
+    IssueTransactionCodec() {
+        super(IssueTransaction.TYPE, IssueTransaction.class);
+    }
+
+    @Override
+    public void writeLegacyBody(IssueTransaction tx, Scheme scheme, BytesWriter writer) {
+        if (scheme == WITH_PROOFS)
+            writer.write(tx.chainId());
+        writer.writePublicKey(tx.sender())
+                .writeArrayWithLength(tx.nameBytes())
+                .writeArrayWithLength(tx.descriptionBytes())
+                .writeLong(tx.quantity())
+                .write((byte) tx.decimals())
+                .writeBoolean(tx.reissuable())
+                .writeLong(tx.fee().value())
+                .writeLong(tx.timestamp());
+        if (scheme == WITH_PROOFS)
+            writer.writeOptionArrayWithLength(tx.script().bytes());
+    }
+
+    @Override
+    public int legacyBodySize(IssueTransaction tx, Scheme scheme) {
+        int size = (scheme == WITH_PROOFS ? 1 : 0)
+                + tx.sender().bytes().length
+                + 2 + tx.nameBytes().length
+                + 2 + tx.descriptionBytes().length
+                + Long.BYTES + 1 + 1 + Long.BYTES * 2;
+        return scheme == WITH_PROOFS ? size + optionArraySize(tx.script().bytes()) : size;
+    }
+
+    @Override
+    public IssueTransaction readLegacy(BytesReader reader, int version, Scheme scheme, List<Proof> signature) {
+        byte chainId = scheme == WITH_PROOFS ? reader.readByte() : WavesConfig.chainId();
+        PublicKey sender = reader.readPublicKey();
+        byte[] name = reader.readArrayWithLength();
+        byte[] description = reader.readArrayWithLength();
+        long quantity = reader.readLong();
+        int decimals = reader.readByte();
+        boolean isReissuable = reader.readBoolean();
+        long fee = reader.readLong();
+        long timestamp = reader.readLong();
+        Base64String script = new Base64String(scheme == WITH_PROOFS ? reader.readOptionArrayWithLength() : null);
+        List<Proof> proofs = scheme == WITH_PROOFS ? reader.readProofs() : signature;
+
+        return new IssueTransaction(sender, name, description, quantity, decimals, isReissuable, script,
+                chainId, Amount.of(fee), timestamp, version, proofs);
+    }
+
+    @Override
+    public void writeProtobuf(IssueTransaction tx, TransactionOuterClass.Transaction.Builder builder) {
+        builder.setIssue(TransactionOuterClass.IssueTransactionData.newBuilder()
+                .setNameBytes(UnsafeByteOperations.unsafeWrap(tx.nameBytes()))
+                .setDescriptionBytes(UnsafeByteOperations.unsafeWrap(tx.descriptionBytes()))
+                .setAmount(tx.quantity())
+                .setDecimals(tx.decimals())
+                .setReissuable(tx.reissuable())
+                .setScript(UnsafeByteOperations.unsafeWrap(tx.script().bytes()))
+                .build());
+    }
+
+    @Override
+    public int protobufPayloadSize(IssueTransaction tx) {
+        return bytesSize(1, tx.nameBytes())
+                + bytesSize(2, tx.descriptionBytes())
+                + int64Size(3, tx.quantity())
+                + int32Size(4, tx.decimals())
+                + boolSize(5, tx.reissuable())
+                + bytesSize(6, tx.script().bytes());
+    }
+
+    @Override
+    public void writeProtobufPayload(IssueTransaction tx, CodedOutputStream output) throws IOException {
+        writeBytes(output, 1, tx.nameBytes());
+        writeBytes(output, 2, tx.descriptionBytes());
+        writeInt64(output, 3, tx.quantity());
+        writeInt32(output, 4, tx.decimals());
+        writeBool(output, 5, tx.reissuable());
+        writeBytes(output, 6, tx.script().bytes());
+    }
+
+    @Override
+    public IssueTransaction readProtobuf(SignedTransaction pbSignedTx) {
+        TransactionOuterClass.Transaction pbTx = pbSignedTx.getWavesTransaction();
+        TransactionOuterClass.IssueTransactionData issue = pbTx.getIssue();
+        return new IssueTransaction(
+                PublicKey.as(pbTx.getSenderPublicKey().toByteArray()),
+                issue.getNameBytes().toByteArray(),
+                issue.getDescriptionBytes().toByteArray(),
+                issue.getAmount(),
+                issue.getDecimals(),
+                issue.getReissuable(),
+                new Base64String(issue.getScript().toByteArray()),
+                (byte) pbTx.getChainId(),
+                pbAmountToAmount(pbTx.getFee()),
+                pbTx.getTimestamp(),
+                pbTx.getVersion(),
+                Proof.emptyList()
+        );
+    }
+
+    @Override
+    public IssueTransaction readTrustedProtobuf(TransactionOuterClass.Transaction pbTx, List<Proof> proofs) {
+        TransactionHeader header = protobufHeader(pbTx);
+        TransactionOuterClass.IssueTransactionData issue = pbTx.getIssue();
+        return new IssueTransaction(header.sender(), issue.getNameBytes().toByteArray(),
+                issue.getDescriptionBytes().toByteArray(), issue.getAmount(), issue.getDecimals(),
+                issue.getReissuable(), new Base64String(issue.getScript().toByteArray()),
+                header.chainId(), header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+    @Override
+    public void writeJson(IssueTransaction tx, JsonGenerator generator) throws IOException {
+        writeString(generator, NAME, tx.name());
+        writeString(generator, DESCRIPTION, tx.description());
+        writeNumber(generator, QUANTITY, tx.quantity());
+        writeNumber(generator, DECIMALS, tx.decimals());
+        writeBoolean(generator, REISSUABLE, tx.reissuable());
+        writeString(generator, SCRIPT, scriptToJson(tx.script()));
+    }
+
+    @Override
+    public boolean hasJsonChainId(IssueTransaction tx) {
+        return tx.version() != 1;
+    }
+
+    @Override
+    public IssueTransaction readJson(JsonNode json, TransactionHeader header, List<Proof> proofs) throws IOException {
+        if (!header.fee().assetId().isWaves())
+            throw new IOException("feeAssetId field must be null for ReissueTransaction");
+        if (header.version() == 1 && json.has("signature"))
+            proofs = Proof.list(Proof.as(json.get("signature").asText()));
+        return new IssueTransaction(header.sender(), json.get("name").asText(), json.get("description").asText(),
+                json.get("quantity").asLong(), json.get("decimals").asInt(), json.get("reissuable").asBoolean(),
+                scriptFromJson(json), header.chainId(), header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+}
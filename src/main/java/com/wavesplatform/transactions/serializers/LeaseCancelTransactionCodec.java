@@ -0,0 +1,126 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnsafeByteOperations;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransaction;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.transactions.LeaseCancelTransaction;
+import com.wavesplatform.transactions.TransactionHeader;
+import com.wavesplatform.transactions.WavesConfig;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.Id;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.serializers.binary.BytesReader;
+import com.wavesplatform.transactions.serializers.binary.BytesWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.wavesplatform.transactions.serializers.ProtobufConverter.pbAmountToAmount;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeBytes;
+import static com.wavesplatform.transactions.serializers.Scheme.WITH_PROOFS;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.bytesSize;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.LEASE_ID;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeString;
+
+final class LeaseCancelTransactionCodec extends BuiltInCodec<LeaseCancelTransaction> {
+
+    LeaseCancelTransactionCodec() {
+        super(LeaseCancelTransaction.TYPE, LeaseCancelTransaction.class);
+    }
+
+    @Override
+    public void writeLegacyBody(LeaseCancelTransaction tx, Scheme scheme, BytesWriter writer) {
+        if (scheme == WITH_PROOFS)
+            writer.write(tx.chainId());
+        writer.writePublicKey(tx.sender())
+                .writeLong(tx.fee().value())
+                .writeLong(tx.timestamp())
+                .writeTxId(tx.leaseId());
+    }
+
+    @Override
+    public int legacyBodySize(LeaseCancelTransaction tx, Scheme scheme) {
+        return (scheme == WITH_PROOFS ? 1 : 0)
+                + tx.sender().bytes().length
+                + Long.BYTES * 2
+                + tx.leaseId().bytes().length;
+    }
+
+    @Override
+    public LeaseCancelTransaction readLegacy(BytesReader reader, int version, Scheme scheme, List<Proof> signature) {
+        byte chainId = scheme == WITH_PROOFS ? reader.readByte() : WavesConfig.chainId();
+        PublicKey sender = reader.readPublicKey();
+        long fee = reader.readLong();
+        long timestamp = reader.readLong();
+        Id leaseId = reader.readTxId();
+        List<Proof> proofs = scheme == WITH_PROOFS ? reader.readProofs() : reader.readSignature();
+
+        return new LeaseCancelTransaction(
+                sender, leaseId, chainId, Amount.of(fee), timestamp, version, proofs);
+    }
+
+    @Override
+    public void writeProtobuf(LeaseCancelTransaction tx, TransactionOuterClass.Transaction.Builder builder) {
+        builder.setLeaseCancel(TransactionOuterClass.LeaseCancelTransactionData.newBuilder()
+                .setLeaseId(UnsafeByteOperations.unsafeWrap(tx.leaseId().bytes()))
+                .build());
+    }
+
+    @Override
+    public int protobufPayloadSize(LeaseCancelTransaction tx) {
+        return bytesSize(1, tx.leaseId().bytes());
+    }
+
+    @Override
+    public void writeProtobufPayload(LeaseCancelTransaction tx, CodedOutputStream output) throws IOException {
+        writeBytes(output, 1, tx.leaseId().bytes());
+    }
+
+    @Override
+    public LeaseCancelTransaction readProtobuf(SignedTransaction pbSignedTx) {
+        TransactionOuterClass.Transaction pbTx = pbSignedTx.getWavesTransaction();
+        TransactionOuterClass.LeaseCancelTransactionData leaseCancel = pbTx.getLeaseCancel();
+        return LeaseCancelTransaction
+                .builder(Id.as(leaseCancel.getLeaseId().toByteArray()))
+                .version(pbTx.getVersion())
+                .chainId((byte) pbTx.getChainId())
+                .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
+                .fee(pbAmountToAmount(pbTx.getFee()))
+                .timestamp(pbTx.getTimestamp())
+                .getUnsigned();
+    }
+
+    @Override
+    public LeaseCancelTransaction readTrustedProtobuf(TransactionOuterClass.Transaction pbTx, List<Proof> proofs) {
+        TransactionHeader header = protobufHeader(pbTx);
+        return new LeaseCancelTransaction(header.sender(), Id.as(pbTx.getLeaseCancel().getLeaseId().toByteArray()),
+                header.chainId(), header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+    @Override
+    public void writeJson(LeaseCancelTransaction tx, JsonGenerator generator) throws IOException {
+        writeString(generator, LEASE_ID, tx.leaseId().toString());
+    }
+
+    @Override
+    public boolean hasJsonChainId(LeaseCancelTransaction tx) {
+        return tx.version() != 1;
+    }
+
+    @Override
+    public LeaseCancelTransaction readJson(JsonNode json, TransactionHeader header, List<Proof> proofs)
+            throws IOException {
+        if (!header.fee().assetId().isWaves())
+            throw new IOException("feeAssetId field must be null for LeaseCancelTransaction");
+
+        if (header.version() == 1 && json.has("signature"))
+            proofs = Proof.list(Proof.as(json.get("signature").asText()));
+        return new LeaseCancelTransaction(header.sender(), Id.as(json.get("leaseId").asText()),
+                header.chainId(), header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.protobuf.CodedOutputStream;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransaction;
+import com.wavesplatform.transactions.LeaseTransaction;
+import com.wavesplatform.transactions.TransactionHeader;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.AssetId;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.common.Recipient;
+import com.wavesplatform.transactions.serializers.binary.BytesReader;
+import com.wavesplatform.transactions.serializers.binary.BytesWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.wavesplatform.transactions.serializers.ProtobufConverter.*;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeInt64;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeRecipient;
+import static com.wavesplatform.transactions.serializers.Scheme.WITH_PROOFS;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.assetIdOrWavesSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.int64Size;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.messageSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.recipientSize;
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.recipientFromJson;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.AMOUNT;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.RECIPIENT;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeNumber;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeString;
+
+final class LeaseTransactionCodec extends BuiltInCodec<LeaseTransaction> {
+
+    LeaseTransactionCodec() {
+        super(LeaseTransaction.TYPE, LeaseTransaction.class);
+    }
+
+    @Override
+    public void writeLegacyBody(LeaseTransaction tx, Scheme scheme, BytesWriter writer) {
+        if (scheme == WITH_PROOFS)
+            writer.writeAssetIdOrWaves(AssetId.WAVES);
+        writer.writePublicKey(tx.sender())
+                .writeRecipient(tx.recipient())
+                .writeLong(tx.amount())
+                .writeLong(tx.fee().value())
+                .writeLong(tx.timestamp());
+    }
+
+    @Override
+    public int legacyBodySize(LeaseTransaction tx, Scheme scheme) {
+        return (scheme == WITH_PROOFS ? assetIdOrWavesSize(AssetId.WAVES) : 0)
+                + tx.sender().bytes().length
+                + tx.recipient().bytes().length
+                + Long.BYTES * 3;
+    }
+
+    @Override
+    public LeaseTransaction readLegacy(BytesReader reader, int version, Scheme scheme, List<Proof> signature) {
+        if (scheme == WITH_PROOFS && !reader.readAssetIdOrWaves().isWaves())
+            throw new IllegalArgumentException("Only Waves allowed to lease");
+
+        PublicKey sender = reader.readPublicKey();
+        Recipient recipient = reader.readRecipient();
+        long amount = reader.readLong();
+        long fee = reader.readLong();
+        long timestamp = reader.readLong();
+        List<Proof> proofs = scheme == WITH_PROOFS ? reader.readProofs() : reader.readSignature();
+
+        return new LeaseTransaction(
+                sender, recipient, amount, recipient.chainId(), Amount.of(fee), timestamp, version, proofs);
+    }
+
+    @Override
+    public void writeProtobuf(LeaseTransaction tx, TransactionOuterClass.Transaction.Builder builder) {
+        builder.setLease(TransactionOuterClass.LeaseTransactionData.newBuilder()
+                .setRecipient(recipientToProto(tx.recipient()))
+                .setAmount(tx.amount())
+                .build());
+    }
+
+    @Override
+    public int protobufPayloadSize(LeaseTransaction tx) {
+        return messageSize(1, recipientSize(tx.recipient())) + int64Size(2, tx.amount());
+    }
+
+    @Override
+    public void writeProtobufPayload(LeaseTransaction tx, CodedOutputStream output) throws IOException {
+        writeRecipient(output, 1, tx.recipient());
+        writeInt64(output, 2, tx.amount());
+    }
+
+    @Override
+    public LeaseTransaction readProtobuf(SignedTransaction pbSignedTx) {
+        TransactionOuterClass.Transaction pbTx = pbSignedTx.getWavesTransaction();
+        TransactionOuterClass.LeaseTransactionData lease = pbTx.getLease();
+        return LeaseTransaction
+                .builder(recipientFromProto(lease.getRecipient(), (byte) pbTx.getChainId()), lease.getAmount())
+                .version(pbTx.getVersion())
+                .chainId((byte) pbTx.getChainId())
+                .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
+                .fee(pbAmountToAmount(pbTx.getFee()))
+                .timestamp(pbTx.getTimestamp())
+                .getUnsigned();
+    }
+
+    @Override
+    public LeaseTransaction readTrustedProtobuf(TransactionOuterClass.Transaction pbTx, List<Proof> proofs) {
+        TransactionHeader header = protobufHeader(pbTx);
+        TransactionOuterClass.LeaseTransactionData lease = pbTx.getLease();
+        return new LeaseTransaction(header.sender(), recipientFromProto(lease.getRecipient(), header.chainId()),
+                lease.getAmount(), header.chainId(), header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+    @Override
+    public void writeJson(LeaseTransaction tx, JsonGenerator generator) throws IOException {
+        writeString(generator, RECIPIENT, tx.recipient().toString());
+        writeNumber(generator, AMOUNT, tx.amount());
+    }
+
+    @Override
+    public boolean hasJsonChainId(LeaseTransaction tx) {
+        return tx.version() >= 3;
+    }
+
+    @Override
+    public LeaseTransaction readJson(JsonNode json, TransactionHeader header, List<Proof> proofs) throws IOException {
+        if (!header.fee().assetId().isWaves())
+            throw new IOException("feeAssetId field must be null for LeaseTransaction");
+
+        Recipient recipient = recipientFromJson(json.get("recipient"));
+        byte chainId = header.version() < 3 ? recipient.chainId() : header.chainId();
+        if (header.version() == 1 && json.has("signature"))
+            proofs = Proof.list(Proof.as(json.get("signature").asText()));
+
+        return new LeaseTransaction(header.sender(), recipient, json.get("amount").asLong(),
+                chainId, header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+}
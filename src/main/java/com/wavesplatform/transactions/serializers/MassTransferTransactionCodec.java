@@ -0,0 +1,198 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnsafeByteOperations;
+import com.wavesplatform.crypto.base.Base58;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransaction;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.transactions.MassTransferTransaction;
+import com.wavesplatform.transactions.TransactionHeader;
+import com.wavesplatform.transactions.TransactionInternals;
+import com.wavesplatform.transactions.WavesConfig;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.*;
+import com.wavesplatform.transactions.mass.Transfer;
+import com.wavesplatform.transactions.serializers.binary.BytesReader;
+import com.wavesplatform.transactions.serializers.binary.BytesWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.wavesplatform.transactions.serializers.ProtobufConverter.*;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeBytes;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeInt64;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeMessageHeader;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeRecipient;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.assetIdOrWavesSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.bytesSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.messageSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.transferSize;
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.*;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.AMOUNT;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.ASSET_ID;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.ATTACHMENT;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.RECIPIENT;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.TRANSFERS;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeNumber;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeString;
+import static java.util.stream.Collectors.toList;
+
+final class MassTransferTransactionCodec extends BuiltInCodec<MassTransferTransaction> {
+
+    MassTransferTransactionCodec() {
+        super(MassTransferTransaction.TYPE, MassTransferTransaction.class);
+    }
+
+    @Override
+    public void writeLegacyBody(MassTransferTransaction tx, Scheme scheme, BytesWriter writer) {
+        writer.writePublicKey(tx.sender())
+                .writeAssetIdOrWaves(tx.assetId())
+                .writeShort((short) tx.transfers().size());
+        for (Transfer transfer : tx.transfers())
+            writer.writeRecipient(transfer.recipient())
+                    .writeLong(transfer.amount());
+        writer.writeLong(tx.timestamp())
+                .writeLong(tx.fee().value())
+                .writeArrayWithLength(tx.attachment().bytes());
+    }
+
+    @Override
+    public int legacyBodySize(MassTransferTransaction tx, Scheme scheme) {
+        int size = tx.sender().bytes().length + assetIdOrWavesSize(tx.assetId()) + 2;
+        for (Transfer transfer : tx.transfers())
+            size += transfer.recipient().bytes().length + Long.BYTES;
+        return size + Long.BYTES * 2 + 2 + tx.attachment().bytes().length;
+    }
+
+    @Override
+    public MassTransferTransaction readLegacy(BytesReader reader, int version, Scheme scheme, List<Proof> signature) {
+        PublicKey sender = reader.readPublicKey();
+        AssetId assetId = reader.readAssetIdOrWaves();
+        short transfersCount = reader.readShort();
+        List<Transfer> transfers = new ArrayList<>();
+        for (int i = 0; i < transfersCount; i++)
+            transfers.add(Transfer.to(reader.readRecipient(), reader.readLong()));
+        long timestamp = reader.readLong();
+        long fee = reader.readLong();
+        Base58String attachment = new Base58String(reader.readArrayWithLength());
+        List<Proof> proofs = reader.readProofs();
+
+        byte chainId = transfersCount > 0 ? transfers.get(0).recipient().chainId() : WavesConfig.chainId();
+
+        return new MassTransferTransaction(
+                sender, assetId, transfers, attachment, chainId, Amount.of(fee), timestamp, version, proofs);
+    }
+
+    @Override
+    public void writeProtobuf(MassTransferTransaction tx, TransactionOuterClass.Transaction.Builder builder) {
+        builder.setMassTransfer(TransactionOuterClass.MassTransferTransactionData.newBuilder()
+                .addAllTransfers(tx.transfers().stream().map(t ->
+                        TransactionOuterClass.MassTransferTransactionData.Transfer.newBuilder()
+                                .setRecipient(recipientToProto(t.recipient()))
+                                .setAmount(t.amount())
+                                .build()
+                ).collect(toList()))
+                .setAssetId(UnsafeByteOperations.unsafeWrap(tx.assetId().bytes()))
+                .setAttachment(UnsafeByteOperations.unsafeWrap(tx.attachment().bytes())));
+    }
+
+    @Override
+    public int protobufPayloadSize(MassTransferTransaction tx) {
+        int size = bytesSize(1, tx.assetId().bytes());
+        for (Transfer transfer : tx.transfers())
+            size += messageSize(2, transferSize(transfer));
+        return size + bytesSize(3, tx.attachment().bytes());
+    }
+
+    @Override
+    public void writeProtobufPayload(MassTransferTransaction tx, CodedOutputStream output) throws IOException {
+        writeBytes(output, 1, tx.assetId().bytes());
+        for (Transfer transfer : tx.transfers()) {
+            writeMessageHeader(output, 2, transferSize(transfer));
+            writeRecipient(output, 1, transfer.recipient());
+            writeInt64(output, 2, transfer.amount());
+        }
+        writeBytes(output, 3, tx.attachment().bytes());
+    }
+
+    @Override
+    public MassTransferTransaction readProtobuf(SignedTransaction pbSignedTx) {
+        TransactionOuterClass.Transaction pbTx = pbSignedTx.getWavesTransaction();
+        TransactionOuterClass.MassTransferTransactionData massTransfer = pbTx.getMassTransfer();
+        List<Transfer> transfers = massTransfer.getTransfersList()
+                .stream()
+                .map(t -> Transfer.to(recipientFromProto(t.getRecipient(), (byte) pbTx.getChainId()), t.getAmount()))
+                .collect(toList());
+        return MassTransferTransaction
+                .builder(transfers)
+                .assetId(AssetId.as(massTransfer.getAssetId().toByteArray()))
+                .attachment(new Base58String(massTransfer.getAttachment().toByteArray()))
+                .version(pbTx.getVersion())
+                .chainId((byte) pbTx.getChainId())
+                .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
+                .fee(pbAmountToAmount(pbTx.getFee()))
+                .timestamp(pbTx.getTimestamp())
+                .getUnsigned();
+    }
+
+    @Override
+    public MassTransferTransaction readTrustedProtobuf(TransactionOuterClass.Transaction pbTx, List<Proof> proofs) {
+        TransactionHeader header = protobufHeader(pbTx);
+        TransactionOuterClass.MassTransferTransactionData massTransfer = pbTx.getMassTransfer();
+        List<Transfer> transfers = new ArrayList<>(massTransfer.getTransfersCount());
+        for (int i = 0; i < massTransfer.getTransfersCount(); i++) {
+            TransactionOuterClass.MassTransferTransactionData.Transfer transfer = massTransfer.getTransfers(i);
+            transfers.add(new Transfer(recipientFromProto(transfer.getRecipient(), header.chainId()), transfer.getAmount()));
+        }
+        return TransactionInternals.trustedMassTransfer(header.sender(), AssetId.as(massTransfer.getAssetId().toByteArray()),
+                transfers, new Base58String(massTransfer.getAttachment().toByteArray()),
+                header.chainId(), header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+    @Override
+    public void writeJson(MassTransferTransaction tx, JsonGenerator generator) throws IOException {
+        writeString(generator, ASSET_ID, assetIdToJson(tx.assetId()));
+        writeString(generator, ATTACHMENT, Base58.encode(tx.attachment().bytes()));
+        generator.writeFieldName(TRANSFERS);
+        generator.writeStartArray();
+        for (Transfer transfer : tx.transfers()) {
+            generator.writeStartObject();
+            writeString(generator, RECIPIENT, transfer.recipient().toString());
+            writeNumber(generator, AMOUNT, transfer.amount());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    @Override
+    public boolean hasJsonChainId(MassTransferTransaction tx) {
+        return tx.version() != 1;
+    }
+
+    @Override
+    public MassTransferTransaction readJson(JsonNode json, TransactionHeader header, List<Proof> proofs) {
+        Id id = new Id(json.get("id").asText());
+        //todo check transferCount, totalAmount?
+        JsonNode jsTransfers = json.get("transfers");
+        List<Transfer> transfers = new ArrayList<>();
+        for (JsonNode jsTransfer : jsTransfers) {
+            Recipient recipient = recipientFromJson(jsTransfer.get("recipient"));
+            long amount = jsTransfer.get("amount").asLong();
+            transfers.add(Transfer.to(recipient, amount));
+        }
+        AssetId assetId = assetIdFromJson(json.get("assetId"));
+        Base58String attachment = json.hasNonNull("attachment")
+                ? new Base58String(json.get("attachment").asText()) : Base58String.empty();
+        byte chainId = header.version() == 1 && transfers.size() > 0
+                ? transfers.get(0).recipient().chainId() : header.chainId();
+
+        if (header.version() == 1 && json.has("signature"))
+            proofs = Proof.list(Proof.as(json.get("signature").asText()));
+        return new MassTransferTransaction(id, header.sender(), assetId, transfers, attachment,
+                chainId, header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnsafeByteOperations;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransaction;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.transactions.PaymentTransaction;
+import com.wavesplatform.transactions.TransactionHeader;
+import com.wavesplatform.transactions.account.Address;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.serializers.binary.BytesReader;
+import com.wavesplatform.transactions.serializers.binary.BytesWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.wavesplatform.transactions.serializers.ProtobufConverter.pbAmountToAmount;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeBytes;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeInt64;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.bytesSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.int64Size;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.AMOUNT;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.RECIPIENT;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeNumber;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeString;
+
+final class PaymentTransactionCodec extends BuiltInCodec<PaymentTransaction> {
+
+    PaymentTransactionCodec() {
+        super(PaymentTransaction.TYPE, PaymentTransaction.class);
+    }
+
+    @Override
+    public void writeLegacyBody(PaymentTransaction tx, Scheme scheme, BytesWriter writer) {
+        writer.writeLong(tx.timestamp())
+                .writePublicKey(tx.sender())
+                .write(tx.recipient().bytes())
+                .writeLong(tx.amount())
+                .writeLong(tx.fee().value());
+    }
+
+    @Override
+    public int legacyBodySize(PaymentTransaction tx, Scheme scheme) {
+        return Long.BYTES + tx.sender().bytes().length + tx.recipient().bytes().length + Long.BYTES * 2;
+    }
+
+    @Override
+    public PaymentTransaction readLegacy(BytesReader reader, int version, Scheme scheme, List<Proof> signature) {
+        long timestamp = reader.readLong();
+        PublicKey sender = reader.readPublicKey();
+        Address recipient = Address.as(reader.readBytes(Address.BYTES_LENGTH));
+        long amount = reader.readLong();
+        long fee = reader.readLong();
+        Proof proof = reader.readSignature().get(0);
+
+        return new PaymentTransaction(sender, recipient, amount, Amount.of(fee), timestamp, proof);
+    }
+
+    @Override
+    public void writeProtobuf(PaymentTransaction tx, TransactionOuterClass.Transaction.Builder builder) {
+        builder.setPayment(TransactionOuterClass.PaymentTransactionData.newBuilder()
+                .setRecipientAddress(UnsafeByteOperations.unsafeWrap(tx.recipient().bytes()))
+                .setAmount(tx.amount())
+                .build());
+    }
+
+    @Override
+    public int protobufPayloadSize(PaymentTransaction tx) {
+        return bytesSize(1, tx.recipient().bytes()) + int64Size(2, tx.amount());
+    }
+
+    @Override
+    public void writeProtobufPayload(PaymentTransaction tx, CodedOutputStream output) throws IOException {
+        writeBytes(output, 1, tx.recipient().bytes());
+        writeInt64(output, 2, tx.amount());
+    }
+
+    @Override
+    public PaymentTransaction readProtobuf(SignedTransaction pbSignedTx) {
+        TransactionOuterClass.Transaction pbTx = pbSignedTx.getWavesTransaction();
+        TransactionOuterClass.PaymentTransactionData payment = pbTx.getPayment();
+        return new PaymentTransaction(
+                PublicKey.as(pbTx.getSenderPublicKey().toByteArray()),
+                Address.as(payment.getRecipientAddress().toByteArray()),
+                payment.getAmount(),
+                pbAmountToAmount(pbTx.getFee()),
+                pbTx.getTimestamp(),
+                Proof.EMPTY
+        );
+    }
+
+    @Override
+    public PaymentTransaction readTrustedProtobuf(TransactionOuterClass.Transaction pbTx, List<Proof> proofs) {
+        TransactionHeader header = protobufHeader(pbTx);
+        TransactionOuterClass.PaymentTransactionData payment = pbTx.getPayment();
+        return new PaymentTransaction(header.sender(), Address.as(payment.getRecipientAddress().toByteArray()),
+                payment.getAmount(), header.fee(), header.timestamp(), proofs.isEmpty() ? null : proofs.get(0));
+    }
+
+    @Override
+    public void writeJson(PaymentTransaction tx, JsonGenerator generator) throws IOException {
+        writeString(generator, RECIPIENT, tx.recipient().toString());
+        writeNumber(generator, AMOUNT, tx.amount());
+    }
+
+    @Override
+    public boolean hasJsonVersion(PaymentTransaction tx) {
+        return false;
+    }
+
+    @Override
+    public boolean hasJsonSignature(PaymentTransaction tx) {
+        return false;
+    }
+
+    @Override
+    public PaymentTransaction readJson(JsonNode json, TransactionHeader header, List<Proof> proofs) {
+        Address recipient = Address.as(json.get("recipient").asText());
+        return new PaymentTransaction(header.sender(), recipient, json.get("amount").asLong(), header.fee(),
+                header.timestamp(), Proof.as(json.get("proofs").get(0).asText()));
+    }
+
+}
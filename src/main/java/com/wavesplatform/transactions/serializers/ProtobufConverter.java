@@ -1,10 +1,11 @@
 package com.wavesplatform.transactions.serializers;
 
-import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.UnsafeByteOperations;
 import com.wavesplatform.crypto.base.Base58;
 import com.wavesplatform.events.protobuf.Events.TransactionMetadata;
 import com.wavesplatform.protobuf.AmountOuterClass;
+import com.wavesplatform.protobuf.block.BlockOuterClass;
 import com.wavesplatform.protobuf.order.OrderOuterClass;
 import com.wavesplatform.protobuf.transaction.InvokeScriptResultOuterClass.InvokeScriptResult.Call.Argument;
 import com.wavesplatform.protobuf.transaction.RecipientOuterClass;
@@ -13,29 +14,22 @@ import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransa
 import com.wavesplatform.transactions.*;
 import com.wavesplatform.transactions.account.Address;
 import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.block.BlockHeader;
 import com.wavesplatform.transactions.common.*;
 import com.wavesplatform.transactions.data.*;
 import com.wavesplatform.transactions.exchange.Order;
 import com.wavesplatform.transactions.exchange.OrderType;
 import com.wavesplatform.transactions.invocation.*;
 import com.wavesplatform.transactions.mass.Transfer;
-import com.wavesplatform.transactions.serializers.binary.BytesReader;
-import com.wavesplatform.transactions.serializers.binary.BytesWriter;
-import org.web3j.crypto.SignedRawTransaction;
-import org.web3j.utils.Numeric;
+import com.wavesplatform.transactions.serializers.eth.EthRawTransaction;
 
 import java.io.IOException;
-import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static com.wavesplatform.protobuf.transaction.TransactionOuterClass.DataEntry.ValueCase.*;
-import static com.wavesplatform.transactions.EthereumTransaction.AMOUNT_MULTIPLIER;
-import static com.wavesplatform.transactions.EthereumTransaction.ERC20_PREFIX;
-import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.stream.Collectors.toList;
-import static org.web3j.crypto.TransactionDecoder.decode;
-import static org.web3j.utils.Numeric.toHexString;
 
 public abstract class ProtobufConverter {
 
@@ -61,7 +55,7 @@ public abstract class ProtobufConverter {
                 .eip712Signature(pbOrder.getEip712Signature().toByteArray())
                 .getUnsigned();
         pbOrder.getProofsList().forEach(p -> order.proofs().add(Proof.as(p.toByteArray())));
-        return order;
+        return TransactionInternals.withProtobuf(order, pbOrder);
     }
 
     public static Transaction fromProtobuf(SignedTransaction pbSignedTx) throws IOException {
@@ -75,221 +69,122 @@ public abstract class ProtobufConverter {
             throw new InvalidProtocolBufferException("Waves transaction is missing");
         }
 
-        Transaction tx;
         TransactionOuterClass.Transaction pbTx = pbSignedTx.getWavesTransaction();
+        int type = pbTx.getDataCase().getNumber() - 100;
 
-        if (pbTx.hasGenesis()) {
-            TransactionOuterClass.GenesisTransactionData genesis = pbTx.getGenesis();
-            tx = new GenesisTransaction(
-                    Address.as(genesis.getRecipientAddress().toByteArray()),
-                    genesis.getAmount(),
-                    pbTx.getTimestamp(),
-                    pbSignedTx.getProofsCount() > 0 ? Proof.as(pbSignedTx.getProofs(0).toByteArray()) : Proof.EMPTY
-            );
-        } else if (pbTx.hasPayment()) {
-            TransactionOuterClass.PaymentTransactionData payment = pbTx.getPayment();
-            tx = new PaymentTransaction(
-                    PublicKey.as(pbTx.getSenderPublicKey().toByteArray()),
-                    Address.as(payment.getRecipientAddress().toByteArray()),
-                    payment.getAmount(),
-                    pbAmountToAmount(pbTx.getFee()),
-                    pbTx.getTimestamp(),
-                    Proof.EMPTY
-            );
-        } else if (pbTx.hasIssue()) {
-            TransactionOuterClass.IssueTransactionData issue = pbTx.getIssue();
-            tx = new IssueTransaction(
-                    PublicKey.as(pbTx.getSenderPublicKey().toByteArray()),
-                    issue.getNameBytes().toByteArray(),
-                    issue.getDescriptionBytes().toByteArray(),
-                    issue.getAmount(),
-                    issue.getDecimals(),
-                    issue.getReissuable(),
-                    new Base64String(issue.getScript().toByteArray()),
-                    (byte) pbTx.getChainId(),
-                    pbAmountToAmount(pbTx.getFee()),
-                    pbTx.getTimestamp(),
-                    pbTx.getVersion(),
-                    Proof.emptyList()
-            );
-        } else if (pbTx.hasTransfer()) {
-            TransactionOuterClass.TransferTransactionData transfer = pbTx.getTransfer();
-            AmountOuterClass.Amount amount = transfer.getAmount();
-            tx = TransferTransaction
-                    .builder(recipientFromProto(transfer.getRecipient(), (byte) pbTx.getChainId()),
-                            Amount.of(amount.getAmount(), AssetId.as(amount.getAssetId().toByteArray())))
-                    .attachment(new Base58String(transfer.getAttachment().toByteArray()))
-                    .version(pbTx.getVersion())
-                    .chainId((byte) pbTx.getChainId())
-                    .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
-                    .fee(pbAmountToAmount(pbTx.getFee()))
-                    .timestamp(pbTx.getTimestamp())
-                    .getUnsigned();
-        } else if (pbTx.hasReissue()) {
-            TransactionOuterClass.ReissueTransactionData reissue = pbTx.getReissue();
-            tx = ReissueTransaction
-                    .builder(Amount.of(reissue.getAssetAmount().getAmount(),
-                            AssetId.as(reissue.getAssetAmount().getAssetId().toByteArray())))
-                    .reissuable(reissue.getReissuable())
-                    .version(pbTx.getVersion())
-                    .chainId((byte) pbTx.getChainId())
-                    .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
-                    .fee(pbAmountToAmount(pbTx.getFee()))
-                    .timestamp(pbTx.getTimestamp())
-                    .getUnsigned();
-        } else if (pbTx.hasBurn()) {
-            TransactionOuterClass.BurnTransactionData burn = pbTx.getBurn();
-            tx = BurnTransaction
-                    .builder(Amount.of(burn.getAssetAmount().getAmount(),
-                            AssetId.as(burn.getAssetAmount().getAssetId().toByteArray())))
-                    .version(pbTx.getVersion())
-                    .chainId((byte) pbTx.getChainId())
-                    .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
-                    .fee(pbAmountToAmount(pbTx.getFee()))
-                    .timestamp(pbTx.getTimestamp())
-                    .getUnsigned();
-        } else if (pbTx.hasExchange()) {
-            TransactionOuterClass.ExchangeTransactionData exchange = pbTx.getExchange();
-            tx = ExchangeTransaction
-                    .builder(fromProtobuf(exchange.getOrders(0)),
-                            fromProtobuf(exchange.getOrders(1)),
-                            exchange.getAmount(),
-                            exchange.getPrice(),
-                            exchange.getBuyMatcherFee(),
-                            exchange.getSellMatcherFee())
-                    .version(pbTx.getVersion())
-                    .chainId((byte) pbTx.getChainId())
-                    .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
-                    .fee(pbAmountToAmount(pbTx.getFee()))
-                    .timestamp(pbTx.getTimestamp())
-                    .getUnsigned();
-        } else if (pbTx.hasLease()) {
-            TransactionOuterClass.LeaseTransactionData lease = pbTx.getLease();
-            tx = LeaseTransaction
-                    .builder(recipientFromProto(lease.getRecipient(), (byte) pbTx.getChainId()), lease.getAmount())
-                    .version(pbTx.getVersion())
-                    .chainId((byte) pbTx.getChainId())
-                    .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
-                    .fee(pbAmountToAmount(pbTx.getFee()))
-                    .timestamp(pbTx.getTimestamp())
-                    .getUnsigned();
-        } else if (pbTx.hasLeaseCancel()) {
-            TransactionOuterClass.LeaseCancelTransactionData leaseCancel = pbTx.getLeaseCancel();
-            tx = LeaseCancelTransaction
-                    .builder(Id.as(leaseCancel.getLeaseId().toByteArray()))
-                    .version(pbTx.getVersion())
-                    .chainId((byte) pbTx.getChainId())
-                    .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
-                    .fee(pbAmountToAmount(pbTx.getFee()))
-                    .timestamp(pbTx.getTimestamp())
-                    .getUnsigned();
-        } else if (pbTx.hasCreateAlias()) {
-            TransactionOuterClass.CreateAliasTransactionData alias = pbTx.getCreateAlias();
-            tx = CreateAliasTransaction
-                    .builder(new String(alias.getAliasBytes().toByteArray(), UTF_8))
-                    .version(pbTx.getVersion())
-                    .chainId((byte) pbTx.getChainId())
-                    .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
-                    .fee(pbAmountToAmount(pbTx.getFee()))
-                    .timestamp(pbTx.getTimestamp())
-                    .getUnsigned();
-        } else if (pbTx.hasMassTransfer()) {
-            TransactionOuterClass.MassTransferTransactionData massTransfer = pbTx.getMassTransfer();
-            List<Transfer> transfers = massTransfer.getTransfersList()
-                    .stream()
-                    .map(t -> Transfer.to(recipientFromProto(t.getRecipient(), (byte) pbTx.getChainId()), t.getAmount()))
-                    .collect(toList());
-            tx = MassTransferTransaction
-                    .builder(transfers)
-                    .assetId(AssetId.as(massTransfer.getAssetId().toByteArray()))
-                    .attachment(new Base58String(massTransfer.getAttachment().toByteArray()))
-                    .version(pbTx.getVersion())
-                    .chainId((byte) pbTx.getChainId())
-                    .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
-                    .fee(pbAmountToAmount(pbTx.getFee()))
-                    .timestamp(pbTx.getTimestamp())
-                    .getUnsigned();
-        } else if (pbTx.hasDataTransaction()) {
-            TransactionOuterClass.DataTransactionData data = pbTx.getDataTransaction();
-            tx = DataTransaction
-                    .builder(data.getDataList().stream().map(e -> {
-                        if (e.getValueCase() == INT_VALUE)
-                            return new IntegerEntry(e.getKey(), e.getIntValue());
-                        else if (e.getValueCase() == BOOL_VALUE)
-                            return new BooleanEntry(e.getKey(), e.getBoolValue());
-                        else if (e.getValueCase() == BINARY_VALUE)
-                            return new BinaryEntry(e.getKey(), e.getBinaryValue().toByteArray());
-                        else if (e.getValueCase() == STRING_VALUE)
-                            return new StringEntry(e.getKey(), e.getStringValue());
-                        else if (e.getValueCase() == VALUE_NOT_SET)
-                            return new DeleteEntry(e.getKey());
-                        else throw new IllegalArgumentException("Unknown value case " + e.getValueCase().getNumber());
-                    }).collect(toList()))
-                    .version(pbTx.getVersion())
-                    .chainId((byte) pbTx.getChainId())
-                    .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
-                    .fee(pbAmountToAmount(pbTx.getFee()))
-                    .timestamp(pbTx.getTimestamp())
-                    .getUnsigned();
-        } else if (pbTx.hasSetScript()) {
-            TransactionOuterClass.SetScriptTransactionData setScript = pbTx.getSetScript();
-            tx = SetScriptTransaction
-                    .builder(new Base64String(setScript.getScript().toByteArray()))
-                    .version(pbTx.getVersion())
-                    .chainId((byte) pbTx.getChainId())
-                    .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
-                    .fee(pbAmountToAmount(pbTx.getFee()))
-                    .timestamp(pbTx.getTimestamp())
-                    .getUnsigned();
-        } else if (pbTx.hasSponsorFee()) {
-            TransactionOuterClass.SponsorFeeTransactionData sponsor = pbTx.getSponsorFee();
-            tx = SponsorFeeTransaction
-                    .builder(AssetId.as(sponsor.getMinFee().getAssetId().toByteArray()), sponsor.getMinFee().getAmount())
-                    .version(pbTx.getVersion())
-                    .chainId((byte) pbTx.getChainId())
-                    .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
-                    .fee(pbAmountToAmount(pbTx.getFee()))
-                    .timestamp(pbTx.getTimestamp())
-                    .getUnsigned();
-        } else if (pbTx.hasSetAssetScript()) {
-            TransactionOuterClass.SetAssetScriptTransactionData setAssetScript = pbTx.getSetAssetScript();
-            tx = SetAssetScriptTransaction
-                    .builder(AssetId.as(setAssetScript.getAssetId().toByteArray()),
-                            new Base64String(setAssetScript.getScript().toByteArray()))
-                    .version(pbTx.getVersion())
-                    .chainId((byte) pbTx.getChainId())
-                    .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
-                    .fee(pbAmountToAmount(pbTx.getFee()))
-                    .timestamp(pbTx.getTimestamp())
-                    .getUnsigned();
-        } else if (pbTx.hasInvokeScript()) {
-            TransactionOuterClass.InvokeScriptTransactionData invoke = pbTx.getInvokeScript();
-            Function functionCall = new BytesReader(invoke.getFunctionCall().toByteArray()).readFunctionCall();
-            tx = InvokeScriptTransaction
-                    .builder(recipientFromProto(invoke.getDApp(), (byte) pbTx.getChainId()), functionCall)
-                    .payments(invoke.getPaymentsList().stream().map(p ->
-                                    Amount.of(p.getAmount(), AssetId.as(p.getAssetId().toByteArray())))
-                            .collect(toList()))
-                    .version(pbTx.getVersion())
-                    .chainId((byte) pbTx.getChainId())
-                    .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
-                    .fee(pbAmountToAmount(pbTx.getFee()))
-                    .timestamp(pbTx.getTimestamp())
-                    .getUnsigned();
-        } else if (pbTx.hasUpdateAssetInfo()) {
-            TransactionOuterClass.UpdateAssetInfoTransactionData update = pbTx.getUpdateAssetInfo();
-            tx = UpdateAssetInfoTransaction
-                    .builder(AssetId.as(update.getAssetId().toByteArray()), update.getName(), update.getDescription())
-                    .version(pbTx.getVersion())
-                    .chainId((byte) pbTx.getChainId())
-                    .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
-                    .fee(pbAmountToAmount(pbTx.getFee()))
-                    .timestamp(pbTx.getTimestamp())
-                    .getUnsigned();
-        } else throw new InvalidProtocolBufferException("Can't recognize transaction type");
+        TransactionCodec<Transaction> codec = TransactionCodecs.get(type);
+        Transaction decoded = codec == null ? null : codec.fromProtobuf(pbSignedTx);
+        if (decoded != null)
+            return TransactionInternals.withProtobuf(decoded, pbSignedTx);
+
+        BuiltInCodec<Transaction> builtIn = TransactionCodecs.builtIn(type);
+        if (builtIn == null)
+            throw new InvalidProtocolBufferException("Can't recognize transaction type");
+        Transaction tx = builtIn.readProtobuf(pbSignedTx);
 
         pbSignedTx.getProofsList().forEach(p -> tx.proofs().add(Proof.as(p.toByteArray())));
-        return tx;
+        return TransactionInternals.withProtobuf(tx, pbSignedTx);
+    }
+
+    /**
+     * Convert the order which is already validated by a node, e.g. from a block of a trusted node.
+     * The order is created by its constructor without a builder, and all fields are taken as is,
+     * so an absent expiration or timestamp isn't replaced with a default one.
+     *
+     * @param pbOrder protobuf order
+     * @return order
+     * @throws IOException if the order side is unknown
+     */
+    public static Order fromTrustedProtobuf(OrderOuterClass.Order pbOrder) throws IOException {
+        OrderType type;
+        if (pbOrder.getOrderSide() == OrderOuterClass.Order.Side.BUY)
+            type = OrderType.BUY;
+        else if (pbOrder.getOrderSide() == OrderOuterClass.Order.Side.SELL)
+            type = OrderType.SELL;
+        else throw new IOException("Unknown order type \"" + pbOrder.getOrderSide() + "\"");
+
+        List<Proof> proofs = new ArrayList<>(pbOrder.getProofsCount());
+        for (int i = 0; i < pbOrder.getProofsCount(); i++)
+            proofs.add(Proof.as(pbOrder.getProofs(i).toByteArray()));
+
+        OrderOuterClass.AssetPair assetPair = pbOrder.getAssetPair();
+        Order order = new Order(null,
+                PublicKey.as(pbOrder.getSenderPublicKey().toByteArray()),
+                type,
+                Amount.of(pbOrder.getAmount(), AssetId.as(assetPair.getAmountAssetId().toByteArray())),
+                Amount.of(pbOrder.getPrice(), AssetId.as(assetPair.getPriceAssetId().toByteArray())),
+                PublicKey.as(pbOrder.getMatcherPublicKey().toByteArray()),
+                (byte) pbOrder.getChainId(),
+                pbAmountToAmount(pbOrder.getMatcherFee()),
+                pbOrder.getTimestamp(),
+                pbOrder.getExpiration(),
+                pbOrder.getVersion(),
+                proofs,
+                pbOrder.getEip712Signature().isEmpty() ? null : pbOrder.getEip712Signature().toByteArray());
+        return TransactionInternals.withProtobuf(order, pbOrder);
+    }
+
+    /**
+     * Convert the transaction which is already validated by a node, e.g. from a block of a trusted node.
+     * <p>
+     * Unlike {@link #fromProtobuf(SignedTransaction)}, transactions are created by their constructors without builders,
+     * so neither the default chain id nor the current time is read. Fee and timestamp are taken as is,
+     * and the fee of a data or mass transfer transaction is not recalculated even if it's zero.
+     *
+     * @param pbSignedTx protobuf transaction
+     * @return transaction
+     * @throws IOException if the transaction data is missing
+     */
+    public static Transaction fromTrustedProtobuf(SignedTransaction pbSignedTx) throws IOException {
+        if (!pbSignedTx.hasWavesTransaction())
+            throw new InvalidProtocolBufferException("Waves transaction is missing");
+        TransactionOuterClass.Transaction pbTx = pbSignedTx.getWavesTransaction();
+
+        int type = pbTx.getDataCase().getNumber() - 100;
+
+        TransactionCodec<Transaction> codec = TransactionCodecs.get(type);
+        Transaction decoded = codec == null ? null : codec.fromProtobuf(pbSignedTx);
+        if (decoded != null)
+            return TransactionInternals.withProtobuf(decoded, pbSignedTx);
+
+        BuiltInCodec<Transaction> builtIn = TransactionCodecs.builtIn(type);
+        if (builtIn == null)
+            throw new InvalidProtocolBufferException("Can't recognize transaction type");
+
+        List<Proof> proofs = new ArrayList<>(pbSignedTx.getProofsCount());
+        for (int i = 0; i < pbSignedTx.getProofsCount(); i++)
+            proofs.add(Proof.as(pbSignedTx.getProofs(i).toByteArray()));
+
+        return TransactionInternals.withProtobuf(builtIn.readTrustedProtobuf(pbTx, proofs), pbSignedTx);
+    }
+
+    public static BlockHeader blockHeaderFromProtobuf(BlockOuterClass.Block.Header pbHeader) {
+        return new BlockHeader(
+                pbHeader.getVersion(),
+                (byte) pbHeader.getChainId(),
+                pbHeader.getTimestamp(),
+                Id.as(pbHeader.getReference().toByteArray()),
+                pbHeader.getBaseTarget(),
+                new Base58String(pbHeader.getGenerationSignature().toByteArray()),
+                Collections.unmodifiableList(new ArrayList<>(pbHeader.getFeatureVotesList())),
+                PublicKey.as(pbHeader.getGenerator().toByteArray()),
+                pbHeader.getRewardVote(),
+                new Base58String(pbHeader.getTransactionsRoot().toByteArray()),
+                new Base58String(pbHeader.getStateHash().toByteArray()));
+    }
+
+    public static DataEntry dataEntryFromProto(TransactionOuterClass.DataEntry e) {
+        if (e.getValueCase() == INT_VALUE)
+            return new IntegerEntry(e.getKey(), e.getIntValue());
+        else if (e.getValueCase() == BOOL_VALUE)
+            return new BooleanEntry(e.getKey(), e.getBoolValue());
+        else if (e.getValueCase() == BINARY_VALUE)
+            return new BinaryEntry(e.getKey(), e.getBinaryValue().toByteArray());
+        else if (e.getValueCase() == STRING_VALUE)
+            return new StringEntry(e.getKey(), e.getStringValue());
+        else if (e.getValueCase() == VALUE_NOT_SET)
+            return new DeleteEntry(e.getKey());
+        else throw new IllegalArgumentException("Unknown value case " + e.getValueCase().getNumber());
     }
 
     public static List<Arg> fromPbArgument(List<Argument> pbArgs) {
@@ -318,47 +213,18 @@ public abstract class ProtobufConverter {
 
     public static EthereumTransaction ethTransferTxFromProtobuf(SignedTransaction pbSignedTx) {
         if (!pbSignedTx.getEthereumTransaction().isEmpty()) {
-            SignedRawTransaction srt = (SignedRawTransaction) decode(toHexString(pbSignedTx.getEthereumTransaction().toByteArray()));
-            String data = Numeric.cleanHexPrefix(srt.getTransaction().getData());
-            if (data.isEmpty() && !srt.getTransaction().getValue().equals(BigInteger.ZERO)) {
-                return EthereumTransaction.transfer(
-                        Address.fromPart(srt.getChainId().byteValue(), Numeric.hexStringToByteArray(srt.getTo())),
-                        Amount.of(srt.getValue().divide(AMOUNT_MULTIPLIER).longValueExact()),
-                        srt.getGasPrice(),
-                        srt.getChainId().byteValue(),
-                        srt.getGasLimit().longValueExact(),
-                        srt.getNonce().longValueExact(),
-                        srt.getSignatureData()
-                );
-            } else if (data.startsWith(ERC20_PREFIX) && srt.getTransaction().getValue().equals(BigInteger.ZERO)) {
-                return EthereumTransaction.transfer(
-                        Address.fromPart(
-                                srt.getChainId().byteValue(),
-                                Numeric.hexStringToByteArray(new org.web3j.abi.datatypes.Address(data.substring(8, 71)).toString())
-                        ),
-                        Amount.of(
-                                Numeric.toBigInt(data.substring(72)).divide(AMOUNT_MULTIPLIER).longValueExact(),
-                                AssetId.as(Numeric.hexStringToByteArray(srt.getTo()))
-                        ),
-                        srt.getGasPrice(),
-                        srt.getChainId().byteValue(),
-                        srt.getGasLimit().longValueExact(),
-                        srt.getNonce().longValueExact(),
-                        srt.getSignatureData()
-                );
-            }
+            EthRawTransaction raw = EthRawTransaction.decode(pbSignedTx.getEthereumTransaction().asReadOnlyByteBuffer());
+            if (raw.isTransfer())
+                return EthereumTransaction.transfer(raw);
         }
         throw new IllegalArgumentException("Transfer ethereum transaction is missing");
     }
 
     public static EthereumTransaction ethInvokeScriptTxFromProtobuf(SignedTransaction pbSignedTx, TransactionMetadata pbTxMetadata) {
         if (!pbSignedTx.getEthereumTransaction().isEmpty()) {
-            SignedRawTransaction srt = (SignedRawTransaction) decode(toHexString(pbSignedTx.getEthereumTransaction().toByteArray()));
-            String data = Numeric.cleanHexPrefix(srt.getTransaction().getData());
-            if (data.isEmpty() && !srt.getTransaction().getValue().equals(BigInteger.ZERO)
-                    || data.startsWith(ERC20_PREFIX) && srt.getTransaction().getValue().equals(BigInteger.ZERO)) {
+            EthRawTransaction raw = EthRawTransaction.decode(pbSignedTx.getEthereumTransaction().asReadOnlyByteBuffer());
+            if (raw.isTransfer())
                 throw new IllegalArgumentException("Transfer ethereum transaction not supported from this method");
-            }
             TransactionMetadata.InvokeScriptMetadata invoke = pbTxMetadata.getEthereum().getInvoke();
             List<Amount> payments = invoke.getPaymentsList().stream().map(p ->
                             Amount.of(p.getAmount(), AssetId.as(p.getAssetId().toByteArray())))
@@ -367,11 +233,11 @@ public abstract class ProtobufConverter {
                     Address.as(Base58.encode(invoke.getDAppAddress().toByteArray())),
                     Function.as(invoke.getFunctionName(), fromPbArgument(invoke.getArgumentsList())),
                     payments,
-                    srt.getGasPrice(),
-                    srt.getChainId().byteValue(),
-                    srt.getGasLimit().longValueExact(),
-                    srt.getNonce().longValueExact(),
-                    srt.getSignatureData()
+                    raw.gasPrice(),
+                    EthereumTransaction.chainId(raw),
+                    raw.gasLimit().longValueExact(),
+                    raw.nonce().longValueExact(),
+                    raw.signatureData()
             );
         }
         throw new IllegalArgumentException("Invoke script ethereum transaction is missing");
@@ -384,19 +250,19 @@ public abstract class ProtobufConverter {
         else if (order.type() == OrderType.SELL)
             builder.setOrderSide(OrderOuterClass.Order.Side.SELL);
         if (order.eip712Signature() != null && order.eip712Signature().length > 0) {
-            builder.setEip712Signature(ByteString.copyFrom(order.eip712Signature()));
+            builder.setEip712Signature(UnsafeByteOperations.unsafeWrap(order.eip712Signature()));
         } else {
-            builder.setSenderPublicKey(ByteString.copyFrom(order.sender().bytes()));
+            builder.setSenderPublicKey(UnsafeByteOperations.unsafeWrap(order.sender().bytes()));
         }
         builder.setVersion(order.version())
                 .setChainId(order.chainId())
                 .setAssetPair(OrderOuterClass.AssetPair.newBuilder()
-                        .setAmountAssetId(ByteString.copyFrom(order.amount().assetId().bytes()))
-                        .setPriceAssetId(ByteString.copyFrom(order.price().assetId().bytes()))
+                        .setAmountAssetId(UnsafeByteOperations.unsafeWrap(order.amount().assetId().bytes()))
+                        .setPriceAssetId(UnsafeByteOperations.unsafeWrap(order.price().assetId().bytes()))
                         .build())
                 .setAmount(order.amount().value())
                 .setPrice(order.price().value())
-                .setMatcherPublicKey(ByteString.copyFrom(order.matcher().bytes()))
+                .setMatcherPublicKey(UnsafeByteOperations.unsafeWrap(order.matcher().bytes()))
                 .setMatcherFee(amountToPBAmount(order.fee()))
                 .setTimestamp(order.timestamp())
                 .setExpiration(order.expiration());
@@ -404,156 +270,19 @@ public abstract class ProtobufConverter {
     }
 
     public static TransactionOuterClass.Transaction toUnsignedProtobuf(Transaction tx) {
+        TransactionCodec<Transaction> codec = TransactionCodecs.get(tx.type());
+        TransactionOuterClass.Transaction pbTx = codec == null ? null : codec.toUnsignedProtobuf(tx);
+        if (pbTx != null)
+            return pbTx;
+
         TransactionOuterClass.Transaction.Builder protoBuilder = TransactionOuterClass.Transaction.newBuilder()
                 .setVersion(tx.version())
                 .setChainId(tx.chainId())
-                .setSenderPublicKey(ByteString.copyFrom(tx.sender().bytes()))
+                .setSenderPublicKey(UnsafeByteOperations.unsafeWrap(tx.sender().bytes()))
                 .setFee(amountToPBAmount(tx.fee()))
                 .setTimestamp(tx.timestamp());
 
-        if (tx instanceof GenesisTransaction) {
-            GenesisTransaction gtx = (GenesisTransaction) tx;
-            protoBuilder.setGenesis(TransactionOuterClass.GenesisTransactionData.newBuilder()
-                    .setRecipientAddress(ByteString.copyFrom(gtx.recipient().bytes()))
-                    .setAmount(gtx.amount())
-                    .build());
-        } else if (tx instanceof PaymentTransaction) {
-            PaymentTransaction ptx = (PaymentTransaction) tx;
-            protoBuilder.setPayment(TransactionOuterClass.PaymentTransactionData.newBuilder()
-                    .setRecipientAddress(ByteString.copyFrom(ptx.recipient().bytes()))
-                    .setAmount(ptx.amount())
-                    .build());
-        } else if (tx instanceof IssueTransaction) {
-            IssueTransaction itx = (IssueTransaction) tx;
-            protoBuilder.setIssue(TransactionOuterClass.IssueTransactionData.newBuilder()
-                    .setNameBytes(ByteString.copyFrom(itx.nameBytes()))
-                    .setDescriptionBytes(ByteString.copyFrom(itx.descriptionBytes()))
-                    .setAmount(itx.quantity())
-                    .setDecimals(itx.decimals())
-                    .setReissuable(itx.reissuable())
-                    .setScript(ByteString.copyFrom(itx.script().bytes()))
-                    .build());
-        } else if (tx instanceof TransferTransaction) {
-            TransferTransaction ttx = (TransferTransaction) tx;
-            protoBuilder.setTransfer(TransactionOuterClass.TransferTransactionData.newBuilder()
-                    .setRecipient(recipientToProto(ttx.recipient()))
-                    .setAmount(AmountOuterClass.Amount.newBuilder()
-                            .setAmount(ttx.amount().value())
-                            .setAssetId(ByteString.copyFrom(ttx.amount().assetId().bytes()))
-                            .build())
-                    .setAttachment(ByteString.copyFrom(ttx.attachment().bytes()))
-                    .build());
-        } else if (tx instanceof ReissueTransaction) {
-            ReissueTransaction rtx = (ReissueTransaction) tx;
-            protoBuilder.setReissue(TransactionOuterClass.ReissueTransactionData.newBuilder()
-                    .setAssetAmount(AmountOuterClass.Amount.newBuilder()
-                            .setAssetId(ByteString.copyFrom(rtx.amount().assetId().bytes()))
-                            .setAmount(rtx.amount().value())
-                            .build())
-                    .setReissuable(rtx.reissuable())
-                    .build());
-        } else if (tx instanceof BurnTransaction) {
-            BurnTransaction btx = (BurnTransaction) tx;
-            protoBuilder.setBurn(TransactionOuterClass.BurnTransactionData.newBuilder()
-                    .setAssetAmount(AmountOuterClass.Amount.newBuilder()
-                            .setAssetId(ByteString.copyFrom(btx.amount().assetId().bytes()))
-                            .setAmount(btx.amount().value())
-                            .build())
-                    .build());
-        } else if (tx instanceof ExchangeTransaction) {
-            ExchangeTransaction etx = (ExchangeTransaction) tx;
-            OrderOuterClass.Order order1 = toProtobuf(etx.orders().get(0));
-            OrderOuterClass.Order order2 = toProtobuf(etx.orders().get(1));
-            protoBuilder.setExchange(TransactionOuterClass.ExchangeTransactionData.newBuilder()
-                    .addOrders(order1)
-                    .addOrders(order2)
-                    .setAmount(etx.amount())
-                    .setPrice(etx.price())
-                    .setBuyMatcherFee(etx.buyMatcherFee())
-                    .setSellMatcherFee(etx.sellMatcherFee())
-                    .build());
-        } else if (tx instanceof LeaseTransaction) {
-            LeaseTransaction ltx = (LeaseTransaction) tx;
-            protoBuilder.setLease(TransactionOuterClass.LeaseTransactionData.newBuilder()
-                    .setRecipient(recipientToProto(ltx.recipient()))
-                    .setAmount(ltx.amount())
-                    .build());
-        } else if (tx instanceof LeaseCancelTransaction) {
-            LeaseCancelTransaction lctx = (LeaseCancelTransaction) tx;
-            protoBuilder.setLeaseCancel(TransactionOuterClass.LeaseCancelTransactionData.newBuilder()
-                    .setLeaseId(ByteString.copyFrom(lctx.leaseId().bytes()))
-                    .build());
-        } else if (tx instanceof CreateAliasTransaction) {
-            CreateAliasTransaction caTx = (CreateAliasTransaction) tx;
-            protoBuilder.setCreateAlias(TransactionOuterClass.CreateAliasTransactionData.newBuilder()
-                    .setAliasBytes(ByteString.copyFrom(caTx.alias().name().getBytes(UTF_8)))
-                    .build());
-        } else if (tx instanceof MassTransferTransaction) {
-            MassTransferTransaction mtTx = (MassTransferTransaction) tx;
-            protoBuilder.setMassTransfer(TransactionOuterClass.MassTransferTransactionData.newBuilder()
-                            .addAllTransfers(mtTx.transfers().stream().map(t ->
-                                    TransactionOuterClass.MassTransferTransactionData.Transfer.newBuilder()
-                                            .setRecipient(recipientToProto(t.recipient()))
-                                            .setAmount(t.amount())
-                                            .build()
-                            ).collect(toList()))
-                            .setAssetId(ByteString.copyFrom(mtTx.assetId().bytes()))
-                            .setAttachment(ByteString.copyFrom(mtTx.attachment().bytes())))
-                    .build();
-        } else if (tx instanceof DataTransaction) {
-            DataTransaction dtx = (DataTransaction) tx;
-            protoBuilder.setDataTransaction(TransactionOuterClass.DataTransactionData.newBuilder()
-                    .addAllData(dtx.data().stream().map(e -> {
-                        TransactionOuterClass.DataEntry.Builder builder =
-                                TransactionOuterClass.DataEntry.newBuilder().setKey(e.key());
-                        if (e instanceof BinaryEntry)
-                            builder.setBinaryValue(ByteString.copyFrom(((BinaryEntry) e).value().bytes())).build();
-                        else if (e instanceof BooleanEntry) builder.setBoolValue(((BooleanEntry) e).value()).build();
-                        else if (e instanceof IntegerEntry) builder.setIntValue(((IntegerEntry) e).value()).build();
-                        else if (e instanceof StringEntry) builder.setStringValue(((StringEntry) e).value()).build();
-                        else if (e instanceof DeleteEntry) builder.setKey(e.key());
-                        else throw new IllegalArgumentException("Unknown entry type " + e.type());
-                        return builder.build();
-                    }).collect(toList()))
-                    .build());
-        } else if (tx instanceof SetScriptTransaction) {
-            SetScriptTransaction ssTx = (SetScriptTransaction) tx;
-            protoBuilder.setSetScript(TransactionOuterClass.SetScriptTransactionData.newBuilder()
-                    .setScript(ByteString.copyFrom(ssTx.script().bytes()))
-                    .build());
-        } else if (tx instanceof SponsorFeeTransaction) {
-            SponsorFeeTransaction sfTx = (SponsorFeeTransaction) tx;
-            protoBuilder.setSponsorFee(TransactionOuterClass.SponsorFeeTransactionData.newBuilder()
-                    .setMinFee(AmountOuterClass.Amount.newBuilder()
-                            .setAssetId(ByteString.copyFrom(sfTx.assetId().bytes()))
-                            .setAmount(sfTx.minSponsoredFee())
-                            .build())
-                    .build());
-        } else if (tx instanceof SetAssetScriptTransaction) {
-            SetAssetScriptTransaction sasTx = (SetAssetScriptTransaction) tx;
-            protoBuilder.setSetAssetScript(TransactionOuterClass.SetAssetScriptTransactionData.newBuilder()
-                    .setAssetId(ByteString.copyFrom(sasTx.assetId().bytes()))
-                    .setScript(ByteString.copyFrom(sasTx.script().bytes()))
-                    .build());
-        } else if (tx instanceof InvokeScriptTransaction) {
-            InvokeScriptTransaction isTx = (InvokeScriptTransaction) tx;
-            TransactionOuterClass.InvokeScriptTransactionData.Builder invoke =
-                    TransactionOuterClass.InvokeScriptTransactionData.newBuilder();
-            invoke.setDApp(recipientToProto(isTx.dApp()));
-            invoke.setFunctionCall(ByteString.copyFrom(new BytesWriter().writeFunction(isTx.function()).getBytes()));
-            isTx.payments().forEach(p -> invoke.addPayments(AmountOuterClass.Amount.newBuilder()
-                    .setAmount(p.value())
-                    .setAssetId(ByteString.copyFrom(p.assetId().bytes()))
-                    .build()));
-            protoBuilder.setInvokeScript(invoke.build());
-        } else if (tx instanceof UpdateAssetInfoTransaction) {
-            UpdateAssetInfoTransaction uaiTx = (UpdateAssetInfoTransaction) tx;
-            protoBuilder.setUpdateAssetInfo(TransactionOuterClass.UpdateAssetInfoTransactionData.newBuilder()
-                    .setAssetId(ByteString.copyFrom(uaiTx.assetId().bytes()))
-                    .setName(uaiTx.name())
-                    .setDescription(uaiTx.description())
-                    .build());
-        }
+        TransactionCodecs.builtIn(tx).writeProtobuf(tx, protoBuilder);
 
         return protoBuilder.build();
     }
@@ -562,17 +291,21 @@ public abstract class ProtobufConverter {
         return OrderOuterClass.Order.newBuilder(toUnsignedProtobuf(order))
                 .addAllProofs(order.proofs()
                         .stream()
-                        .map(p -> ByteString.copyFrom(p.bytes()))
+                        .map(p -> UnsafeByteOperations.unsafeWrap(p.bytes()))
                         .collect(toList()))
                 .build();
     }
 
     public static SignedTransaction toProtobuf(Transaction tx) {
+        if (tx instanceof EthereumTransaction)
+            return SignedTransaction.newBuilder()
+                    .setEthereumTransaction(UnsafeByteOperations.unsafeWrap(tx.toBytes()))
+                    .build();
         return SignedTransaction.newBuilder()
                 .setWavesTransaction(toUnsignedProtobuf(tx))
                 .addAllProofs(tx.proofs()
                         .stream()
-                        .map(p -> ByteString.copyFrom(p.bytes()))
+                        .map(p -> UnsafeByteOperations.unsafeWrap(p.bytes()))
                         .collect(toList()))
                 .build();
     }
@@ -590,7 +323,7 @@ public abstract class ProtobufConverter {
         if (recipient.type() == Alias.TYPE)
             proto.setAlias(((Alias) recipient).name());
         else
-            proto.setPublicKeyHash(ByteString.copyFrom(
+            proto.setPublicKeyHash(UnsafeByteOperations.unsafeWrap(
                     ((Address) recipient).publicKeyHash()));
         return proto.build();
     }
@@ -605,7 +338,7 @@ public abstract class ProtobufConverter {
     public static AmountOuterClass.Amount amountToPBAmount(Amount amount) {
         return AmountOuterClass.Amount.newBuilder()
                 .setAmount(amount.value())
-                .setAssetId(ByteString.copyFrom(amount.assetId().bytes()))
+                .setAssetId(UnsafeByteOperations.unsafeWrap(amount.assetId().bytes()))
                 .build();
     }
 
@@ -0,0 +1,281 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.WireFormat;
+import com.wavesplatform.protobuf.order.OrderOuterClass;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransaction;
+import com.wavesplatform.transactions.*;
+import com.wavesplatform.transactions.account.Address;
+import com.wavesplatform.transactions.common.Alias;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.common.Recipient;
+import com.wavesplatform.transactions.data.*;
+import com.wavesplatform.transactions.exchange.Order;
+import com.wavesplatform.transactions.exchange.OrderType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import static com.google.protobuf.CodedOutputStream.computeByteArraySize;
+import static com.google.protobuf.CodedOutputStream.computeByteArraySizeNoTag;
+import static com.google.protobuf.CodedOutputStream.computeTagSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.*;
+
+/**
+ * Writes transactions and orders in the protobuf format field by field, without building the generated messages.
+ * The output is byte-identical to the messages of {@link ProtobufConverter}.
+ * <p>
+ * A transaction which has a registered {@link TransactionCodec} with its own protobuf body
+ * is written from the message built by the codec. The message is built once per call, and the callers
+ * which need both the size and the bytes pass the result of {@link #customBody} to the overloads.
+ */
+public abstract class ProtobufWriter {
+
+    /**
+     * Build the body by the registered {@link TransactionCodec} of the transaction type.
+     * The other methods which take the result don't invoke the codec again.
+     *
+     * @param txOrOrder transaction or order
+     * @return message of the codec, or null if the body is written field by field
+     */
+    public static MessageLite customBody(TransactionOrOrder txOrOrder) {
+        if (txOrOrder instanceof Order)
+            return null;
+        Transaction tx = (Transaction) txOrOrder;
+        TransactionCodec<Transaction> codec = TransactionCodecs.get(tx.type());
+        return codec == null ? null : codec.toUnsignedProtobuf(tx);
+    }
+
+    public static int bodySize(TransactionOrOrder txOrOrder) {
+        return bodySize(txOrOrder, customBody(txOrOrder));
+    }
+
+    /**
+     * @param txOrOrder transaction or order
+     * @param customBody result of {@link #customBody}
+     * @return size of the unsigned body
+     */
+    public static int bodySize(TransactionOrOrder txOrOrder, MessageLite customBody) {
+        return customBody != null ? customBody.getSerializedSize() : protobufBodySize(txOrOrder);
+    }
+
+    public static byte[] bodyBytes(TransactionOrOrder txOrOrder) {
+        MessageLite customBody = customBody(txOrOrder);
+        if (customBody != null)
+            return customBody.toByteArray();
+
+        byte[] bytes = new byte[protobufBodySize(txOrOrder)];
+        CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+        try {
+            writeBody(txOrOrder, null, output);
+            output.checkNoSpaceLeft();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes;
+    }
+
+    /**
+     * @param txOrOrder transaction or order of any scheme
+     * @return size of the signed protobuf bytes
+     */
+    public static int size(TransactionOrOrder txOrOrder) {
+        return size(txOrOrder, bodySize(txOrOrder));
+    }
+
+    /**
+     * @param txOrOrder transaction or order of any scheme
+     * @param bodySize result of {@link #bodySize(TransactionOrOrder, MessageLite)}
+     * @return size of the signed protobuf bytes
+     */
+    public static int size(TransactionOrOrder txOrOrder, int bodySize) {
+        if (txOrOrder instanceof EthereumTransaction)
+            return computeByteArraySize(SignedTransaction.ETHEREUM_TRANSACTION_FIELD_NUMBER, txOrOrder.toBytes());
+        int size = txOrOrder instanceof Order ? bodySize : messageSize(1, bodySize);
+        for (Proof proof : txOrOrder.proofs())
+            size += computeTagSize(txOrOrder instanceof Order ? 12 : 2) + computeByteArraySizeNoTag(proof.bytes());
+        return size;
+    }
+
+    public static byte[] toBytes(TransactionOrOrder txOrOrder) {
+        MessageLite customBody = customBody(txOrOrder);
+        int bodySize = bodySize(txOrOrder, customBody);
+        byte[] bytes = new byte[size(txOrOrder, bodySize)];
+        CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+        try {
+            writeTo(txOrOrder, customBody, bodySize, output);
+            output.checkNoSpaceLeft();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes;
+    }
+
+    /**
+     * Write the unsigned body, which is {@code Transaction} or {@code Order} message without proofs.
+     *
+     * @param txOrOrder transaction or order
+     * @param output protobuf output
+     * @throws IOException if the output can't be written
+     */
+    public static void writeBody(TransactionOrOrder txOrOrder, CodedOutputStream output) throws IOException {
+        writeBody(txOrOrder, customBody(txOrOrder), output);
+    }
+
+    /**
+     * @param txOrOrder transaction or order
+     * @param customBody result of {@link #customBody}
+     * @param output protobuf output
+     * @throws IOException if the output can't be written
+     */
+    public static void writeBody(TransactionOrOrder txOrOrder, MessageLite customBody, CodedOutputStream output)
+            throws IOException {
+        if (customBody != null)
+            customBody.writeTo(output);
+        else if (txOrOrder instanceof Order)
+            writeOrder((Order) txOrOrder, output, false);
+        else
+            writeTransaction((Transaction) txOrOrder, output);
+    }
+
+    /**
+     * Write the signed message, which is {@code SignedTransaction} or {@code Order} with proofs.
+     *
+     * @param txOrOrder transaction or order
+     * @param output protobuf output
+     * @throws IOException if the output can't be written
+     */
+    public static void writeTo(TransactionOrOrder txOrOrder, CodedOutputStream output) throws IOException {
+        MessageLite customBody = customBody(txOrOrder);
+        writeTo(txOrOrder, customBody, bodySize(txOrOrder, customBody), output);
+    }
+
+    /**
+     * @param txOrOrder transaction or order
+     * @param customBody result of {@link #customBody}
+     * @param bodySize result of {@link #bodySize(TransactionOrOrder, MessageLite)}
+     * @param output protobuf output
+     * @throws IOException if the output can't be written
+     */
+    public static void writeTo(TransactionOrOrder txOrOrder, MessageLite customBody, int bodySize,
+                               CodedOutputStream output) throws IOException {
+        if (txOrOrder instanceof Order) {
+            writeOrder((Order) txOrOrder, output, true);
+            return;
+        } else if (txOrOrder instanceof EthereumTransaction) {
+            output.writeByteArray(SignedTransaction.ETHEREUM_TRANSACTION_FIELD_NUMBER, txOrOrder.toBytes());
+            return;
+        }
+
+        writeMessageHeader(output, 1, bodySize);
+        writeBody(txOrOrder, customBody, output);
+        for (Proof proof : txOrOrder.proofs())
+            output.writeByteArray(2, proof.bytes());
+    }
+
+    private static int protobufBodySize(TransactionOrOrder txOrOrder) {
+        return txOrOrder instanceof Order
+                ? protobufOrderSize((Order) txOrOrder)
+                : protobufTransactionSize((Transaction) txOrOrder);
+    }
+
+    static void writeOrder(Order order, CodedOutputStream output, boolean withProofs) throws IOException {
+        byte[] eip712Signature = order.eip712Signature();
+        boolean hasEip712Signature = eip712Signature != null && eip712Signature.length > 0;
+
+        writeInt32(output, 1, order.chainId());
+        if (!hasEip712Signature)
+            output.writeByteArray(2, order.sender().bytes());
+        writeBytes(output, 3, order.matcher().bytes());
+        writeMessageHeader(output, 4,
+                bytesSize(1, order.amount().assetId().bytes()) + bytesSize(2, order.price().assetId().bytes()));
+        writeBytes(output, 1, order.amount().assetId().bytes());
+        writeBytes(output, 2, order.price().assetId().bytes());
+        if (order.type() == OrderType.SELL)
+            output.writeEnum(5, OrderOuterClass.Order.Side.SELL_VALUE);
+        writeInt64(output, 6, order.amount().value());
+        writeInt64(output, 7, order.price().value());
+        writeInt64(output, 8, order.timestamp());
+        writeInt64(output, 9, order.expiration());
+        writeAmount(output, 10, order.fee());
+        writeInt32(output, 11, order.version());
+        if (withProofs)
+            for (Proof proof : order.proofs())
+                output.writeByteArray(12, proof.bytes());
+        if (hasEip712Signature)
+            output.writeByteArray(13, eip712Signature);
+    }
+
+    private static void writeTransaction(Transaction tx, CodedOutputStream output) throws IOException {
+        writeInt32(output, 1, tx.chainId());
+        writeBytes(output, 2, tx.sender().bytes());
+        writeAmount(output, 3, tx.fee());
+        writeInt64(output, 4, tx.timestamp());
+        writeInt32(output, 5, tx.version());
+        if (tx instanceof EthereumTransaction)
+            return;
+        BuiltInCodec<Transaction> codec = TransactionCodecs.builtIn(tx);
+        writeMessageHeader(output, 100 + tx.type(), codec.protobufPayloadSize(tx));
+        codec.writeProtobufPayload(tx, output);
+    }
+
+    static void writeDataEntry(CodedOutputStream output, int field, DataEntry entry) throws IOException {
+        writeMessageHeader(output, field, dataEntrySize(entry));
+        writeString(output, 1, entry.key());
+        if (entry instanceof IntegerEntry)
+            output.writeInt64(10, ((IntegerEntry) entry).value());
+        else if (entry instanceof BooleanEntry)
+            output.writeBool(11, ((BooleanEntry) entry).value());
+        else if (entry instanceof BinaryEntry)
+            output.writeByteArray(12, ((BinaryEntry) entry).value().bytes());
+        else if (entry instanceof StringEntry)
+            output.writeString(13, ((StringEntry) entry).value());
+    }
+
+    static void writeAmount(CodedOutputStream output, int field, Amount amount) throws IOException {
+        writeMessageHeader(output, field, amountSize(amount));
+        writeBytes(output, 1, amount.assetId().bytes());
+        writeInt64(output, 2, amount.value());
+    }
+
+    static void writeRecipient(CodedOutputStream output, int field, Recipient recipient) throws IOException {
+        writeMessageHeader(output, field, recipientSize(recipient));
+        if (recipient.type() == Alias.TYPE)
+            output.writeString(2, ((Alias) recipient).name());
+        else
+            output.writeByteArray(1, ((Address) recipient).publicKeyHash());
+    }
+
+    static void writeMessageHeader(CodedOutputStream output, int field, int size) throws IOException {
+        output.writeTag(field, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        output.writeUInt32NoTag(size);
+    }
+
+    static void writeBytes(CodedOutputStream output, int field, byte[] value) throws IOException {
+        if (value.length > 0)
+            output.writeByteArray(field, value);
+    }
+
+    static void writeString(CodedOutputStream output, int field, String value) throws IOException {
+        if (!value.isEmpty())
+            output.writeString(field, value);
+    }
+
+    static void writeInt32(CodedOutputStream output, int field, int value) throws IOException {
+        if (value != 0)
+            output.writeInt32(field, value);
+    }
+
+    static void writeInt64(CodedOutputStream output, int field, long value) throws IOException {
+        if (value != 0)
+            output.writeInt64(field, value);
+    }
+
+    static void writeBool(CodedOutputStream output, int field, boolean value) throws IOException {
+        if (value)
+            output.writeBool(field, true);
+    }
+
+}
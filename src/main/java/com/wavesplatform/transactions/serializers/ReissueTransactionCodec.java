@@ -0,0 +1,151 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnsafeByteOperations;
+import com.wavesplatform.protobuf.AmountOuterClass;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransaction;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.transactions.ReissueTransaction;
+import com.wavesplatform.transactions.TransactionHeader;
+import com.wavesplatform.transactions.WavesConfig;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.AssetId;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.serializers.binary.BytesReader;
+import com.wavesplatform.transactions.serializers.binary.BytesWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.wavesplatform.transactions.serializers.ProtobufConverter.pbAmountToAmount;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeAmount;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeBool;
+import static com.wavesplatform.transactions.serializers.Scheme.WITH_PROOFS;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.amountSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.boolSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.messageSize;
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.assetIdFromJson;
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.assetIdToJson;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.ASSET_ID;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.QUANTITY;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.REISSUABLE;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeBoolean;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeNumber;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeString;
+
+final class ReissueTransactionCodec extends BuiltInCodec<ReissueTransaction> {
+
+    ReissueTransactionCodec() {
+        super(ReissueTransaction.TYPE, ReissueTransaction.class);
+    }
+
+    @Override
+    public void writeLegacyBody(ReissueTransaction tx, Scheme scheme, BytesWriter writer) {
+        if (scheme == WITH_PROOFS)
+            writer.write(tx.chainId());
+        writer.writePublicKey(tx.sender())
+                .writeAssetId(tx.amount().assetId())
+                .writeLong(tx.amount().value())
+                .writeBoolean(tx.reissuable())
+                .writeLong(tx.fee().value())
+                .writeLong(tx.timestamp());
+    }
+
+    @Override
+    public int legacyBodySize(ReissueTransaction tx, Scheme scheme) {
+        return (scheme == WITH_PROOFS ? 1 : 0)
+                + tx.sender().bytes().length
+                + tx.amount().assetId().bytes().length
+                + Long.BYTES + 1 + Long.BYTES * 2;
+    }
+
+    @Override
+    public ReissueTransaction readLegacy(BytesReader reader, int version, Scheme scheme, List<Proof> signature) {
+        byte chainId = scheme == WITH_PROOFS ? reader.readByte() : WavesConfig.chainId();
+        PublicKey sender = reader.readPublicKey();
+        AssetId assetId = reader.readAssetId();
+        long amount = reader.readLong();
+        boolean reissuable = reader.readBoolean();
+        long fee = reader.readLong();
+        long timestamp = reader.readLong();
+        List<Proof> proofs = scheme == WITH_PROOFS ? reader.readProofs() : signature;
+
+        return new ReissueTransaction(
+                sender, Amount.of(amount, assetId), reissuable, chainId, Amount.of(fee), timestamp, version, proofs);
+    }
+
+    @Override
+    public void writeProtobuf(ReissueTransaction tx, TransactionOuterClass.Transaction.Builder builder) {
+        builder.setReissue(TransactionOuterClass.ReissueTransactionData.newBuilder()
+                .setAssetAmount(AmountOuterClass.Amount.newBuilder()
+                        .setAssetId(UnsafeByteOperations.unsafeWrap(tx.amount().assetId().bytes()))
+                        .setAmount(tx.amount().value())
+                        .build())
+                .setReissuable(tx.reissuable())
+                .build());
+    }
+
+    @Override
+    public int protobufPayloadSize(ReissueTransaction tx) {
+        return messageSize(1, amountSize(tx.amount())) + boolSize(2, tx.reissuable());
+    }
+
+    @Override
+    public void writeProtobufPayload(ReissueTransaction tx, CodedOutputStream output) throws IOException {
+        writeAmount(output, 1, tx.amount());
+        writeBool(output, 2, tx.reissuable());
+    }
+
+    @Override
+    public ReissueTransaction readProtobuf(SignedTransaction pbSignedTx) {
+        TransactionOuterClass.Transaction pbTx = pbSignedTx.getWavesTransaction();
+        TransactionOuterClass.ReissueTransactionData reissue = pbTx.getReissue();
+        return ReissueTransaction
+                .builder(Amount.of(reissue.getAssetAmount().getAmount(),
+                        AssetId.as(reissue.getAssetAmount().getAssetId().toByteArray())))
+                .reissuable(reissue.getReissuable())
+                .version(pbTx.getVersion())
+                .chainId((byte) pbTx.getChainId())
+                .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
+                .fee(pbAmountToAmount(pbTx.getFee()))
+                .timestamp(pbTx.getTimestamp())
+                .getUnsigned();
+    }
+
+    @Override
+    public ReissueTransaction readTrustedProtobuf(TransactionOuterClass.Transaction pbTx, List<Proof> proofs) {
+        TransactionHeader header = protobufHeader(pbTx);
+        TransactionOuterClass.ReissueTransactionData reissue = pbTx.getReissue();
+        return new ReissueTransaction(header.sender(), pbAmountToAmount(reissue.getAssetAmount()),
+                reissue.getReissuable(), header.chainId(), header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+    @Override
+    public void writeJson(ReissueTransaction tx, JsonGenerator generator) throws IOException {
+        writeString(generator, ASSET_ID, assetIdToJson(tx.amount().assetId()));
+        writeNumber(generator, QUANTITY, tx.amount().value());
+        writeBoolean(generator, REISSUABLE, tx.reissuable());
+    }
+
+    @Override
+    public boolean hasJsonChainId(ReissueTransaction tx) {
+        return tx.version() != 1;
+    }
+
+    @Override
+    public ReissueTransaction readJson(JsonNode json, TransactionHeader header, List<Proof> proofs) throws IOException {
+        if (!header.fee().assetId().isWaves())
+            throw new IOException("feeAssetId field must be null for ReissueTransaction");
+
+        if (header.version() == 1 && json.has("signature"))
+            proofs = Proof.list(Proof.as(json.get("signature").asText()));
+        return new ReissueTransaction(
+                header.sender(), Amount.of(json.get("quantity").asLong(), assetIdFromJson(json.get("assetId"))),
+                json.get("reissuable").asBoolean(), header.chainId(), header.fee(), header.timestamp(),
+                header.version(), proofs);
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnsafeByteOperations;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransaction;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.transactions.SetAssetScriptTransaction;
+import com.wavesplatform.transactions.TransactionHeader;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.AssetId;
+import com.wavesplatform.transactions.common.Base64String;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.serializers.binary.BytesReader;
+import com.wavesplatform.transactions.serializers.binary.BytesWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.wavesplatform.transactions.serializers.ProtobufConverter.pbAmountToAmount;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeBytes;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.bytesSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.optionArraySize;
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.*;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.ASSET_ID;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.SCRIPT;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeString;
+
+final class SetAssetScriptTransactionCodec extends BuiltInCodec<SetAssetScriptTransaction> {
+
+    SetAssetScriptTransactionCodec() {
+        super(SetAssetScriptTransaction.TYPE, SetAssetScriptTransaction.class);
+    }
+
+    @Override
+    public void writeLegacyBody(SetAssetScriptTransaction tx, Scheme scheme, BytesWriter writer) {
+        writer.write(tx.chainId())
+                .writePublicKey(tx.sender())
+                .writeAssetId(tx.assetId())
+                .writeLong(tx.fee().value())
+                .writeLong(tx.timestamp())
+                .writeOptionArrayWithLength(tx.script().bytes());
+    }
+
+    @Override
+    public int legacyBodySize(SetAssetScriptTransaction tx, Scheme scheme) {
+        return 1 + tx.sender().bytes().length + tx.assetId().bytes().length + Long.BYTES * 2
+                + optionArraySize(tx.script().bytes());
+    }
+
+    @Override
+    public SetAssetScriptTransaction readLegacy(BytesReader reader, int version, Scheme scheme, List<Proof> signature) {
+        byte chainId = reader.readByte();
+        PublicKey sender = reader.readPublicKey();
+        AssetId assetId = reader.readAssetId();
+        long fee = reader.readLong();
+        long timestamp = reader.readLong();
+        Base64String script = new Base64String(reader.readOptionArrayWithLength());
+        List<Proof> proofs = reader.readProofs();
+
+        return new SetAssetScriptTransaction(
+                sender, assetId, script, chainId, Amount.of(fee), timestamp, version, proofs);
+    }
+
+    @Override
+    public void writeProtobuf(SetAssetScriptTransaction tx, TransactionOuterClass.Transaction.Builder builder) {
+        builder.setSetAssetScript(TransactionOuterClass.SetAssetScriptTransactionData.newBuilder()
+                .setAssetId(UnsafeByteOperations.unsafeWrap(tx.assetId().bytes()))
+                .setScript(UnsafeByteOperations.unsafeWrap(tx.script().bytes()))
+                .build());
+    }
+
+    @Override
+    public int protobufPayloadSize(SetAssetScriptTransaction tx) {
+        return bytesSize(1, tx.assetId().bytes()) + bytesSize(2, tx.script().bytes());
+    }
+
+    @Override
+    public void writeProtobufPayload(SetAssetScriptTransaction tx, CodedOutputStream output) throws IOException {
+        writeBytes(output, 1, tx.assetId().bytes());
+        writeBytes(output, 2, tx.script().bytes());
+    }
+
+    @Override
+    public SetAssetScriptTransaction readProtobuf(SignedTransaction pbSignedTx) {
+        TransactionOuterClass.Transaction pbTx = pbSignedTx.getWavesTransaction();
+        TransactionOuterClass.SetAssetScriptTransactionData setAssetScript = pbTx.getSetAssetScript();
+        return SetAssetScriptTransaction
+                .builder(AssetId.as(setAssetScript.getAssetId().toByteArray()),
+                        new Base64String(setAssetScript.getScript().toByteArray()))
+                .version(pbTx.getVersion())
+                .chainId((byte) pbTx.getChainId())
+                .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
+                .fee(pbAmountToAmount(pbTx.getFee()))
+                .timestamp(pbTx.getTimestamp())
+                .getUnsigned();
+    }
+
+    @Override
+    public SetAssetScriptTransaction readTrustedProtobuf(TransactionOuterClass.Transaction pbTx, List<Proof> proofs) {
+        TransactionHeader header = protobufHeader(pbTx);
+        TransactionOuterClass.SetAssetScriptTransactionData setAssetScript = pbTx.getSetAssetScript();
+        return new SetAssetScriptTransaction(header.sender(), AssetId.as(setAssetScript.getAssetId().toByteArray()),
+                new Base64String(setAssetScript.getScript().toByteArray()),
+                header.chainId(), header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+    @Override
+    public void writeJson(SetAssetScriptTransaction tx, JsonGenerator generator) throws IOException {
+        writeString(generator, ASSET_ID, assetIdToJson(tx.assetId()));
+        writeString(generator, SCRIPT, scriptToJson(tx.script()));
+    }
+
+    @Override
+    public SetAssetScriptTransaction readJson(JsonNode json, TransactionHeader header, List<Proof> proofs)
+            throws IOException {
+        if (!header.fee().assetId().isWaves())
+            throw new IOException("feeAssetId field must be null for SetAssetScriptTransaction");
+
+        AssetId assetId = assetIdFromJson(json.get("assetId"));
+        return new SetAssetScriptTransaction(header.sender(), assetId, scriptFromJson(json),
+                header.chainId(), header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnsafeByteOperations;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransaction;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.transactions.SetScriptTransaction;
+import com.wavesplatform.transactions.TransactionHeader;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.Base64String;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.serializers.binary.BytesReader;
+import com.wavesplatform.transactions.serializers.binary.BytesWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.wavesplatform.transactions.serializers.ProtobufConverter.pbAmountToAmount;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeBytes;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.bytesSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.optionArraySize;
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.scriptFromJson;
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.scriptToJson;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.SCRIPT;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeString;
+
+final class SetScriptTransactionCodec extends BuiltInCodec<SetScriptTransaction> {
+
+    SetScriptTransactionCodec() {
+        super(SetScriptTransaction.TYPE, SetScriptTransaction.class);
+    }
+
+    @Override
+    public void writeLegacyBody(SetScriptTransaction tx, Scheme scheme, BytesWriter writer) {
+        writer.write(tx.chainId())
+                .writePublicKey(tx.sender())
+                .writeOptionArrayWithLength(tx.script().bytes())
+                .writeLong(tx.fee().value())
+                .writeLong(tx.timestamp());
+    }
+
+    @Override
+    public int legacyBodySize(SetScriptTransaction tx, Scheme scheme) {
+        return 1 + tx.sender().bytes().length + optionArraySize(tx.script().bytes()) + Long.BYTES * 2;
+    }
+
+    @Override
+    public SetScriptTransaction readLegacy(BytesReader reader, int version, Scheme scheme, List<Proof> signature) {
+        byte chainId = reader.readByte();
+        PublicKey sender = reader.readPublicKey();
+        Base64String script = new Base64String(reader.readOptionArrayWithLength());
+        long fee = reader.readLong();
+        long timestamp = reader.readLong();
+        List<Proof> proofs = reader.readProofs();
+
+        return new SetScriptTransaction(sender, script, chainId, Amount.of(fee), timestamp, version, proofs);
+    }
+
+    @Override
+    public void writeProtobuf(SetScriptTransaction tx, TransactionOuterClass.Transaction.Builder builder) {
+        builder.setSetScript(TransactionOuterClass.SetScriptTransactionData.newBuilder()
+                .setScript(UnsafeByteOperations.unsafeWrap(tx.script().bytes()))
+                .build());
+    }
+
+    @Override
+    public int protobufPayloadSize(SetScriptTransaction tx) {
+        return bytesSize(1, tx.script().bytes());
+    }
+
+    @Override
+    public void writeProtobufPayload(SetScriptTransaction tx, CodedOutputStream output) throws IOException {
+        writeBytes(output, 1, tx.script().bytes());
+    }
+
+    @Override
+    public SetScriptTransaction readProtobuf(SignedTransaction pbSignedTx) {
+        TransactionOuterClass.Transaction pbTx = pbSignedTx.getWavesTransaction();
+        TransactionOuterClass.SetScriptTransactionData setScript = pbTx.getSetScript();
+        return SetScriptTransaction
+                .builder(new Base64String(setScript.getScript().toByteArray()))
+                .version(pbTx.getVersion())
+                .chainId((byte) pbTx.getChainId())
+                .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
+                .fee(pbAmountToAmount(pbTx.getFee()))
+                .timestamp(pbTx.getTimestamp())
+                .getUnsigned();
+    }
+
+    @Override
+    public SetScriptTransaction readTrustedProtobuf(TransactionOuterClass.Transaction pbTx, List<Proof> proofs) {
+        TransactionHeader header = protobufHeader(pbTx);
+        return new SetScriptTransaction(header.sender(), new Base64String(pbTx.getSetScript().getScript().toByteArray()),
+                header.chainId(), header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+    @Override
+    public void writeJson(SetScriptTransaction tx, JsonGenerator generator) throws IOException {
+        writeString(generator, SCRIPT, scriptToJson(tx.script()));
+    }
+
+    @Override
+    public SetScriptTransaction readJson(JsonNode json, TransactionHeader header, List<Proof> proofs)
+            throws IOException {
+        if (!header.fee().assetId().isWaves())
+            throw new IOException("feeAssetId field must be null for DataTransaction");
+
+        return new SetScriptTransaction(header.sender(), scriptFromJson(json),
+                header.chainId(), header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+}
@@ -0,0 +1,315 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.wavesplatform.protobuf.order.OrderOuterClass;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.transactions.*;
+import com.wavesplatform.transactions.account.Address;
+import com.wavesplatform.transactions.common.Alias;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.AssetId;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.common.Recipient;
+import com.wavesplatform.transactions.data.*;
+import com.wavesplatform.transactions.exchange.Order;
+import com.wavesplatform.transactions.exchange.OrderType;
+import com.wavesplatform.transactions.invocation.*;
+import com.wavesplatform.transactions.mass.Transfer;
+
+import java.util.List;
+
+import static com.google.protobuf.CodedOutputStream.*;
+import static com.wavesplatform.transactions.serializers.Scheme.PROTOBUF;
+import static com.wavesplatform.transactions.serializers.Scheme.WITH_PROOFS;
+
+/**
+ * Calculates the exact length of {@code bodyBytes()} and {@code toBytes()} without serializing anything.
+ */
+public abstract class SizeCalculator {
+
+    public static int bodyBytesSize(TransactionOrOrder txOrOrder) {
+        if (txOrOrder instanceof Transaction) {
+            Transaction tx = (Transaction) txOrOrder;
+            TransactionCodec<Transaction> codec = TransactionCodecs.get(tx.type());
+            if (codec != null && Scheme.of(tx) == PROTOBUF) {
+                TransactionOuterClass.Transaction message = codec.toUnsignedProtobuf(tx);
+                if (message != null)
+                    return message.getSerializedSize();
+            } else if (codec != null) {
+                byte[] body = codec.toLegacyBodyBytes(tx);
+                if (body != null)
+                    return body.length;
+            }
+        }
+        return builtInBodySize(txOrOrder);
+    }
+
+    /**
+     * @param txOrOrder transaction or order
+     * @return size of the body written by the built-in serializers, the registered {@link TransactionCodec} is not invoked
+     */
+    public static int builtInBodySize(TransactionOrOrder txOrOrder) {
+        Scheme scheme = Scheme.of(txOrOrder);
+        if (txOrOrder instanceof Order) {
+            Order order = (Order) txOrOrder;
+            return scheme == PROTOBUF ? protobufOrderSize(order) : legacyOrderBodySize(order, scheme);
+        }
+
+        Transaction tx = (Transaction) txOrOrder;
+        return scheme == PROTOBUF ? protobufTransactionSize(tx) : legacyTransactionBodySize(tx, scheme);
+    }
+
+    public static int toBytesSize(TransactionOrOrder txOrOrder) {
+        if (txOrOrder instanceof EthereumTransaction)
+            return txOrOrder.toBytes().length;
+
+        return toBytesSize(txOrOrder, bodyBytesSize(txOrOrder));
+    }
+
+    /**
+     * @param txOrOrder transaction or order
+     * @param bodySize size of the body bytes which are already built
+     * @return size of the bytes with proofs
+     */
+    public static int toBytesSize(TransactionOrOrder txOrOrder, int bodySize) {
+        if (txOrOrder instanceof EthereumTransaction)
+            return txOrOrder.toBytes().length;
+
+        Scheme scheme = Scheme.of(txOrOrder);
+        List<Proof> proofs = txOrOrder.proofs();
+
+        if (scheme == PROTOBUF) {
+            int proofsSize = 0;
+            for (Proof proof : proofs)
+                proofsSize += computeTagSize(txOrOrder instanceof Order ? 12 : 2)
+                        + computeByteArraySizeNoTag(proof.bytes());
+            return txOrOrder instanceof Order
+                    ? bodySize + proofsSize
+                    : messageSize(1, bodySize) + proofsSize;
+        }
+
+        if (txOrOrder instanceof Order)
+            return bodySize + (scheme == WITH_PROOFS ? legacyProofsSize(proofs) : signatureSize(proofs));
+
+        Transaction tx = (Transaction) txOrOrder;
+        if (scheme == WITH_PROOFS) {
+            int prefix = tx instanceof MassTransferTransaction || tx instanceof ExchangeTransaction ? 0 : 1;
+            if (tx instanceof SponsorFeeTransaction)
+                prefix += 2;
+            return prefix + bodySize + legacyProofsSize(proofs);
+        }
+
+        if (tx instanceof GenesisTransaction)
+            return bodySize;
+        else if (tx instanceof PaymentTransaction)
+            return 1 + bodySize - Integer.BYTES + signatureSize(proofs);
+        else if (tx instanceof IssueTransaction
+                || tx instanceof TransferTransaction
+                || tx instanceof ReissueTransaction)
+            return 1 + signatureSize(proofs) + bodySize;
+        else
+            return bodySize + signatureSize(proofs);
+    }
+
+    private static int legacyOrderBodySize(Order order, Scheme scheme) {
+        int size = scheme == WITH_PROOFS ? 1 : 0;
+        size += order.sender().bytes().length
+                + order.matcher().bytes().length
+                + assetIdOrWavesSize(order.amount().assetId())
+                + assetIdOrWavesSize(order.price().assetId())
+                + 1
+                + Long.BYTES * 5;
+        if (order.version() == 3)
+            size += assetIdOrWavesSize(order.fee().assetId());
+        return size;
+    }
+
+    private static int legacyTransactionBodySize(Transaction tx, Scheme scheme) {
+        int size = scheme == WITH_PROOFS && tx.type() == ExchangeTransaction.TYPE ? 1 : 0;
+        size += tx.type() == PaymentTransaction.TYPE ? Integer.BYTES : 1;
+        if (scheme == WITH_PROOFS)
+            size += 1;
+        return size + TransactionCodecs.builtIn(tx).legacyBodySize(tx, scheme);
+    }
+
+    static int protobufOrderSize(Order order) {
+        int size = int32Size(1, order.chainId());
+        byte[] eip712Signature = order.eip712Signature();
+        if (eip712Signature != null && eip712Signature.length > 0)
+            size += computeTagSize(13) + computeByteArraySizeNoTag(eip712Signature);
+        else
+            size += computeTagSize(2) + computeByteArraySizeNoTag(order.sender().bytes());
+        size += bytesSize(3, order.matcher().bytes())
+                + messageSize(4, bytesSize(1, order.amount().assetId().bytes())
+                        + bytesSize(2, order.price().assetId().bytes()));
+        if (order.type() == OrderType.SELL)
+            size += computeEnumSize(5, 1);
+        size += int64Size(6, order.amount().value())
+                + int64Size(7, order.price().value())
+                + int64Size(8, order.timestamp())
+                + int64Size(9, order.expiration())
+                + messageSize(10, amountSize(order.fee()))
+                + int32Size(11, order.version());
+        return size;
+    }
+
+    static int protobufTransactionSize(Transaction tx) {
+        int size = int32Size(1, tx.chainId())
+                + bytesSize(2, tx.sender().bytes())
+                + messageSize(3, amountSize(tx.fee()))
+                + int64Size(4, tx.timestamp())
+                + int32Size(5, tx.version());
+        // Ethereum transactions have no data message, the payload is in their raw bytes
+        if (tx instanceof EthereumTransaction)
+            return size;
+        return size + messageSize(100 + tx.type(), TransactionCodecs.builtIn(tx).protobufPayloadSize(tx));
+    }
+
+    /**
+     * Size of the payload of DataTransaction in the protobuf format, which is the base of its fee.
+     *
+     * @param data entries of data transaction
+     * @return size of DataTransactionData message in bytes
+     */
+    public static int protobufDataSize(List<DataEntry> data) {
+        int size = 0;
+        for (DataEntry entry : data)
+            size += messageSize(1, dataEntrySize(entry));
+        return size;
+    }
+
+    static int dataEntrySize(DataEntry entry) {
+        int size = stringSize(1, entry.key());
+        if (entry instanceof IntegerEntry)
+            size += computeInt64Size(10, ((IntegerEntry) entry).value());
+        else if (entry instanceof BooleanEntry)
+            size += computeBoolSize(11, ((BooleanEntry) entry).value());
+        else if (entry instanceof BinaryEntry)
+            size += computeTagSize(12) + computeByteArraySizeNoTag(((BinaryEntry) entry).value().bytes());
+        else if (entry instanceof StringEntry)
+            size += computeStringSize(13, ((StringEntry) entry).value());
+        else if (!(entry instanceof DeleteEntry))
+            throw new IllegalArgumentException("Unknown entry type " + entry.type());
+        return size;
+    }
+
+    static int transferSize(Transfer transfer) {
+        return messageSize(1, recipientSize(transfer.recipient())) + int64Size(2, transfer.amount());
+    }
+
+    static int signedProtobufOrderSize(Order order) {
+        OrderOuterClass.Order original = order.originalProtobuf();
+        if (original != null)
+            return original.getSerializedSize();
+
+        int size = protobufOrderSize(order);
+        for (Proof proof : order.proofs())
+            size += computeTagSize(12) + computeByteArraySizeNoTag(proof.bytes());
+        return size;
+    }
+
+    static int functionSize(Function function) {
+        if (function.isDefault())
+            return 1;
+        return 3 + Integer.BYTES + utf8Length(function.name()) + argumentsSize(function.args());
+    }
+
+    static int argumentsSize(List<Arg> args) {
+        int size = Integer.BYTES;
+        for (Arg arg : args) {
+            if (arg instanceof IntegerArg)
+                size += 1 + Long.BYTES;
+            else if (arg instanceof BinaryArg)
+                size += 1 + Integer.BYTES + ((BinaryArg) arg).value().bytes().length;
+            else if (arg instanceof StringArg)
+                size += 1 + Integer.BYTES + utf8Length(((StringArg) arg).value());
+            else if (arg instanceof BooleanArg)
+                size += 1;
+            else if (arg instanceof ListArg)
+                size += 1 + argumentsSize(((ListArg) arg).value());
+            else throw new IllegalArgumentException("Unknown arg type " + arg.type());
+        }
+        return size;
+    }
+
+    static int assetIdOrWavesSize(AssetId assetId) {
+        return assetId.isWaves() ? 1 : 1 + assetId.bytes().length;
+    }
+
+    static int optionArraySize(byte[] value) {
+        return value != null && value.length > 0 ? 1 + 2 + value.length : 1;
+    }
+
+    private static int signatureSize(List<Proof> proofs) {
+        if (proofs.size() != 1)
+            throw new IllegalArgumentException("1 signature expected but " + proofs.size() + " proofs found");
+        return proofs.get(0).bytes().length;
+    }
+
+    public static int legacyProofsSize(List<Proof> proofs) {
+        int size = 1 + 2;
+        for (Proof proof : proofs)
+            size += 2 + proof.bytes().length;
+        return size;
+    }
+
+    static int amountSize(Amount amount) {
+        return bytesSize(1, amount.assetId().bytes()) + int64Size(2, amount.value());
+    }
+
+    static int recipientSize(Recipient recipient) {
+        if (recipient.type() == Alias.TYPE)
+            return computeStringSize(2, ((Alias) recipient).name());
+        else
+            return computeTagSize(1) + computeUInt32SizeNoTag(Address.PUBLIC_KEY_HASH_LENGTH)
+                    + Address.PUBLIC_KEY_HASH_LENGTH;
+    }
+
+    static int messageSize(int field, int size) {
+        return computeTagSize(field) + computeUInt32SizeNoTag(size) + size;
+    }
+
+    static int bytesSize(int field, byte[] value) {
+        return value.length == 0 ? 0 : computeTagSize(field) + computeByteArraySizeNoTag(value);
+    }
+
+    static int stringSize(int field, String value) {
+        return value.isEmpty() ? 0 : computeStringSize(field, value);
+    }
+
+    static int int32Size(int field, int value) {
+        return value == 0 ? 0 : computeInt32Size(field, value);
+    }
+
+    static int int64Size(int field, long value) {
+        return value == 0 ? 0 : computeInt64Size(field, value);
+    }
+
+    static int boolSize(int field, boolean value) {
+        return value ? computeBoolSize(field, true) : 0;
+    }
+
+    /**
+     * Number of bytes of the string in UTF-8, consistent with {@code String.getBytes(UTF_8)}
+     * which replaces unpaired surrogates with a single byte.
+     */
+    static int utf8Length(String value) {
+        int length = value.length();
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80)
+                size += 1;
+            else if (c < 0x800)
+                size += 2;
+            else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                size += 4;
+                i++;
+            } else if (Character.isSurrogate(c))
+                size += 1;
+            else
+                size += 3;
+        }
+        return size;
+    }
+
+}
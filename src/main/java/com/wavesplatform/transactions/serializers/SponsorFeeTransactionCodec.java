@@ -0,0 +1,140 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnsafeByteOperations;
+import com.wavesplatform.protobuf.AmountOuterClass;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransaction;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.transactions.SponsorFeeTransaction;
+import com.wavesplatform.transactions.TransactionHeader;
+import com.wavesplatform.transactions.WavesConfig;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.AssetId;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.serializers.binary.BytesReader;
+import com.wavesplatform.transactions.serializers.binary.BytesWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.wavesplatform.transactions.serializers.ProtobufConverter.pbAmountToAmount;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeAmount;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.bytesSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.int64Size;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.messageSize;
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.assetIdFromJson;
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.assetIdToJson;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.ASSET_ID;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.MIN_SPONSORED_ASSET_FEE;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeNumber;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeString;
+
+final class SponsorFeeTransactionCodec extends BuiltInCodec<SponsorFeeTransaction> {
+
+    SponsorFeeTransactionCodec() {
+        super(SponsorFeeTransaction.TYPE, SponsorFeeTransaction.class);
+    }
+
+    @Override
+    public void writeLegacyBody(SponsorFeeTransaction tx, Scheme scheme, BytesWriter writer) {
+        writer.writePublicKey(tx.sender())
+                .writeAssetId(tx.assetId())
+                .writeLong(tx.minSponsoredFee())
+                .writeLong(tx.fee().value())
+                .writeLong(tx.timestamp());
+    }
+
+    @Override
+    public int legacyBodySize(SponsorFeeTransaction tx, Scheme scheme) {
+        return tx.sender().bytes().length + tx.assetId().bytes().length + Long.BYTES * 3;
+    }
+
+    @Override
+    public SponsorFeeTransaction readLegacy(BytesReader reader, int version, Scheme scheme, List<Proof> signature) {
+        int typeInBody = reader.readByte();
+        if (typeInBody != type())
+            throw new IllegalArgumentException(
+                    "Expected transaction type " + type() + " but " + typeInBody + " found");
+        int versionInBody = reader.readByte();
+        if (versionInBody != version)
+            throw new IllegalArgumentException(
+                    "Expected transaction type " + type() + " but " + typeInBody + " found");
+        PublicKey sender = reader.readPublicKey();
+        AssetId assetId = reader.readAssetId();
+        long minSponsoredFee = reader.readLong();
+        long fee = reader.readLong();
+        long timestamp = reader.readLong();
+        List<Proof> proofs = reader.readProofs();
+
+        return new SponsorFeeTransaction(
+                sender, assetId, minSponsoredFee, WavesConfig.chainId(), Amount.of(fee), timestamp, version, proofs);
+    }
+
+    @Override
+    public void writeProtobuf(SponsorFeeTransaction tx, TransactionOuterClass.Transaction.Builder builder) {
+        builder.setSponsorFee(TransactionOuterClass.SponsorFeeTransactionData.newBuilder()
+                .setMinFee(AmountOuterClass.Amount.newBuilder()
+                        .setAssetId(UnsafeByteOperations.unsafeWrap(tx.assetId().bytes()))
+                        .setAmount(tx.minSponsoredFee())
+                        .build())
+                .build());
+    }
+
+    @Override
+    public int protobufPayloadSize(SponsorFeeTransaction tx) {
+        return messageSize(1, bytesSize(1, tx.assetId().bytes()) + int64Size(2, tx.minSponsoredFee()));
+    }
+
+    @Override
+    public void writeProtobufPayload(SponsorFeeTransaction tx, CodedOutputStream output) throws IOException {
+        writeAmount(output, 1, Amount.of(tx.minSponsoredFee(), tx.assetId()));
+    }
+
+    @Override
+    public SponsorFeeTransaction readProtobuf(SignedTransaction pbSignedTx) {
+        TransactionOuterClass.Transaction pbTx = pbSignedTx.getWavesTransaction();
+        TransactionOuterClass.SponsorFeeTransactionData sponsor = pbTx.getSponsorFee();
+        return SponsorFeeTransaction
+                .builder(AssetId.as(sponsor.getMinFee().getAssetId().toByteArray()), sponsor.getMinFee().getAmount())
+                .version(pbTx.getVersion())
+                .chainId((byte) pbTx.getChainId())
+                .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
+                .fee(pbAmountToAmount(pbTx.getFee()))
+                .timestamp(pbTx.getTimestamp())
+                .getUnsigned();
+    }
+
+    @Override
+    public SponsorFeeTransaction readTrustedProtobuf(TransactionOuterClass.Transaction pbTx, List<Proof> proofs) {
+        TransactionHeader header = protobufHeader(pbTx);
+        AmountOuterClass.Amount minFee = pbTx.getSponsorFee().getMinFee();
+        return new SponsorFeeTransaction(header.sender(), AssetId.as(minFee.getAssetId().toByteArray()),
+                minFee.getAmount(), header.chainId(), header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+    @Override
+    public void writeJson(SponsorFeeTransaction tx, JsonGenerator generator) throws IOException {
+        writeString(generator, ASSET_ID, assetIdToJson(tx.assetId()));
+        writeNumber(generator, MIN_SPONSORED_ASSET_FEE, tx.minSponsoredFee());
+    }
+
+    @Override
+    public boolean hasJsonChainId(SponsorFeeTransaction tx) {
+        return tx.version() != 1;
+    }
+
+    @Override
+    public SponsorFeeTransaction readJson(JsonNode json, TransactionHeader header, List<Proof> proofs)
+            throws IOException {
+        if (!header.fee().assetId().isWaves())
+            throw new IOException("feeAssetId field must be null for SponsorFeeTransaction");
+
+        return new SponsorFeeTransaction(header.sender(), assetIdFromJson(json.get("assetId")),
+                json.get("minSponsoredAssetFee").asLong(),
+                header.chainId(), header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+}
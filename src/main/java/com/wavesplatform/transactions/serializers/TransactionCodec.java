@@ -0,0 +1,79 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransaction;
+import com.wavesplatform.transactions.Transaction;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Codec of the transactions of one type, registered in {@link TransactionCodecs}.
+ * <p>
+ * The built-in serializers look up the codec by the type id and call it before their own implementation.
+ * Each method may return null to leave the operation to the built-in implementation,
+ * so a codec can replace only the formats it cares about.
+ * The result must be the same as the built-in one, otherwise ids and signatures won't match.
+ *
+ * @param <T> transaction class
+ */
+public interface TransactionCodec<T extends Transaction> {
+
+    /**
+     * @return transaction type id
+     */
+    int type();
+
+    /**
+     * @param tx transaction with legacy scheme
+     * @return body bytes in the legacy binary format
+     */
+    default byte[] toLegacyBodyBytes(T tx) {
+        return null;
+    }
+
+    /**
+     * @param bytes legacy bytes of the transaction of the type of the codec, the position is at the start
+     * @return transaction with proofs
+     */
+    default T fromLegacyBytes(ByteBuffer bytes) {
+        return null;
+    }
+
+    /**
+     * @param tx transaction with protobuf scheme
+     * @return protobuf message of the transaction without proofs
+     */
+    default TransactionOuterClass.Transaction toUnsignedProtobuf(T tx) {
+        return null;
+    }
+
+    /**
+     * @param pbSignedTx signed transaction of the type of the codec
+     * @return transaction with proofs
+     * @throws IOException if the message is malformed
+     */
+    default T fromProtobuf(SignedTransaction pbSignedTx) throws IOException {
+        return null;
+    }
+
+    /**
+     * @param tx transaction
+     * @return json object with the common and the type specific fields
+     */
+    default ObjectNode toJson(T tx) {
+        return null;
+    }
+
+    /**
+     * @param json json object of the transaction of the type of the codec
+     * @return transaction
+     * @throws IOException if the json is malformed
+     */
+    default T fromJson(JsonNode json) throws IOException {
+        return null;
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.wavesplatform.transactions.Transaction;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Registry of the transaction codecs, indexed by the type id.
+ * <p>
+ * Lookup is a single array access, so the serializers check it on every call.
+ * The serializers try the custom codec of the type first and fall back to the built-in one.
+ * Custom codecs are expected to be registered on startup, before the transactions are serialized.
+ */
+public abstract class TransactionCodecs {
+
+    private static final int MAX_TYPES = 256;
+
+    private static final BuiltInCodec<?>[] builtIns = new BuiltInCodec<?>[MAX_TYPES];
+
+    static {
+        for (BuiltInCodec<?> codec : new BuiltInCodec<?>[]{
+                new GenesisTransactionCodec(),
+                new PaymentTransactionCodec(),
+                new IssueTransactionCodec(),
+                new TransferTransactionCodec(),
+                new ReissueTransactionCodec(),
+                new BurnTransactionCodec(),
+                new ExchangeTransactionCodec(),
+                new LeaseTransactionCodec(),
+                new LeaseCancelTransactionCodec(),
+                new CreateAliasTransactionCodec(),
+                new MassTransferTransactionCodec(),
+                new DataTransactionCodec(),
+                new SetScriptTransactionCodec(),
+                new SponsorFeeTransactionCodec(),
+                new SetAssetScriptTransactionCodec(),
+                new InvokeScriptTransactionCodec(),
+                new UpdateAssetInfoTransactionCodec(),
+                new EthereumTransactionCodec()})
+            builtIns[codec.type()] = codec;
+    }
+
+    private static volatile TransactionCodec<?>[] codecs = new TransactionCodec<?>[MAX_TYPES];
+    private static volatile boolean empty = true;
+
+    /**
+     * Register the codec for its type. The previous codec of the same type is replaced.
+     *
+     * @param codec transaction codec
+     */
+    public static synchronized void register(TransactionCodec<?> codec) {
+        int type = codec.type();
+        if (type < 0 || type >= MAX_TYPES)
+            throw new IllegalArgumentException("Transaction type " + type + " is out of range");
+        TransactionCodec<?>[] updated = Arrays.copyOf(codecs, MAX_TYPES);
+        updated[type] = codec;
+        codecs = updated;
+        empty = false;
+    }
+
+    /**
+     * Remove the codec of the type, so the built-in serialization is used again.
+     *
+     * @param type transaction type id
+     */
+    public static synchronized void unregister(int type) {
+        if (type < 0 || type >= MAX_TYPES)
+            return;
+        TransactionCodec<?>[] updated = Arrays.copyOf(codecs, MAX_TYPES);
+        updated[type] = null;
+        codecs = updated;
+        empty = Arrays.stream(updated).allMatch(Objects::isNull);
+    }
+
+    /**
+     * @param type transaction type id
+     * @return registered codec or null if there is no codec for the type
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Transaction> TransactionCodec<T> get(int type) {
+        TransactionCodec<?>[] current = codecs;
+        return type >= 0 && type < MAX_TYPES ? (TransactionCodec<T>) current[type] : null;
+    }
+
+    /**
+     * @param type transaction type id
+     * @return built-in codec or null if the type is unknown
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Transaction> BuiltInCodec<T> builtIn(int type) {
+        return type >= 0 && type < MAX_TYPES ? (BuiltInCodec<T>) builtIns[type] : null;
+    }
+
+    /**
+     * @param tx transaction
+     * @return built-in codec of the type of the transaction
+     * @throws IllegalArgumentException if the class of the transaction is unknown
+     */
+    public static <T extends Transaction> BuiltInCodec<T> builtIn(T tx) {
+        BuiltInCodec<T> codec = builtIn(tx.type());
+        if (codec == null || !codec.transactionClass().isInstance(tx))
+            throw new IllegalArgumentException("Can't serialize " + tx.getClass().getCanonicalName());
+        return codec;
+    }
+
+    /**
+     * @return true if there are no registered codecs
+     */
+    public static boolean isEmpty() {
+        return empty;
+    }
+
+}
@@ -0,0 +1,161 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnsafeByteOperations;
+import com.wavesplatform.crypto.base.Base58;
+import com.wavesplatform.protobuf.AmountOuterClass;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransaction;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.transactions.TransactionHeader;
+import com.wavesplatform.transactions.TransferTransaction;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.AssetId;
+import com.wavesplatform.transactions.common.Base58String;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.common.Recipient;
+import com.wavesplatform.transactions.serializers.binary.BytesReader;
+import com.wavesplatform.transactions.serializers.binary.BytesWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.wavesplatform.transactions.serializers.ProtobufConverter.*;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeAmount;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeBytes;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeRecipient;
+import static com.wavesplatform.transactions.serializers.Scheme.WITH_PROOFS;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.amountSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.assetIdOrWavesSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.bytesSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.messageSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.recipientSize;
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.*;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.ATTACHMENT;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeString;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeTransfer;
+
+final class TransferTransactionCodec extends BuiltInCodec<TransferTransaction> {
+
+    TransferTransactionCodec() {
+        super(TransferTransaction.TYPE, TransferTransaction.class);
+    }
+
+    @Override
+    public void writeLegacyBody(TransferTransaction tx, Scheme scheme, BytesWriter writer) {
+        writer.write(tx.sender().bytes())
+                .writeAssetIdOrWaves(tx.amount().assetId())
+                .writeAssetIdOrWaves(tx.fee().assetId())
+                .writeLong(tx.timestamp())
+                .writeLong(tx.amount().value())
+                .writeLong(tx.fee().value())
+                .writeRecipient(tx.recipient())
+                .writeArrayWithLength(tx.attachment().bytes());
+    }
+
+    @Override
+    public int legacyBodySize(TransferTransaction tx, Scheme scheme) {
+        return tx.sender().bytes().length
+                + assetIdOrWavesSize(tx.amount().assetId())
+                + assetIdOrWavesSize(tx.fee().assetId())
+                + Long.BYTES * 3
+                + tx.recipient().bytes().length
+                + 2 + tx.attachment().bytes().length;
+    }
+
+    @Override
+    public TransferTransaction readLegacy(BytesReader reader, int version, Scheme scheme, List<Proof> signature) {
+        PublicKey sender = reader.readPublicKey();
+        AssetId assetId = reader.readAssetIdOrWaves();
+        AssetId feeAssetId = reader.readAssetIdOrWaves();
+        long timestamp = reader.readLong();
+        long amount = reader.readLong();
+        long fee = reader.readLong();
+        Recipient recipient = reader.readRecipient();
+        Base58String attachment = new Base58String(reader.readArrayWithLength());
+        List<Proof> proofs = scheme == WITH_PROOFS ? reader.readProofs() : signature;
+
+        return new TransferTransaction(sender, recipient, Amount.of(amount, assetId), attachment,
+                recipient.chainId(), Amount.of(fee, feeAssetId), timestamp, version, proofs);
+    }
+
+    @Override
+    public void writeProtobuf(TransferTransaction tx, TransactionOuterClass.Transaction.Builder builder) {
+        builder.setTransfer(TransactionOuterClass.TransferTransactionData.newBuilder()
+                .setRecipient(recipientToProto(tx.recipient()))
+                .setAmount(AmountOuterClass.Amount.newBuilder()
+                        .setAmount(tx.amount().value())
+                        .setAssetId(UnsafeByteOperations.unsafeWrap(tx.amount().assetId().bytes()))
+                        .build())
+                .setAttachment(UnsafeByteOperations.unsafeWrap(tx.attachment().bytes()))
+                .build());
+    }
+
+    @Override
+    public int protobufPayloadSize(TransferTransaction tx) {
+        return messageSize(1, recipientSize(tx.recipient()))
+                + messageSize(2, amountSize(tx.amount()))
+                + bytesSize(3, tx.attachment().bytes());
+    }
+
+    @Override
+    public void writeProtobufPayload(TransferTransaction tx, CodedOutputStream output) throws IOException {
+        writeRecipient(output, 1, tx.recipient());
+        writeAmount(output, 2, tx.amount());
+        writeBytes(output, 3, tx.attachment().bytes());
+    }
+
+    @Override
+    public TransferTransaction readProtobuf(SignedTransaction pbSignedTx) {
+        TransactionOuterClass.Transaction pbTx = pbSignedTx.getWavesTransaction();
+        TransactionOuterClass.TransferTransactionData transfer = pbTx.getTransfer();
+        AmountOuterClass.Amount amount = transfer.getAmount();
+        return TransferTransaction
+                .builder(recipientFromProto(transfer.getRecipient(), (byte) pbTx.getChainId()),
+                        Amount.of(amount.getAmount(), AssetId.as(amount.getAssetId().toByteArray())))
+                .attachment(new Base58String(transfer.getAttachment().toByteArray()))
+                .version(pbTx.getVersion())
+                .chainId((byte) pbTx.getChainId())
+                .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
+                .fee(pbAmountToAmount(pbTx.getFee()))
+                .timestamp(pbTx.getTimestamp())
+                .getUnsigned();
+    }
+
+    @Override
+    public TransferTransaction readTrustedProtobuf(TransactionOuterClass.Transaction pbTx, List<Proof> proofs) {
+        TransactionHeader header = protobufHeader(pbTx);
+        TransactionOuterClass.TransferTransactionData transfer = pbTx.getTransfer();
+        return new TransferTransaction(header.sender(), recipientFromProto(transfer.getRecipient(), header.chainId()),
+                pbAmountToAmount(transfer.getAmount()), new Base58String(transfer.getAttachment().toByteArray()),
+                header.chainId(), header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+    @Override
+    public void writeJson(TransferTransaction tx, JsonGenerator generator) throws IOException {
+        writeTransfer(generator, tx.recipient(), tx.amount());
+        writeString(generator, ATTACHMENT, Base58.encode(tx.attachment().bytes()));
+    }
+
+    @Override
+    public boolean hasJsonChainId(TransferTransaction tx) {
+        return tx.version() >= 3;
+    }
+
+    @Override
+    public TransferTransaction readJson(JsonNode json, TransactionHeader header, List<Proof> proofs) {
+        Recipient recipient = recipientFromJson(json.get("recipient"));
+        byte chainId = header.version() < 3 ? recipient.chainId() : header.chainId();
+        AssetId assetId = assetIdFromJson(json.get("assetId"));
+        Base58String attachment = json.has("attachment")
+                ? new Base58String(json.get("attachment").asText()) : Base58String.empty();
+
+        if (header.version() == 1 && json.has("signature"))
+            proofs = Proof.list(Proof.as(json.get("signature").asText()));
+        return new TransferTransaction(header.sender(), recipient, Amount.of(json.get("amount").asLong(), assetId),
+                attachment, chainId, header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+}
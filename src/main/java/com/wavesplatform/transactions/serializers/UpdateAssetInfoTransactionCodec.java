@@ -0,0 +1,99 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnsafeByteOperations;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransaction;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.transactions.TransactionHeader;
+import com.wavesplatform.transactions.UpdateAssetInfoTransaction;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.AssetId;
+import com.wavesplatform.transactions.common.Proof;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.wavesplatform.transactions.serializers.ProtobufConverter.pbAmountToAmount;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeBytes;
+import static com.wavesplatform.transactions.serializers.ProtobufWriter.writeString;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.bytesSize;
+import static com.wavesplatform.transactions.serializers.SizeCalculator.stringSize;
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.assetIdFromJson;
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.assetIdToJson;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.ASSET_ID;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.DESCRIPTION;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.NAME;
+import static com.wavesplatform.transactions.serializers.json.JsonWriter.writeString;
+
+final class UpdateAssetInfoTransactionCodec extends BuiltInCodec<UpdateAssetInfoTransaction> {
+
+    UpdateAssetInfoTransactionCodec() {
+        super(UpdateAssetInfoTransaction.TYPE, UpdateAssetInfoTransaction.class);
+    }
+
+    @Override
+    public void writeProtobuf(UpdateAssetInfoTransaction tx, TransactionOuterClass.Transaction.Builder builder) {
+        builder.setUpdateAssetInfo(TransactionOuterClass.UpdateAssetInfoTransactionData.newBuilder()
+                .setAssetId(UnsafeByteOperations.unsafeWrap(tx.assetId().bytes()))
+                .setName(tx.name())
+                .setDescription(tx.description())
+                .build());
+    }
+
+    @Override
+    public int protobufPayloadSize(UpdateAssetInfoTransaction tx) {
+        return bytesSize(1, tx.assetId().bytes()) + stringSize(2, tx.name()) + stringSize(3, tx.description());
+    }
+
+    @Override
+    public void writeProtobufPayload(UpdateAssetInfoTransaction tx, CodedOutputStream output) throws IOException {
+        writeBytes(output, 1, tx.assetId().bytes());
+        writeString(output, 2, tx.name());
+        writeString(output, 3, tx.description());
+    }
+
+    @Override
+    public UpdateAssetInfoTransaction readProtobuf(SignedTransaction pbSignedTx) {
+        TransactionOuterClass.Transaction pbTx = pbSignedTx.getWavesTransaction();
+        TransactionOuterClass.UpdateAssetInfoTransactionData update = pbTx.getUpdateAssetInfo();
+        return UpdateAssetInfoTransaction
+                .builder(AssetId.as(update.getAssetId().toByteArray()), update.getName(), update.getDescription())
+                .version(pbTx.getVersion())
+                .chainId((byte) pbTx.getChainId())
+                .sender(PublicKey.as(pbTx.getSenderPublicKey().toByteArray()))
+                .fee(pbAmountToAmount(pbTx.getFee()))
+                .timestamp(pbTx.getTimestamp())
+                .getUnsigned();
+    }
+
+    @Override
+    public UpdateAssetInfoTransaction readTrustedProtobuf(TransactionOuterClass.Transaction pbTx, List<Proof> proofs) {
+        TransactionHeader header = protobufHeader(pbTx);
+        TransactionOuterClass.UpdateAssetInfoTransactionData update = pbTx.getUpdateAssetInfo();
+        return new UpdateAssetInfoTransaction(header.sender(), AssetId.as(update.getAssetId().toByteArray()),
+                update.getName(), update.getDescription(),
+                header.chainId(), header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+    @Override
+    public void writeJson(UpdateAssetInfoTransaction tx, JsonGenerator generator) throws IOException {
+        writeString(generator, ASSET_ID, assetIdToJson(tx.assetId()));
+        writeString(generator, NAME, tx.name());
+        writeString(generator, DESCRIPTION, tx.description());
+    }
+
+    @Override
+    public UpdateAssetInfoTransaction readJson(JsonNode json, TransactionHeader header, List<Proof> proofs)
+            throws IOException {
+        if (!header.fee().assetId().isWaves())
+            throw new IOException("feeAssetId field must be null for UpdateAssetInfoTransaction");
+
+        AssetId assetId = assetIdFromJson(json.get("assetId"));
+        return new UpdateAssetInfoTransaction(header.sender(), assetId,
+                json.get("name").asText(), json.get("description").asText(),
+                header.chainId(), header.fee(), header.timestamp(), header.version(), proofs);
+    }
+
+}
@@ -0,0 +1,225 @@
+package com.wavesplatform.transactions.serializers.binary;
+
+import com.wavesplatform.transactions.MassTransferTransaction;
+import com.wavesplatform.transactions.serializers.Scheme;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Binary layout of serialized transactions and orders.
+ * Detection is a single pass over the leading bytes and the wire structure, without parsing any objects.
+ */
+public enum BinaryFormat {
+
+    PROTOBUF, LEGACY_VERSIONED, LEGACY_UNVERSIONED;
+
+    private static final int WIRE_VARINT = 0;
+    private static final int WIRE_FIXED64 = 1;
+    private static final int WIRE_LENGTH_DELIMITED = 2;
+    private static final int WIRE_FIXED32 = 5;
+    private static final int UNKNOWN = -1;
+
+    private static final int[] SIGNED_TRANSACTION_FIELDS = {UNKNOWN, 2, 2, 2};
+    private static final int[] ORDER_FIELDS = {UNKNOWN, 0, 2, 2, 2, 0, 0, 0, 0, 0, 2, 0, 2, 2, 0, 2};
+
+    private static final byte WAVES_TRANSACTION_TAG = (1 << 3) | WIRE_LENGTH_DELIMITED;
+    private static final byte PROOFS_TAG = (2 << 3) | WIRE_LENGTH_DELIMITED;
+    private static final byte ETHEREUM_TRANSACTION_TAG = (3 << 3) | WIRE_LENGTH_DELIMITED;
+    private static final int ORDER_MATCHER_FIELD = 3;
+
+    public static BinaryFormat ofTransaction(byte[] bytes) {
+        return ofTransaction(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Detect the format of the transaction in the remaining bytes of the buffer.
+     * The position of the buffer is not changed.
+     *
+     * @param buffer serialized transaction
+     * @return format of the transaction
+     */
+    public static BinaryFormat ofTransaction(ByteBuffer buffer) {
+        if (!buffer.hasRemaining())
+            return PROTOBUF;
+
+        byte first = buffer.get(buffer.position());
+        if (first == PROOFS_TAG || first == ETHEREUM_TRANSACTION_TAG)
+            return PROTOBUF;
+        if (first == WAVES_TRANSACTION_TAG) {
+            long fields = scanFields(buffer, SIGNED_TRANSACTION_FIELDS);
+            if (fields > 0 && (fields & (1L << 1 | 1L << 3)) != 0)
+                return PROTOBUF;
+        }
+        return first == 0 || first == MassTransferTransaction.TYPE ? LEGACY_VERSIONED : LEGACY_UNVERSIONED;
+    }
+
+    public static BinaryFormat ofOrder(byte[] bytes) {
+        return ofOrder(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Detect the format of the order in the remaining bytes of the buffer.
+     * The position of the buffer is not changed.
+     *
+     * @param buffer serialized order
+     * @return format of the order
+     */
+    public static BinaryFormat ofOrder(ByteBuffer buffer) {
+        if (!buffer.hasRemaining())
+            return PROTOBUF;
+
+        long fields = scanFields(buffer, ORDER_FIELDS);
+        if (fields > 0 && (fields & 1L << ORDER_MATCHER_FIELD) != 0)
+            return PROTOBUF;
+        if (legacyOrderLength(buffer, true) == buffer.remaining())
+            return LEGACY_VERSIONED;
+        return LEGACY_UNVERSIONED;
+    }
+
+    public static BinaryFormat ofTransaction(Scheme scheme) {
+        if (scheme == Scheme.PROTOBUF)
+            return PROTOBUF;
+        return scheme == Scheme.WITH_PROOFS ? LEGACY_VERSIONED : LEGACY_UNVERSIONED;
+    }
+
+    public static BinaryFormat ofOrder(Scheme scheme) {
+        if (scheme == Scheme.PROTOBUF)
+            return PROTOBUF;
+        return scheme == Scheme.WITH_PROOFS ? LEGACY_VERSIONED : LEGACY_UNVERSIONED;
+    }
+
+    /**
+     * Walks protobuf fields up to the end of the buffer.
+     *
+     * @return bit mask of found field numbers below 64, or -1 if the bytes are not a well-formed message
+     */
+    private static long scanFields(ByteBuffer buffer, int[] knownWireTypes) {
+        int p = buffer.position();
+        int end = buffer.limit();
+        long found = 0;
+        while (p < end) {
+            long tag = readVarint(buffer, p, end);
+            if (tag < 0 || tag > Integer.MAX_VALUE)
+                return -1;
+            p += varintSize(tag);
+
+            int field = (int) (tag >>> 3);
+            int wireType = (int) (tag & 7);
+            if (field <= 0)
+                return -1;
+            if (field < knownWireTypes.length && knownWireTypes[field] != UNKNOWN && knownWireTypes[field] != wireType)
+                return -1;
+
+            if (wireType == WIRE_VARINT) {
+                long value = readVarint(buffer, p, end);
+                if (value == -2)
+                    return -1;
+                p += value == -1 ? 10 : varintSize(value);
+            } else if (wireType == WIRE_FIXED64) {
+                p += 8;
+            } else if (wireType == WIRE_LENGTH_DELIMITED) {
+                long length = readVarint(buffer, p, end);
+                if (length < 0 || length > end)
+                    return -1;
+                p += varintSize(length) + (int) length;
+            } else if (wireType == WIRE_FIXED32) {
+                p += 4;
+            } else return -1;
+
+            if (p > end || p < 0)
+                return -1;
+            if (field < 64)
+                found |= 1L << field;
+        }
+        return found;
+    }
+
+    /**
+     * @return varint value, -1 for a negative ten-byte varint, or -2 if the varint is truncated or too long
+     */
+    private static long readVarint(ByteBuffer buffer, int p, int end) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (p >= end)
+                return -2;
+            byte b = buffer.get(p++);
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return result < 0 ? -1 : result;
+        }
+        return -2;
+    }
+
+    private static int varintSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Expected length of the legacy order which starts at the position of the buffer.
+     *
+     * @return length in bytes or -1 if the bytes can't be a legacy order
+     */
+    static int legacyOrderLength(ByteBuffer buffer, boolean versioned) {
+        int start = buffer.position();
+        int end = buffer.limit();
+        int p = start;
+
+        int version = 1;
+        if (versioned) {
+            version = buffer.get(p++);
+            if (version < 1 || version > 3)
+                return -1;
+        }
+
+        p += 32 + 32;
+        for (int i = 0; i < 2; i++) {
+            p = skipAssetIdOrWaves(buffer, p, end);
+            if (p < 0)
+                return -1;
+        }
+        if (p >= end || (buffer.get(p) != 0 && buffer.get(p) != 1))
+            return -1;
+        p += 1 + Long.BYTES * 5;
+        if (version == 3) {
+            p = skipAssetIdOrWaves(buffer, p, end);
+            if (p < 0)
+                return -1;
+        }
+
+        if (version == 1)
+            p += 64;
+        else {
+            if (p + 3 > end || buffer.get(p) != 1)
+                return -1;
+            int proofsCount = readShort(buffer, p + 1);
+            p += 3;
+            for (int i = 0; i < proofsCount; i++) {
+                if (p + 2 > end || readShort(buffer, p) < 0)
+                    return -1;
+                p += 2 + readShort(buffer, p);
+            }
+        }
+        return p > end || p < start ? -1 : p - start;
+    }
+
+    private static int skipAssetIdOrWaves(ByteBuffer buffer, int p, int end) {
+        if (p >= end)
+            return -1;
+        byte flag = buffer.get(p);
+        if (flag == 0)
+            return p + 1;
+        else if (flag == 1)
+            return p + 1 + 32;
+        else return -1;
+    }
+
+    private static int readShort(ByteBuffer buffer, int p) {
+        return (short) ((buffer.get(p) & 0xFF) << 8 | buffer.get(p + 1) & 0xFF);
+    }
+
+}
@@ -1,66 +1,536 @@
 package com.wavesplatform.transactions.serializers.binary;
 
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.WireFormat;
+import com.wavesplatform.protobuf.AmountOuterClass;
 import com.wavesplatform.protobuf.order.OrderOuterClass;
 import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransaction;
+import com.wavesplatform.transactions.EthereumTransaction;
+import com.wavesplatform.transactions.GenesisTransaction;
 import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.TransactionHeader;
+import com.wavesplatform.transactions.TransactionInternals;
 import com.wavesplatform.transactions.TransactionOrOrder;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.AssetId;
+import com.wavesplatform.transactions.common.Id;
 import com.wavesplatform.transactions.exchange.Order;
+import com.wavesplatform.transactions.serializers.Chunks;
 import com.wavesplatform.transactions.serializers.ProtobufConverter;
+import com.wavesplatform.transactions.serializers.ProtobufWriter;
 import com.wavesplatform.transactions.serializers.Scheme;
+import com.wavesplatform.transactions.serializers.SizeCalculator;
+import org.bouncycastle.crypto.digests.Blake2bDigest;
+import org.bouncycastle.crypto.io.DigestOutputStream;
 
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 import static com.wavesplatform.transactions.serializers.Scheme.PROTOBUF;
 
 public abstract class BinarySerializer {
 
+    private static final int MIN_BATCH_CHUNK_SIZE = 16;
+    private static final ThreadLocal<IdDigest> ID_DIGEST = ThreadLocal.withInitial(IdDigest::new);
+
+    /**
+     * The array is copied once, so it can be modified after the call.
+     */
     public static Order orderFromBytes(byte[] bytes) throws IOException {
-        OrderOuterClass.Order pbOrder;
-        try {
-            pbOrder = OrderOuterClass.Order.parseFrom(bytes);
-            if (!pbOrder.isInitialized())
-                throw new InvalidProtocolBufferException("Parsed bytes are not an Order");
-        } catch (InvalidProtocolBufferException e) {
-            try {
-                return LegacyBinarySerializer.orderFromBytes(bytes, true);
-            } catch (IllegalArgumentException ioe) {
-                return LegacyBinarySerializer.orderFromBytes(bytes, false);
-            }
-        }
+        byte[] copy = bytes.clone();
+        return orderFromBytes(copy, BinaryFormat.ofOrder(ByteBuffer.wrap(copy)));
+    }
+
+    public static Order orderFromBytes(ByteBuffer bytes) throws IOException {
+        return orderFromBytes(bytes, BinaryFormat.ofOrder(bytes));
+    }
+
+    /**
+     * The array is copied once, so it can be modified after the call.
+     */
+    public static Order orderFromBytes(byte[] bytes, Scheme scheme) throws IOException {
+        return orderFromBytes(bytes.clone(), BinaryFormat.ofOrder(scheme));
+    }
 
-        return ProtobufConverter.fromProtobuf(pbOrder);
+    /**
+     * The remaining bytes are copied once, so the buffer can be reused after the call.
+     */
+    public static Order orderFromBytes(ByteBuffer bytes, BinaryFormat format) throws IOException {
+        if (format == BinaryFormat.PROTOBUF)
+            return orderFromBytes(copyOf(bytes), format);
+        else
+            return LegacyBinarySerializer.orderFromBytes(bytes, format == BinaryFormat.LEGACY_VERSIONED);
     }
 
+    /**
+     * The array is kept by the order as its original encoding, so it must be a private copy.
+     */
+    private static Order orderFromBytes(byte[] bytes, BinaryFormat format) throws IOException {
+        if (format == BinaryFormat.PROTOBUF) {
+            Order order = ProtobufConverter.fromProtobuf(OrderOuterClass.Order.parseFrom(aliasingInput(bytes)));
+            return Scheme.of(order) == PROTOBUF ? TransactionInternals.withEncoding(order, bytes, null) : order;
+        } else
+            return LegacyBinarySerializer.orderFromOwnBytes(bytes, format == BinaryFormat.LEGACY_VERSIONED);
+    }
+
+    /**
+     * The array is copied once, so it can be modified after the call.
+     */
     public static Transaction transactionFromBytes(byte[] bytes) throws IOException {
-        TransactionOuterClass.SignedTransaction signed;
-        try {
-            signed = TransactionOuterClass.SignedTransaction.parseFrom(bytes);
-            if (!signed.isInitialized())
-                throw new InvalidProtocolBufferException("Parsed bytes are not a Transaction");
-        } catch (InvalidProtocolBufferException e) {
+        byte[] copy = bytes.clone();
+        return transactionFromBytes(copy, BinaryFormat.ofTransaction(ByteBuffer.wrap(copy)));
+    }
+
+    public static Transaction transactionFromBytes(ByteBuffer bytes) throws IOException {
+        return transactionFromBytes(bytes, BinaryFormat.ofTransaction(bytes));
+    }
+
+    /**
+     * The array is copied once, so it can be modified after the call.
+     */
+    public static Transaction transactionFromBytes(byte[] bytes, Scheme scheme) throws IOException {
+        return transactionFromBytes(bytes.clone(), BinaryFormat.ofTransaction(scheme));
+    }
+
+    /**
+     * The remaining bytes are copied once, so the buffer can be reused after the call.
+     */
+    public static Transaction transactionFromBytes(ByteBuffer bytes, BinaryFormat format) throws IOException {
+        if (format == BinaryFormat.PROTOBUF)
+            return transactionFromBytes(copyOf(bytes), format);
+        else
             return LegacyBinarySerializer.transactionFromBytes(bytes);
+    }
+
+    /**
+     * The array is kept by the transaction as its original encoding, so it must be a private copy.
+     */
+    private static Transaction transactionFromBytes(byte[] bytes, BinaryFormat format) throws IOException {
+        if (format == BinaryFormat.PROTOBUF) {
+            Transaction tx = ProtobufConverter.fromProtobuf(SignedTransaction.parseFrom(aliasingInput(bytes)));
+            return Scheme.of(tx) == PROTOBUF
+                    ? TransactionInternals.withEncoding(tx, bytes, protobufBodyRange(ByteBuffer.wrap(bytes)))
+                    : tx;
+        } else
+            return LegacyBinarySerializer.transactionFromOwnBytes(bytes);
+    }
+
+    /**
+     * Decode the records in parallel. Records are split into chunks by their order, one task per chunk,
+     * so a {@link java.util.concurrent.ForkJoinPool} or any other executor can be used.
+     * An error in one record doesn't prevent decoding of the others.
+     *
+     * @param records transaction bytes of any scheme
+     * @param executor executor of the chunks
+     * @return results in the order of the records
+     */
+    public static DecodeResult[] transactionsFromBytes(List<byte[]> records, Executor executor) {
+        List<ByteBuffer> buffers = new ArrayList<>(records.size());
+        for (byte[] record : records)
+            buffers.add(ByteBuffer.wrap(record));
+        return transactionsFromBytes(buffers, null, executor);
+    }
+
+    /**
+     * Decode the framed records of the buffer in parallel. The position of the buffer is not changed.
+     * Framing is read sequentially, then records are decoded in chunks as in {@link #transactionsFromBytes(List, Executor)}.
+     *
+     * @param records records framed as read by {@link TransactionReader}
+     * @param framing framing of the records
+     * @param executor executor of the chunks
+     * @return results in the order of the records
+     * @throws IOException if the framing is malformed, so the records can't be located
+     */
+    public static DecodeResult[] transactionsFromBytes(ByteBuffer records, TransactionReader.Framing framing,
+                                                       Executor executor) throws IOException {
+        ByteBuffer input = records.duplicate().order(ByteOrder.BIG_ENDIAN);
+        List<ByteBuffer> buffers = new ArrayList<>();
+        while (input.hasRemaining()) {
+            int length;
+            if (framing == TransactionReader.Framing.PROTOBUF_DELIMITED)
+                length = readVarintLength(input);
+            else if (input.remaining() >= Integer.BYTES)
+                length = input.getInt();
+            else
+                throw new EOFException("Input ended inside of a record length");
+
+            if (length < 0 || length > input.remaining())
+                throw new EOFException("Input ended inside of a record of " + length + " bytes");
+            ByteBuffer record = input.duplicate();
+            ((Buffer) record).limit(input.position() + length);
+            buffers.add(record.slice());
+            ((Buffer) input).position(input.position() + length);
+        }
+        return transactionsFromBytes(buffers, framing == TransactionReader.Framing.PROTOBUF_DELIMITED
+                ? BinaryFormat.PROTOBUF : null, executor);
+    }
+
+    private static DecodeResult[] transactionsFromBytes(List<ByteBuffer> records, BinaryFormat format,
+                                                        Executor executor) {
+        DecodeResult[] results = new DecodeResult[records.size()];
+        Chunks.run(records.size(), MIN_BATCH_CHUNK_SIZE, executor, (start, end) -> {
+            for (int i = start; i < end; i++)
+                results[i] = decodeRecord(records.get(i), format);
+        });
+        return results;
+    }
+
+    private static int readVarintLength(ByteBuffer input) throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (!input.hasRemaining())
+                throw new EOFException("Input ended inside of a record length");
+            byte b = input.get();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return result;
+        }
+        throw new IOException("Record length is malformed");
+    }
+
+    private static DecodeResult decodeRecord(ByteBuffer record, BinaryFormat format) {
+        try {
+            return DecodeResult.of(format == null ? transactionFromBytes(record) : transactionFromBytes(record, format));
+        } catch (IOException | RuntimeException e) {
+            return DecodeResult.failed(e);
+        }
+    }
+
+    /**
+     * Find the content of the waves_transaction field, which is the body of the transaction, in the protobuf bytes.
+     *
+     * @param bytes SignedTransaction bytes
+     * @return start and end offsets relative to the position of the buffer, or null if it's not a Waves transaction
+     * @throws IOException if the bytes are malformed
+     */
+    public static int[] protobufBodyRange(ByteBuffer bytes) throws IOException {
+        CodedInputStream input = CodedInputStream.newInstance(bytes.duplicate());
+        while (!input.isAtEnd()) {
+            int tag = input.readTag();
+            int field = WireFormat.getTagFieldNumber(tag);
+            if (field == SignedTransaction.WAVES_TRANSACTION_FIELD_NUMBER) {
+                int length = input.readRawVarint32();
+                int start = input.getTotalBytesRead();
+                if (length < 0 || length > bytes.remaining() - start)
+                    throw new InvalidProtocolBufferException("Waves transaction is truncated");
+                return new int[]{start, start + length};
+            } else if (field == SignedTransaction.ETHEREUM_TRANSACTION_FIELD_NUMBER)
+                return null;
+            input.skipField(tag);
+        }
+        return null;
+    }
+
+    public static TransactionHeader transactionHeaderFromBytes(ByteBuffer bytes) throws IOException {
+        return transactionHeaderFromBytes(bytes, null);
+    }
+
+    /**
+     * Read the header and record where the payload field of the transaction is: the recipient of genesis,
+     * payment, transfer and lease, the transfers of mass transfer, the entries of data and the function
+     * of invoke script transactions.
+     * In the protobuf format the range is the content of the transaction data message,
+     * in the legacy format it starts at the payload field and ends with the bytes.
+     *
+     * @param bytes transaction bytes in any format
+     * @param payloadRange receives the start and end offsets relative to the position of the buffer;
+     *                     left as is for Ethereum transactions and legacy types without such a field
+     * @return header of the transaction
+     * @throws IOException if the bytes are malformed
+     */
+    public static TransactionHeader transactionHeaderFromBytes(ByteBuffer bytes, int[] payloadRange) throws IOException {
+        if (BinaryFormat.ofTransaction(bytes) != BinaryFormat.PROTOBUF)
+            return LegacyBinarySerializer.transactionHeaderFromBytes(bytes, payloadRange);
+
+        CodedInputStream input = CodedInputStream.newInstance(bytes.duplicate());
+        while (!input.isAtEnd()) {
+            int tag = input.readTag();
+            int field = WireFormat.getTagFieldNumber(tag);
+            if (field == SignedTransaction.WAVES_TRANSACTION_FIELD_NUMBER) {
+                int limit = input.pushLimit(input.readRawVarint32());
+                TransactionHeader header = protobufTransactionHeader(input, payloadRange);
+                input.popLimit(limit);
+                return header;
+            } else if (field == SignedTransaction.ETHEREUM_TRANSACTION_FIELD_NUMBER)
+                return TransactionHeader.of(transactionFromBytes(bytes, BinaryFormat.PROTOBUF));
+            else input.skipField(tag);
         }
+        throw new InvalidProtocolBufferException("Waves transaction is missing");
+    }
 
-        return ProtobufConverter.fromProtobuf(signed);
+    /**
+     * Find the length-delimited values of the field in the protobuf message without parsing it.
+     *
+     * @param message bytes of the message
+     * @param fieldNumber number of the field
+     * @return views of the values in the order of the bytes, so the last one is the value of a singular field
+     * @throws IOException if the bytes are malformed
+     */
+    public static List<ByteBuffer> protobufFields(ByteBuffer message, int fieldNumber) throws IOException {
+        ByteBuffer bytes = message.slice();
+        CodedInputStream input = CodedInputStream.newInstance(bytes.duplicate());
+        List<ByteBuffer> values = new ArrayList<>();
+        while (!input.isAtEnd()) {
+            int tag = input.readTag();
+            if (WireFormat.getTagFieldNumber(tag) == fieldNumber
+                    && WireFormat.getTagWireType(tag) == WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+                int length = input.readRawVarint32();
+                int start = input.getTotalBytesRead();
+                input.skipRawBytes(length);
+                ByteBuffer value = bytes.duplicate();
+                ((Buffer) value).position(start).limit(start + length);
+                values.add(value.slice());
+            } else input.skipField(tag);
+        }
+        return values;
+    }
+
+    private static TransactionHeader protobufTransactionHeader(CodedInputStream input, int[] payloadRange) throws IOException {
+        int type = 0, version = 0;
+        byte chainId = 0;
+        byte[] sender = new byte[PublicKey.BYTES_LENGTH];
+        AssetId feeAssetId = AssetId.WAVES;
+        long fee = 0, timestamp = 0;
+
+        while (!input.isAtEnd()) {
+            int tag = input.readTag();
+            int field = WireFormat.getTagFieldNumber(tag);
+            if (field == TransactionOuterClass.Transaction.CHAIN_ID_FIELD_NUMBER)
+                chainId = (byte) input.readInt32();
+            else if (field == TransactionOuterClass.Transaction.SENDER_PUBLIC_KEY_FIELD_NUMBER)
+                sender = input.readByteArray();
+            else if (field == TransactionOuterClass.Transaction.FEE_FIELD_NUMBER) {
+                int limit = input.pushLimit(input.readRawVarint32());
+                while (!input.isAtEnd()) {
+                    int feeTag = input.readTag();
+                    int feeField = WireFormat.getTagFieldNumber(feeTag);
+                    if (feeField == AmountOuterClass.Amount.ASSET_ID_FIELD_NUMBER)
+                        feeAssetId = AssetId.as(input.readByteArray());
+                    else if (feeField == AmountOuterClass.Amount.AMOUNT_FIELD_NUMBER)
+                        fee = input.readInt64();
+                    else input.skipField(feeTag);
+                }
+                input.popLimit(limit);
+            } else if (field == TransactionOuterClass.Transaction.TIMESTAMP_FIELD_NUMBER)
+                timestamp = input.readInt64();
+            else if (field == TransactionOuterClass.Transaction.VERSION_FIELD_NUMBER)
+                version = input.readInt32();
+            else {
+                if (field >= TransactionOuterClass.Transaction.GENESIS_FIELD_NUMBER
+                        && field <= TransactionOuterClass.Transaction.UPDATE_ASSET_INFO_FIELD_NUMBER) {
+                    type = field - TransactionOuterClass.Transaction.GENESIS_FIELD_NUMBER + GenesisTransaction.TYPE;
+                    if (payloadRange != null && WireFormat.getTagWireType(tag) == WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+                        int length = input.readRawVarint32();
+                        payloadRange[0] = input.getTotalBytesRead();
+                        payloadRange[1] = payloadRange[0] + length;
+                        input.skipRawBytes(length);
+                        continue;
+                    }
+                }
+                input.skipField(tag);
+            }
+        }
+
+        if (type == 0)
+            throw new InvalidProtocolBufferException("Transaction data is missing or not supported");
+        return new TransactionHeader(type, version, chainId, PublicKey.as(sender), Amount.of(fee, feeAssetId), timestamp);
     }
 
     public static byte[] bodyBytes(TransactionOrOrder txOrOrder) {
-        if (Scheme.of(txOrOrder) == PROTOBUF) {
-            if (txOrOrder instanceof Order)
-                return ProtobufConverter.toUnsignedProtobuf((Order) txOrOrder).toByteArray();
-            else
-                return ProtobufConverter.toUnsignedProtobuf((Transaction) txOrOrder).toByteArray();
-        } else return LegacyBinarySerializer.bodyBytes(txOrOrder);
+        if (Scheme.of(txOrOrder) == PROTOBUF)
+            return ProtobufWriter.bodyBytes(txOrOrder);
+        else return LegacyBinarySerializer.bodyBytes(txOrOrder);
     }
 
     public static byte[] toBytes(TransactionOrOrder txOrOrder) {
+        if (Scheme.of(txOrOrder) == PROTOBUF)
+            return ProtobufWriter.toBytes(txOrOrder);
+        else return LegacyBinarySerializer.toBytes(txOrOrder);
+    }
+
+    public static void writeBodyTo(TransactionOrOrder txOrOrder, ByteBuffer buffer) {
         if (Scheme.of(txOrOrder) == PROTOBUF) {
-            if (txOrOrder instanceof Order)
-                return ProtobufConverter.toProtobuf((Order) txOrOrder).toByteArray();
-            else
-                return ProtobufConverter.toProtobuf((Transaction) txOrOrder).toByteArray();
-        } else return LegacyBinarySerializer.toBytes(txOrOrder);
+            MessageLite customBody = ProtobufWriter.customBody(txOrOrder);
+            if (buffer.remaining() < ProtobufWriter.bodySize(txOrOrder, customBody))
+                throw new BufferOverflowException();
+            writeProtobuf(output -> ProtobufWriter.writeBody(txOrOrder, customBody, output), buffer);
+        } else {
+            byte[] bodyBytes = txOrOrder.bodyBytes();
+            if (buffer.remaining() < bodyBytes.length)
+                throw new BufferOverflowException();
+            buffer.put(bodyBytes);
+        }
+    }
+
+    public static void writeTo(TransactionOrOrder txOrOrder, ByteBuffer buffer) {
+        if (Scheme.of(txOrOrder) == PROTOBUF) {
+            MessageLite customBody = ProtobufWriter.customBody(txOrOrder);
+            int bodySize = ProtobufWriter.bodySize(txOrOrder, customBody);
+            if (buffer.remaining() < ProtobufWriter.size(txOrOrder, bodySize))
+                throw new BufferOverflowException();
+            writeProtobuf(output -> ProtobufWriter.writeTo(txOrOrder, customBody, bodySize, output), buffer);
+        } else {
+            byte[] bodyBytes = txOrOrder.bodyBytes();
+            if (buffer.remaining() < SizeCalculator.toBytesSize(txOrOrder, bodyBytes.length))
+                throw new BufferOverflowException();
+            LegacyBinarySerializer.writeTo(txOrOrder, bodyBytes, buffer);
+        }
+    }
+
+    /**
+     * Compute the id as the BLAKE2b-256 hash of the body without allocating the body bytes.
+     * The body is encoded into a buffer reused by the current thread and hashed from there.
+     *
+     * @param txOrOrder transaction or order
+     * @return id
+     */
+    public static Id id(TransactionOrOrder txOrOrder) {
+        IdDigest state = ID_DIGEST.get();
+        if (Scheme.of(txOrOrder) == PROTOBUF) {
+            MessageLite customBody = ProtobufWriter.customBody(txOrOrder);
+            if (customBody != null)
+                return id(customBody);
+            int size = ProtobufWriter.bodySize(txOrOrder, null);
+            writeProtobufBody(state, size, output -> ProtobufWriter.writeBody(txOrOrder, null, output));
+            state.digest.update(state.protobufBody, 0, size);
+            return state.finish();
+        }
+
+        BytesWriter body = state.legacyBody.reset();
+        LegacyBinarySerializer.writeBody(txOrOrder, body);
+        try {
+            body.writeTo(state.digestStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return state.finish();
+    }
+
+    /**
+     * Hash the range of the array without copying it.
+     *
+     * @param bytes source array
+     * @param offset start of the body
+     * @param length length of the body
+     * @return id
+     */
+    public static Id id(byte[] bytes, int offset, int length) {
+        IdDigest state = ID_DIGEST.get();
+        state.digest.update(bytes, offset, length);
+        return state.finish();
+    }
+
+    /**
+     * @param body protobuf message of the body
+     * @return BLAKE2b-256 hash of the message bytes
+     */
+    public static Id id(MessageLite body) {
+        IdDigest state = ID_DIGEST.get();
+        int size = body.getSerializedSize();
+        writeProtobufBody(state, size, body::writeTo);
+        state.digest.update(state.protobufBody, 0, size);
+        return state.finish();
+    }
+
+    /**
+     * Compute the BLAKE2b-256 hash of the signed protobuf bytes of the transaction, whatever its scheme is.
+     * The kept original message or bytes are hashed as is, otherwise the transaction is written
+     * into a buffer reused by the current thread.
+     * An Ethereum transaction is hashed as a {@code SignedTransaction} that wraps its raw bytes.
+     *
+     * @param tx transaction
+     * @return hash of the protobuf bytes
+     */
+    public static byte[] protobufHash(Transaction tx) {
+        SignedTransaction original = tx.originalProtobuf();
+        if (original != null)
+            return id(original).bytes();
+
+        byte[] encoding = Scheme.of(tx) == PROTOBUF && !(tx instanceof EthereumTransaction)
+                ? TransactionInternals.encoding(tx) : null;
+        if (encoding != null)
+            return id(encoding, 0, encoding.length).bytes();
+
+        IdDigest state = ID_DIGEST.get();
+        MessageLite customBody = ProtobufWriter.customBody(tx);
+        int bodySize = ProtobufWriter.bodySize(tx, customBody);
+        int size = ProtobufWriter.size(tx, bodySize);
+        writeProtobufBody(state, size, output -> ProtobufWriter.writeTo(tx, customBody, bodySize, output));
+        state.digest.update(state.protobufBody, 0, size);
+        return state.finish().bytes();
+    }
+
+    private static void writeProtobufBody(IdDigest state, int size, ProtobufWrite write) {
+        if (state.protobufBody.length < size)
+            state.protobufBody = new byte[Math.max(size, state.protobufBody.length * 2)];
+        try {
+            CodedOutputStream output = CodedOutputStream.newInstance(state.protobufBody, 0, size);
+            write.to(output);
+            output.checkNoSpaceLeft();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class IdDigest {
+        final Blake2bDigest digest = new Blake2bDigest(256);
+        final OutputStream digestStream = new DigestOutputStream(digest);
+        final BytesWriter legacyBody = new BytesWriter();
+        byte[] protobufBody = new byte[256];
+
+        Id finish() {
+            byte[] hash = new byte[digest.getDigestSize()];
+            digest.doFinal(hash, 0);
+            return new Id(hash);
+        }
+    }
+
+    /**
+     * Bytes fields of messages parsed from this input are views of the source instead of copies.
+     * The source is a private copy, so it can be shared.
+     */
+    private static CodedInputStream aliasingInput(byte[] source) {
+        CodedInputStream input = CodedInputStream.newInstance(source);
+        input.enableAliasing(true);
+        return input;
+    }
+
+    private static byte[] copyOf(ByteBuffer bytes) {
+        byte[] result = new byte[bytes.remaining()];
+        bytes.duplicate().get(result);
+        return result;
+    }
+
+    private static void writeProtobuf(ProtobufWrite write, ByteBuffer buffer) {
+        CodedOutputStream output = CodedOutputStream.newInstance(buffer);
+        try {
+            write.to(output);
+            output.flush();
+        } catch (CodedOutputStream.OutOfSpaceException e) {
+            BufferOverflowException overflow = new BufferOverflowException();
+            overflow.initCause(e);
+            throw overflow;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private interface ProtobufWrite {
+        void to(CodedOutputStream output) throws IOException;
     }
 
 }
@@ -4,51 +4,119 @@ import com.wavesplatform.crypto.Bytes;
 import com.wavesplatform.transactions.account.Address;
 import com.wavesplatform.transactions.account.PublicKey;
 import com.wavesplatform.transactions.common.*;
+import com.wavesplatform.transactions.data.*;
 import com.wavesplatform.transactions.exchange.OrderType;
 import com.wavesplatform.transactions.invocation.*;
 
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
-import static com.wavesplatform.crypto.Bytes.concat;
-import static com.wavesplatform.crypto.Bytes.of;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
+/**
+ * Reader of the legacy binary format over a heap or direct {@link ByteBuffer}.
+ * Primitives are read in place, and {@link #readSlice(int)} gives views of the source without copying.
+ */
 public class BytesReader {
-    private final byte[] bytes;
-    private final int length;
-    private int index;
+    private final ByteBuffer buffer;
+    private final int start;
 
     public BytesReader(byte[] bytes) {
-        this.bytes = bytes;
-        this.length = this.bytes.length;
-        this.index = 0;
+        this(ByteBuffer.wrap(bytes));
+    }
+
+    public BytesReader(byte[] bytes, int offset, int length) {
+        this(ByteBuffer.wrap(bytes, offset, length));
+    }
+
+    /**
+     * Create reader of the remaining bytes of the buffer.
+     * The position and limit of the source buffer are not changed.
+     *
+     * @param buffer source buffer
+     */
+    public BytesReader(ByteBuffer buffer) {
+        this.buffer = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        this.start = buffer.position();
     }
 
     public boolean hasNext() {
-        return index < length;
+        return buffer.hasRemaining();
     }
 
     public boolean skip(int count) {
-        index += count;
+        require(count);
+        position(buffer.position() + count);
         return hasNext();
     }
 
     public int rest() {
-        return bytes.length - index;
+        return buffer.remaining();
+    }
+
+    /**
+     * @return number of bytes read from the start of the reader
+     */
+    public int position() {
+        return buffer.position() - start;
     }
 
     public byte readByte() {
-        return bytes[index++];
+        require(1);
+        return buffer.get();
+    }
+
+    /**
+     * @return the next byte without moving the position
+     */
+    public byte peekByte() {
+        require(1);
+        return buffer.get(buffer.position());
     }
 
     public byte[] readBytes(int count) {
-        byte[] result = Arrays.copyOfRange(bytes, index, index + count);
-        index = index + count;
+        require(count);
+        byte[] result = new byte[count];
+        buffer.get(result);
+        return result;
+    }
+
+    /**
+     * Read the next bytes as a view of the source buffer without copying.
+     *
+     * @param count number of bytes
+     * @return read-only view of the bytes
+     */
+    public ByteBuffer readSlice(int count) {
+        require(count);
+        ByteBuffer slice = buffer.duplicate();
+        ((Buffer) slice).limit(slice.position() + count);
+        position(buffer.position() + count);
+        return slice.slice().asReadOnlyBuffer();
+    }
+
+    public ByteBuffer readSliceWithLength() {
+        return readSlice(readShort());
+    }
+
+    public String readString(int length) {
+        require(length);
+        String result;
+        if (buffer.hasArray()) {
+            result = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, UTF_8);
+            position(buffer.position() + length);
+        } else
+            result = new String(readBytes(length), UTF_8);
         return result;
     }
 
+    public String readStringWithLength() {
+        return readString(readShort());
+    }
+
     public boolean readBoolean() {
         byte byt = readByte();
         if (byt == 0)
@@ -59,15 +127,18 @@ public class BytesReader {
     }
 
     public short readShort() {
-        return Bytes.toShort(readBytes(2));
+        require(2);
+        return buffer.getShort();
     }
 
     public int readInt() {
-        return Bytes.toInt(readBytes(4));
+        require(4);
+        return buffer.getInt();
     }
 
     public long readLong() {
-        return Bytes.toLong(readBytes(8));
+        require(8);
+        return buffer.getLong();
     }
 
     public OrderType readOrderType() {
@@ -79,6 +150,15 @@ public class BytesReader {
         return readBytes(arrayLength);
     }
 
+    public void skipArrayWithLength() {
+        skip(readShort());
+    }
+
+    public void skipOptionArrayWithLength() {
+        if (readBoolean())
+            skipArrayWithLength();
+    }
+
     public byte[] readOptionArrayWithLength() {
         return readBoolean() ? readArrayWithLength() : Bytes.empty();
     }
@@ -89,10 +169,33 @@ public class BytesReader {
 
     public Recipient readRecipient() {
         byte recipientType = readByte();
-        if (recipientType == Address.TYPE)
-            return Address.as(concat(of(recipientType), readBytes(Address.BYTES_LENGTH - 1)));
-        else if (recipientType == Alias.TYPE) {
-            return Alias.as(readByte(), new String(readArrayWithLength()));
+        if (recipientType == Address.TYPE) {
+            require(Address.BYTES_LENGTH - 1);
+            byte[] address = new byte[Address.BYTES_LENGTH];
+            address[0] = recipientType;
+            buffer.get(address, 1, Address.BYTES_LENGTH - 1);
+            return Address.as(address);
+        } else if (recipientType == Alias.TYPE) {
+            byte chainId = readByte();
+            return Alias.as(chainId, readStringWithLength());
+        } else throw new IllegalArgumentException("Unknown recipient type");
+    }
+
+    /**
+     * Skip the recipient without building it.
+     *
+     * @return chain id of the recipient
+     */
+    public byte skipRecipient() {
+        byte recipientType = readByte();
+        if (recipientType == Address.TYPE) {
+            byte chainId = readByte();
+            skip(Address.BYTES_LENGTH - 2);
+            return chainId;
+        } else if (recipientType == Alias.TYPE) {
+            byte chainId = readByte();
+            skipArrayWithLength();
+            return chainId;
         } else throw new IllegalArgumentException("Unknown recipient type");
     }
 
@@ -105,15 +208,30 @@ public class BytesReader {
         return isAsset ? readAssetId() : AssetId.WAVES;
     }
 
+    public void skipAssetIdOrWaves() {
+        if (readBoolean())
+            skip(AssetId.BYTE_LENGTH);
+    }
+
     public Id readTxId() {
         return Id.as(readBytes(Id.BYTE_LENGTH));
     }
 
+    public DataEntry readDataEntry(int index) {
+        String key = readStringWithLength();
+        byte entryType = readByte();
+        if (entryType == 0) return new IntegerEntry(key, readLong());
+        else if (entryType == 1) return new BooleanEntry(key, readBoolean());
+        else if (entryType == 2) return new BinaryEntry(key, readArrayWithLength());
+        else if (entryType == 3) return new StringEntry(key, readStringWithLength());
+        else throw new IllegalArgumentException("Unknown type code " + entryType + " of the item with index " + index);
+    }
+
     public Function readFunctionCall() {
         if (readBoolean()) {
             if (readByte() != 9) throw new IllegalArgumentException("FunctionCall Id must be equal 9");
             if (readByte() != 1) throw new IllegalArgumentException("Function type Id must be equal 1");
-            String name = new String(readBytes(readInt()), UTF_8);
+            String name = readString(readInt());
             List<Arg> args = readArguments();
             return Function.as(name, args);
         } else return Function.asDefault();
@@ -126,7 +244,7 @@ public class BytesReader {
             byte argType = readByte();
             if (argType == 0) args.add(IntegerArg.as(readLong()));
             else if (argType == 1) args.add(BinaryArg.as(readBytes(readInt())));
-            else if (argType == 2) args.add(StringArg.as(new String(readBytes(readInt()), UTF_8)));
+            else if (argType == 2) args.add(StringArg.as(readString(readInt())));
             else if (argType == 6) args.add(BooleanArg.as(true));
             else if (argType == 7) args.add(BooleanArg.as(false));
             else if (argType == 11) args.add(ListArg.as(readArguments()));
@@ -135,6 +253,25 @@ public class BytesReader {
         return args;
     }
 
+    public void skipFunctionCall() {
+        if (readBoolean()) {
+            skip(2);
+            skip(readInt());
+            skipArguments();
+        }
+    }
+
+    public void skipArguments() {
+        int argsCount = readInt();
+        for (int i = 0; i < argsCount; i++) {
+            byte argType = readByte();
+            if (argType == 0) skip(Long.BYTES);
+            else if (argType == 1 || argType == 2) skip(readInt());
+            else if (argType == 11) skipArguments();
+            else if (argType != 6 && argType != 7) throw new IllegalArgumentException("Unknown arg type " + argType);
+        }
+    }
+
     public List<Proof> readSignature() {
         return Proof.list(Proof.as(readBytes(Proof.BYTE_LENGTH)));
     }
@@ -152,4 +289,16 @@ public class BytesReader {
         return result;
     }
 
+    private void require(int count) {
+        if (count < 0)
+            throw new IllegalArgumentException("Can't read negative number of bytes " + count);
+        if (count > buffer.remaining())
+            throw new IllegalArgumentException("Unexpected end of input: " + count + " bytes requested at position "
+                    + position() + " but only " + buffer.remaining() + " bytes left");
+    }
+
+    private void position(int newPosition) {
+        ((Buffer) buffer).position(newPosition);
+    }
+
 }
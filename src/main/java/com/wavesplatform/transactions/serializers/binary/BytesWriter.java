@@ -1,6 +1,5 @@
 package com.wavesplatform.transactions.serializers.binary;
 
-import com.wavesplatform.crypto.Bytes;
 import com.wavesplatform.transactions.account.PublicKey;
 import com.wavesplatform.transactions.common.AssetId;
 import com.wavesplatform.transactions.common.Id;
@@ -9,29 +8,118 @@ import com.wavesplatform.transactions.common.Recipient;
 import com.wavesplatform.transactions.exchange.OrderType;
 import com.wavesplatform.transactions.invocation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.List;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
-//todo inherit OutputStream
+/**
+ * Growable buffer for the legacy binary format.
+ * Bytes are appended in place and the backing array is only reallocated when its capacity is exceeded.
+ */
 public class BytesWriter {
 
+    private static final int DEFAULT_CAPACITY = 256;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
     private byte[] buf;
+    private int count;
+    private boolean shared;
 
-    public BytesWriter(int size) {
-        buf = new byte[size];
+    /**
+     * Create writer with the specified initial capacity.
+     * If the final size is known in advance, {@link #getBytes()} returns the backing array without copying.
+     *
+     * @param initialCapacity initial capacity of the buffer in bytes
+     */
+    public BytesWriter(int initialCapacity) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Negative initial capacity " + initialCapacity);
+        buf = new byte[initialCapacity];
     }
 
     public BytesWriter() {
-        this(0);
+        this(DEFAULT_CAPACITY);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public BytesWriter reset() {
+        if (shared) {
+            buf = new byte[buf.length];
+            shared = false;
+        }
+        count = 0;
+        return this;
     }
 
     public byte[] getBytes() {
-        return buf;
+        if (count == buf.length) {
+            shared = true;
+            return buf;
+        }
+        return Arrays.copyOf(buf, count);
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buf, 0, count);
+    }
+
+    /**
+     * View of this writer as an output stream.
+     * Bytes written to the stream are appended to the same buffer.
+     *
+     * @return output stream backed by this writer
+     */
+    public OutputStream asOutputStream() {
+        return new OutputStream() {
+            @Override
+            public void write(int b) {
+                BytesWriter.this.write((byte) b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                BytesWriter.this.write(b, off, len);
+            }
+        };
+    }
+
+    private void ensureCapacity(int extra) {
+        int required = count + extra;
+        if (required < 0 || required > MAX_CAPACITY)
+            throw new IllegalStateException("Buffer size limit exceeded");
+        if (required <= buf.length && !shared)
+            return;
+
+        int newCapacity = Math.max(buf.length + (buf.length >> 1), required);
+        if (newCapacity < 0 || newCapacity > MAX_CAPACITY)
+            newCapacity = required;
+        buf = Arrays.copyOf(buf, newCapacity);
+        shared = false;
+    }
+
+    public BytesWriter write(byte value) {
+        ensureCapacity(1);
+        buf[count++] = value;
+        return this;
     }
 
     public BytesWriter write(byte... value) {
-        buf = Bytes.concat(buf, value);
+        return write(value, 0, value.length);
+    }
+
+    public BytesWriter write(byte[] value, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > value.length)
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + (offset + length)
+                    + ") is out of array with length " + value.length);
+        ensureCapacity(length);
+        System.arraycopy(value, offset, buf, count, length);
+        count += length;
         return this;
     }
 
@@ -40,7 +128,7 @@ public class BytesWriter {
     }
 
     public BytesWriter writeArrayWithLength(byte[] value) {
-        return write(Bytes.fromShort((short)value.length))
+        return writeShort((short) value.length)
                 .write(value);
     }
 
@@ -52,15 +140,26 @@ public class BytesWriter {
     }
 
     public BytesWriter writeShort(short value) {
-        return write(Bytes.fromShort(value));
+        ensureCapacity(2);
+        buf[count++] = (byte) (value >> 8);
+        buf[count++] = (byte) value;
+        return this;
     }
 
     public BytesWriter writeInt(int value) {
-        return write(Bytes.fromInt(value));
+        ensureCapacity(4);
+        buf[count++] = (byte) (value >> 24);
+        buf[count++] = (byte) (value >> 16);
+        buf[count++] = (byte) (value >> 8);
+        buf[count++] = (byte) value;
+        return this;
     }
 
     public BytesWriter writeLong(long value) {
-        return write(Bytes.fromLong(value));
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8)
+            buf[count++] = (byte) (value >> shift);
+        return this;
     }
 
     public BytesWriter writeOrderType(OrderType type) {
@@ -96,9 +195,10 @@ public class BytesWriter {
         if (function.isDefault())
             return write((byte) 0);
         else {
-            write((byte) 1, (byte) 9, (byte) 1)
+            byte[] name = function.name().getBytes(UTF_8);
+            write((byte) 1).write((byte) 9).write((byte) 1)
                     .writeInt(function.name().length())
-                    .write(function.name().getBytes(UTF_8))
+                    .write(name)
                     .writeArguments(function.args());
             return this;
         }
@@ -106,24 +206,21 @@ public class BytesWriter {
 
     public BytesWriter writeArguments(List<Arg> args) {
         writeInt(args.size());
-        args.forEach(arg -> {
+        for (Arg arg : args) {
             if (arg instanceof IntegerArg)
                 write((byte) 0).writeLong(((IntegerArg) arg).value());
             else if (arg instanceof BinaryArg) {
-                BinaryArg binArg = (BinaryArg) arg;
-                int intLength = binArg.value().bytes().length;
-                write((byte) 1).writeInt(intLength).write(binArg.value().bytes());
+                byte[] value = ((BinaryArg) arg).value().bytes();
+                write((byte) 1).writeInt(value.length).write(value);
             } else if (arg instanceof StringArg) {
-                StringArg strArg = (StringArg) arg;
-                byte[] valueBytes = strArg.value().getBytes(UTF_8);
+                byte[] valueBytes = ((StringArg) arg).value().getBytes(UTF_8);
                 write((byte) 2).writeInt(valueBytes.length).write(valueBytes);
             } else if (arg instanceof BooleanArg)
-                write((byte)(((BooleanArg) arg).value() ? 6 : 7));
+                write((byte) (((BooleanArg) arg).value() ? 6 : 7));
             else if (arg instanceof ListArg)
                 write((byte) 11).writeArguments(((ListArg) arg).value());
             else throw new IllegalArgumentException("Unknown arg type " + arg.type());
-
-        });
+        }
         return this;
     }
 
@@ -135,7 +232,8 @@ public class BytesWriter {
 
     public BytesWriter writeProofs(List<Proof> proofs) {
         write(Proof.LATEST_VERSION).writeShort((short) proofs.size());
-        proofs.forEach(proof -> writeArrayWithLength(proof.bytes()));
+        for (Proof proof : proofs)
+            writeArrayWithLength(proof.bytes());
         return this;
     }
 
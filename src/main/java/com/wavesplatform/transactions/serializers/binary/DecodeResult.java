@@ -0,0 +1,51 @@
+package com.wavesplatform.transactions.serializers.binary;
+
+import com.wavesplatform.transactions.Transaction;
+
+/**
+ * Result of decoding one record of a batch: either the transaction or the error which prevented decoding it.
+ */
+public class DecodeResult {
+
+    private final Transaction transaction;
+    private final Exception error;
+
+    private DecodeResult(Transaction transaction, Exception error) {
+        this.transaction = transaction;
+        this.error = error;
+    }
+
+    public static DecodeResult of(Transaction transaction) {
+        return new DecodeResult(transaction, null);
+    }
+
+    public static DecodeResult failed(Exception error) {
+        return new DecodeResult(null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * @return decoded transaction or null if the record is malformed
+     */
+    public Transaction transaction() {
+        return transaction;
+    }
+
+    /**
+     * @return decoding error or null if the record is decoded
+     */
+    public Exception error() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess()
+                ? "DecodeResult{transaction=" + transaction + '}'
+                : "DecodeResult{error=" + error + '}';
+    }
+
+}
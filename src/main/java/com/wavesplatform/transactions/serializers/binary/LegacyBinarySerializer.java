@@ -1,31 +1,60 @@
 package com.wavesplatform.transactions.serializers.binary;
 
-import com.wavesplatform.crypto.Bytes;
 import com.wavesplatform.transactions.*;
 import com.wavesplatform.transactions.account.Address;
 import com.wavesplatform.transactions.account.PublicKey;
 import com.wavesplatform.transactions.common.*;
-import com.wavesplatform.transactions.data.*;
 import com.wavesplatform.transactions.exchange.Order;
 import com.wavesplatform.transactions.exchange.OrderType;
-import com.wavesplatform.transactions.invocation.Function;
-import com.wavesplatform.transactions.mass.Transfer;
+import com.wavesplatform.transactions.serializers.BuiltInCodec;
 import com.wavesplatform.transactions.serializers.Scheme;
+import com.wavesplatform.transactions.serializers.SizeCalculator;
+import com.wavesplatform.transactions.serializers.TransactionCodec;
+import com.wavesplatform.transactions.serializers.TransactionCodecs;
 
-import java.util.ArrayList;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
 import java.util.List;
 
-import static com.wavesplatform.crypto.Bytes.concat;
 import static com.wavesplatform.transactions.serializers.Scheme.WITH_PROOFS;
 import static com.wavesplatform.transactions.serializers.Scheme.WITH_SIGNATURE;
-import static java.nio.charset.StandardCharsets.UTF_8;
 
 public abstract class LegacyBinarySerializer {
 
+    /**
+     * Parse order from the array, which is copied once, so it can be modified after the call.
+     *
+     * @param bytes order bytes
+     * @param versioned true if the first byte is the version of the order
+     * @return order
+     */
     public static Order orderFromBytes(byte[] bytes, boolean versioned) {
-        if (bytes.length < 1)
+        return orderFromBytes(ByteBuffer.wrap(bytes), versioned, null);
+    }
+
+    /**
+     * Parse order from a private copy, which is kept by the order as its original encoding.
+     */
+    static Order orderFromOwnBytes(byte[] bytes, boolean versioned) {
+        return orderFromBytes(ByteBuffer.wrap(bytes), versioned, bytes);
+    }
+
+    /**
+     * Parse order from the remaining bytes of the buffer.
+     * The position of the source buffer is not changed.
+     *
+     * @param buffer heap or direct buffer
+     * @param versioned true if the first byte is the version of the order
+     * @return order
+     */
+    public static Order orderFromBytes(ByteBuffer buffer, boolean versioned) {
+        return orderFromBytes(buffer, versioned, null);
+    }
+
+    private static Order orderFromBytes(ByteBuffer buffer, boolean versioned, byte[] source) {
+        if (buffer.remaining() < 1)
             throw new IllegalArgumentException("Byte array is too short to parse");
-        BytesReader reader = new BytesReader(bytes);
+        BytesReader reader = new BytesReader(buffer);
 
         int version = versioned ? reader.readByte() : 1;
 
@@ -44,20 +73,58 @@ public abstract class LegacyBinarySerializer {
         long expiration = reader.readLong();
         long fee = reader.readLong();
         AssetId feeAssetId = version == 3 ? reader.readAssetIdOrWaves() : AssetId.WAVES;
+        int bodyEnd = reader.position();
         List<Proof> proofs = scheme == WITH_PROOFS ? reader.readProofs() : reader.readSignature();
 
-        return new Order(sender, type, Amount.of(amount, amountAssetId), Amount.of(price, priceAssetId), matcher,
+        Order order = new Order(sender, type, Amount.of(amount, amountAssetId), Amount.of(price, priceAssetId), matcher,
                 WavesConfig.chainId(), Amount.of(fee, feeAssetId), timestamp, expiration, version, proofs);
+        ByteBuffer orderBytes = buffer.duplicate();
+        ((Buffer) orderBytes).limit(buffer.position() + reader.position());
+        return withEncoding(order, orderBytes, new int[]{0, bodyEnd}, source);
     }
 
+    /**
+     * Parse transaction from the array, which is copied once, so it can be modified after the call.
+     *
+     * @param bytes transaction bytes
+     * @return transaction
+     */
     public static Transaction transactionFromBytes(byte[] bytes) {
-        if (bytes.length < 2)
+        return transactionFromBytes(ByteBuffer.wrap(bytes), null);
+    }
+
+    /**
+     * Parse transaction from a private copy, which is kept by the transaction as its original encoding.
+     */
+    static Transaction transactionFromOwnBytes(byte[] bytes) {
+        return transactionFromBytes(ByteBuffer.wrap(bytes), bytes);
+    }
+
+    /**
+     * Parse transaction from the remaining bytes of the buffer.
+     * The position of the source buffer is not changed.
+     *
+     * @param buffer heap or direct buffer
+     * @return transaction
+     */
+    public static Transaction transactionFromBytes(ByteBuffer buffer) {
+        return transactionFromBytes(buffer, null);
+    }
+
+    private static Transaction transactionFromBytes(ByteBuffer buffer, byte[] source) {
+        int size = buffer.remaining();
+        if (size < 2)
             throw new IllegalArgumentException("Byte array is too short to parse");
-        byte chainId = WavesConfig.chainId();
-        BytesReader reader = new BytesReader(bytes);
+        BytesReader reader = new BytesReader(buffer);
 
         byte maybeVersionFlag = reader.readByte();
         byte type = maybeVersionFlag == 0 ? reader.readByte() : maybeVersionFlag;
+
+        TransactionCodec<Transaction> custom = TransactionCodecs.get(type);
+        Transaction decoded = custom == null ? null : custom.fromLegacyBytes(buffer.duplicate());
+        if (decoded != null)
+            return withEncoding(decoded, buffer, null, source);
+
         if (type == MassTransferTransaction.TYPE && maybeVersionFlag == 0)
             throw new IllegalArgumentException("MassTransferTransaction must not have a version flag in the start byte");
         byte version = maybeVersionFlag == 0 || type == MassTransferTransaction.TYPE ? reader.readByte() : 1;
@@ -66,10 +133,10 @@ public abstract class LegacyBinarySerializer {
         if (scheme != WITH_PROOFS && scheme != WITH_SIGNATURE)
             throw new IllegalArgumentException("Input is not legacy bytes");
 
-        List<Proof> proofs = Proof.emptyList();
+        List<Proof> signature = Proof.emptyList();
         if (scheme == WITH_SIGNATURE && (type == IssueTransaction.TYPE
                 || type == TransferTransaction.TYPE || type == ReissueTransaction.TYPE)) {
-            proofs = reader.readSignature();
+            signature = reader.readSignature();
 
             byte typeInBody = reader.readByte();
             if (typeInBody != type)
@@ -77,267 +144,394 @@ public abstract class LegacyBinarySerializer {
                         "Expected transaction type " + type + " but " + typeInBody + " found");
         }
 
-        Transaction transaction;
-        if (type == GenesisTransaction.TYPE) {
-            long timestamp = reader.readLong();
-            Address recipient = Address.as(reader.readBytes(Address.BYTES_LENGTH));
-            long amount = reader.readLong();
+        BuiltInCodec<Transaction> codec = TransactionCodecs.builtIn(type);
+        if (codec == null)
+            throw new IllegalArgumentException("Unsupported transaction type " + type);
+        Transaction transaction = codec.readLegacy(reader, version, scheme, signature);
 
-            transaction = new GenesisTransaction(recipient, amount, timestamp);
-        } else if (type == PaymentTransaction.TYPE) {
-            long timestamp = reader.readLong();
-            PublicKey sender = reader.readPublicKey();
-            Address recipient = Address.as(reader.readBytes(Address.BYTES_LENGTH));
-            long amount = reader.readLong();
-            long fee = reader.readLong();
-            Proof signature = reader.readSignature().get(0);
-
-            transaction = new PaymentTransaction(sender, recipient, amount, Amount.of(fee), timestamp, signature);
-        } else if (type == IssueTransaction.TYPE) {
-            if (scheme == WITH_PROOFS)
-                chainId = reader.readByte();
-            PublicKey sender = reader.readPublicKey();
-            byte[] name = reader.readArrayWithLength();
-            byte[] description = reader.readArrayWithLength();
-            long quantity = reader.readLong();
-            int decimals = reader.readByte();
-            boolean isReissuable = reader.readBoolean();
-            long fee = reader.readLong();
-            long timestamp = reader.readLong();
-            Base64String script = new Base64String(scheme == WITH_PROOFS ? reader.readOptionArrayWithLength() : null);
+        if (reader.hasNext())
+            throw new IllegalArgumentException("The size of " + size
+                    + " bytes is " + reader.rest()
+                    + " greater than expected for type " + type + " and version " + version + " of the transaction");
 
-            if (scheme == WITH_PROOFS)
-                proofs = reader.readProofs();
+        return withEncoding(transaction, buffer, scheme == WITH_SIGNATURE
+                ? signedBodyRange(type, size)
+                : new int[]{provenBodyStart(type), size - SizeCalculator.legacyProofsSize(transaction.proofs())}, source);
+    }
 
-            transaction = new IssueTransaction(sender, name, description, quantity, decimals, isReissuable, script,
-                    chainId, Amount.of(fee), timestamp, version, proofs);
-        } else if (type == TransferTransaction.TYPE) {
-            PublicKey sender = reader.readPublicKey();
-            AssetId assetId = reader.readAssetIdOrWaves();
-            AssetId feeAssetId = reader.readAssetIdOrWaves();
-            long timestamp = reader.readLong();
-            long amount = reader.readLong();
-            long fee = reader.readLong();
-            Recipient recipient = reader.readRecipient();
-            Base58String attachment = new Base58String(reader.readArrayWithLength());
+    /**
+     * Read the header of the transaction in the remaining bytes of the buffer.
+     * Payload fields are skipped, and the bytes after the header are not validated.
+     *
+     * @param buffer heap or direct buffer
+     * @return header of the transaction
+     */
+    public static TransactionHeader transactionHeaderFromBytes(ByteBuffer buffer) {
+        return transactionHeaderFromBytes(buffer, null);
+    }
 
-            if (scheme == WITH_PROOFS)
-                proofs = reader.readProofs();
+    /**
+     * Read the header and record where the payload field of the transaction starts: the recipient of
+     * genesis, payment, transfer and lease, the transfers of mass transfer, the entries of data
+     * and the function of invoke script transactions.
+     *
+     * @param buffer heap or direct buffer
+     * @param payloadRange receives the start of the payload field and the end of the bytes, relative to
+     *                     the position of the buffer; left as is if the type has no such field
+     * @return header of the transaction
+     */
+    public static TransactionHeader transactionHeaderFromBytes(ByteBuffer buffer, int[] payloadRange) {
+        if (buffer.remaining() < 2)
+            throw new IllegalArgumentException("Byte array is too short to parse");
+        byte chainId = WavesConfig.chainId();
+        BytesReader reader = new BytesReader(buffer);
 
-            transaction = new TransferTransaction(sender, recipient, Amount.of(amount, assetId), attachment,
-                    recipient.chainId(), Amount.of(fee, feeAssetId), timestamp, version, proofs);
-        } else if (type == ReissueTransaction.TYPE) {
-            if (scheme == WITH_PROOFS)
-                chainId = reader.readByte();
-            PublicKey sender = reader.readPublicKey();
-            AssetId assetId = reader.readAssetId();
-            long amount = reader.readLong();
-            boolean reissuable = reader.readBoolean();
-            long fee = reader.readLong();
-            long timestamp = reader.readLong();
+        byte maybeVersionFlag = reader.readByte();
+        byte type = maybeVersionFlag == 0 ? reader.readByte() : maybeVersionFlag;
+        byte version = maybeVersionFlag == 0 || type == MassTransferTransaction.TYPE ? reader.readByte() : 1;
 
-            if (scheme == WITH_PROOFS)
-                proofs = reader.readProofs();
+        Scheme scheme = Scheme.of(type, version);
+        if (scheme != WITH_PROOFS && scheme != WITH_SIGNATURE)
+            throw new IllegalArgumentException("Input is not legacy bytes");
 
-            transaction = new ReissueTransaction(
-                    sender, Amount.of(amount, assetId), reissuable, chainId, Amount.of(fee), timestamp, version, proofs);
-        } else if (type == BurnTransaction.TYPE) {
+        if (scheme == WITH_SIGNATURE && (type == IssueTransaction.TYPE
+                || type == TransferTransaction.TYPE || type == ReissueTransaction.TYPE))
+            reader.skip(Proof.BYTE_LENGTH + 1);
+
+        PublicKey sender;
+        AssetId feeAssetId = AssetId.WAVES;
+        long fee, timestamp;
+        int payloadStart = -1;
+        if (type == GenesisTransaction.TYPE) {
+            timestamp = reader.readLong();
+            payloadStart = reader.position();
+            reader.skip(1);
+            chainId = reader.readByte();
+            sender = PublicKey.as(new byte[PublicKey.BYTES_LENGTH]);
+            fee = 0;
+        } else if (type == PaymentTransaction.TYPE) {
+            timestamp = reader.readLong();
+            sender = reader.readPublicKey();
+            payloadStart = reader.position();
+            reader.skip(1);
+            chainId = reader.readByte();
+            reader.skip(Address.BYTES_LENGTH - 2 + Long.BYTES);
+            fee = reader.readLong();
+        } else if (type == IssueTransaction.TYPE) {
+            if (scheme == WITH_PROOFS)
+                chainId = reader.readByte();
+            sender = reader.readPublicKey();
+            reader.skipArrayWithLength();
+            reader.skipArrayWithLength();
+            reader.skip(Long.BYTES + 2);
+            fee = reader.readLong();
+            timestamp = reader.readLong();
+        } else if (type == TransferTransaction.TYPE) {
+            sender = reader.readPublicKey();
+            reader.skipAssetIdOrWaves();
+            feeAssetId = reader.readAssetIdOrWaves();
+            timestamp = reader.readLong();
+            reader.skip(Long.BYTES);
+            fee = reader.readLong();
+            payloadStart = reader.position();
+            chainId = reader.skipRecipient();
+        } else if (type == ReissueTransaction.TYPE || type == BurnTransaction.TYPE) {
             if (scheme == WITH_PROOFS)
                 chainId = reader.readByte();
-            PublicKey sender = reader.readPublicKey();
-            AssetId assetId = reader.readAssetId();
-            long amount = reader.readLong();
-            long fee = reader.readLong();
-            long timestamp = reader.readLong();
-            proofs = scheme == WITH_PROOFS ? reader.readProofs() : reader.readSignature();
-
-            transaction = new BurnTransaction(
-                    sender, Amount.of(amount, assetId), chainId, Amount.of(fee), timestamp, version, proofs);
+            sender = reader.readPublicKey();
+            reader.skip(AssetId.BYTE_LENGTH + Long.BYTES + (type == ReissueTransaction.TYPE ? 1 : 0));
+            fee = reader.readLong();
+            timestamp = reader.readLong();
         } else if (type == ExchangeTransaction.TYPE) {
-            Order order1, order2;
             int order1Length = reader.readInt();
             if (scheme == WITH_PROOFS) {
                 byte order1Version = reader.readByte();
-                if (order1Version > 1) {
-                    byte[] order1Bytes = concat(Bytes.of(order1Version), reader.readBytes(order1Length - 1));
-                    order1 = orderFromBytes(order1Bytes, true);
-                } else {
-                    byte[] order1Bytes = reader.readBytes(order1Length);
-                    order1 = orderFromBytes(order1Bytes, false);
-                }
+                int order1BodyLength = order1Version > 1 ? order1Length - 1 : order1Length;
+                reader.skip(PublicKey.BYTES_LENGTH);
+                sender = reader.readPublicKey();
+                reader.skip(order1BodyLength - PublicKey.BYTES_LENGTH * 2);
 
                 int order2Length = reader.readInt();
                 byte order2Version = reader.readByte();
-                if (order2Version > 1) {
-                    byte[] order2Bytes = concat(Bytes.of(order2Version), reader.readBytes(order2Length - 1));
-                    order2 = orderFromBytes(order2Bytes, true);
-                } else {
-                    byte[] order2Bytes = reader.readBytes(order2Length);
-                    order2 = orderFromBytes(order2Bytes, false);
-                }
+                reader.skip(order2Version > 1 ? order2Length - 1 : order2Length);
             } else {
                 int order2Length = reader.readInt();
-                order1 = orderFromBytes(reader.readBytes(order1Length), false);
-                order2 = orderFromBytes(reader.readBytes(order2Length), false);
+                reader.skip(PublicKey.BYTES_LENGTH);
+                sender = reader.readPublicKey();
+                reader.skip(order1Length - PublicKey.BYTES_LENGTH * 2 + order2Length);
             }
-            long price = reader.readLong();
-            long amount = reader.readLong();
-            long buyMatcherFee = reader.readLong();
-            long sellMatcherFee = reader.readLong();
-            long fee = reader.readLong();
-            long timestamp = reader.readLong();
-            proofs = scheme == WITH_PROOFS ? reader.readProofs() : reader.readSignature();
-
-            transaction = new ExchangeTransaction(order1.matcher(), order1, order2, amount, price,
-                    buyMatcherFee, sellMatcherFee, chainId, Amount.of(fee), timestamp, version, proofs);
+            reader.skip(Long.BYTES * 4);
+            fee = reader.readLong();
+            timestamp = reader.readLong();
         } else if (type == LeaseTransaction.TYPE) {
-            if (scheme == WITH_PROOFS && !reader.readAssetIdOrWaves().isWaves())
-                throw new IllegalArgumentException("Only Waves allowed to lease");
-
-            PublicKey sender = reader.readPublicKey();
-            Recipient recipient = reader.readRecipient();
-            long amount = reader.readLong();
-            long fee = reader.readLong();
-            long timestamp = reader.readLong();
-            proofs = scheme == WITH_PROOFS ? reader.readProofs() : reader.readSignature();
-
-            transaction = new LeaseTransaction(
-                    sender, recipient, amount, recipient.chainId(), Amount.of(fee), timestamp, version, proofs);
+            if (scheme == WITH_PROOFS)
+                reader.skipAssetIdOrWaves();
+            sender = reader.readPublicKey();
+            payloadStart = reader.position();
+            chainId = reader.skipRecipient();
+            reader.skip(Long.BYTES);
+            fee = reader.readLong();
+            timestamp = reader.readLong();
         } else if (type == LeaseCancelTransaction.TYPE) {
             if (scheme == WITH_PROOFS)
                 chainId = reader.readByte();
-            PublicKey sender = reader.readPublicKey();
-            long fee = reader.readLong();
-            long timestamp = reader.readLong();
-            Id leaseId = reader.readTxId();
-            proofs = scheme == WITH_PROOFS ? reader.readProofs() : reader.readSignature();
-
-            transaction = new LeaseCancelTransaction(
-                    sender, leaseId, chainId, Amount.of(fee), timestamp, version, proofs);
+            sender = reader.readPublicKey();
+            fee = reader.readLong();
+            timestamp = reader.readLong();
         } else if (type == CreateAliasTransaction.TYPE) {
-            PublicKey sender = reader.readPublicKey();
-            byte[] aliasBytes = reader.readArrayWithLength();
-            Alias alias = (Alias) new BytesReader(aliasBytes).readRecipient();
-            long fee = reader.readLong();
-            long timestamp = reader.readLong();
-            proofs = scheme == WITH_PROOFS ? reader.readProofs() : reader.readSignature();
-
-            transaction = new CreateAliasTransaction(
-                    sender, alias.name(), alias.chainId(), Amount.of(fee), timestamp, version, proofs);
+            sender = reader.readPublicKey();
+            reader.skip(Short.BYTES);
+            chainId = reader.skipRecipient();
+            fee = reader.readLong();
+            timestamp = reader.readLong();
         } else if (type == MassTransferTransaction.TYPE) {
-            PublicKey sender = reader.readPublicKey();
-            AssetId assetId = reader.readAssetIdOrWaves();
+            sender = reader.readPublicKey();
+            reader.skipAssetIdOrWaves();
+            payloadStart = reader.position();
             short transfersCount = reader.readShort();
-            List<Transfer> transfers = new ArrayList<>();
-            for (int i = 0; i < transfersCount; i++)
-                transfers.add(Transfer.to(reader.readRecipient(), reader.readLong()));
-            long timestamp = reader.readLong();
-            long fee = reader.readLong();
-            Base58String attachment = new Base58String(reader.readArrayWithLength());
-            proofs = reader.readProofs();
-
-            if (transfersCount > 0)
-                chainId = transfers.get(0).recipient().chainId();
-
-            transaction = new MassTransferTransaction(
-                    sender, assetId, transfers, attachment, chainId, Amount.of(fee), timestamp, version, proofs);
+            for (int i = 0; i < transfersCount; i++) {
+                byte recipientChainId = reader.skipRecipient();
+                if (i == 0)
+                    chainId = recipientChainId;
+                reader.skip(Long.BYTES);
+            }
+            timestamp = reader.readLong();
+            fee = reader.readLong();
         } else if (type == DataTransaction.TYPE) {
-            PublicKey sender = reader.readPublicKey();
+            sender = reader.readPublicKey();
+            payloadStart = reader.position();
             short entriesCount = reader.readShort();
-            List<DataEntry> entries = new ArrayList<>();
             for (int i = 0; i < entriesCount; i++) {
-                String key = new String(reader.readArrayWithLength(), UTF_8);
+                reader.skipArrayWithLength();
                 byte entryType = reader.readByte();
-                if (entryType == 0) entries.add(new IntegerEntry(key, reader.readLong()));
-                else if (entryType == 1) entries.add(new BooleanEntry(key, reader.readBoolean()));
-                else if (entryType == 2) entries.add(new BinaryEntry(key, reader.readArrayWithLength()));
-                else if (entryType == 3)
-                    entries.add(new StringEntry(key, new String(reader.readArrayWithLength(), UTF_8)));
+                if (entryType == 0) reader.skip(Long.BYTES);
+                else if (entryType == 1) reader.skip(1);
+                else if (entryType == 2 || entryType == 3) reader.skipArrayWithLength();
                 else
                     throw new IllegalArgumentException("Unknown type code " + entryType + " of the item with index " + i);
             }
-            long timestamp = reader.readLong();
-            long fee = reader.readLong();
-            proofs = reader.readProofs();
-
-            transaction = new DataTransaction(sender, entries, chainId, Amount.of(fee), timestamp, version, proofs);
+            timestamp = reader.readLong();
+            fee = reader.readLong();
         } else if (type == SetScriptTransaction.TYPE) {
             chainId = reader.readByte();
-            PublicKey sender = reader.readPublicKey();
-            Base64String script = new Base64String(reader.readOptionArrayWithLength());
-            long fee = reader.readLong();
-            long timestamp = reader.readLong();
-            proofs = reader.readProofs();
-
-            transaction = new SetScriptTransaction(sender, script, chainId, Amount.of(fee), timestamp, version, proofs);
+            sender = reader.readPublicKey();
+            reader.skipOptionArrayWithLength();
+            fee = reader.readLong();
+            timestamp = reader.readLong();
         } else if (type == SponsorFeeTransaction.TYPE) {
-            int typeInBody = reader.readByte();
-            if (typeInBody != type)
-                throw new IllegalArgumentException(
-                        "Expected transaction type " + type + " but " + typeInBody + " found");
-            int versionInBody = reader.readByte();
-            if (versionInBody != version)
-                throw new IllegalArgumentException(
-                        "Expected transaction type " + type + " but " + typeInBody + " found");
-            PublicKey sender = reader.readPublicKey();
-            AssetId assetId = reader.readAssetId();
-            long minSponsoredFee = reader.readLong();
-            long fee = reader.readLong();
-            long timestamp = reader.readLong();
-            proofs = reader.readProofs();
-
-            transaction = new SponsorFeeTransaction(
-                    sender, assetId, minSponsoredFee, chainId, Amount.of(fee), timestamp, version, proofs);
+            reader.skip(2);
+            sender = reader.readPublicKey();
+            reader.skip(AssetId.BYTE_LENGTH + Long.BYTES);
+            fee = reader.readLong();
+            timestamp = reader.readLong();
         } else if (type == SetAssetScriptTransaction.TYPE) {
             chainId = reader.readByte();
-            PublicKey sender = reader.readPublicKey();
-            AssetId assetId = reader.readAssetId();
-            long fee = reader.readLong();
-            long timestamp = reader.readLong();
-            Base64String script = new Base64String(reader.readOptionArrayWithLength());
-            proofs = reader.readProofs();
-
-            transaction = new SetAssetScriptTransaction(
-                    sender, assetId, script, chainId, Amount.of(fee), timestamp, version, proofs);
+            sender = reader.readPublicKey();
+            reader.skip(AssetId.BYTE_LENGTH);
+            fee = reader.readLong();
+            timestamp = reader.readLong();
         } else if (type == InvokeScriptTransaction.TYPE) {
             chainId = reader.readByte();
-            PublicKey sender = reader.readPublicKey();
-            Recipient dApp = reader.readRecipient();
-            Function functionCall = reader.readFunctionCall();
+            sender = reader.readPublicKey();
+            reader.skipRecipient();
+            payloadStart = reader.position();
+            reader.skipFunctionCall();
             short paymentsCount = reader.readShort();
-            List<Amount> payments = new ArrayList<>();
-            for (int i = 0; i < paymentsCount; i++) {
-                byte[] paymentBytes = reader.readArrayWithLength();
-                BytesReader paymentReader = new BytesReader(paymentBytes);
-                payments.add(Amount.of(paymentReader.readLong(), paymentReader.readAssetIdOrWaves()));
-                if (paymentReader.hasNext())
-                    throw new IllegalArgumentException("The size of " + paymentBytes.length
-                            + " bytes is " + (paymentBytes.length - paymentReader.rest())
-                            + " greater than expected for the payment with index " + i + " of the parsed InvokeScriptTransaction");
-            }
-            long fee = reader.readLong();
-            AssetId feeAssetId = reader.readAssetIdOrWaves();
-            long timestamp = reader.readLong();
-            proofs = reader.readProofs();
+            for (int i = 0; i < paymentsCount; i++)
+                reader.skipArrayWithLength();
+            fee = reader.readLong();
+            feeAssetId = reader.readAssetIdOrWaves();
+            timestamp = reader.readLong();
+        } else throw new IllegalArgumentException("Unsupported transaction type " + type);
 
-            transaction = new InvokeScriptTransaction(
-                    sender, dApp, functionCall, payments, chainId, Amount.of(fee, feeAssetId), timestamp, version, proofs);
+        if (payloadRange != null && payloadStart >= 0) {
+            payloadRange[0] = payloadStart;
+            payloadRange[1] = reader.position() + reader.rest();
+        }
+        return new TransactionHeader(type, version, chainId, sender, Amount.of(fee, feeAssetId), timestamp);
+    }
+
+    /**
+     * Find the body bytes in the legacy transaction bytes without decoding the transaction.
+     *
+     * @param buffer heap or direct buffer
+     * @return start and end offsets of the body relative to the position of the buffer,
+     * or null if the body is not a continuous part of the bytes
+     */
+    public static int[] bodyRange(ByteBuffer buffer) {
+        int size = buffer.remaining();
+        if (size < 2)
+            throw new IllegalArgumentException("Byte array is too short to parse");
+        BytesReader reader = new BytesReader(buffer);
+
+        byte maybeVersionFlag = reader.readByte();
+        byte type = maybeVersionFlag == 0 ? reader.readByte() : maybeVersionFlag;
+        byte version = maybeVersionFlag == 0 || type == MassTransferTransaction.TYPE ? reader.readByte() : 1;
+
+        Scheme scheme = Scheme.of(type, version);
+        if (scheme == WITH_SIGNATURE)
+            return signedBodyRange(type, size);
+        else if (scheme != WITH_PROOFS)
+            throw new IllegalArgumentException("Input is not legacy bytes");
+
+        int start = provenBodyStart(type);
+
+        if (type == IssueTransaction.TYPE) {
+            reader.skip(1 + PublicKey.BYTES_LENGTH);
+            reader.skipArrayWithLength();
+            reader.skipArrayWithLength();
+            reader.skip(Long.BYTES + 2 + Long.BYTES * 2);
+            reader.skipOptionArrayWithLength();
+        } else if (type == TransferTransaction.TYPE) {
+            reader.skip(PublicKey.BYTES_LENGTH);
+            reader.skipAssetIdOrWaves();
+            reader.skipAssetIdOrWaves();
+            reader.skip(Long.BYTES * 3);
+            reader.skipRecipient();
+            reader.skipArrayWithLength();
+        } else if (type == ReissueTransaction.TYPE) {
+            reader.skip(1 + PublicKey.BYTES_LENGTH + AssetId.BYTE_LENGTH + Long.BYTES + 1 + Long.BYTES * 2);
+        } else if (type == BurnTransaction.TYPE) {
+            reader.skip(1 + PublicKey.BYTES_LENGTH + AssetId.BYTE_LENGTH + Long.BYTES * 3);
+        } else if (type == ExchangeTransaction.TYPE) {
+            for (int i = 0; i < 2; i++) {
+                int orderLength = reader.readInt();
+                byte orderVersion = reader.readByte();
+                reader.skip(orderVersion > 1 ? orderLength - 1 : orderLength);
+            }
+            reader.skip(Long.BYTES * 6);
+        } else if (type == LeaseTransaction.TYPE) {
+            reader.skipAssetIdOrWaves();
+            reader.skip(PublicKey.BYTES_LENGTH);
+            reader.skipRecipient();
+            reader.skip(Long.BYTES * 3);
+        } else if (type == LeaseCancelTransaction.TYPE) {
+            reader.skip(1 + PublicKey.BYTES_LENGTH + Long.BYTES * 2 + Id.BYTE_LENGTH);
+        } else if (type == CreateAliasTransaction.TYPE) {
+            reader.skip(PublicKey.BYTES_LENGTH);
+            reader.skipArrayWithLength();
+            reader.skip(Long.BYTES * 2);
+        } else if (type == MassTransferTransaction.TYPE) {
+            reader.skip(PublicKey.BYTES_LENGTH);
+            reader.skipAssetIdOrWaves();
+            short transfersCount = reader.readShort();
+            for (int i = 0; i < transfersCount; i++) {
+                reader.skipRecipient();
+                reader.skip(Long.BYTES);
+            }
+            reader.skip(Long.BYTES * 2);
+            reader.skipArrayWithLength();
+        } else if (type == DataTransaction.TYPE) {
+            reader.skip(PublicKey.BYTES_LENGTH);
+            short entriesCount = reader.readShort();
+            for (int i = 0; i < entriesCount; i++) {
+                reader.skipArrayWithLength();
+                byte entryType = reader.readByte();
+                if (entryType == 0) reader.skip(Long.BYTES);
+                else if (entryType == 1) reader.skip(1);
+                else if (entryType == 2 || entryType == 3) reader.skipArrayWithLength();
+                else
+                    throw new IllegalArgumentException("Unknown type code " + entryType + " of the item with index " + i);
+            }
+            reader.skip(Long.BYTES * 2);
+        } else if (type == SetScriptTransaction.TYPE) {
+            reader.skip(1 + PublicKey.BYTES_LENGTH);
+            reader.skipOptionArrayWithLength();
+            reader.skip(Long.BYTES * 2);
+        } else if (type == SponsorFeeTransaction.TYPE) {
+            reader.skip(2 + PublicKey.BYTES_LENGTH + AssetId.BYTE_LENGTH + Long.BYTES * 3);
+        } else if (type == SetAssetScriptTransaction.TYPE) {
+            reader.skip(1 + PublicKey.BYTES_LENGTH + AssetId.BYTE_LENGTH + Long.BYTES * 2);
+            reader.skipOptionArrayWithLength();
+        } else if (type == InvokeScriptTransaction.TYPE) {
+            reader.skip(1 + PublicKey.BYTES_LENGTH);
+            reader.skipRecipient();
+            reader.skipFunctionCall();
+            short paymentsCount = reader.readShort();
+            for (int i = 0; i < paymentsCount; i++)
+                reader.skipArrayWithLength();
+            reader.skip(Long.BYTES);
+            reader.skipAssetIdOrWaves();
+            reader.skip(Long.BYTES);
         } else throw new IllegalArgumentException("Unsupported transaction type " + type);
 
-        if (reader.hasNext())
-            throw new IllegalArgumentException("The size of " + bytes.length
-                    + " bytes is " + (bytes.length - reader.rest())
-                    + " greater than expected for type " + type + " and version " + version + " of the transaction");
+        return new int[]{start, reader.position()};
+    }
+
+    private static int[] signedBodyRange(byte type, int size) {
+        if (type == GenesisTransaction.TYPE)
+            return new int[]{0, size};
+        else if (type == PaymentTransaction.TYPE)
+            return null;
+        else if (type == IssueTransaction.TYPE || type == TransferTransaction.TYPE || type == ReissueTransaction.TYPE)
+            return new int[]{1 + Proof.BYTE_LENGTH, size};
+        else
+            return new int[]{0, size - Proof.BYTE_LENGTH};
+    }
 
-        return transaction;
+    private static int provenBodyStart(byte type) {
+        if (type == MassTransferTransaction.TYPE || type == ExchangeTransaction.TYPE)
+            return 0;
+        else if (type == SponsorFeeTransaction.TYPE)
+            return 3;
+        else
+            return 1;
+    }
+
+    /**
+     * Keep the source array if the encoding is the whole of it, otherwise copy the encoding once.
+     */
+    private static <T extends TransactionOrOrder> T withEncoding(T txOrOrder, ByteBuffer encoding, int[] bodyRange,
+                                                                 byte[] source) {
+        byte[] bytes = source;
+        if (source == null || source.length != encoding.remaining()) {
+            bytes = new byte[encoding.remaining()];
+            encoding.duplicate().get(bytes);
+        }
+        return TransactionInternals.withEncoding(txOrOrder, bytes, bodyRange);
     }
 
     public static byte[] bodyBytes(TransactionOrOrder txOrOrder) {
+        Scheme scheme = legacyScheme(txOrOrder);
+        byte[] customBody = customBody(txOrOrder);
+        if (customBody != null)
+            return customBody;
+
+        BytesWriter bwStream = new BytesWriter(SizeCalculator.builtInBodySize(txOrOrder));
+        writeBuiltInBody(txOrOrder, scheme, bwStream);
+        return bwStream.getBytes();
+    }
+
+    /**
+     * Append the body bytes to the writer, so a reused writer can be used instead of a new array.
+     *
+     * @param txOrOrder transaction or order with legacy scheme
+     * @param bwStream target writer
+     */
+    public static void writeBody(TransactionOrOrder txOrOrder, BytesWriter bwStream) {
+        Scheme scheme = legacyScheme(txOrOrder);
+        byte[] customBody = customBody(txOrOrder);
+        if (customBody != null)
+            bwStream.write(customBody);
+        else
+            writeBuiltInBody(txOrOrder, scheme, bwStream);
+    }
+
+    private static Scheme legacyScheme(TransactionOrOrder txOrOrder) {
         Scheme scheme = Scheme.of(txOrOrder);
         if (scheme != WITH_PROOFS && scheme != WITH_SIGNATURE)
             throw new IllegalArgumentException("not a legacy");
+        return scheme;
+    }
 
-        BytesWriter bwStream = new BytesWriter();
+    private static byte[] customBody(TransactionOrOrder txOrOrder) {
+        if (!(txOrOrder instanceof Transaction))
+            return null;
+        TransactionCodec<Transaction> codec = TransactionCodecs.get(((Transaction) txOrOrder).type());
+        return codec == null ? null : codec.toLegacyBodyBytes((Transaction) txOrOrder);
+    }
+
+    private static void writeBuiltInBody(TransactionOrOrder txOrOrder, Scheme scheme, BytesWriter bwStream) {
         if (txOrOrder instanceof Order) {
             if (scheme == WITH_PROOFS)
                 bwStream.write((byte) txOrOrder.version());
@@ -358,11 +552,12 @@ public abstract class LegacyBinarySerializer {
                 bwStream.writeAssetIdOrWaves(order.fee().assetId());
         } else {
             Transaction tx = (Transaction) txOrOrder;
+            BuiltInCodec<Transaction> codec = TransactionCodecs.builtIn(tx);
 
-            if (scheme == WITH_PROOFS && (tx instanceof ExchangeTransaction))
+            if (scheme == WITH_PROOFS && tx.type() == ExchangeTransaction.TYPE)
                 bwStream.write((byte) 0);
 
-            if (tx instanceof PaymentTransaction)
+            if (tx.type() == PaymentTransaction.TYPE)
                 bwStream.writeInt(tx.type());
             else
                 bwStream.write((byte) tx.type());
@@ -370,235 +565,90 @@ public abstract class LegacyBinarySerializer {
             if (scheme == WITH_PROOFS)
                 bwStream.write((byte) tx.version());
 
-            if (tx instanceof GenesisTransaction) {
-                GenesisTransaction gtx = (GenesisTransaction) tx;
-                bwStream.writeLong(gtx.timestamp())
-                        .write(gtx.recipient().bytes())
-                        .writeLong(gtx.amount());
-            } else if (tx instanceof PaymentTransaction) {
-                PaymentTransaction ptx = (PaymentTransaction) tx;
-                bwStream.writeLong(ptx.timestamp())
-                        .writePublicKey(ptx.sender())
-                        .write(ptx.recipient().bytes())
-                        .writeLong(ptx.amount())
-                        .writeLong(ptx.fee().value());
-            } else if (tx instanceof IssueTransaction) {
-                if (scheme == WITH_PROOFS)
-                    bwStream.write(tx.chainId());
-                IssueTransaction itx = (IssueTransaction) tx;
-                bwStream.writePublicKey(itx.sender())
-                        .writeArrayWithLength(itx.nameBytes())
-                        .writeArrayWithLength(itx.descriptionBytes())
-                        .writeLong(itx.quantity())
-                        .write((byte) itx.decimals())
-                        .writeBoolean(itx.reissuable())
-                        .writeLong(itx.fee().value())
-                        .writeLong(itx.timestamp());
-                if (scheme == WITH_PROOFS)
-                    bwStream.writeOptionArrayWithLength(itx.script().bytes());
-            } else if (tx instanceof TransferTransaction) {
-                TransferTransaction ttx = (TransferTransaction) tx;
-                bwStream.write(ttx.sender().bytes())
-                        .writeAssetIdOrWaves(ttx.amount().assetId())
-                        .writeAssetIdOrWaves(ttx.fee().assetId())
-                        .writeLong(ttx.timestamp())
-                        .writeLong(ttx.amount().value())
-                        .writeLong(ttx.fee().value())
-                        .writeRecipient(ttx.recipient())
-                        .writeArrayWithLength(ttx.attachment().bytes());
-            } else if (tx instanceof ReissueTransaction) {
-                if (scheme == WITH_PROOFS)
-                    bwStream.write(tx.chainId());
-                ReissueTransaction rtx = (ReissueTransaction) tx;
-                bwStream.writePublicKey(rtx.sender())
-                        .writeAssetId(rtx.amount().assetId())
-                        .writeLong(rtx.amount().value())
-                        .writeBoolean(rtx.reissuable())
-                        .writeLong(rtx.fee().value())
-                        .writeLong(rtx.timestamp());
-            } else if (tx instanceof BurnTransaction) {
-                if (scheme == WITH_PROOFS)
-                    bwStream.write(tx.chainId());
-                BurnTransaction btx = (BurnTransaction) tx;
-                bwStream.writePublicKey(btx.sender())
-                        .writeAssetId(btx.amount().assetId())
-                        .writeLong(btx.amount().value())
-                        .writeLong(btx.fee().value())
-                        .writeLong(btx.timestamp());
-            } else if (tx instanceof ExchangeTransaction) {
-                ExchangeTransaction etx = (ExchangeTransaction) tx;
-                Order order1 = etx.orders().get(0);
-                Order order2 = etx.orders().get(1);
-                int order1Size = order1.toBytes().length;
-                int order2Size = order2.toBytes().length;
-                bwStream.writeInt(order1Size);
-                if (scheme == WITH_PROOFS) {
-                    if (order1.version() == 1)
-                        bwStream.write((byte) order1.version());
-                    bwStream.write(toBytes(order1))
-                            .writeInt(order2Size);
-                    if (order2.version() == 1)
-                        bwStream.write((byte) order2.version());
-                } else
-                    bwStream.writeInt(order2Size)
-                            .write(toBytes(order1));
-                bwStream.write(toBytes(order2))
-                        .writeLong(etx.price())
-                        .writeLong(etx.amount())
-                        .writeLong(etx.buyMatcherFee())
-                        .writeLong(etx.sellMatcherFee())
-                        .writeLong(etx.fee().value())
-                        .writeLong(etx.timestamp());
-            } else if (tx instanceof LeaseTransaction) {
-                if (scheme == WITH_PROOFS)
-                    bwStream.writeAssetIdOrWaves(AssetId.WAVES);
-                LeaseTransaction ltx = (LeaseTransaction) tx;
-                bwStream.writePublicKey(ltx.sender())
-                        .writeRecipient(ltx.recipient())
-                        .writeLong(ltx.amount())
-                        .writeLong(ltx.fee().value())
-                        .writeLong(ltx.timestamp());
-            } else if (tx instanceof LeaseCancelTransaction) {
-                if (scheme == WITH_PROOFS)
-                    bwStream.write(tx.chainId());
-                LeaseCancelTransaction lcTx = (LeaseCancelTransaction) tx;
-                bwStream.writePublicKey(lcTx.sender())
-                        .writeLong(lcTx.fee().value())
-                        .writeLong(lcTx.timestamp())
-                        .writeTxId(lcTx.leaseId());
-            } else if (tx instanceof CreateAliasTransaction) {
-                CreateAliasTransaction caTx = (CreateAliasTransaction) tx;
-                bwStream.writePublicKey(caTx.sender())
-                        .writeArrayWithLength(new BytesWriter()
-                                .writeRecipient(caTx.alias())
-                                .getBytes())
-                        .writeLong(caTx.fee().value())
-                        .writeLong(caTx.timestamp());
-            } else if (tx instanceof MassTransferTransaction) {
-                MassTransferTransaction mtTx = (MassTransferTransaction) tx;
-                bwStream.writePublicKey(mtTx.sender())
-                        .writeAssetIdOrWaves(mtTx.assetId())
-                        .writeShort((short) mtTx.transfers().size());
-                mtTx.transfers().forEach(transfer -> bwStream
-                        .writeRecipient(transfer.recipient())
-                        .writeLong(transfer.amount()));
-                bwStream.writeLong(mtTx.timestamp())
-                        .writeLong(mtTx.fee().value())
-                        .writeArrayWithLength(mtTx.attachment().bytes());
-            } else if (tx instanceof DataTransaction) {
-                DataTransaction dtx = (DataTransaction) tx;
-                bwStream.writePublicKey(dtx.sender())
-                        .writeShort((short) dtx.data().size());
-                dtx.data().forEach(entry -> {
-                    bwStream.writeArrayWithLength(entry.key().getBytes(UTF_8));
-                    if (entry instanceof IntegerEntry)
-                        bwStream.write((byte) 0)
-                                .writeLong(((IntegerEntry) entry).value());
-                    else if (entry instanceof BooleanEntry)
-                        bwStream.write((byte) 1)
-                                .writeBoolean(((BooleanEntry) entry).value());
-                    else if (entry instanceof BinaryEntry)
-                        bwStream.write((byte) 2)
-                                .writeArrayWithLength(((BinaryEntry) entry).value().bytes());
-                    else if (entry instanceof StringEntry)
-                        bwStream.write((byte) 3)
-                                .writeArrayWithLength(((StringEntry) entry).value().getBytes(UTF_8));
-                    else
-                        throw new IllegalArgumentException("Unknown entry type " + entry.getClass().getCanonicalName());
-                });
-                bwStream.writeLong(dtx.timestamp())
-                        .writeLong(dtx.fee().value());
-            } else if (tx instanceof SetScriptTransaction) {
-                SetScriptTransaction ssTx = (SetScriptTransaction) tx;
-                bwStream.write(ssTx.chainId())
-                        .writePublicKey(ssTx.sender())
-                        .writeOptionArrayWithLength(ssTx.script().bytes())
-                        .writeLong(ssTx.fee().value())
-                        .writeLong(ssTx.timestamp());
-            } else if (tx instanceof SponsorFeeTransaction) {
-                SponsorFeeTransaction sfTx = (SponsorFeeTransaction) tx;
-                bwStream.writePublicKey(sfTx.sender())
-                        .writeAssetId(sfTx.assetId())
-                        .writeLong(sfTx.minSponsoredFee())
-                        .writeLong(sfTx.fee().value())
-                        .writeLong(sfTx.timestamp());
-            } else if (tx instanceof SetAssetScriptTransaction) {
-                SetAssetScriptTransaction sasTx = (SetAssetScriptTransaction) tx;
-                bwStream.write(sasTx.chainId())
-                        .writePublicKey(sasTx.sender())
-                        .writeAssetId(sasTx.assetId())
-                        .writeLong(sasTx.fee().value())
-                        .writeLong(sasTx.timestamp())
-                        .writeOptionArrayWithLength(sasTx.script().bytes());
-            } else if (tx instanceof InvokeScriptTransaction) {
-                InvokeScriptTransaction isTx = (InvokeScriptTransaction) tx;
-                bwStream.write(Bytes.of(isTx.chainId()))
-                        .writePublicKey(isTx.sender())
-                        .writeRecipient(isTx.dApp())
-                        .writeFunction(isTx.function())
-                        .writeShort((short) isTx.payments().size());
-                isTx.payments().forEach(payment -> bwStream
-                        .writeArrayWithLength(new BytesWriter()
-                                .writeLong(payment.value())
-                                .writeAssetIdOrWaves(payment.assetId())
-                                .getBytes()));
-                bwStream.writeLong(isTx.fee().value())
-                        .writeAssetIdOrWaves(isTx.fee().assetId())
-                        .writeLong(isTx.timestamp());
-            }
+            codec.writeLegacyBody(tx, scheme, bwStream);
         }
-
-        return bwStream.getBytes();
     }
 
     public static byte[] toBytes(TransactionOrOrder txOrOrder) {
-        Scheme scheme = Scheme.of(txOrOrder);
-        if (scheme != WITH_PROOFS && scheme != WITH_SIGNATURE)
-            throw new IllegalArgumentException("not a legacy");
+        byte[] bodyBytes = txOrOrder.bodyBytes();
+        ByteBuffer buffer = ByteBuffer.allocate(SizeCalculator.toBytesSize(txOrOrder, bodyBytes.length));
+        writeTo(txOrOrder, bodyBytes, buffer);
+        if (buffer.position() != buffer.capacity())
+            throw new IllegalStateException("Size of " + txOrOrder.getClass().getSimpleName() + " is "
+                    + buffer.capacity() + " bytes, but " + buffer.position() + " bytes were written");
+        return buffer.array();
+    }
+
+    public static void writeTo(TransactionOrOrder txOrOrder, ByteBuffer buffer) {
+        writeTo(txOrOrder, txOrOrder.bodyBytes(), buffer);
+    }
+
+    /**
+     * @param txOrOrder transaction or order with legacy scheme
+     * @param bodyBytes body bytes of the transaction or order, which are already built
+     * @param buffer target buffer
+     */
+    public static void writeTo(TransactionOrOrder txOrOrder, byte[] bodyBytes, ByteBuffer buffer) {
+        Scheme scheme = legacyScheme(txOrOrder);
 
-        BytesWriter bwStream = new BytesWriter();
         if (txOrOrder instanceof Order) {
-            bwStream.write(txOrOrder.bodyBytes());
+            buffer.put(bodyBytes);
             if (scheme == WITH_PROOFS)
-                bwStream.writeProofs(txOrOrder.proofs());
+                putProofs(buffer, txOrOrder.proofs());
             else
-                bwStream.writeSignature(txOrOrder.proofs());
+                putSignature(buffer, txOrOrder.proofs());
         } else {
             Transaction tx = (Transaction) txOrOrder;
 
             if (scheme == WITH_PROOFS) {
                 if (!(tx instanceof MassTransferTransaction
                         || tx instanceof ExchangeTransaction))
-                    bwStream.write((byte) 0);
+                    buffer.put((byte) 0);
 
                 if (tx instanceof SponsorFeeTransaction)
-                    bwStream.write((byte) tx.type(), (byte) tx.version());
+                    buffer.put((byte) tx.type()).put((byte) tx.version());
 
-                bwStream.write(tx.bodyBytes())
-                        .writeProofs(tx.proofs());
+                buffer.put(bodyBytes);
+                putProofs(buffer, tx.proofs());
             }
 
             if (scheme == WITH_SIGNATURE) {
                 if (tx instanceof GenesisTransaction)
-                    bwStream.write(tx.bodyBytes());
+                    buffer.put(bodyBytes);
                 else if (tx instanceof PaymentTransaction) {
-                    byte[] bodyWithoutIntType = Bytes.drop(tx.bodyBytes(), 4);
-                    bwStream.write((byte) tx.type())
-                            .write(bodyWithoutIntType)
-                            .writeSignature(tx.proofs());
+                    buffer.put((byte) tx.type()).put(bodyBytes, 4, bodyBytes.length - 4);
+                    putSignature(buffer, tx.proofs());
                 } else if (tx instanceof IssueTransaction
                         || tx instanceof TransferTransaction
                         || tx instanceof ReissueTransaction) {
-                    bwStream.write((byte) tx.type())
-                            .writeSignature(tx.proofs())
-                            .write(tx.bodyBytes());
-                } else
-                    bwStream.write(tx.bodyBytes())
-                            .writeSignature(tx.proofs());
+                    buffer.put((byte) tx.type());
+                    putSignature(buffer, tx.proofs());
+                    buffer.put(bodyBytes);
+                } else {
+                    buffer.put(bodyBytes);
+                    putSignature(buffer, tx.proofs());
+                }
             }
         }
+    }
 
-        return bwStream.getBytes();
+    private static void putSignature(ByteBuffer buffer, List<Proof> proofs) {
+        if (proofs.size() != 1)
+            throw new IllegalArgumentException("1 signature expected but " + proofs.size() + " proofs found");
+        buffer.put(proofs.get(0).bytes());
+    }
+
+    private static void putProofs(ByteBuffer buffer, List<Proof> proofs) {
+        buffer.put(Proof.LATEST_VERSION);
+        putShort(buffer, proofs.size());
+        for (Proof proof : proofs) {
+            putShort(buffer, proof.bytes().length);
+            buffer.put(proof.bytes());
+        }
+    }
+
+    private static void putShort(ByteBuffer buffer, int value) {
+        buffer.put((byte) (value >> 8)).put((byte) value);
     }
 
 }
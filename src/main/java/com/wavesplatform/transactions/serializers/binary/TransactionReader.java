@@ -0,0 +1,208 @@
+package com.wavesplatform.transactions.serializers.binary;
+
+import com.wavesplatform.transactions.Transaction;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Sequential reader of transaction records from a stream or a channel.
+ * <p>
+ * Records are framed either as protobuf length-delimited {@code SignedTransaction} messages (varint length prefix,
+ * as written by {@code writeDelimitedTo}) or as 4-byte big-endian length-prefixed transaction bytes of any scheme.
+ * One buffer is reused for all records and grows only if a record doesn't fit into it.
+ * Records are decoded on demand, so the whole input is never held in memory.
+ * The channel must be in blocking mode.
+ */
+public class TransactionReader implements Iterator<Transaction>, Closeable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    public enum Framing {
+        PROTOBUF_DELIMITED, LENGTH_PREFIXED
+    }
+
+    private final ReadableByteChannel channel;
+    private final Framing framing;
+    private ByteBuffer buffer;
+    private boolean endOfInput;
+    private Transaction next;
+
+    public TransactionReader(ReadableByteChannel channel, Framing framing, int bufferSize) {
+        if (bufferSize <= 0)
+            throw new IllegalArgumentException("Buffer size must be positive, but was " + bufferSize);
+        if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking())
+            throw new IllegalArgumentException("Channel must be in blocking mode");
+        this.channel = channel;
+        this.framing = framing;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        ((Buffer) this.buffer).limit(0);
+    }
+
+    public TransactionReader(ReadableByteChannel channel, Framing framing) {
+        this(channel, framing, DEFAULT_BUFFER_SIZE);
+    }
+
+    public TransactionReader(InputStream input, Framing framing) {
+        this(Channels.newChannel(input), framing);
+    }
+
+    public static TransactionReader ofProtobuf(InputStream input) {
+        return new TransactionReader(input, Framing.PROTOBUF_DELIMITED);
+    }
+
+    public static TransactionReader ofProtobuf(ReadableByteChannel channel) {
+        return new TransactionReader(channel, Framing.PROTOBUF_DELIMITED);
+    }
+
+    public static TransactionReader ofLengthPrefixed(InputStream input) {
+        return new TransactionReader(input, Framing.LENGTH_PREFIXED);
+    }
+
+    public static TransactionReader ofLengthPrefixed(ReadableByteChannel channel) {
+        return new TransactionReader(channel, Framing.LENGTH_PREFIXED);
+    }
+
+    /**
+     * Read the next transaction.
+     *
+     * @return next transaction or null if the input is over
+     * @throws IOException if the input can't be read or ends in the middle of a record
+     */
+    public Transaction read() throws IOException {
+        if (next != null) {
+            Transaction result = next;
+            next = null;
+            return result;
+        }
+
+        int length = framing == Framing.PROTOBUF_DELIMITED ? readVarintLength() : readIntLength();
+        if (length < 0)
+            return null;
+        if (!ensure(length))
+            throw new EOFException("Input ended inside of a record of " + length + " bytes");
+
+        ByteBuffer record = buffer.duplicate();
+        ((Buffer) record).limit(buffer.position() + length);
+        ((Buffer) buffer).position(buffer.position() + length);
+
+        if (framing == Framing.PROTOBUF_DELIMITED)
+            return BinarySerializer.transactionFromBytes(record, BinaryFormat.PROTOBUF);
+        else
+            return BinarySerializer.transactionFromBytes(record);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null)
+            try {
+                next = read();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        return next != null;
+    }
+
+    @Override
+    public Transaction next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        Transaction result = next;
+        next = null;
+        return result;
+    }
+
+    public Spliterator<Transaction> spliterator() {
+        return Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /**
+     * @return sequential stream of the remaining transactions which closes this reader on close
+     */
+    public Stream<Transaction> stream() {
+        return StreamSupport.stream(spliterator(), false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int readVarintLength() throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (!ensure(1)) {
+                if (shift == 0)
+                    return -1;
+                throw new EOFException("Input ended inside of a record length");
+            }
+            byte b = buffer.get();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (result < 0)
+                    throw new IOException("Record length is negative: " + result);
+                return result;
+            }
+        }
+        throw new IOException("Record length is malformed");
+    }
+
+    private int readIntLength() throws IOException {
+        if (!ensure(Integer.BYTES)) {
+            if (!buffer.hasRemaining())
+                return -1;
+            throw new EOFException("Input ended inside of a record length");
+        }
+        int length = buffer.getInt();
+        if (length < 0)
+            throw new IOException("Record length is negative: " + length);
+        return length;
+    }
+
+    /**
+     * Refill the buffer until it has at least the requested count of unread bytes.
+     *
+     * @return false if the input ended before that
+     */
+    private boolean ensure(int count) throws IOException {
+        if (buffer.remaining() >= count)
+            return true;
+
+        if (buffer.capacity() < count) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(count, buffer.capacity() * 2));
+            larger.put(buffer);
+            buffer = larger;
+        } else buffer.compact();
+
+        while (buffer.position() < count && !endOfInput) {
+            int read = channel.read(buffer);
+            if (read < 0)
+                endOfInput = true;
+            else if (read == 0)
+                throw new IOException("Channel returned no bytes, it must be in blocking mode");
+        }
+        ((Buffer) buffer).flip();
+        return buffer.remaining() >= count;
+    }
+
+}
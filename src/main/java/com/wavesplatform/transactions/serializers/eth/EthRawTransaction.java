@@ -0,0 +1,190 @@
+package com.wavesplatform.transactions.serializers.eth;
+
+import org.web3j.crypto.Sign;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Fields of a signed Ethereum transaction decoded directly from its RLP bytes,
+ * in the legacy form or the EIP-155 form with the chain id in {@code v}.
+ * Typed transactions of EIP-2718 are not supported.
+ */
+public class EthRawTransaction {
+
+    public static final int ERC20_TRANSFER_DATA_LENGTH = 4 + 32 + 32;
+    private static final byte[] ERC20_TRANSFER_SELECTOR = {(byte) 0xa9, 0x05, (byte) 0x9c, (byte) 0xbb};
+    private static final int FIELDS_COUNT = 9;
+    private static final int SIGNATURE_PART_LENGTH = 32;
+    private static final long LOWER_REAL_V = 27;
+    private static final long CHAIN_ID_INC = 35;
+
+    private final BigInteger nonce;
+    private final BigInteger gasPrice;
+    private final BigInteger gasLimit;
+    private final byte[] to;
+    private final BigInteger value;
+    private final byte[] data;
+    private final Sign.SignatureData signatureData;
+
+    private EthRawTransaction(BigInteger nonce, BigInteger gasPrice, BigInteger gasLimit, byte[] to, BigInteger value,
+                              byte[] data, Sign.SignatureData signatureData) {
+        this.nonce = nonce;
+        this.gasPrice = gasPrice;
+        this.gasLimit = gasLimit;
+        this.to = to;
+        this.value = value;
+        this.data = data;
+        this.signatureData = signatureData;
+    }
+
+    public static EthRawTransaction decode(byte[] bytes) {
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Decode the remaining bytes of the buffer. The position of the buffer is not changed.
+     *
+     * @param bytes RLP bytes of the signed transaction
+     * @return transaction fields
+     * @throws IllegalArgumentException if the bytes are not a signed legacy transaction
+     */
+    public static EthRawTransaction decode(ByteBuffer bytes) throws IllegalArgumentException {
+        ByteBuffer input = bytes.duplicate();
+        if (!input.hasRemaining() || (input.get(input.position()) & 0xFF) < 0xC0)
+            throw new IllegalArgumentException("Ethereum transaction must be an RLP list, typed transactions are not supported");
+        int end = readListLength(input) + input.position();
+        if (end != input.limit())
+            throw new IllegalArgumentException("Ethereum transaction has " + (input.limit() - end) + " extra bytes");
+
+        byte[][] fields = new byte[FIELDS_COUNT][];
+        for (int i = 0; i < FIELDS_COUNT; i++) {
+            if (!input.hasRemaining())
+                throw new IllegalArgumentException("Ethereum transaction has " + i + " fields instead of " + FIELDS_COUNT);
+            fields[i] = readString(input);
+        }
+        if (input.hasRemaining())
+            throw new IllegalArgumentException("Ethereum transaction has more than " + FIELDS_COUNT + " fields");
+
+        return new EthRawTransaction(
+                new BigInteger(1, fields[0]),
+                new BigInteger(1, fields[1]),
+                new BigInteger(1, fields[2]),
+                fields[3],
+                new BigInteger(1, fields[4]),
+                fields[5],
+                new Sign.SignatureData(fields[6], signaturePart(fields[7]), signaturePart(fields[8])));
+    }
+
+    private static int readListLength(ByteBuffer input) {
+        int prefix = input.get() & 0xFF;
+        if (prefix < 0xC0)
+            throw new IllegalArgumentException("RLP list is expected");
+        return prefix <= 0xF7 ? checkLength(input, prefix - 0xC0) : checkLength(input, readLength(input, prefix - 0xF7));
+    }
+
+    private static byte[] readString(ByteBuffer input) {
+        int prefix = input.get(input.position()) & 0xFF;
+        int length;
+        if (prefix < 0x80)
+            length = 1;
+        else if (prefix <= 0xB7) {
+            input.get();
+            length = checkLength(input, prefix - 0x80);
+        } else if (prefix <= 0xBF) {
+            input.get();
+            length = checkLength(input, readLength(input, prefix - 0xB7));
+        } else throw new IllegalArgumentException("RLP string is expected");
+
+        byte[] value = new byte[length];
+        input.get(value);
+        return value;
+    }
+
+    private static int readLength(ByteBuffer input, int lengthOfLength) {
+        if (lengthOfLength > 3 || lengthOfLength > input.remaining())
+            throw new IllegalArgumentException("RLP length of " + lengthOfLength + " bytes is too long");
+        int length = 0;
+        for (int i = 0; i < lengthOfLength; i++)
+            length = (length << 8) | (input.get() & 0xFF);
+        return length;
+    }
+
+    private static int checkLength(ByteBuffer input, int length) {
+        if (length > input.remaining())
+            throw new IllegalArgumentException("RLP item of " + length + " bytes is truncated");
+        return length;
+    }
+
+    private static byte[] signaturePart(byte[] value) {
+        int start = 0;
+        while (start < value.length && value[start] == 0)
+            start++;
+        if (value.length - start > SIGNATURE_PART_LENGTH)
+            throw new IllegalArgumentException("Signature part is longer than " + SIGNATURE_PART_LENGTH + " bytes");
+        byte[] padded = new byte[SIGNATURE_PART_LENGTH];
+        System.arraycopy(value, start, padded, SIGNATURE_PART_LENGTH - (value.length - start), value.length - start);
+        return padded;
+    }
+
+    public BigInteger nonce() {
+        return nonce;
+    }
+
+    public BigInteger gasPrice() {
+        return gasPrice;
+    }
+
+    public BigInteger gasLimit() {
+        return gasLimit;
+    }
+
+    /**
+     * @return 20 bytes of the recipient or the contract
+     */
+    public byte[] to() {
+        return to;
+    }
+
+    public BigInteger value() {
+        return value;
+    }
+
+    public byte[] data() {
+        return data;
+    }
+
+    public Sign.SignatureData signatureData() {
+        return signatureData;
+    }
+
+    /**
+     * @return chain id of the EIP-155 form, or null for the legacy form
+     * @throws IllegalArgumentException if v is neither 27 or 28 of the legacy form nor at least 35 of the EIP-155 form
+     */
+    public Long chainId() {
+        BigInteger v = new BigInteger(1, signatureData.getV());
+        if (v.bitLength() >= Long.SIZE)
+            throw new IllegalArgumentException("Signature v " + v + " is too large");
+        long value = v.longValue();
+        if (value == LOWER_REAL_V || value == LOWER_REAL_V + 1)
+            return null;
+        if (value < CHAIN_ID_INC)
+            throw new IllegalArgumentException("Signature v " + value + " is invalid");
+        return (value - CHAIN_ID_INC) / 2;
+    }
+
+    /**
+     * @return true if this is a transfer of Waves or of an ERC20 token
+     */
+    public boolean isTransfer() {
+        return data.length == 0 && value.signum() != 0 || isErc20Transfer();
+    }
+
+    public boolean isErc20Transfer() {
+        return value.signum() == 0 && data.length == ERC20_TRANSFER_DATA_LENGTH
+                && Arrays.equals(Arrays.copyOf(data, ERC20_TRANSFER_SELECTOR.length), ERC20_TRANSFER_SELECTOR);
+    }
+
+}
@@ -0,0 +1,612 @@
+package com.wavesplatform.transactions.serializers.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.wavesplatform.crypto.base.Base64;
+import com.wavesplatform.transactions.*;
+import com.wavesplatform.transactions.account.Address;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.*;
+import com.wavesplatform.transactions.data.*;
+import com.wavesplatform.transactions.exchange.Order;
+import com.wavesplatform.transactions.exchange.OrderType;
+import com.wavesplatform.transactions.invocation.*;
+import com.wavesplatform.transactions.mass.Transfer;
+import com.wavesplatform.transactions.serializers.TransactionCodecs;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.Sign;
+import org.web3j.crypto.SignedRawTransaction;
+import org.web3j.crypto.TransactionDecoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.wavesplatform.transactions.invocation.Function.DEFAULT_NAME;
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.JSON_MAPPER;
+import static org.bouncycastle.util.encoders.Hex.decode;
+
+/**
+ * Reads transactions and orders straight from the tokens of a {@link JsonParser} in a single pass,
+ * without building a tree of nodes. Fields are accepted in any order, unknown fields are skipped
+ * and null values are treated as missing fields.
+ * <p>
+ * The result is the same as of {@link JsonSerializer#fromJson(JsonNode)}.
+ * If there is a registered {@link com.wavesplatform.transactions.serializers.TransactionCodec} for the type
+ * of the transaction, it's read as a tree, so the codec can get the JSON object of its type.
+ * Fields which precede the type are buffered to find it, transactions of other types are still read in one pass.
+ */
+public abstract class JsonReader {
+
+    private static final JsonFactory FACTORY = JSON_MAPPER.getFactory();
+
+    public static Transaction fromJson(String json) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            return fromJson(parser);
+        }
+    }
+
+    public static Transaction fromJson(byte[] json) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            return fromJson(parser);
+        }
+    }
+
+    public static Transaction fromJson(Reader json) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            return fromJson(parser);
+        }
+    }
+
+    public static Transaction fromJson(InputStream json) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            return fromJson(parser);
+        }
+    }
+
+    /**
+     * Read the remaining bytes of the buffer. The position of the buffer is not changed.
+     *
+     * @param json UTF-8 JSON of the transaction
+     * @return transaction
+     * @throws IOException if the JSON is malformed
+     */
+    public static Transaction fromJson(ByteBuffer json) throws IOException {
+        if (json.hasArray())
+            try (JsonParser parser = FACTORY.createParser(
+                    json.array(), json.arrayOffset() + json.position(), json.remaining())) {
+                return fromJson(parser);
+            }
+        return fromJson(new ByteBufferBackedInputStream(json.duplicate()));
+    }
+
+    /**
+     * Read the transaction object at the current token of the parser, or at the next one if there is no current token.
+     * After the call the current token is the end of the object.
+     *
+     * @param parser JSON parser
+     * @return transaction
+     * @throws IOException if the JSON is malformed
+     */
+    public static Transaction fromJson(JsonParser parser) throws IOException {
+        startObject(parser);
+        if (TransactionCodecs.isEmpty())
+            return transaction(readFields(parser));
+
+        // fields before the type are buffered, the rest is read as is unless there is a codec for the type
+        TokenBuffer buffer = new TokenBuffer(parser);
+        buffer.writeStartObject();
+        Integer type = null;
+        String name;
+        while (type == null && (name = parser.nextFieldName()) != null) {
+            buffer.writeFieldName(name);
+            if (parser.nextToken() != JsonToken.VALUE_NULL && name.equals("type"))
+                type = scalar(parser).getValueAsInt();
+            buffer.copyCurrentStructure(parser);
+        }
+
+        if (type == null) {
+            buffer.writeEndObject();
+            JsonParser buffered = buffer.asParser();
+            buffered.nextToken();
+            return transaction(readFields(buffered));
+        }
+
+        if (TransactionCodecs.get(type) != null) {
+            while ((name = parser.nextFieldName()) != null) {
+                buffer.writeFieldName(name);
+                parser.nextToken();
+                buffer.copyCurrentStructure(parser);
+            }
+            buffer.writeEndObject();
+            return JsonSerializer.fromJson((JsonNode) JSON_MAPPER.readTree(buffer.asParser()));
+        }
+
+        JsonParser sequence = JsonParserSequence.createFlattened(false, buffer.asParser(), parser);
+        sequence.nextToken();
+        return transaction(readFields(sequence));
+    }
+
+    public static Order orderFromJson(String json) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            return orderFromJson(parser);
+        }
+    }
+
+    /**
+     * Read the order object at the current token of the parser, or at the next one if there is no current token.
+     * After the call the current token is the end of the object.
+     *
+     * @param parser JSON parser
+     * @return order
+     * @throws IOException if the JSON is malformed
+     */
+    public static Order orderFromJson(JsonParser parser) throws IOException {
+        startObject(parser);
+        return order(readFields(parser));
+    }
+
+    public static DataEntry dataEntryFromJson(JsonParser parser) throws IOException {
+        startObject(parser);
+        return dataEntry(readFields(parser));
+    }
+
+    public static Arg argFromJson(JsonParser parser) throws IOException {
+        startObject(parser);
+        return arg(readFields(parser));
+    }
+
+    /**
+     * Read the amount object with the "amount" and "assetId" fields, as in the payments of invocations.
+     *
+     * @param parser JSON parser
+     * @return amount
+     * @throws IOException if the JSON is malformed
+     */
+    public static Amount amountFromJson(JsonParser parser) throws IOException {
+        startObject(parser);
+        return amount(readFields(parser));
+    }
+
+    private static void startObject(JsonParser parser) throws IOException {
+        if (!parser.hasCurrentToken())
+            parser.nextToken();
+        if (parser.currentToken() != JsonToken.START_OBJECT)
+            throw new IOException("JSON object is expected instead of " + parser.currentToken());
+    }
+
+    private static Transaction transaction(Fields json) throws IOException {
+        int type = required(json.type, "type");
+        int version = json.version != null ? json.version : 1;
+        byte chainId = json.chainId != null ? json.chainId : WavesConfig.chainId();
+        PublicKey sender = json.senderPublicKey != null
+                ? PublicKey.as(json.senderPublicKey)
+                : PublicKey.as(new byte[PublicKey.BYTES_LENGTH]);
+        Amount fee = Amount.of(required(json.fee, "fee"), AssetId.as(json.feeAssetId));
+        long timestamp = required(json.timestamp, "timestamp");
+
+        List<Proof> proofs = new ArrayList<>();
+        if (json.proofs != null)
+            for (String proof : json.proofs)
+                proofs.add(Proof.as(proof));
+        if (version == 1 && json.signature != null && hasSignature(type))
+            proofs = Proof.list(Proof.as(json.signature));
+
+        if (type == GenesisTransaction.TYPE) {
+            return new GenesisTransaction(Address.as(required(json.recipient, "recipient")),
+                    required(json.amount, "amount"), timestamp, Proof.as(required(json.signature, "signature")));
+        } else if (type == PaymentTransaction.TYPE) {
+            if (proofs.isEmpty())
+                throw new IOException("Field \"proofs\" must contain the signature of PaymentTransaction");
+            return new PaymentTransaction(sender, Address.as(required(json.recipient, "recipient")),
+                    required(json.amount, "amount"), fee, timestamp, proofs.get(0));
+        } else if (type == IssueTransaction.TYPE) {
+            checkWavesFee(fee, "IssueTransaction");
+            return new IssueTransaction(sender, required(json.name, "name"), required(json.description, "description"),
+                    required(json.quantity, "quantity"), required(json.decimals, "decimals"),
+                    required(json.reissuable, "reissuable"), script(json.script), chainId, fee, timestamp, version, proofs);
+        } else if (type == TransferTransaction.TYPE) {
+            Recipient recipient = recipient(required(json.recipient, "recipient"));
+            if (version < 3)
+                chainId = recipient.chainId();
+            Base58String attachment = json.attachment != null
+                    ? new Base58String(json.attachment) : Base58String.empty();
+            return new TransferTransaction(sender, recipient,
+                    Amount.of(required(json.amount, "amount"), AssetId.as(json.assetId)),
+                    attachment, chainId, fee, timestamp, version, proofs);
+        } else if (type == ReissueTransaction.TYPE) {
+            checkWavesFee(fee, "ReissueTransaction");
+            return new ReissueTransaction(
+                    sender, Amount.of(required(json.quantity, "quantity"), AssetId.as(json.assetId)),
+                    required(json.reissuable, "reissuable"), chainId, fee, timestamp, version, proofs);
+        } else if (type == BurnTransaction.TYPE) {
+            checkWavesFee(fee, "BurnTransaction");
+            long amount = json.amount != null ? json.amount : required(json.quantity, "amount");
+            return new BurnTransaction(
+                    sender, Amount.of(amount, AssetId.as(json.assetId)), chainId, fee, timestamp, version, proofs);
+        } else if (type == ExchangeTransaction.TYPE) {
+            checkWavesFee(fee, "ExchangeTransaction");
+            return new ExchangeTransaction(json.id != null ? new Id(json.id) : null, sender,
+                    order(required(json.order1, "order1")), order(required(json.order2, "order2")),
+                    required(json.amount, "amount"), required(json.price, "price"),
+                    required(json.buyMatcherFee, "buyMatcherFee"), required(json.sellMatcherFee, "sellMatcherFee"),
+                    chainId, fee, timestamp, version, proofs);
+        } else if (type == LeaseTransaction.TYPE) {
+            checkWavesFee(fee, "LeaseTransaction");
+            Recipient recipient = recipient(required(json.recipient, "recipient"));
+            if (version < 3)
+                chainId = recipient.chainId();
+            return new LeaseTransaction(
+                    sender, recipient, required(json.amount, "amount"), chainId, fee, timestamp, version, proofs);
+        } else if (type == LeaseCancelTransaction.TYPE) {
+            checkWavesFee(fee, "LeaseCancelTransaction");
+            return new LeaseCancelTransaction(
+                    sender, Id.as(required(json.leaseId, "leaseId")), chainId, fee, timestamp, version, proofs);
+        } else if (type == CreateAliasTransaction.TYPE) {
+            checkWavesFee(fee, "CreateAliasTransaction");
+            return new CreateAliasTransaction(
+                    sender, required(json.alias, "alias"), chainId, fee, timestamp, version, proofs);
+        } else if (type == MassTransferTransaction.TYPE) {
+            List<Transfer> transfers = required(json.transfers, "transfers");
+            Base58String attachment = json.attachment != null
+                    ? new Base58String(json.attachment) : Base58String.empty();
+            if (version == 1 && transfers.size() > 0)
+                chainId = transfers.get(0).recipient().chainId();
+            return new MassTransferTransaction(new Id(required(json.id, "id")), sender, AssetId.as(json.assetId),
+                    transfers, attachment, chainId, fee, timestamp, version, proofs);
+        } else if (type == DataTransaction.TYPE) {
+            checkWavesFee(fee, "DataTransaction");
+            return new DataTransaction(sender, required(json.data, "data"), chainId, fee, timestamp, version, proofs);
+        } else if (type == SetScriptTransaction.TYPE) {
+            checkWavesFee(fee, "SetScriptTransaction");
+            return new SetScriptTransaction(sender, script(json.script), chainId, fee, timestamp, version, proofs);
+        } else if (type == SponsorFeeTransaction.TYPE) {
+            checkWavesFee(fee, "SponsorFeeTransaction");
+            return new SponsorFeeTransaction(sender, AssetId.as(json.assetId),
+                    required(json.minSponsoredAssetFee, "minSponsoredAssetFee"), chainId, fee, timestamp, version, proofs);
+        } else if (type == SetAssetScriptTransaction.TYPE) {
+            checkWavesFee(fee, "SetAssetScriptTransaction");
+            return new SetAssetScriptTransaction(sender, AssetId.as(json.assetId), script(json.script),
+                    chainId, fee, timestamp, version, proofs);
+        } else if (type == InvokeScriptTransaction.TYPE) {
+            return new InvokeScriptTransaction(sender, recipient(required(json.dApp, "dApp")), function(json.call),
+                    payments(json.payment), chainId, fee, timestamp, version, proofs);
+        } else if (type == UpdateAssetInfoTransaction.TYPE) {
+            checkWavesFee(fee, "UpdateAssetInfoTransaction");
+            return new UpdateAssetInfoTransaction(sender, AssetId.as(json.assetId), required(json.name, "name"),
+                    required(json.description, "description"), chainId, fee, timestamp, version, proofs);
+        } else if (type == EthereumTransaction.TYPE_TAG) {
+            RawTransaction rt = TransactionDecoder.decode(required(json.bytes, "bytes"));
+            Sign.SignatureData signatureData = rt instanceof SignedRawTransaction ?
+                    ((SignedRawTransaction) rt).getSignatureData() :
+                    new Sign.SignatureData(new byte[]{chainId}, new byte[]{}, new byte[]{});
+            Id id = new Id(required(json.id, "id"));
+
+            Fields payload = json.payload;
+            EthereumTransaction.Payload ethPayload;
+            if (payload == null)
+                ethPayload = null;
+            else if ("invocation".equals(payload.typeName))
+                ethPayload = new EthereumTransaction.Invocation(Address.as(required(payload.dApp, "dApp")),
+                        function(payload.call), payments(payload.payment));
+            else if ("transfer".equals(payload.typeName))
+                ethPayload = new EthereumTransaction.Transfer(Address.as(required(payload.recipient, "recipient")),
+                        Amount.of(required(payload.amount, "amount"), AssetId.as(payload.asset)));
+            else throw new IOException("Unsupported payload type");
+            return new EthereumTransaction(id, chainId, rt.getNonce().longValueExact(), rt.getGasPrice(), fee.value(),
+                    ethPayload, signatureData, sender);
+        }
+
+        throw new IOException("Can't parse json of transaction with type " + type);
+    }
+
+    private static boolean hasSignature(int type) {
+        return type == IssueTransaction.TYPE || type == TransferTransaction.TYPE || type == ReissueTransaction.TYPE
+                || type == BurnTransaction.TYPE || type == ExchangeTransaction.TYPE || type == LeaseTransaction.TYPE
+                || type == LeaseCancelTransaction.TYPE || type == CreateAliasTransaction.TYPE
+                || type == MassTransferTransaction.TYPE;
+    }
+
+    private static void checkWavesFee(Amount fee, String transactionName) throws IOException {
+        if (!fee.assetId().isWaves())
+            throw new IOException("feeAssetId field must be null for " + transactionName);
+    }
+
+    private static Order order(Fields json) throws IOException {
+        int version = required(json.version, "version");
+
+        OrderType type;
+        String jsType = required(json.orderType, "orderType");
+        if (jsType.equals(OrderType.BUY.value()))
+            type = OrderType.BUY;
+        else if (jsType.equals(OrderType.SELL.value()))
+            type = OrderType.SELL;
+        else throw new IOException("Unknown order type \"" + jsType + "\"");
+
+        List<Proof> proofs = new ArrayList<>();
+        if (version == 1)
+            proofs.add(Proof.as(required(json.signature, "signature")));
+        else if (json.proofs != null)
+            for (String proof : json.proofs)
+                proofs.add(Proof.as(proof));
+
+        Fields assetPair = required(json.assetPair, "assetPair");
+        return new Order(
+                json.id != null ? new Id(json.id) : null,
+                PublicKey.as(required(json.senderPublicKey, "senderPublicKey")),
+                type,
+                Amount.of(required(json.amount, "amount"), AssetId.as(assetPair.amountAsset)),
+                Amount.of(required(json.price, "price"), AssetId.as(assetPair.priceAsset)),
+                PublicKey.as(required(json.matcherPublicKey, "matcherPublicKey")),
+                json.chainId != null ? json.chainId : WavesConfig.chainId(),
+                Amount.of(required(json.matcherFee, "matcherFee"), AssetId.as(json.matcherFeeAssetId)),
+                required(json.timestamp, "timestamp"),
+                required(json.expiration, "expiration"),
+                version,
+                proofs,
+                json.eip712Signature != null ? decode(json.eip712Signature.substring(2)) : null
+        );
+    }
+
+    private static Recipient recipient(String value) {
+        return Address.isValid(value) ? Address.as(value) : Alias.as(value);
+    }
+
+    private static Base64String script(String value) {
+        return value != null ? new Base64String(value) : Base64String.empty();
+    }
+
+    private static Function function(Fields call) throws IOException {
+        if (call == null)
+            return Function.asDefault();
+        String functionName = required(call.function, "function");
+        if (functionName.equals(DEFAULT_NAME))
+            return Function.asDefault();
+        return Function.as(functionName, call.args != null ? call.args : new ArrayList<>());
+    }
+
+    private static Amount amount(Fields json) throws IOException {
+        return Amount.of(required(json.amount, "amount"), AssetId.as(json.assetId));
+    }
+
+    private static List<Amount> payments(List<Amount> payments) {
+        return payments != null ? payments : new ArrayList<>();
+    }
+
+    private static DataEntry dataEntry(Fields json) throws IOException {
+        String key = required(json.key, "key");
+        if (json.typeName == null) {
+            if (json.valueText != null || json.valueList != null)
+                throw new IOException("Field \"type\" is missing in entry with key `" + key + "`");
+            return new DeleteEntry(key);
+        }
+        switch (json.typeName) {
+            case "binary":
+                return new BinaryEntry(key, Base64.decode(required(json.valueText, "value")));
+            case "boolean":
+                required(json.valueText, "value");
+                return new BooleanEntry(key, json.valueBoolean);
+            case "integer":
+                required(json.valueText, "value");
+                return new IntegerEntry(key, json.valueLong);
+            case "string":
+                return new StringEntry(key, required(json.valueText, "value"));
+            default:
+                throw new IOException("Unknown type `" + json.typeName + "` of entry with key `" + key + "`");
+        }
+    }
+
+    private static Arg arg(Fields json) throws IOException {
+        String argType = required(json.typeName, "type");
+        if (argType.equals("binary"))
+            return BinaryArg.as(required(json.valueText, "value"));
+        else if (argType.equals("boolean"))
+            return BooleanArg.as(json.valueBoolean);
+        else if (argType.equals("integer"))
+            return IntegerArg.as(json.valueLong);
+        else if (argType.equals("string"))
+            return StringArg.as(required(json.valueText, "value"));
+        else if (argType.equals("list"))
+            return ListArg.as(required(json.valueList, "value"));
+        else throw new IOException("Unknown arg type " + argType);
+    }
+
+    private static <T> T required(T value, String fieldName) throws IOException {
+        if (value == null)
+            throw new IOException("Field \"" + fieldName + "\" is missing");
+        return value;
+    }
+
+    /**
+     * Read the fields of the object at the current token, up to the end of the object.
+     */
+    private static Fields readFields(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT)
+            throw new IOException("JSON object is expected instead of " + parser.currentToken());
+
+        Fields json = new Fields();
+        String name;
+        while ((name = parser.nextFieldName()) != null) {
+            if (parser.nextToken() == JsonToken.VALUE_NULL)
+                continue;
+            switch (name) {
+                case "type":
+                    json.type = scalar(parser).getValueAsInt();
+                    json.typeName = parser.getValueAsString();
+                    break;
+                case "version": json.version = scalar(parser).getValueAsInt(); break;
+                case "chainId": json.chainId = (byte) scalar(parser).getValueAsInt(); break;
+                case "id": json.id = text(parser); break;
+                case "senderPublicKey": json.senderPublicKey = text(parser); break;
+                case "fee": json.fee = scalar(parser).getValueAsLong(); break;
+                case "feeAssetId": json.feeAssetId = text(parser); break;
+                case "timestamp": json.timestamp = scalar(parser).getValueAsLong(); break;
+                case "signature": json.signature = text(parser); break;
+                case "proofs": json.proofs = readArray(parser, JsonReader::text); break;
+                case "recipient": json.recipient = text(parser); break;
+                case "amount": json.amount = scalar(parser).getValueAsLong(); break;
+                case "name": json.name = text(parser); break;
+                case "description": json.description = text(parser); break;
+                case "quantity": json.quantity = scalar(parser).getValueAsLong(); break;
+                case "decimals": json.decimals = scalar(parser).getValueAsInt(); break;
+                case "reissuable": json.reissuable = booleanValue(parser); break;
+                case "script": json.script = text(parser); break;
+                case "assetId": json.assetId = text(parser); break;
+                case "asset": json.asset = text(parser); break;
+                case "attachment": json.attachment = text(parser); break;
+                case "order1": json.order1 = readFields(parser); break;
+                case "order2": json.order2 = readFields(parser); break;
+                case "price": json.price = scalar(parser).getValueAsLong(); break;
+                case "buyMatcherFee": json.buyMatcherFee = scalar(parser).getValueAsLong(); break;
+                case "sellMatcherFee": json.sellMatcherFee = scalar(parser).getValueAsLong(); break;
+                case "leaseId": json.leaseId = text(parser); break;
+                case "alias": json.alias = text(parser); break;
+                case "transfers":
+                    json.transfers = readArray(parser, p -> {
+                        Fields transfer = readFields(p);
+                        return Transfer.to(recipient(required(transfer.recipient, "recipient")),
+                                required(transfer.amount, "amount"));
+                    });
+                    break;
+                case "data": json.data = readArray(parser, p -> dataEntry(readFields(p))); break;
+                case "minSponsoredAssetFee": json.minSponsoredAssetFee = scalar(parser).getValueAsLong(); break;
+                case "dApp": json.dApp = text(parser); break;
+                case "call": json.call = readFields(parser); break;
+                case "function": json.function = text(parser); break;
+                case "args": json.args = readArray(parser, p -> arg(readFields(p))); break;
+                case "payment":
+json.payment = readArray(parser, p -> amount(readFields(p))); break;
+                case "bytes": json.bytes = text(parser); break;
+                case "payload": json.payload = readFields(parser); break;
+                case "key": json.key = text(parser); break;
+                case "value":
+                    if (parser.currentToken() == JsonToken.START_ARRAY)
+                        json.valueList = readArray(parser, p -> arg(readFields(p)));
+                    else {
+                        json.valueText = text(parser);
+                        json.valueLong = parser.getValueAsLong();
+                        json.valueBoolean = booleanValue(parser);
+                    }
+                    break;
+                case "orderType": json.orderType = text(parser); break;
+                case "assetPair": json.assetPair = readFields(parser); break;
+                case "amountAsset": json.amountAsset = text(parser); break;
+                case "priceAsset": json.priceAsset = text(parser); break;
+                case "matcherPublicKey": json.matcherPublicKey = text(parser); break;
+                case "matcherFee": json.matcherFee = scalar(parser).getValueAsLong(); break;
+                case "matcherFeeAssetId": json.matcherFeeAssetId = text(parser); break;
+                case "expiration": json.expiration = scalar(parser).getValueAsLong(); break;
+                case "eip712Signature": json.eip712Signature = text(parser); break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return json;
+    }
+
+    private static <T> List<T> readArray(JsonParser parser, Element<T> element) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY)
+            throw new IOException("JSON array is expected instead of " + parser.currentToken());
+        List<T> values = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY)
+            values.add(element.read(parser));
+        return values;
+    }
+
+    private static JsonParser scalar(JsonParser parser) throws IOException {
+        if (!parser.currentToken().isScalarValue())
+            throw new IOException("Field \"" + parser.currentName() + "\" must have a scalar value");
+        return parser;
+    }
+
+    private static String text(JsonParser parser) throws IOException {
+        return scalar(parser).getValueAsString();
+    }
+
+    // same as JsonNode.asBoolean(), which doesn't narrow long values to int
+    private static boolean booleanValue(JsonParser parser) throws IOException {
+        switch (scalar(parser).currentToken()) {
+            case VALUE_TRUE:
+                return true;
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getValueAsLong() != 0;
+            case VALUE_STRING:
+                return "true".equals(parser.getText().trim());
+            default:
+                return false;
+        }
+    }
+
+    private interface Element<T> {
+        T read(JsonParser parser) throws IOException;
+    }
+
+    /**
+     * Values of the known fields of an object. Missing and null fields are null.
+     */
+    private static class Fields {
+        Integer type;
+        String typeName;
+        Integer version;
+        Byte chainId;
+        String id;
+        String senderPublicKey;
+        Long fee;
+        String feeAssetId;
+        Long timestamp;
+        String signature;
+        List<String> proofs;
+        String recipient;
+        Long amount;
+        String name;
+        String description;
+        Long quantity;
+        Integer decimals;
+        Boolean reissuable;
+        String script;
+        String assetId;
+        String asset;
+        String attachment;
+        Fields order1;
+        Fields order2;
+        Long price;
+        Long buyMatcherFee;
+        Long sellMatcherFee;
+        String leaseId;
+        String alias;
+        List<Transfer> transfers;
+        List<DataEntry> data;
+        Long minSponsoredAssetFee;
+        String dApp;
+        Fields call;
+        String function;
+        List<Arg> args;
+        List<Amount> payment;
+        String bytes;
+        Fields payload;
+        String key;
+        String valueText;
+        long valueLong;
+        boolean valueBoolean;
+        List<Arg> valueList;
+        String orderType;
+        Fields assetPair;
+        String amountAsset;
+        String priceAsset;
+        String matcherPublicKey;
+        Long matcherFee;
+        String matcherFeeAssetId;
+        Long expiration;
+        String eip712Signature;
+    }
+
+}
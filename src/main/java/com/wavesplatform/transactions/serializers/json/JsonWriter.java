@@ -0,0 +1,372 @@
+package com.wavesplatform.transactions.serializers.json;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.wavesplatform.transactions.*;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.common.Recipient;
+import com.wavesplatform.transactions.data.*;
+import com.wavesplatform.transactions.exchange.Order;
+import com.wavesplatform.transactions.invocation.*;
+import com.wavesplatform.transactions.serializers.BuiltInCodec;
+import com.wavesplatform.transactions.serializers.TransactionCodec;
+import com.wavesplatform.transactions.serializers.TransactionCodecs;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.JSON_MAPPER;
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.assetIdToJson;
+
+/**
+ * Writes transactions and orders straight to a {@link JsonGenerator}, without building a tree of nodes.
+ * The common fields are written here, the type specific fields are written by the codec of the type.
+ * <p>
+ * The field names and the field writers are public for the built-in codecs and are not a part of the public API.
+ */
+public abstract class JsonWriter {
+
+    private static final JsonFactory FACTORY = JSON_MAPPER.getFactory();
+
+    public static final SerializableString ID = new SerializedString("id");
+    public static final SerializableString TYPE = new SerializedString("type");
+    public static final SerializableString VERSION = new SerializedString("version");
+    public static final SerializableString CHAIN_ID = new SerializedString("chainId");
+    public static final SerializableString SENDER_PUBLIC_KEY = new SerializedString("senderPublicKey");
+    public static final SerializableString SENDER = new SerializedString("sender");
+    public static final SerializableString RECIPIENT = new SerializedString("recipient");
+    public static final SerializableString AMOUNT = new SerializedString("amount");
+    public static final SerializableString ASSET_ID = new SerializedString("assetId");
+    public static final SerializableString ATTACHMENT = new SerializedString("attachment");
+    public static final SerializableString NAME = new SerializedString("name");
+    public static final SerializableString DESCRIPTION = new SerializedString("description");
+    public static final SerializableString QUANTITY = new SerializedString("quantity");
+    public static final SerializableString DECIMALS = new SerializedString("decimals");
+    public static final SerializableString REISSUABLE = new SerializedString("reissuable");
+    public static final SerializableString SCRIPT = new SerializedString("script");
+    public static final SerializableString ORDER_1 = new SerializedString("order1");
+    public static final SerializableString ORDER_2 = new SerializedString("order2");
+    public static final SerializableString PRICE = new SerializedString("price");
+    public static final SerializableString BUY_MATCHER_FEE = new SerializedString("buyMatcherFee");
+    public static final SerializableString SELL_MATCHER_FEE = new SerializedString("sellMatcherFee");
+    public static final SerializableString LEASE_ID = new SerializedString("leaseId");
+    public static final SerializableString ALIAS = new SerializedString("alias");
+    public static final SerializableString TRANSFERS = new SerializedString("transfers");
+    public static final SerializableString DATA = new SerializedString("data");
+    public static final SerializableString KEY = new SerializedString("key");
+    public static final SerializableString VALUE = new SerializedString("value");
+    public static final SerializableString MIN_SPONSORED_ASSET_FEE = new SerializedString("minSponsoredAssetFee");
+    public static final SerializableString DAPP = new SerializedString("dApp");
+    public static final SerializableString CALL = new SerializedString("call");
+    public static final SerializableString FUNCTION = new SerializedString("function");
+    public static final SerializableString ARGS = new SerializedString("args");
+    public static final SerializableString PAYMENT = new SerializedString("payment");
+    public static final SerializableString BYTES = new SerializedString("bytes");
+    public static final SerializableString PAYLOAD = new SerializedString("payload");
+    public static final SerializableString FEE = new SerializedString("fee");
+    public static final SerializableString FEE_ASSET_ID = new SerializedString("feeAssetId");
+    public static final SerializableString TIMESTAMP = new SerializedString("timestamp");
+    public static final SerializableString SIGNATURE = new SerializedString("signature");
+    public static final SerializableString PROOFS = new SerializedString("proofs");
+    public static final SerializableString ORDER_TYPE = new SerializedString("orderType");
+    public static final SerializableString ASSET_PAIR = new SerializedString("assetPair");
+    public static final SerializableString AMOUNT_ASSET = new SerializedString("amountAsset");
+    public static final SerializableString PRICE_ASSET = new SerializedString("priceAsset");
+    public static final SerializableString MATCHER_PUBLIC_KEY = new SerializedString("matcherPublicKey");
+    public static final SerializableString MATCHER_FEE = new SerializedString("matcherFee");
+    public static final SerializableString MATCHER_FEE_ASSET_ID = new SerializedString("matcherFeeAssetId");
+    public static final SerializableString EXPIRATION = new SerializedString("expiration");
+
+    public static String toJson(TransactionOrOrder txOrOrder) {
+        return toJson(txOrOrder, false);
+    }
+
+    public static String toPrettyJson(TransactionOrOrder txOrOrder) {
+        return toJson(txOrOrder, true);
+    }
+
+    private static String toJson(TransactionOrOrder txOrOrder, boolean pretty) {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = FACTORY.createGenerator(writer)) {
+            if (pretty)
+                generator.useDefaultPrettyPrinter();
+            write(txOrOrder, generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Write JSON to the writer. The writer is not closed.
+     *
+     * @param txOrOrder transaction or order
+     * @param target writer
+     * @throws IOException if the writer can't be written
+     */
+    public static void write(TransactionOrOrder txOrOrder, Writer target) throws IOException {
+        try (JsonGenerator generator = FACTORY.createGenerator(target)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            write(txOrOrder, generator);
+        }
+    }
+
+    /**
+     * Write UTF-8 JSON to the stream. The stream is not closed.
+     *
+     * @param txOrOrder transaction or order
+     * @param target output stream
+     * @throws IOException if the stream can't be written
+     */
+    public static void write(TransactionOrOrder txOrOrder, OutputStream target) throws IOException {
+        try (JsonGenerator generator = FACTORY.createGenerator(target, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            write(txOrOrder, generator);
+        }
+    }
+
+    /**
+     * Write UTF-8 JSON into the buffer starting at its position, which is advanced by the written length.
+     *
+     * @param txOrOrder transaction or order
+     * @param target target buffer
+     * @throws java.nio.BufferOverflowException if the buffer doesn't have enough space
+     */
+    public static void write(TransactionOrOrder txOrOrder, ByteBuffer target) {
+        try {
+            write(txOrOrder, new ByteBufferOutputStream(target));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Write the transaction or order as a JSON object. Transactions of types with a registered
+     * {@link TransactionCodec} are written as the tree returned by the codec.
+     *
+     * @param txOrOrder transaction or order
+     * @param generator generator, which isn't flushed or closed
+     * @throws IOException if the generator can't write
+     */
+    public static void write(TransactionOrOrder txOrOrder, JsonGenerator generator) throws IOException {
+        if (txOrOrder instanceof Order) {
+            writeOrder((Order) txOrOrder, generator);
+            return;
+        }
+
+        Transaction tx = (Transaction) txOrOrder;
+        TransactionCodec<Transaction> codec = TransactionCodecs.get(tx.type());
+        JsonNode json = codec == null ? null : codec.toJson(tx);
+        if (json != null) {
+            JSON_MAPPER.writeTree(generator, json);
+            return;
+        }
+        writeTransaction(tx, generator);
+    }
+
+    private static void writeTransaction(Transaction tx, JsonGenerator generator) throws IOException {
+        BuiltInCodec<Transaction> codec = TransactionCodecs.builtIn(tx);
+        boolean isGenesis = tx.type() == GenesisTransaction.TYPE;
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        generator.writeString(tx.id().toString());
+        generator.writeFieldName(TYPE);
+        generator.writeNumber(tx.type());
+        if (codec.hasJsonVersion(tx)) {
+            generator.writeFieldName(VERSION);
+            generator.writeNumber(tx.version());
+            if (codec.hasJsonChainId(tx)) {
+                generator.writeFieldName(CHAIN_ID);
+                generator.writeNumber(tx.chainId());
+            }
+        }
+        if (!isGenesis) {
+            generator.writeFieldName(SENDER_PUBLIC_KEY);
+            generator.writeString(tx.sender().toString());
+            generator.writeFieldName(SENDER);
+            generator.writeString(tx.sender().address(tx.chainId()).toString());
+        }
+
+        codec.writeJson(tx, generator);
+
+        writeNumber(generator, FEE, tx.fee().value());
+        if (!isGenesis)
+            writeString(generator, FEE_ASSET_ID, assetIdToJson(tx.fee().assetId()));
+        writeNumber(generator, TIMESTAMP, tx.timestamp());
+        if (codec.hasJsonSignature(tx))
+            writeString(generator, SIGNATURE, tx.proofs().get(0).toString());
+        if (!isGenesis)
+            writeProofs(generator, tx.proofs());
+        generator.writeEndObject();
+    }
+
+    private static void writeOrder(Order order, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        writeString(generator, ID, order.id().toString());
+        writeString(generator, ORDER_TYPE, order.type().value());
+        writeNumber(generator, VERSION, order.version());
+        writeString(generator, SENDER_PUBLIC_KEY, order.sender().toString());
+        writeString(generator, SENDER, order.sender().address(WavesConfig.chainId()).toString());
+        generator.writeFieldName(ASSET_PAIR);
+        generator.writeStartObject();
+        writeString(generator, AMOUNT_ASSET, assetIdToJson(order.amount().assetId()));
+        writeString(generator, PRICE_ASSET, assetIdToJson(order.price().assetId()));
+        generator.writeEndObject();
+        writeNumber(generator, AMOUNT, order.amount().value());
+        writeNumber(generator, PRICE, order.price().value());
+        writeString(generator, MATCHER_PUBLIC_KEY, order.matcher().toString());
+        writeNumber(generator, MATCHER_FEE, order.fee().value());
+        if (order.version() >= 3)
+            writeString(generator, MATCHER_FEE_ASSET_ID, assetIdToJson(order.fee().assetId()));
+        writeNumber(generator, TIMESTAMP, order.timestamp());
+        writeNumber(generator, EXPIRATION, order.expiration());
+        if (order.proofs().size() > 0)
+            writeString(generator, SIGNATURE, order.proofs().get(0).toString());
+        writeProofs(generator, order.proofs());
+        generator.writeEndObject();
+    }
+
+    public static void writeTransfer(JsonGenerator generator, Recipient recipient, Amount amount) throws IOException {
+        writeString(generator, RECIPIENT, recipient.toString());
+        writeNumber(generator, AMOUNT, amount.value());
+        writeString(generator, ASSET_ID, assetIdToJson(amount.assetId()));
+    }
+
+    public static void writeInvocation(JsonGenerator generator, Recipient dApp, Function function,
+                                       List<Amount> payments) throws IOException {
+        writeString(generator, DAPP, dApp.toString());
+        if (!function.isDefault()) {
+            generator.writeFieldName(CALL);
+            generator.writeStartObject();
+            writeString(generator, FUNCTION, function.name());
+            generator.writeFieldName(ARGS);
+            writeArgs(generator, function.args());
+            generator.writeEndObject();
+        }
+        generator.writeFieldName(PAYMENT);
+        generator.writeStartArray();
+        for (Amount payment : payments)
+            write(payment, generator);
+        generator.writeEndArray();
+    }
+
+    private static void writeArgs(JsonGenerator generator, List<Arg> args) throws IOException {
+        generator.writeStartArray();
+        for (Arg arg : args)
+            write(arg, generator);
+        generator.writeEndArray();
+    }
+
+    public static void write(Arg arg, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        if (arg instanceof BinaryArg) {
+            writeString(generator, TYPE, "binary");
+            writeString(generator, VALUE, ((BinaryArg) arg).value().encodedWithPrefix());
+        } else if (arg instanceof BooleanArg) {
+            writeString(generator, TYPE, "boolean");
+            writeBoolean(generator, VALUE, ((BooleanArg) arg).value());
+        } else if (arg instanceof IntegerArg) {
+            writeString(generator, TYPE, "integer");
+            writeNumber(generator, VALUE, ((IntegerArg) arg).value());
+        } else if (arg instanceof StringArg) {
+            writeString(generator, TYPE, "string");
+            writeString(generator, VALUE, ((StringArg) arg).value());
+        } else if (arg instanceof ListArg) {
+            writeString(generator, TYPE, "list");
+            generator.writeFieldName(VALUE);
+            writeArgs(generator, ((ListArg) arg).value());
+        } else throw new IllegalArgumentException("Unknown arg type");
+        generator.writeEndObject();
+    }
+
+    /**
+     * Write the amount as an object with the "amount" and "assetId" fields, as in the payments of invocations.
+     *
+     * @param amount amount
+     * @param generator generator
+     * @throws IOException if the generator can't write
+     */
+    public static void write(Amount amount, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        writeNumber(generator, AMOUNT, amount.value());
+        writeString(generator, ASSET_ID, assetIdToJson(amount.assetId()));
+        generator.writeEndObject();
+    }
+
+    public static void write(DataEntry entry, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        writeString(generator, KEY, entry.key());
+        if (entry instanceof BinaryEntry) {
+            writeString(generator, TYPE, "binary");
+            writeString(generator, VALUE, ((BinaryEntry) entry).value().encodedWithPrefix());
+        } else if (entry instanceof BooleanEntry) {
+            writeString(generator, TYPE, "boolean");
+            writeBoolean(generator, VALUE, ((BooleanEntry) entry).value());
+        } else if (entry instanceof IntegerEntry) {
+            writeString(generator, TYPE, "integer");
+            writeNumber(generator, VALUE, ((IntegerEntry) entry).value());
+        } else if (entry instanceof StringEntry) {
+            writeString(generator, TYPE, "string");
+            writeString(generator, VALUE, ((StringEntry) entry).value());
+        } else if (entry instanceof DeleteEntry) {
+            generator.writeFieldName(VALUE);
+            generator.writeNull();
+        } else throw new IllegalArgumentException("Can't serialize entry with type " + entry.type());
+        generator.writeEndObject();
+    }
+
+    private static void writeProofs(JsonGenerator generator, List<Proof> proofs) throws IOException {
+        generator.writeFieldName(PROOFS);
+        generator.writeStartArray();
+        for (Proof proof : proofs)
+            generator.writeString(proof.toString());
+        generator.writeEndArray();
+    }
+
+    public static void writeString(JsonGenerator generator, SerializableString name, String value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null)
+            generator.writeNull();
+        else
+            generator.writeString(value);
+    }
+
+    public static void writeNumber(JsonGenerator generator, SerializableString name, long value) throws IOException {
+        generator.writeFieldName(name);
+        generator.writeNumber(value);
+    }
+
+    public static void writeBoolean(JsonGenerator generator, SerializableString name, boolean value) throws IOException {
+        generator.writeFieldName(name);
+        generator.writeBoolean(value);
+    }
+
+    private static class ByteBufferOutputStream extends OutputStream {
+        private final ByteBuffer target;
+
+        ByteBufferOutputStream(ByteBuffer target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) {
+            target.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            target.put(bytes, offset, length);
+        }
+    }
+
+}
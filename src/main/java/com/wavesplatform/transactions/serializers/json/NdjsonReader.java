@@ -0,0 +1,168 @@
+package com.wavesplatform.transactions.serializers.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.exchange.Order;
+import com.wavesplatform.transactions.serializers.Chunks;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.JSON_MAPPER;
+
+/**
+ * Reads newline-delimited JSON of transactions or orders, one object per line.
+ * <p>
+ * A single buffered parser is reused for all the lines, so no string is created per transaction.
+ * The input stream is closed with the reader.
+ * <p>
+ * Each object must be on its own line, so the sequential and the parallel reading accept the same input:
+ * an object spanning several lines or followed by another one on the same line is rejected.
+ */
+public class NdjsonReader implements Closeable {
+
+    private static final JsonFactory FACTORY = JSON_MAPPER.getFactory();
+    private static final int MIN_CHUNK_BYTES = 64 * 1024;
+
+    private final JsonParser parser;
+    private int line;
+
+    public NdjsonReader(InputStream input) throws IOException {
+        this(FACTORY.createParser(input));
+    }
+
+    private NdjsonReader(JsonParser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * @return next transaction or null at the end of the input
+     * @throws IOException if the line is not a valid transaction
+     */
+    public Transaction readTransaction() throws IOException {
+        return nextLine() ? endLine(JsonReader.fromJson(parser)) : null;
+    }
+
+    /**
+     * @return next order or null at the end of the input
+     * @throws IOException if the line is not a valid order
+     */
+    public Order readOrder() throws IOException {
+        return nextLine() ? endLine(JsonReader.orderFromJson(parser)) : null;
+    }
+
+    public List<Transaction> readAll() throws IOException {
+        List<Transaction> txs = new ArrayList<>();
+        Transaction tx;
+        while ((tx = readTransaction()) != null)
+            txs.add(tx);
+        return txs;
+    }
+
+    public List<Order> readAllOrders() throws IOException {
+        List<Order> orders = new ArrayList<>();
+        Order order;
+        while ((order = readOrder()) != null)
+            orders.add(order);
+        return orders;
+    }
+
+    /**
+     * Read all the transactions of the UTF-8 bytes. Ranges of whole lines are parsed in parallel on the executor.
+     *
+     * @param ndjson UTF-8 bytes of newline-delimited JSON
+     * @param executor executor of the parsing
+     * @return transactions in the order of the lines
+     * @throws IOException if a line is not a valid transaction
+     */
+    public static List<Transaction> readAll(byte[] ndjson, Executor executor) throws IOException {
+        return readAll(ndjson, executor, NdjsonReader::readAll);
+    }
+
+    /**
+     * Read all the orders of the UTF-8 bytes. Ranges of whole lines are parsed in parallel on the executor.
+     *
+     * @param ndjson UTF-8 bytes of newline-delimited JSON
+     * @param executor executor of the parsing
+     * @return orders in the order of the lines
+     * @throws IOException if a line is not a valid order
+     */
+    public static List<Order> readAllOrders(byte[] ndjson, Executor executor) throws IOException {
+        return readAll(ndjson, executor, NdjsonReader::readAllOrders);
+    }
+
+    private interface LinesReader<T> {
+        List<T> read(NdjsonReader reader) throws IOException;
+    }
+
+    private static <T> List<T> readAll(byte[] ndjson, Executor executor, LinesReader<T> linesReader)
+            throws IOException {
+        int chunkSize = Chunks.size(ndjson.length, MIN_CHUNK_BYTES);
+
+        List<CompletableFuture<List<T>>> tasks = new ArrayList<>();
+        int start = 0;
+        while (start < ndjson.length) {
+            int end = Math.min(ndjson.length, start + chunkSize);
+            while (end < ndjson.length && ndjson[end - 1] != '\n')
+                end++;
+            int from = start;
+            int length = end - start;
+            tasks.add(CompletableFuture.supplyAsync(() -> readAll(ndjson, from, length, linesReader), executor));
+            start = end;
+        }
+
+        List<T> values = new ArrayList<>();
+        for (CompletableFuture<List<T>> task : tasks)
+            try {
+                values.addAll(task.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof UncheckedIOException)
+                    throw ((UncheckedIOException) e.getCause()).getCause();
+                else throw e;
+            }
+        return values;
+    }
+
+    private static <T> List<T> readAll(byte[] ndjson, int offset, int length, LinesReader<T> linesReader) {
+        try (NdjsonReader reader = new NdjsonReader(FACTORY.createParser(ndjson, offset, length))) {
+            return linesReader.read(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Move to the next object, which must start on a line after the previous one.
+     */
+    private boolean nextLine() throws IOException {
+        if (parser.nextToken() == null)
+            return false;
+        if (parser.currentTokenLocation().getLineNr() <= line)
+            throw new IOException("Line " + line + " has more than one JSON object");
+        line = parser.currentTokenLocation().getLineNr();
+        return true;
+    }
+
+    /**
+     * Check that the object just read ends on the line where it started.
+     */
+    private <T> T endLine(T value) throws IOException {
+        if (parser.currentLocation().getLineNr() != line)
+            throw new IOException("JSON object of line " + line + " spans several lines");
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.wavesplatform.transactions.serializers.json;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.wavesplatform.transactions.TransactionOrOrder;
+import com.wavesplatform.transactions.serializers.Chunks;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.JSON_MAPPER;
+
+/**
+ * Writes transactions and orders as newline-delimited JSON in UTF-8, one object per line.
+ * <p>
+ * A single buffered generator is reused for all the lines, so no string is created per transaction.
+ * The output stream is closed with the writer.
+ */
+public class NdjsonWriter implements Closeable, Flushable {
+
+    private static final JsonFactory FACTORY = JSON_MAPPER.getFactory();
+    private static final int MIN_CHUNK_SIZE = 256;
+
+    private final OutputStream output;
+    private final JsonGenerator generator;
+
+    public NdjsonWriter(OutputStream output) throws IOException {
+        this.output = output;
+        this.generator = createGenerator(output);
+    }
+
+    private static JsonGenerator createGenerator(OutputStream output) throws IOException {
+        JsonGenerator generator = FACTORY.createGenerator(output, JsonEncoding.UTF8);
+        generator.setRootValueSeparator(null);
+        return generator;
+    }
+
+    public void write(TransactionOrOrder txOrOrder) throws IOException {
+        write(txOrOrder, generator);
+    }
+
+    private static void write(TransactionOrOrder txOrOrder, JsonGenerator generator) throws IOException {
+        JsonWriter.write(txOrOrder, generator);
+        generator.writeRaw('\n');
+    }
+
+    public void writeAll(Iterable<? extends TransactionOrOrder> txsOrOrders) throws IOException {
+        for (TransactionOrOrder txOrOrder : txsOrOrders)
+            write(txOrOrder, generator);
+    }
+
+    /**
+     * Write the lines in the order of the list. Ranges of the list are serialized in parallel on the executor
+     * and then written one after another.
+     *
+     * @param txsOrOrders transactions or orders
+     * @param executor executor of the serialization
+     * @throws IOException if the output can't be written
+     */
+    public void writeAll(List<? extends TransactionOrOrder> txsOrOrders, Executor executor) throws IOException {
+        int chunkSize = Chunks.size(txsOrOrders.size(), MIN_CHUNK_SIZE);
+        if (txsOrOrders.size() <= chunkSize) {
+            writeAll(txsOrOrders);
+            return;
+        }
+
+        List<CompletableFuture<byte[]>> tasks = new ArrayList<>();
+        for (int from = 0; from < txsOrOrders.size(); from += chunkSize) {
+            List<? extends TransactionOrOrder> chunk =
+                    txsOrOrders.subList(from, Math.min(txsOrOrders.size(), from + chunkSize));
+            tasks.add(CompletableFuture.supplyAsync(() -> toBytes(chunk), executor));
+        }
+
+        generator.flush();
+        for (CompletableFuture<byte[]> task : tasks)
+            try {
+                output.write(task.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof UncheckedIOException)
+                    throw ((UncheckedIOException) e.getCause()).getCause();
+                else throw e;
+            }
+    }
+
+    private static byte[] toBytes(List<? extends TransactionOrOrder> txsOrOrders) {
+        ByteArrayBuilder bytes = new ByteArrayBuilder();
+        try (JsonGenerator generator = createGenerator(bytes)) {
+            for (TransactionOrOrder txOrOrder : txsOrOrders)
+                write(txOrOrder, generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.wavesplatform.transactions.serializers.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.wavesplatform.transactions.Transaction;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.JSON_MAPPER;
+
+/**
+ * Reads a JSON array of transactions one transaction at a time, so only the current transaction is kept in memory
+ * and the first ones are available before the rest of the input arrives.
+ * <p>
+ * Nested arrays are flattened, as in the {@code [[...]]} responses of the transactions of an address.
+ * If the input is an object, as a block, the array of its {@code transactions} field is read
+ * and the fields after it are not.
+ * <p>
+ * Read errors are thrown as {@link UncheckedIOException} from {@link #hasNext()} and {@link #next()}.
+ */
+public class TransactionsJsonReader implements Iterator<Transaction>, Closeable {
+
+    private static final JsonFactory FACTORY = JSON_MAPPER.getFactory();
+    private static final String TRANSACTIONS_FIELD = "transactions";
+
+    private final JsonParser parser;
+    private int depth;
+    private Transaction next;
+
+    private TransactionsJsonReader(JsonParser parser) throws IOException {
+        this.parser = parser;
+        if (!parser.hasCurrentToken())
+            parser.nextToken();
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            String name;
+            while ((name = parser.nextFieldName()) != null) {
+                parser.nextToken();
+                if (name.equals(TRANSACTIONS_FIELD))
+                    break;
+                parser.skipChildren();
+            }
+            if (name == null)
+                throw new IOException("Field \"" + TRANSACTIONS_FIELD + "\" is missing");
+        }
+        if (parser.currentToken() != JsonToken.START_ARRAY)
+            throw new IOException("JSON array is expected instead of " + parser.currentToken());
+        depth = 1;
+    }
+
+    public static TransactionsJsonReader of(InputStream json) throws IOException {
+        return of(FACTORY.createParser(json));
+    }
+
+    public static TransactionsJsonReader of(Reader json) throws IOException {
+        return of(FACTORY.createParser(json));
+    }
+
+    public static TransactionsJsonReader of(byte[] json) throws IOException {
+        return of(FACTORY.createParser(json));
+    }
+
+    /**
+     * Read the array at the current token of the parser, or at the next one if there is no current token.
+     * The parser is closed with the reader.
+     *
+     * @param parser JSON parser
+     * @return reader of the transactions
+     * @throws IOException if there is neither an array nor an object with the transactions
+     */
+    public static TransactionsJsonReader of(JsonParser parser) throws IOException {
+        try {
+            return new TransactionsJsonReader(parser);
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+    }
+
+    private Transaction read() throws IOException {
+        while (depth > 0) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT)
+                return JsonReader.fromJson(parser);
+            else if (token == JsonToken.START_ARRAY)
+                depth++;
+            else if (token == JsonToken.END_ARRAY)
+                depth--;
+            else throw new IOException("Transaction object is expected instead of " + token);
+        }
+        return null;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && depth > 0)
+            try {
+                next = read();
+            } catch (IOException e) {
+                depth = 0;
+                throw new UncheckedIOException(e);
+            }
+        return next != null;
+    }
+
+    @Override
+    public Transaction next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        Transaction result = next;
+        next = null;
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+}
@@ -6,6 +6,8 @@ import com.wavesplatform.transactions.account.Address;
 import com.wavesplatform.transactions.account.PublicKey;
 import com.wavesplatform.transactions.common.*;
 import com.wavesplatform.transactions.data.DataEntry;
+import com.wavesplatform.transactions.exchange.Order;
+import com.wavesplatform.transactions.invocation.Arg;
 import com.wavesplatform.transactions.serializers.json.deser.*;
 import com.wavesplatform.transactions.serializers.json.ser.*;
 
@@ -14,21 +16,29 @@ public class WavesTransactionsModule extends SimpleModule {
     public WavesTransactionsModule() {
         addDeserializer(Address.class, new AddressDeser());
         addDeserializer(Alias.class, new AliasDeser());
+        addDeserializer(Amount.class, new AmountDeser());
+        addDeserializer(Arg.class, new ArgDeser());
         addDeserializer(AssetId.class, new AssetIdDeser());
         addDeserializer(Base58String.class, new Base58StringDeser());
         addDeserializer(Base64String.class, new Base64StringDeser());
         addDeserializer(DataEntry.class, new DataEntryDeser());
         addDeserializer(Id.class, new IdDeser());
+        addDeserializer(Order.class, new OrderDeser());
         addDeserializer(PublicKey.class, new PublicKeyDeser());
         addDeserializer(Transaction.class, new TransactionDeser());
 
         addSerializer(Address.class, new AddressSer());
         addSerializer(Alias.class, new AliasSer());
+        addSerializer(Amount.class, new AmountSer());
+        addSerializer(Arg.class, new ArgSer());
         addSerializer(AssetId.class, new AssetIdSer());
         addSerializer(Base58String.class, new Base58StringSer());
         addSerializer(Base64String.class, new Base64StringSer());
+        addSerializer(DataEntry.class, new DataEntrySer());
         addSerializer(Id.class, new IdSer());
+        addSerializer(Order.class, new OrderSer());
         addSerializer(PublicKey.class, new PublicKeySer());
+        addSerializer(Transaction.class, new TransactionSer());
     }
 
 }
@@ -0,0 +1,17 @@
+package com.wavesplatform.transactions.serializers.json.deser;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.wavesplatform.transactions.exchange.Order;
+import com.wavesplatform.transactions.serializers.json.JsonReader;
+
+import java.io.IOException;
+
+public class OrderDeser extends JsonDeserializer<Order> {
+
+    @Override
+    public Order deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return JsonReader.orderFromJson(p);
+    }
+}
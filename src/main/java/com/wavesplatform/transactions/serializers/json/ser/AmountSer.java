@@ -0,0 +1,16 @@
+package com.wavesplatform.transactions.serializers.json.ser;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.serializers.json.JsonWriter;
+
+import java.io.IOException;
+
+public class AmountSer extends JsonSerializer<Amount> {
+    @Override
+    public void serialize(Amount amount, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        JsonWriter.write(amount, gen);
+    }
+}
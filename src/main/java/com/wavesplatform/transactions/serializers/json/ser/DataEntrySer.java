@@ -0,0 +1,16 @@
+package com.wavesplatform.transactions.serializers.json.ser;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.wavesplatform.transactions.data.DataEntry;
+import com.wavesplatform.transactions.serializers.json.JsonWriter;
+
+import java.io.IOException;
+
+public class DataEntrySer extends JsonSerializer<DataEntry> {
+    @Override
+    public void serialize(DataEntry entry, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        JsonWriter.write(entry, gen);
+    }
+}
@@ -0,0 +1,16 @@
+package com.wavesplatform.transactions.serializers.json.ser;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.wavesplatform.transactions.exchange.Order;
+import com.wavesplatform.transactions.serializers.json.JsonWriter;
+
+import java.io.IOException;
+
+public class OrderSer extends JsonSerializer<Order> {
+    @Override
+    public void serialize(Order order, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        JsonWriter.write(order, gen);
+    }
+}
@@ -13,13 +13,19 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.web3j.crypto.Credentials;
+import org.web3j.crypto.Sign;
 import org.web3j.utils.Numeric;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Stream;
 
 import static com.wavesplatform.transactions.EthereumTransaction.DEFAULT_GAS_PRICE;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 public class EthereumTransactionTest {
@@ -179,6 +185,38 @@ public class EthereumTransactionTest {
         Assertions.assertEquals(PublicKey.as(pk), et.sender());
     }
 
+    @Test
+    void senderIsRecoveredOnFirstAccess() {
+        EthereumTransaction tx = EthereumTransaction.parse(rawTransfer);
+        Sign.SignatureData signature = tx.signatureData();
+        EthereumTransaction forged = new EthereumTransaction(tx.chainId(), tx.timestamp(), tx.gasPrice(),
+                tx.fee().value(), tx.payload(), new Sign.SignatureData(signature.getV(), new byte[32], new byte[32]), null);
+
+        assertThat(forged.toRawHexString()).isNotEmpty();
+        assertThatThrownBy(forged::sender).isInstanceOf(RuntimeException.class);
+        assertThat(tx.sender()).isSameAs(tx.sender());
+    }
+
+    @Test
+    void sendersAreRecoveredInBatch() {
+        Credentials bob = MetamaskHelper.generateCredentials(mnemonic);
+        PublicKey expected = EthereumTransaction.parse(rawTransfer).sender();
+        List<Transaction> txs = new ArrayList<>();
+        for (int i = 0; i < 50; i++)
+            txs.add(EthereumTransaction.parse(EthereumTransaction.createAndSign(
+                    new EthereumTransaction.Transfer(new Address("3MoutSX6D5U8F8LD8GetA1b7o5SZNANpamk"), Amount.of(i + 1)),
+                    DEFAULT_GAS_PRICE, ChainId.STAGENET, 100000L, 1655401118690L + i, bob.getEcKeyPair()).toBytes()));
+        txs.add(new GenesisTransaction(Address.as("3MoutSX6D5U8F8LD8GetA1b7o5SZNANpamk"), 1, 1));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            EthereumTransaction.recoverSenders(txs, executor);
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(txs.subList(0, 50)).allSatisfy(tx -> assertThat(tx.sender()).isEqualTo(expected));
+    }
+
     private final String rawTransfer = "0xf8728601816d987be28502540be400830186a094fff689d6fea7aba445868536036452faf" +
             "366fee68609184e72a0008081c9a04d6024005e6eca364324cdd9b8018ad8c0d9d97ef34058cf1088367190e166d9a017c80004" +
             "614c38245351ede25d1447ee089a1a068d4d45d0c8b14b9b7c640e00";
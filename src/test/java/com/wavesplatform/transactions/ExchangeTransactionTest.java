@@ -149,6 +149,10 @@ public class ExchangeTransactionTest {
                 () -> Assertions.assertThat(deserTx.fee()).isEqualTo(Amount.of(fee, AssetId.WAVES)),
                 () -> assertThat(deserTx.timestamp()).isEqualTo(timestamp),
                 () -> Assertions.assertThat(deserTx.proofs()).isEqualTo(proofs),
+                () -> assertThat(deserTx.orders().get(0).bodyBytes()).isEqualTo(order1.bodyBytes()),
+                () -> assertThat(deserTx.orders().get(1).bodyBytes()).isEqualTo(order2.bodyBytes()),
+                () -> assertThat(deserTx.orders().get(0).toBytes()).isEqualTo(order1.toBytes()),
+                () -> assertThat(deserTx.orders().get(1).toBytes()).isEqualTo(order2.toBytes()),
 
                 () -> assertThat(deserTx.bodyBytes()).isEqualTo(expectedBody),
                 () -> assertThat(deserTx.toBytes()).isEqualTo(expectedBytes),
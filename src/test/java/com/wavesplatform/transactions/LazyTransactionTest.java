@@ -0,0 +1,185 @@
+package com.wavesplatform.transactions;
+
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransaction;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.data.StringEntry;
+import com.wavesplatform.transactions.mass.Transfer;
+import com.wavesplatform.transactions.serializers.TransactionCodec;
+import com.wavesplatform.transactions.serializers.TransactionCodecs;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class LazyTransactionTest {
+
+    static PrivateKey signer = PrivateKey.fromSeed("seed");
+
+    @ParameterizedTest(name = "{index}: type {0} v{1}")
+    @MethodSource("com.wavesplatform.transactions.TransactionFixtures#transactions")
+    void view(int type, int version, Transaction tx) throws IOException {
+        byte[] bytes = tx.toBytes();
+        Transaction decoded = Transaction.fromBytes(bytes);
+        LazyTransaction view = LazyTransaction.of(bytes);
+
+        assertAll("View must be equal to the decoded transaction",
+                () -> assertThat(view.type()).isEqualTo(type),
+                () -> assertThat(view.version()).isEqualTo(version),
+                () -> assertThat(view.sender()).isEqualTo(decoded.sender()),
+                () -> assertThat(view.fee()).isEqualTo(decoded.fee()),
+                () -> assertThat(view.timestamp()).isEqualTo(decoded.timestamp()),
+                () -> assertThat(view.bodyBytes()).isEqualTo(tx.bodyBytes()),
+                () -> assertThat(view.id()).isEqualTo(tx.id()),
+                () -> assertThat(view.proofs()).isEqualTo(tx.proofs()),
+                () -> assertThat(view.toBytes()).isEqualTo(bytes),
+                () -> assertThat(payloadOf(view)).isEqualTo(payloadOf(decoded)),
+                () -> assertThat(view.transaction()).isEqualTo(decoded)
+        );
+    }
+
+    static Stream<Arguments> transactionsWithPayload() {
+        return TransactionFixtures.transactions().filter(args -> {
+            int type = (int) args.get()[0];
+            return type == TransferTransaction.TYPE || type == LeaseTransaction.TYPE
+                    || type == PaymentTransaction.TYPE || type == MassTransferTransaction.TYPE
+                    || type == DataTransaction.TYPE || type == InvokeScriptTransaction.TYPE;
+        });
+    }
+
+    static class DecodeCounter implements TransactionCodec<Transaction> {
+        final int type;
+        int decodes;
+
+        DecodeCounter(int type) {
+            this.type = type;
+        }
+
+        @Override
+        public int type() {
+            return type;
+        }
+
+        @Override
+        public Transaction fromLegacyBytes(ByteBuffer bytes) {
+            decodes++;
+            return null;
+        }
+
+        @Override
+        public Transaction fromProtobuf(SignedTransaction pbSignedTx) {
+            decodes++;
+            return null;
+        }
+    }
+
+    @ParameterizedTest(name = "{index}: type {0} v{1}")
+    @MethodSource("transactionsWithPayload")
+    void payloadFieldIsDecodedWithoutTheTransaction(int type, int version, Transaction tx) throws IOException {
+        LazyTransaction view = LazyTransaction.of(tx.toBytes());
+        DecodeCounter codec = new DecodeCounter(type);
+        TransactionCodecs.register(codec);
+        try {
+            assertThat(payloadOf(view)).isEqualTo(payloadOf(tx));
+            assertThat(payloadOf(view)).isSameAs(payloadOf(view));
+            assertThat(codec.decodes).isZero();
+
+            assertThat(view.transaction()).isEqualTo(tx);
+            assertThat(codec.decodes).isEqualTo(1);
+        } finally {
+            TransactionCodecs.unregister(type);
+        }
+    }
+
+    @Test
+    void payloadOfTruncatedLegacyTransaction() throws IOException {
+        TransferTransaction tx = TransferTransaction.builder(signer.address((byte) 'T'), Amount.of(1))
+                .chainId((byte) 'T')
+                .version(2)
+                .getSignedWith(signer);
+        byte[] bytes = tx.toBytes();
+        LazyTransaction view = LazyTransaction.of(Arrays.copyOf(bytes, bytes.length - 1));
+
+        assertThat(view.recipient()).isEqualTo(tx.recipient());
+        assertThatThrownBy(view::transaction).isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    void payloadIsDecodedOnDemand() throws IOException {
+        MassTransferTransaction tx = MassTransferTransaction
+                .builder(Transfer.to(signer.address((byte) 'T'), 1), Transfer.to(signer.address((byte) 'T'), 2))
+                .chainId((byte) 'T')
+                .getSignedWith(signer);
+        byte[] bytes = tx.toBytes();
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 1);
+        direct.put((byte) 0).put(bytes).flip();
+        direct.get();
+
+        LazyTransaction view = LazyTransaction.of(direct);
+
+        assertThat(view.bodyBuffer().isReadOnly()).isTrue();
+        assertThat(view.bodyBuffer().isDirect()).isTrue();
+        assertThat(view.transfers()).isEqualTo(tx.transfers());
+        assertThatThrownBy(view::data).isInstanceOf(IllegalStateException.class);
+        assertThat(direct.position()).isEqualTo(1);
+    }
+
+    @Test
+    void dataOfLegacyTransaction() throws IOException {
+        DataTransaction tx = DataTransaction.builder(StringEntry.as("key", "value"))
+                .chainId((byte) 'T')
+                .version(1)
+                .fee(Amount.of(100_000))
+                .getSignedWith(signer);
+
+        LazyTransaction view = LazyTransaction.of(tx.toBytes());
+
+        assertThat(view.id()).isEqualTo(tx.id());
+        assertThat(view.data()).isEqualTo(tx.data());
+    }
+
+    static Object payloadOf(LazyTransaction view) {
+        switch (view.type()) {
+            case GenesisTransaction.TYPE:
+            case PaymentTransaction.TYPE:
+            case TransferTransaction.TYPE:
+            case LeaseTransaction.TYPE:
+                return view.recipient();
+            case MassTransferTransaction.TYPE:
+                return view.transfers();
+            case DataTransaction.TYPE:
+                return view.data();
+            case InvokeScriptTransaction.TYPE:
+                return view.function();
+            default:
+                return null;
+        }
+    }
+
+    static Object payloadOf(Transaction tx) {
+        if (tx instanceof GenesisTransaction)
+            return ((GenesisTransaction) tx).recipient();
+        else if (tx instanceof PaymentTransaction)
+            return ((PaymentTransaction) tx).recipient();
+        else if (tx instanceof TransferTransaction)
+            return ((TransferTransaction) tx).recipient();
+        else if (tx instanceof LeaseTransaction)
+            return ((LeaseTransaction) tx).recipient();
+        else if (tx instanceof MassTransferTransaction)
+            return ((MassTransferTransaction) tx).transfers();
+        else if (tx instanceof DataTransaction)
+            return ((DataTransaction) tx).data();
+        else if (tx instanceof InvokeScriptTransaction)
+            return ((InvokeScriptTransaction) tx).function();
+        else return null;
+    }
+}
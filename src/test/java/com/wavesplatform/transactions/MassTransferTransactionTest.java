@@ -8,6 +8,7 @@ import com.wavesplatform.transactions.mass.Transfer;
 import com.wavesplatform.transactions.serializers.json.JsonSerializer;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -134,4 +135,13 @@ public class MassTransferTransactionTest {
                 .isEqualTo(JsonSerializer.JSON_MAPPER.readTree(expectedJson));
     }
 
+    @Test
+    void zeroFeeFromJsonIsCalculated() throws IOException {
+        String json = "{\"type\":11,\"id\":\"9BctskM13RG8ZpSnCexp9ZyE2ktdnK38qSMQmjxZcJTS\",\"sender\":\"3M4qwDomRabJKLZxuXhwfqLApQkU592nWxF\",\"senderPublicKey\":\"AXbaBkJNocyrVpwqTzD4TpUY8fQ6eeRto9k1m2bNCzXV\",\"fee\":0,\"feeAssetId\":null,\"timestamp\":1600000000000,\"proofs\":[],\"version\":1,\"assetId\":null,\"attachment\":\"\",\"transfers\":[{\"recipient\":\"3M4qwDomRabJKLZxuXhwfqLApQkU592nWxF\",\"amount\":1},{\"recipient\":\"3M4qwDomRabJKLZxuXhwfqLApQkU592nWxF\",\"amount\":0}]}";
+
+        MassTransferTransaction tx = MassTransferTransaction.fromJson(json);
+
+        assertThat(tx.fee()).isEqualTo(Amount.of(MassTransferTransaction.MIN_FEE * 2));
+    }
+
 }
@@ -0,0 +1,180 @@
+package com.wavesplatform.transactions;
+
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Alias;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.AssetId;
+import com.wavesplatform.transactions.common.Base58String;
+import com.wavesplatform.transactions.common.Base64String;
+import com.wavesplatform.transactions.common.Id;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.data.BinaryEntry;
+import com.wavesplatform.transactions.data.BooleanEntry;
+import com.wavesplatform.transactions.data.DeleteEntry;
+import com.wavesplatform.transactions.data.IntegerEntry;
+import com.wavesplatform.transactions.data.StringEntry;
+import com.wavesplatform.transactions.exchange.Order;
+import com.wavesplatform.transactions.exchange.OrderType;
+import com.wavesplatform.transactions.invocation.BinaryArg;
+import com.wavesplatform.transactions.invocation.BooleanArg;
+import com.wavesplatform.transactions.invocation.Function;
+import com.wavesplatform.transactions.invocation.IntegerArg;
+import com.wavesplatform.transactions.invocation.ListArg;
+import com.wavesplatform.transactions.invocation.StringArg;
+import com.wavesplatform.transactions.mass.Transfer;
+import org.junit.jupiter.params.provider.Arguments;
+import org.web3j.crypto.ECKeyPair;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+/**
+ * Transactions and orders shared by the parameterized serialization tests.
+ * Each provider yields {@code (type, version, transaction)} arguments.
+ */
+public abstract class TransactionFixtures {
+
+    public static final byte CHAIN_ID = 'T';
+    public static final PrivateKey SIGNER = PrivateKey.fromSeed("seed");
+    public static final PrivateKey MATCHER = PrivateKey.fromSeed("matcher");
+    public static final AssetId ASSET_ID = AssetId.as("2wBMrTzvncodBbNiXaXju4Z9QpdCFtMp9ZoCRrykk9Dk");
+    public static final Alias ALIAS = Alias.as(CHAIN_ID, "alice");
+    public static final Base64String SCRIPT = new Base64String("AQa3b8tH");
+    public static final ECKeyPair ETH_KEY_PAIR = ECKeyPair.create(BigInteger.TEN);
+
+    public static Order order(OrderType type, int version) {
+        return Order.builder(type, Amount.of(20, ASSET_ID), Amount.of(10), MATCHER.publicKey())
+                .chainId(CHAIN_ID).version(version).getSignedWith(SIGNER);
+    }
+
+    /**
+     * Every version of every Waves transaction type, signed by {@link #SIGNER}.
+     */
+    public static Stream<Arguments> wavesTransactions() {
+        Stream.Builder<Transaction> txs = Stream.builder();
+        txs.add(new GenesisTransaction(SIGNER.address(CHAIN_ID), 100, 1600000000000L));
+        for (int version = 1; version <= 3; version++) {
+            txs.add(IssueTransaction.builder("name", 100, 2).script(SCRIPT)
+                    .chainId(CHAIN_ID).version(version).getSignedWith(SIGNER));
+            txs.add(TransferTransaction.builder(ALIAS, Amount.of(1, ASSET_ID)).fee(Amount.of(5, ASSET_ID))
+                    .chainId(CHAIN_ID).version(version).getSignedWith(SIGNER));
+            txs.add(ReissueTransaction.builder(Amount.of(1, ASSET_ID))
+                    .chainId(CHAIN_ID).version(version).getSignedWith(SIGNER));
+            txs.add(BurnTransaction.builder(Amount.of(1, ASSET_ID))
+                    .chainId(CHAIN_ID).version(version).getSignedWith(SIGNER));
+            txs.add(LeaseTransaction.builder(SIGNER.address(CHAIN_ID), 1)
+                    .chainId(CHAIN_ID).version(version).getSignedWith(SIGNER));
+            txs.add(LeaseCancelTransaction.builder(Id.as("2wBMrTzvncodBbNiXaXju4Z9QpdCFtMp9ZoCRrykk9Dk"))
+                    .chainId(CHAIN_ID).version(version).getSignedWith(SIGNER));
+            txs.add(CreateAliasTransaction.builder("alice")
+                    .chainId(CHAIN_ID).version(version).getSignedWith(SIGNER));
+            txs.add(ExchangeTransaction.builder(
+                    order(OrderType.BUY, version == 1 ? 1 : version + 1),
+                    order(OrderType.SELL, version == 1 ? 1 : version),
+                    20, 10, 3, 4)
+                    .chainId(CHAIN_ID).version(version).getSignedWith(MATCHER));
+        }
+        for (int version = 1; version <= 2; version++) {
+            txs.add(MassTransferTransaction.builder(Transfer.to(ALIAS, 1), Transfer.to(SIGNER.address(CHAIN_ID), 2))
+                    .chainId(CHAIN_ID).version(version).getSignedWith(SIGNER));
+            txs.add(DataTransaction.builder(IntegerEntry.as("int", 1), BooleanEntry.as("bool", true),
+                    BinaryEntry.as("bin", new byte[]{1, 2}), StringEntry.as("str", "value"))
+                    .chainId(CHAIN_ID).version(version).getSignedWith(SIGNER));
+            txs.add(SetScriptTransaction.builder(SCRIPT)
+                    .chainId(CHAIN_ID).version(version).getSignedWith(SIGNER));
+            txs.add(SponsorFeeTransaction.builder(ASSET_ID, 5)
+                    .chainId(CHAIN_ID).version(version).getSignedWith(SIGNER));
+            txs.add(SetAssetScriptTransaction.builder(ASSET_ID, SCRIPT)
+                    .chainId(CHAIN_ID).version(version).getSignedWith(SIGNER));
+            txs.add(InvokeScriptTransaction.builder(ALIAS, Function.as("call", IntegerArg.as(1), BinaryArg.as(new byte[]{1}),
+                    StringArg.as("s"), BooleanArg.as(true), ListArg.as(IntegerArg.as(2), StringArg.as("t"))))
+                    .payments(Amount.of(1), Amount.of(2, ASSET_ID))
+                    .fee(Amount.of(7, ASSET_ID))
+                    .chainId(CHAIN_ID).version(version).getSignedWith(SIGNER));
+        }
+        txs.add(UpdateAssetInfoTransaction.builder(ASSET_ID, "name", "description")
+                .chainId(CHAIN_ID).getSignedWith(SIGNER));
+        return txs.build().map(TransactionFixtures::toArguments);
+    }
+
+    /**
+     * Boundary values: zero amounts and fees, empty strings and lists, absent script, order without proofs.
+     */
+    public static Stream<Arguments> edgeCases() {
+        Stream.Builder<Transaction> txs = Stream.builder();
+        txs.add(TransferTransaction.builder(SIGNER.address(CHAIN_ID), Amount.of(0))
+                .fee(0).timestamp(0).chainId(CHAIN_ID).getSignedWith(SIGNER));
+        txs.add(TransferTransaction.builder(SIGNER.address(CHAIN_ID), Amount.of(-1, ASSET_ID))
+                .attachment(new Base58String(new byte[]{0})).chainId(CHAIN_ID).getSignedWith(SIGNER));
+        txs.add(IssueTransaction.builder("name", 0, 0).description("").isReissuable(false)
+                .chainId(CHAIN_ID).getSignedWith(SIGNER));
+        txs.add(DataTransaction.builder(IntegerEntry.as("int", 0), BooleanEntry.as("bool", false),
+                BinaryEntry.as("bin", new byte[0]), StringEntry.as("str", ""), StringEntry.as("", "ключ"),
+                DeleteEntry.as("deleted"))
+                .chainId(CHAIN_ID).getSignedWith(SIGNER));
+        txs.add(MassTransferTransaction.builder(Transfer.to(SIGNER.address(CHAIN_ID), 0))
+                .assetId(ASSET_ID).attachment(new Base58String(new byte[]{1, 2}))
+                .chainId(CHAIN_ID).getSignedWith(SIGNER));
+        txs.add(SponsorFeeTransaction.builder(ASSET_ID, 0).chainId(CHAIN_ID).getSignedWith(SIGNER));
+        txs.add(SetScriptTransaction.builder((Base64String) null).chainId(CHAIN_ID).getSignedWith(SIGNER));
+        txs.add(InvokeScriptTransaction.builder(SIGNER.address(CHAIN_ID), Function.asDefault())
+                .chainId(CHAIN_ID).getSignedWith(SIGNER));
+        txs.add(UpdateAssetInfoTransaction.builder(ASSET_ID, "", "")
+                .chainId(CHAIN_ID).getSignedWith(SIGNER));
+        txs.add(ExchangeTransaction.builder(
+                new Order(null, SIGNER.publicKey(), OrderType.BUY, Amount.of(20, ASSET_ID), Amount.of(10),
+                        MATCHER.publicKey(), CHAIN_ID, Amount.of(3), 1, 2, 4, Proof.emptyList(), new byte[65]),
+                order(OrderType.SELL, 4), 20, 10, 0, 0)
+                .chainId(CHAIN_ID).getSignedWith(MATCHER));
+        return txs.build().map(TransactionFixtures::toArguments);
+    }
+
+    public static Stream<Arguments> paymentTransactions() {
+        return Stream.of(new PaymentTransaction(SIGNER.publicKey(), SIGNER.address(CHAIN_ID), 1, Amount.of(1), 2,
+                Proof.as(new byte[64])))
+                .map(TransactionFixtures::toArguments);
+    }
+
+    /**
+     * Ethereum transfers in WAVES and in an asset, and an invocation.
+     * These are encoded to protobuf and JSON only, their raw bytes are not the Waves binary format.
+     */
+    public static Stream<Arguments> ethereumTransactions() {
+        return Stream.of(
+                EthereumTransaction.transfer(SIGNER.address(CHAIN_ID), Amount.of(1),
+                        EthereumTransaction.DEFAULT_GAS_PRICE, CHAIN_ID, 100000, 1600000000000L, ETH_KEY_PAIR),
+                EthereumTransaction.transfer(SIGNER.address(CHAIN_ID), Amount.of(1, ASSET_ID),
+                        EthereumTransaction.DEFAULT_GAS_PRICE, CHAIN_ID, 100000, 1600000000000L, ETH_KEY_PAIR),
+                EthereumTransaction.invocation(SIGNER.address(CHAIN_ID), Function.as("call", IntegerArg.as(1)),
+                        Collections.singletonList(Amount.of(1)),
+                        EthereumTransaction.DEFAULT_GAS_PRICE, CHAIN_ID, 500000, 1600000000000L, ETH_KEY_PAIR))
+                .map(TransactionFixtures::toArguments);
+    }
+
+    /**
+     * Waves and Payment transactions, which have both a binary and a protobuf form that can be decoded.
+     */
+    public static Stream<Arguments> transactions() {
+        return Stream.concat(wavesTransactions(), paymentTransactions());
+    }
+
+    /**
+     * Every order version, plus a v4 order with a raw 65-byte Ethereum signature and no proofs.
+     */
+    public static Stream<Arguments> orders() {
+        Stream.Builder<Order> orders = Stream.builder();
+        for (int version = 1; version <= 4; version++)
+            orders.add(order(OrderType.SELL, version));
+        orders.add(new Order(null, SIGNER.publicKey(), OrderType.BUY, Amount.of(20, ASSET_ID), Amount.of(10),
+                MATCHER.publicKey(), CHAIN_ID, Amount.of(3), 1, 2, 4, Proof.emptyList(), new byte[65]));
+        return orders.build().map(order -> arguments("Order", order.version(), order));
+    }
+
+    private static Arguments toArguments(Transaction tx) {
+        return arguments(tx.type(), tx.version(), tx);
+    }
+
+}
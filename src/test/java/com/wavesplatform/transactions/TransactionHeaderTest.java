@@ -0,0 +1,31 @@
+package com.wavesplatform.transactions;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class TransactionHeaderTest {
+
+    @ParameterizedTest(name = "{index}: type {0} v{1}")
+    @MethodSource("com.wavesplatform.transactions.TransactionFixtures#transactions")
+    void header(int type, int version, Transaction tx) throws IOException {
+        byte[] bytes = tx.toBytes();
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        TransactionHeader expected = TransactionHeader.of(Transaction.fromBytes(bytes));
+
+        assertAll("Header must be equal to the fields of the decoded transaction",
+                () -> assertThat(expected.sender()).isEqualTo(tx.sender()),
+                () -> assertThat(expected.fee()).isEqualTo(tx.fee()),
+                () -> assertThat(TransactionHeader.fromBytes(bytes)).isEqualTo(expected),
+                () -> assertThat(TransactionHeader.fromBytes(direct)).isEqualTo(expected),
+                () -> assertThat(direct.position()).isZero()
+        );
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.wavesplatform.transactions.block;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.protobuf.ByteString;
+import com.wavesplatform.crypto.Hash;
+import com.wavesplatform.protobuf.block.BlockOuterClass;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransaction;
+import com.wavesplatform.transactions.DataTransaction;
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.TransferTransaction;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.Base58String;
+import com.wavesplatform.transactions.data.IntegerEntry;
+import com.wavesplatform.transactions.serializers.json.JsonSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class BlockTest {
+
+    static byte chainId = 'T';
+    static PrivateKey signer = PrivateKey.fromSeed("seed");
+    static PrivateKey generator = PrivateKey.fromSeed("generator");
+    static ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterAll
+    static void shutdown() {
+        executor.shutdown();
+    }
+
+    static List<Transaction> transactions(int count) {
+        List<Transaction> txs = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+            txs.add(i % 10 == 0
+                    ? DataTransaction.builder(IntegerEntry.as("i", i)).chainId(chainId).getSignedWith(signer)
+                    : TransferTransaction.builder(signer.address(chainId), Amount.of(i + 1))
+                    .chainId(chainId).getSignedWith(signer));
+        return txs;
+    }
+
+    static BlockOuterClass.Block.Header header(int version) {
+        return BlockOuterClass.Block.Header.newBuilder()
+                .setChainId(chainId)
+                .setReference(ByteString.copyFrom(new byte[64]))
+                .setBaseTarget(100)
+                .setGenerationSignature(ByteString.copyFrom(new byte[96]))
+                .addAllFeatureVotes(Arrays.asList(15, 16))
+                .setTimestamp(1_600_000_000_000L)
+                .setVersion(version)
+                .setGenerator(ByteString.copyFrom(generator.publicKey().bytes()))
+                .setRewardVote(600_000_000)
+                .setTransactionsRoot(ByteString.copyFrom(new byte[]{1, 2, 3}))
+                .build();
+    }
+
+    static BlockOuterClass.Block protobufBlock(int version, List<Transaction> txs) {
+        BlockOuterClass.Block.Builder block = BlockOuterClass.Block.newBuilder()
+                .setHeader(header(version))
+                .setSignature(ByteString.copyFrom(new byte[]{9, 8, 7}));
+        txs.forEach(tx -> block.addTransactions(tx.toProtobuf()));
+        return block.build();
+    }
+
+    static ObjectNode jsonBlock(BlockOuterClass.Block pbBlock, String id, List<Transaction> txs) {
+        BlockOuterClass.Block.Header header = pbBlock.getHeader();
+        ObjectNode json = JsonSerializer.JSON_MAPPER.createObjectNode()
+                .put("version", header.getVersion())
+                .put("timestamp", header.getTimestamp())
+                .put("reference", new Base58String(header.getReference().toByteArray()).encoded())
+                .put("transactionsRoot", new Base58String(header.getTransactionsRoot().toByteArray()).encoded())
+                .put("id", id)
+                .put("desiredReward", header.getRewardVote())
+                .put("generator", generator.address(chainId).encoded())
+                .put("generatorPublicKey", generator.publicKey().encoded())
+                .put("signature", new Base58String(pbBlock.getSignature().toByteArray()).encoded());
+        json.putObject("nxt-consensus")
+                .put("base-target", header.getBaseTarget())
+                .put("generation-signature", new Base58String(header.getGenerationSignature().toByteArray()).encoded());
+        json.putArray("features").add(15).add(16);
+        ArrayNode jsonTxs = json.putArray("transactions");
+        txs.forEach(tx -> jsonTxs.add(JsonSerializer.toJsonObject(tx)));
+        return json;
+    }
+
+    @Test
+    void transactionsAreDecodedInOrder() throws IOException {
+        List<Transaction> txs = transactions(500);
+        BlockOuterClass.Block pbBlock = protobufBlock(5, txs);
+        String id = new Base58String(Hash.blake(pbBlock.getHeader().toByteArray())).encoded();
+
+        Block fromProtobuf = Block.fromProtobuf(pbBlock, executor);
+        Block fromJson = Block.fromJson(jsonBlock(pbBlock, id, txs), executor);
+
+        assertAll("Block must be equal regardless of the source",
+                () -> assertThat(fromProtobuf.transactions()).containsExactlyElementsOf(txs),
+                () -> assertThat(fromProtobuf.id().encoded()).isEqualTo(id),
+                () -> assertThat(fromProtobuf.header().generator()).isEqualTo(generator.publicKey()),
+                () -> assertThat(fromProtobuf.header().featureVotes()).containsExactly(15, 16),
+                () -> assertThat(fromProtobuf.header().stateHash().bytes()).isEmpty(),
+                () -> assertThat(fromJson).isEqualTo(fromProtobuf),
+                () -> assertThat(Block.fromProtobuf(pbBlock)).isEqualTo(fromProtobuf)
+        );
+    }
+
+    // the id is BLAKE2b-256 of the header bytes, encoded and hashed by hand outside of this library
+    @Test
+    void idIsKnownAnswer() throws IOException {
+        BlockOuterClass.Block pbBlock = BlockOuterClass.Block.newBuilder()
+                .setHeader(header(5).toBuilder().setGenerator(ByteString.copyFrom(new byte[]{
+                        7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 7})))
+                .setSignature(ByteString.copyFrom(new byte[]{9, 8, 7}))
+                .build();
+
+        assertThat(Block.fromProtobuf(pbBlock, executor).id().encoded())
+                .isEqualTo("3bc1zm9rB8eGHhSd5paHT9xDfR1eP8JC3K85dx2LrV4a");
+    }
+
+    @Test
+    void idOfLegacyBlockIsSignature() throws IOException {
+        List<Transaction> txs = transactions(3);
+        Block block = Block.fromProtobuf(protobufBlock(3, txs), executor);
+
+        assertThat(block.id().bytes()).isEqualTo(block.signature().bytes());
+        assertThat(block.transactions()).containsExactlyElementsOf(txs);
+    }
+
+    @Test
+    void invalidTransactionFailsBlock() {
+        BlockOuterClass.Block pbBlock = protobufBlock(5, transactions(200)).toBuilder()
+                .setTransactions(150, SignedTransaction.getDefaultInstance())
+                .build();
+
+        assertThatThrownBy(() -> Block.fromProtobuf(pbBlock, executor))
+                .isInstanceOf(IOException.class);
+    }
+
+}
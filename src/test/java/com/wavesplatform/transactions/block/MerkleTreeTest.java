@@ -0,0 +1,147 @@
+package com.wavesplatform.transactions.block;
+
+import com.google.protobuf.ByteString;
+import com.wavesplatform.crypto.Hash;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransaction;
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.TransferTransaction;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.Base58String;
+import com.wavesplatform.transactions.serializers.ProtobufConverter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+public class MerkleTreeTest {
+
+    static byte chainId = 'T';
+    static PrivateKey signer = PrivateKey.fromSeed("seed");
+
+    static List<Transaction> transactions(int count) {
+        List<Transaction> txs = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+            txs.add(TransferTransaction.builder(signer.address(chainId), Amount.of(i + 1))
+                    .chainId(chainId).version(i % 3 + 1).getSignedWith(signer));
+        return txs;
+    }
+
+    /**
+     * Leaves of the known-answer vectors: the hash of the single byte i + 1 for the leaf i.
+     */
+    static List<byte[]> leafHashes(int count) {
+        List<byte[]> leaves = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+            leaves.add(Hash.blake(new byte[]{(byte) (i + 1)}));
+        return leaves;
+    }
+
+    // roots and proofs computed by hand with BLAKE2b-256 outside of this library
+    static Stream<Arguments> knownAnswers() {
+        return Stream.of(
+                arguments(1, "834CiPdUXEvQwQbFVNYdMca4HbeqQBrfiYthgcYgHaW2", 0,
+                        asList("D4bn122GiEqs99z526GdhYETJqctLHGSmWokypEo9qu")),
+                arguments(2, "75Aaexax3uEQNg5HAb137jC3TK64RG1S6xrBGvuupWXp", 0,
+                        asList("DbiFyDrmumGtTu39Hh1GjK14oKvLdsgUuwqm51JhcbnR")),
+                arguments(2, "75Aaexax3uEQNg5HAb137jC3TK64RG1S6xrBGvuupWXp", 1,
+                        asList("H2NvG7X3qQK7Uptsgoe514hUciZK81qsYiswxSXeiLKn")),
+                arguments(3, "41DDtujqe8KxBDcmkSzXcJWCRaZzBF5b9t5zArBnUmrt", 2,
+                        asList("75Aaexax3uEQNg5HAb137jC3TK64RG1S6xrBGvuupWXp",
+                                "D4bn122GiEqs99z526GdhYETJqctLHGSmWokypEo9qu")),
+                arguments(5, "6tt3obq44UqC4QwLhrKX2KsXV9GRBfhiNvzor2BQfgYZ", 2,
+                        asList("q1u2PJhro1cwZw5mUuujXm94f245tGS5vbP5yNwLbEv",
+                                "75Aaexax3uEQNg5HAb137jC3TK64RG1S6xrBGvuupWXp",
+                                "7jsrwD9Xi7TjVoksaV1CDDUWYhFaz7HQmAoWwLEiZa6D")),
+                arguments(5, "6tt3obq44UqC4QwLhrKX2KsXV9GRBfhiNvzor2BQfgYZ", 4,
+                        asList("2AYMXo9fKWK6swVeAx4DnLuW2wKP8u3S8Ypax6MVWkNh",
+                                "D4bn122GiEqs99z526GdhYETJqctLHGSmWokypEo9qu",
+                                "D4bn122GiEqs99z526GdhYETJqctLHGSmWokypEo9qu"))
+        );
+    }
+
+    @ParameterizedTest(name = "{0} leaves, proof of {2}")
+    @MethodSource("knownAnswers")
+    void rootAndProofAreKnownAnswers(int count, String root, int index, List<String> proof) {
+        List<byte[]> leaves = leafHashes(count);
+        MerkleTree tree = MerkleTree.fromLeafHashes(leaves);
+        List<Base58String> expectedProof = new ArrayList<>();
+        proof.forEach(hash -> expectedProof.add(new Base58String(hash)));
+
+        assertAll("Root and proof must be equal to the known answers",
+                () -> assertThat(tree.root()).isEqualTo(new Base58String(root)),
+                () -> assertThat(tree.proof(index)).isEqualTo(expectedProof),
+                () -> assertThat(MerkleTree.verify(leaves.get(index), index, expectedProof, new Base58String(root)))
+                        .isTrue()
+        );
+    }
+
+    @ParameterizedTest(name = "{index}: type {0} v{1}")
+    @MethodSource("com.wavesplatform.transactions.TransactionFixtures#transactions")
+    void leafIsHashOfProtobufBytes(int type, int version, Transaction tx) throws IOException {
+        byte[] expected = Hash.blake(tx.toProtobuf().toByteArray());
+        Transaction decoded = Transaction.fromBytes(tx.toBytes());
+
+        assertAll("Leaf must be the hash of the signed protobuf bytes",
+                () -> assertThat(MerkleTree.leafHash(tx)).isEqualTo(expected),
+                () -> assertThat(MerkleTree.leafHash(Transaction.fromProtobuf(tx.toProtobuf()))).isEqualTo(expected),
+                () -> assertThat(MerkleTree.leafHash(decoded))
+                        .isEqualTo(Hash.blake(ProtobufConverter.toProtobuf(decoded).toByteArray()))
+        );
+    }
+
+    @ParameterizedTest(name = "{index}: type {0} v{1}")
+    @MethodSource("com.wavesplatform.transactions.TransactionFixtures#ethereumTransactions")
+    void ethereumLeafIsHashOfProtobufBytes(int type, int version, Transaction tx) {
+        byte[] expected = Hash.blake(SignedTransaction.newBuilder()
+                .setEthereumTransaction(ByteString.copyFrom(tx.toBytes())).build().toByteArray());
+
+        assertAll("Leaf must be the hash of the raw bytes wrapped into SignedTransaction",
+                () -> assertThat(MerkleTree.leafHash(tx)).isEqualTo(expected),
+                () -> assertThat(Hash.blake(tx.toProtobuf().toByteArray())).isEqualTo(expected)
+        );
+    }
+
+    @ParameterizedTest(name = "{0} transactions")
+    @ValueSource(ints = {1, 2, 3, 5, 16, 17, 1000})
+    void proofsOfAllTransactionsAreValid(int count) {
+        List<Transaction> txs = transactions(count);
+        List<byte[]> leaves = new ArrayList<>();
+        txs.forEach(tx -> leaves.add(Hash.blake(tx.toProtobuf().toByteArray())));
+
+        MerkleTree tree = MerkleTree.of(txs);
+        Base58String root = tree.root();
+
+        assertThat(root).isEqualTo(MerkleTree.fromLeafHashes(leaves).root());
+        assertThat(MerkleTree.of(txs, Runnable::run).root()).isEqualTo(root);
+        assertThat(tree.size()).isEqualTo(count);
+        for (int i = 0; i < count; i++) {
+            List<Base58String> proof = tree.proof(i);
+            assertThat(MerkleTree.verify(txs.get(i), i, proof, root)).isTrue();
+            assertThat(MerkleTree.verify(txs.get(i), i + 1, proof, root)).isFalse();
+            assertThat(MerkleTree.verify(txs.get((i + 1) % count), i, proof, root)).isEqualTo(count == 1);
+        }
+    }
+
+    @Test
+    void rootOfEmptyBlockIsEmptyHash() {
+        MerkleTree tree = MerkleTree.of(Collections.emptyList());
+
+        assertThat(tree.root()).isEqualTo(new Base58String("D4bn122GiEqs99z526GdhYETJqctLHGSmWokypEo9qu"));
+        assertThat(tree.size()).isZero();
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.wavesplatform.transactions.serializers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ChunksTest {
+
+    @Test
+    void submittedChunksAreDoneWhenExecutorRejects() {
+        ExecutorService pool = Executors.newCachedThreadPool();
+        AtomicInteger submitted = new AtomicInteger();
+        Executor rejectingAfterTwo = command -> {
+            if (submitted.incrementAndGet() > 2)
+                throw new RejectedExecutionException("Executor is full");
+            pool.execute(command);
+        };
+        AtomicInteger done = new AtomicInteger();
+
+        try {
+            assertThatThrownBy(() -> Chunks.run(1000, 1, rejectingAfterTwo, (start, end) -> {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                done.incrementAndGet();
+            })).isInstanceOf(RejectedExecutionException.class);
+            assertThat(done.get()).isEqualTo(2);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void failuresOfSubmittedChunksAreSuppressed() {
+        AtomicInteger submitted = new AtomicInteger();
+        Executor rejectingAfterOne = command -> {
+            if (submitted.incrementAndGet() > 1)
+                throw new RejectedExecutionException("Executor is full");
+            command.run();
+        };
+
+        assertThatThrownBy(() -> Chunks.run(1000, 1, rejectingAfterOne, (start, end) -> {
+            throw new IllegalStateException("chunk failed");
+        }))
+                .isInstanceOf(RejectedExecutionException.class)
+                .satisfies(e -> assertThat(e.getSuppressed()).hasSize(1)
+                        .allSatisfy(s -> assertThat(s).isInstanceOf(IllegalStateException.class)));
+    }
+}
@@ -0,0 +1,119 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.google.protobuf.ByteOutput;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.protobuf.order.OrderOuterClass;
+import com.wavesplatform.transactions.DataTransaction;
+import com.wavesplatform.transactions.MassTransferTransaction;
+import com.wavesplatform.transactions.SetScriptTransaction;
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.Base64String;
+import com.wavesplatform.transactions.data.StringEntry;
+import com.wavesplatform.transactions.exchange.Order;
+import com.wavesplatform.transactions.exchange.OrderType;
+import com.wavesplatform.transactions.mass.Transfer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class ProtobufConverterTest {
+
+    static PrivateKey signer = PrivateKey.fromSeed("seed");
+
+    static byte[] backingArray(ByteString bytes) throws IOException {
+        byte[][] array = new byte[1][];
+        UnsafeByteOperations.unsafeWriteTo(bytes, new ByteOutput() {
+            @Override
+            public void write(byte value) {
+            }
+
+            @Override
+            public void write(byte[] value, int offset, int length) {
+            }
+
+            @Override
+            public void writeLazy(byte[] value, int offset, int length) {
+                array[0] = value;
+            }
+
+            @Override
+            public void write(ByteBuffer value) {
+            }
+
+            @Override
+            public void writeLazy(ByteBuffer value) {
+            }
+        });
+        return array[0];
+    }
+
+    @Test
+    void bytesAreSharedWithMessage() throws IOException {
+        Base64String script = new Base64String(new byte[32 * 1024]);
+        SetScriptTransaction tx = SetScriptTransaction.builder(script)
+                .chainId((byte) 'T').getSignedWith(signer);
+
+        TransactionOuterClass.SignedTransaction pbTx = ProtobufConverter.toProtobuf(tx);
+
+        assertThat(backingArray(pbTx.getWavesTransaction().getSetScript().getScript())).isSameAs(script.bytes());
+        assertThat(backingArray(pbTx.getWavesTransaction().getSenderPublicKey())).isSameAs(tx.sender().bytes());
+        assertThat(backingArray(pbTx.getProofs(0))).isSameAs(tx.proofs().get(0).bytes());
+        assertThat(Transaction.fromProtobuf(pbTx)).isEqualTo(tx);
+    }
+
+    @ParameterizedTest(name = "{index}: type {0} v{1}")
+    @MethodSource("com.wavesplatform.transactions.TransactionFixtures#transactions")
+    void trustedTransactionIsEqualToBuiltOne(int type, int version, Transaction tx) throws IOException {
+        TransactionOuterClass.SignedTransaction pbTx = ProtobufConverter.toProtobuf(tx);
+        Transaction trusted = ProtobufConverter.fromTrustedProtobuf(pbTx);
+
+        assertAll("Trusted transaction must be equal to the original one",
+                () -> assertThat(trusted).isEqualTo(tx),
+                () -> assertThat(trusted.proofs()).isEqualTo(tx.proofs()),
+                () -> assertThat(trusted.id()).isEqualTo(tx.id()),
+                () -> assertThat(trusted.toProtobuf()).isSameAs(pbTx)
+        );
+    }
+
+    @Test
+    void trustedFieldsAreTakenAsIs() throws IOException {
+        DataTransaction tx = new DataTransaction(signer.publicKey(), Collections.singletonList(StringEntry.as("k", "v")),
+                (byte) 'T', Amount.of(100_000), 0, 2, Collections.emptyList());
+        TransactionOuterClass.SignedTransaction pbTx = tx.toProtobuf().toBuilder()
+                .setWavesTransaction(tx.toProtobuf().getWavesTransaction().toBuilder().clearFee())
+                .build();
+        MassTransferTransaction massTransfer = MassTransferTransaction
+                .builder(Transfer.to(signer.address((byte) 'T'), 1))
+                .chainId((byte) 'T').getSignedWith(signer);
+        TransactionOuterClass.SignedTransaction pbMassTransfer = massTransfer.toProtobuf().toBuilder()
+                .setWavesTransaction(massTransfer.toProtobuf().getWavesTransaction().toBuilder().clearFee())
+                .build();
+        OrderOuterClass.Order pbOrder = Order.builder(OrderType.SELL, Amount.of(1), Amount.of(2), signer.publicKey())
+                .chainId((byte) 'T').getSignedWith(signer).toProtobuf().toBuilder()
+                .clearExpiration()
+                .build();
+
+        Transaction trusted = ProtobufConverter.fromTrustedProtobuf(pbTx);
+        Order trustedOrder = ProtobufConverter.fromTrustedProtobuf(pbOrder);
+
+        assertThat(trusted.fee()).isEqualTo(Amount.of(0));
+        assertThat(trusted.timestamp()).isZero();
+        assertThat(ProtobufConverter.fromProtobuf(pbTx).fee().value()).isPositive();
+        assertThat(ProtobufConverter.fromTrustedProtobuf(pbMassTransfer).fee()).isEqualTo(Amount.of(0));
+        assertThat(ProtobufConverter.fromProtobuf(pbMassTransfer).fee().value()).isPositive();
+        assertThat(trustedOrder.expiration()).isZero();
+        assertThat(trustedOrder.toProtobuf()).isEqualTo(pbOrder);
+    }
+
+}
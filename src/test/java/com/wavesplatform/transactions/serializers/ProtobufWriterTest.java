@@ -0,0 +1,81 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import com.wavesplatform.protobuf.order.OrderOuterClass;
+import com.wavesplatform.transactions.*;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.AssetId;
+import com.wavesplatform.transactions.exchange.Order;
+import com.wavesplatform.transactions.exchange.OrderType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class ProtobufWriterTest {
+
+    static byte chainId = 'T';
+    static PrivateKey signer = PrivateKey.fromSeed("seed");
+    static PrivateKey matcher = PrivateKey.fromSeed("matcher");
+    static AssetId assetId = AssetId.as("2wBMrTzvncodBbNiXaXju4Z9QpdCFtMp9ZoCRrykk9Dk");
+
+    static Order order(OrderType type, int version) {
+        return Order.builder(type, Amount.of(20, assetId), Amount.of(10), matcher.publicKey())
+                .chainId(chainId).version(version).getSignedWith(signer);
+    }
+
+    @ParameterizedTest(name = "{index}: type {0} v{1}")
+    @MethodSource({"com.wavesplatform.transactions.TransactionFixtures#transactions",
+            "com.wavesplatform.transactions.TransactionFixtures#edgeCases",
+            "com.wavesplatform.transactions.TransactionFixtures#ethereumTransactions"})
+    void transactionIsEqualToGeneratedMessage(int type, int version, Transaction tx) throws IOException {
+        byte[] expectedBody = ProtobufConverter.toUnsignedProtobuf(tx).toByteArray();
+        byte[] expectedBytes = ProtobufConverter.toProtobuf(tx).toByteArray();
+
+        byte[] written = new byte[expectedBytes.length];
+        CodedOutputStream output = CodedOutputStream.newInstance(written);
+        ProtobufWriter.writeTo(tx, output);
+        output.checkNoSpaceLeft();
+
+        assertAll("Written bytes must be equal to the generated message",
+                () -> assertThat(ProtobufWriter.bodySize(tx)).isEqualTo(expectedBody.length),
+                () -> assertThat(ProtobufWriter.bodyBytes(tx)).isEqualTo(expectedBody),
+                () -> assertThat(ProtobufWriter.toBytes(tx)).isEqualTo(expectedBytes),
+                () -> assertThat(written).isEqualTo(expectedBytes)
+        );
+    }
+
+    @Test
+    void ordersAreEqualToGeneratedMessages() {
+        for (int version = 1; version <= 4; version++)
+            for (OrderType type : OrderType.values()) {
+                Order order = order(type, version);
+                assertThat(ProtobufWriter.bodyBytes(order))
+                        .isEqualTo(ProtobufConverter.toUnsignedProtobuf(order).toByteArray());
+                assertThat(ProtobufWriter.toBytes(order))
+                        .isEqualTo(ProtobufConverter.toProtobuf(order).toByteArray());
+            }
+    }
+
+    @Test
+    void decodedOrderIsWrittenAsReceived() throws IOException {
+        OrderOuterClass.Order pbOrder = order(OrderType.BUY, 4).toProtobuf().toBuilder()
+                .setPriceModeValue(OrderOuterClass.Order.PriceMode.ASSET_DECIMALS_VALUE)
+                .setAttachment(ByteString.copyFrom(new byte[]{1, 2, 3}))
+                .build();
+        ExchangeTransaction tx = ExchangeTransaction.builder(
+                Order.fromProtobuf(pbOrder), order(OrderType.SELL, 4), 20, 10, 3, 4)
+                .chainId(chainId).getSignedWith(matcher);
+
+        assertThat(ProtobufWriter.bodyBytes(tx))
+                .isEqualTo(ProtobufConverter.toUnsignedProtobuf(tx).toByteArray());
+        assertThat(tx.bodyBytes()).hasSize(SizeCalculator.bodyBytesSize(tx));
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.TransactionOrOrder;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.Proof;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class SizeCalculatorTest {
+
+    static final int CUSTOM_TYPE = 4;
+    static PrivateKey signer = PrivateKey.fromSeed("seed");
+
+    static class CustomTransaction extends Transaction {
+        CustomTransaction(int version) {
+            super(CUSTOM_TYPE, version, (byte) 'T', signer.publicKey(), Amount.of(1), 2,
+                    Collections.singletonList(Proof.as(new byte[64])));
+        }
+    }
+
+    @AfterEach
+    void unregister() {
+        TransactionCodecs.unregister(CUSTOM_TYPE);
+    }
+
+    @ParameterizedTest(name = "{index}: type {0} v{1}")
+    @MethodSource({"com.wavesplatform.transactions.TransactionFixtures#transactions",
+            "com.wavesplatform.transactions.TransactionFixtures#edgeCases",
+            "com.wavesplatform.transactions.TransactionFixtures#ethereumTransactions",
+            "com.wavesplatform.transactions.TransactionFixtures#orders"})
+    void sizeIsEqualToSerializedLength(Object type, int version, TransactionOrOrder txOrOrder) {
+        assertAll("Calculated sizes must be equal to the lengths of the serialized bytes",
+                () -> assertThat(SizeCalculator.bodyBytesSize(txOrOrder)).isEqualTo(txOrOrder.bodyBytes().length),
+                () -> assertThat(SizeCalculator.toBytesSize(txOrOrder)).isEqualTo(txOrOrder.toBytes().length),
+                () -> assertThat(txOrOrder.serializedSize()).isEqualTo(txOrOrder.toBytes().length)
+        );
+    }
+
+    @Test
+    void unknownTransactionClassIsRejected() {
+        CustomTransaction legacy = new CustomTransaction(2);
+        CustomTransaction protobuf = new CustomTransaction(3);
+
+        assertThatThrownBy(() -> SizeCalculator.bodyBytesSize(legacy))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(CustomTransaction.class.getCanonicalName());
+        assertThatThrownBy(() -> SizeCalculator.bodyBytesSize(protobuf))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(CustomTransaction.class.getCanonicalName());
+    }
+
+    @Test
+    void codecBodyIsMeasured() {
+        TransactionOuterClass.Transaction body = TransactionOuterClass.Transaction.newBuilder()
+                .setChainId('T').setTimestamp(2).setVersion(3).build();
+        TransactionCodecs.register(new TransactionCodec<CustomTransaction>() {
+            @Override
+            public int type() {
+                return CUSTOM_TYPE;
+            }
+
+            @Override
+            public byte[] toLegacyBodyBytes(CustomTransaction tx) {
+                return new byte[]{CUSTOM_TYPE, 2, 1, 2, 3};
+            }
+
+            @Override
+            public TransactionOuterClass.Transaction toUnsignedProtobuf(CustomTransaction tx) {
+                return body;
+            }
+        });
+
+        assertThat(SizeCalculator.bodyBytesSize(new CustomTransaction(2))).isEqualTo(5);
+        assertThat(SizeCalculator.bodyBytesSize(new CustomTransaction(3))).isEqualTo(body.getSerializedSize());
+    }
+
+}
@@ -0,0 +1,223 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass.SignedTransaction;
+import com.wavesplatform.transactions.DataTransaction;
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.TransactionFixtures;
+import com.wavesplatform.transactions.TransferTransaction;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.data.StringEntry;
+import com.wavesplatform.transactions.serializers.binary.BinarySerializer;
+import com.wavesplatform.transactions.serializers.binary.LegacyBinarySerializer;
+import com.wavesplatform.transactions.serializers.json.JsonSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class TransactionCodecsTest {
+
+    static PrivateKey signer = PrivateKey.fromSeed("seed");
+
+    static class RecordingDataCodec implements TransactionCodec<DataTransaction> {
+        final Set<String> calls = new HashSet<>();
+
+        @Override
+        public int type() {
+            return DataTransaction.TYPE;
+        }
+
+        @Override
+        public byte[] toLegacyBodyBytes(DataTransaction tx) {
+            calls.add("toLegacyBodyBytes");
+            return null;
+        }
+
+        @Override
+        public DataTransaction fromLegacyBytes(ByteBuffer bytes) {
+            calls.add("fromLegacyBytes");
+            return null;
+        }
+
+        @Override
+        public TransactionOuterClass.Transaction toUnsignedProtobuf(DataTransaction tx) {
+            calls.add("toUnsignedProtobuf");
+            return null;
+        }
+
+        @Override
+        public DataTransaction fromProtobuf(SignedTransaction pbSignedTx) {
+            calls.add("fromProtobuf");
+            return null;
+        }
+
+        @Override
+        public ObjectNode toJson(DataTransaction tx) {
+            calls.add("toJson");
+            return JsonSerializer.JSON_MAPPER.createObjectNode().put("type", tx.type()).put("custom", true);
+        }
+
+        @Override
+        public DataTransaction fromJson(JsonNode json) {
+            calls.add("fromJson");
+            return null;
+        }
+    }
+
+    @AfterEach
+    void unregister() {
+        TransactionCodecs.unregister(DataTransaction.TYPE);
+    }
+
+    @Test
+    void codecIsCalledForItsTypeOnly() throws IOException {
+        DataTransaction v1 = DataTransaction.builder(StringEntry.as("key", "value"))
+                .chainId((byte) 'T').version(1).getSignedWith(signer);
+        DataTransaction v2 = DataTransaction.builder(StringEntry.as("key", "value"))
+                .chainId((byte) 'T').version(2).getSignedWith(signer);
+        TransferTransaction transfer = TransferTransaction.builder(signer.address((byte) 'T'), Amount.of(1))
+                .chainId((byte) 'T').getSignedWith(signer);
+        SignedTransaction v2Protobuf = v2.toProtobuf();
+        String v2Json = v2.toJson();
+        byte[] expectedV1Body = LegacyBinarySerializer.bodyBytes(v1);
+        byte[] v1Bytes = v1.toBytes();
+
+        RecordingDataCodec codec = new RecordingDataCodec();
+        TransactionCodecs.register(codec);
+
+        assertAll("Codec must be called for data transactions and fall back to built-in serialization",
+                () -> assertThat(LegacyBinarySerializer.bodyBytes(v1)).isEqualTo(expectedV1Body),
+                () -> assertThat(LegacyBinarySerializer.transactionFromBytes(v1Bytes)).isEqualTo(v1),
+                () -> assertThat(ProtobufConverter.toUnsignedProtobuf(v2)).isEqualTo(v2Protobuf.getWavesTransaction()),
+                () -> assertThat(ProtobufConverter.fromProtobuf(v2Protobuf)).isEqualTo(v2),
+                () -> assertThat(JsonSerializer.fromJson(v2Json)).isEqualTo(v2),
+                () -> assertThat(JsonSerializer.toJson(v2)).isEqualTo("{\"type\":12,\"custom\":true}"),
+                () -> assertThat(ProtobufConverter.fromProtobuf(transfer.toProtobuf())).isEqualTo(transfer),
+                () -> assertThat(JsonSerializer.toJson(transfer)).contains("\"recipient\"")
+        );
+        assertThat(codec.calls)
+                .containsExactlyInAnyOrder("toLegacyBodyBytes", "fromLegacyBytes",
+                        "toUnsignedProtobuf", "fromProtobuf", "toJson", "fromJson");
+    }
+
+    @Test
+    void codecDecodesLegacyBytes() {
+        DataTransaction v1 = DataTransaction.builder(StringEntry.as("key", "value"))
+                .chainId((byte) 'T').version(1).getSignedWith(signer);
+        byte[] v1Bytes = v1.toBytes();
+        DataTransaction decoded = DataTransaction.builder(StringEntry.as("key", "decoded"))
+                .chainId((byte) 'T').version(1).getSignedWith(signer);
+
+        TransactionCodecs.register(new TransactionCodec<DataTransaction>() {
+            @Override
+            public int type() {
+                return DataTransaction.TYPE;
+            }
+
+            @Override
+            public DataTransaction fromLegacyBytes(ByteBuffer bytes) {
+                assertThat(bytes.remaining()).isEqualTo(v1Bytes.length);
+                return decoded;
+            }
+        });
+
+        assertThat(LegacyBinarySerializer.transactionFromBytes(v1Bytes)).isSameAs(decoded);
+    }
+
+    @ParameterizedTest(name = "v{0}")
+    @ValueSource(ints = {1, 2})
+    void customBodyIsBuiltOncePerCall(int version) {
+        Supplier<DataTransaction> tx = () -> DataTransaction.builder(StringEntry.as("key", "value"))
+                .chainId((byte) 'T').version(version).sender(signer.publicKey()).timestamp(1600000000000L)
+                .getUnsigned()
+                .addProof(Proof.as(new byte[Proof.BYTE_LENGTH]));
+        byte[] legacyBody = version == 1 ? LegacyBinarySerializer.bodyBytes(tx.get()) : null;
+        TransactionOuterClass.Transaction protobufBody =
+                version == 2 ? ProtobufConverter.toUnsignedProtobuf(tx.get()) : null;
+        byte[] expectedBytes = tx.get().toBytes();
+        AtomicInteger invocations = new AtomicInteger();
+
+        TransactionCodecs.register(new TransactionCodec<DataTransaction>() {
+            @Override
+            public int type() {
+                return DataTransaction.TYPE;
+            }
+
+            @Override
+            public byte[] toLegacyBodyBytes(DataTransaction tx) {
+                invocations.incrementAndGet();
+                return legacyBody;
+            }
+
+            @Override
+            public TransactionOuterClass.Transaction toUnsignedProtobuf(DataTransaction tx) {
+                invocations.incrementAndGet();
+                return protobufBody;
+            }
+        });
+
+        Map<String, Consumer<DataTransaction>> operations = new LinkedHashMap<>();
+        operations.put("bodyBytes", BinarySerializer::bodyBytes);
+        operations.put("toBytes", t -> assertThat(BinarySerializer.toBytes(t)).isEqualTo(expectedBytes));
+        operations.put("writeBodyTo", t -> BinarySerializer.writeBodyTo(t, ByteBuffer.allocate(1024)));
+        operations.put("writeTo", t -> BinarySerializer.writeTo(t, ByteBuffer.allocate(1024)));
+        operations.put("id", BinarySerializer::id);
+        operations.put("protobufHash", BinarySerializer::protobufHash);
+        operations.put("serializedSize", Transaction::serializedSize);
+
+        assertAll("Custom body must be built once per call",
+                operations.entrySet().stream().map(operation -> () -> {
+                    DataTransaction fresh = tx.get();
+                    invocations.set(0);
+                    operation.getValue().accept(fresh);
+                    assertThat(invocations.get()).as(operation.getKey()).isEqualTo(1);
+                }));
+    }
+
+    @Test
+    void builtInCodecsCoverAllTransactionTypes() {
+        assertAll(Stream.concat(TransactionFixtures.transactions(), TransactionFixtures.ethereumTransactions())
+                .map(arguments -> (Transaction) arguments.get()[2])
+                .map(tx -> () -> assertThat(TransactionCodecs.builtIn(tx).transactionClass()).isEqualTo(tx.getClass())));
+        assertThat(TransactionCodecs.<DataTransaction>builtIn(100)).isNull();
+    }
+
+    @Test
+    void unregisteredCodecIsNotCalled() {
+        RecordingDataCodec codec = new RecordingDataCodec();
+        TransactionCodecs.register(codec);
+        TransactionCodecs.unregister(DataTransaction.TYPE);
+
+        DataTransaction.builder(StringEntry.as("key", "value"))
+                .chainId((byte) 'T').version(2).getSignedWith(signer).bodyBytes();
+
+        assertThat(TransactionCodecs.<DataTransaction>get(DataTransaction.TYPE)).isNull();
+        assertThat(codec.calls).isEmpty();
+    }
+
+    @Test
+    void typeMustBeInRange() {
+        assertThatThrownBy(() -> TransactionCodecs.register(() -> 256))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
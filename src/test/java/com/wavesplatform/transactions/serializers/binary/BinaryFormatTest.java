@@ -0,0 +1,86 @@
+package com.wavesplatform.transactions.serializers.binary;
+
+import com.wavesplatform.transactions.CreateAliasTransaction;
+import com.wavesplatform.transactions.MassTransferTransaction;
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.TransferTransaction;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.AssetId;
+import com.wavesplatform.transactions.exchange.Order;
+import com.wavesplatform.transactions.exchange.OrderType;
+import com.wavesplatform.transactions.mass.Transfer;
+import com.wavesplatform.transactions.serializers.Scheme;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+public class BinaryFormatTest {
+
+    static PrivateKey signer = PrivateKey.fromSeed("seed");
+    static AssetId assetId = AssetId.as("2wBMrTzvncodBbNiXaXju4Z9QpdCFtMp9ZoCRrykk9Dk");
+
+    static Stream<Arguments> transactionsProvider() {
+        return Stream.of(
+                arguments(CreateAliasTransaction.builder("alice").chainId((byte) 'T').version(1).getSignedWith(signer),
+                        BinaryFormat.LEGACY_UNVERSIONED),
+                arguments(CreateAliasTransaction.builder("alice").chainId((byte) 'T').version(2).getSignedWith(signer),
+                        BinaryFormat.LEGACY_VERSIONED),
+                arguments(CreateAliasTransaction.builder("alice").chainId((byte) 'T').version(3).getSignedWith(signer),
+                        BinaryFormat.PROTOBUF),
+                arguments(TransferTransaction.builder(signer.address((byte) 'T'), Amount.of(1)).chainId((byte) 'T')
+                        .version(1).getSignedWith(signer), BinaryFormat.LEGACY_UNVERSIONED),
+                arguments(MassTransferTransaction.builder(Transfer.to(signer.address((byte) 'T'), 1)).chainId((byte) 'T')
+                        .version(1).getSignedWith(signer), BinaryFormat.LEGACY_VERSIONED),
+                arguments(TransferTransaction.builder(signer.address((byte) 'T'), Amount.of(1)).chainId((byte) 'T')
+                        .version(3).getSignedWith(signer), BinaryFormat.PROTOBUF)
+        );
+    }
+
+    @ParameterizedTest(name = "{index}: {1}")
+    @MethodSource("transactionsProvider")
+    void transaction(Transaction tx, BinaryFormat expectedFormat) throws IOException {
+        byte[] bytes = tx.toBytes();
+
+        assertAll("Transaction format must be detected",
+                () -> assertThat(BinaryFormat.ofTransaction(bytes)).isEqualTo(expectedFormat),
+                () -> assertThat(BinaryFormat.ofTransaction(Scheme.of(tx))).isEqualTo(expectedFormat),
+                () -> assertThat(Transaction.fromBytes(bytes)).isEqualTo(tx),
+                () -> assertThat(Transaction.fromBytes(bytes, Scheme.of(tx))).isEqualTo(tx)
+        );
+    }
+
+    static Stream<Arguments> ordersProvider() {
+        return Stream.of(
+                arguments(1, BinaryFormat.LEGACY_UNVERSIONED),
+                arguments(2, BinaryFormat.LEGACY_VERSIONED),
+                arguments(3, BinaryFormat.LEGACY_VERSIONED),
+                arguments(4, BinaryFormat.PROTOBUF)
+        );
+    }
+
+    @ParameterizedTest(name = "{index}: v{0}")
+    @MethodSource("ordersProvider")
+    void order(int version, BinaryFormat expectedFormat) throws IOException {
+        Order order = Order.builder(OrderType.BUY, Amount.of(20, assetId), Amount.of(10), signer.publicKey())
+                .chainId((byte) 'T')
+                .version(version)
+                .getSignedWith(signer);
+        byte[] bytes = order.toBytes();
+
+        assertAll("Order format must be detected",
+                () -> assertThat(BinaryFormat.ofOrder(bytes)).isEqualTo(expectedFormat),
+                () -> assertThat(BinaryFormat.ofOrder(Scheme.ofOrder(version))).isEqualTo(expectedFormat),
+                () -> assertThat(Order.fromBytes(bytes)).isEqualTo(order),
+                () -> assertThat(Order.fromBytes(bytes, Scheme.ofOrder(version))).isEqualTo(order)
+        );
+    }
+
+}
@@ -0,0 +1,290 @@
+package com.wavesplatform.transactions.serializers.binary;
+
+import com.wavesplatform.crypto.Hash;
+import com.wavesplatform.transactions.CreateAliasTransaction;
+import com.wavesplatform.transactions.LeaseTransaction;
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.TransactionOrOrder;
+import com.wavesplatform.transactions.TransferTransaction;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.AssetId;
+import com.wavesplatform.transactions.common.Id;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.exchange.Order;
+import com.wavesplatform.transactions.exchange.OrderType;
+import com.wavesplatform.transactions.serializers.ProtobufConverter;
+import com.wavesplatform.transactions.serializers.Scheme;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+public class BinarySerializerTest {
+
+    static PrivateKey signer = PrivateKey.fromSeed("seed");
+    static AssetId assetId = AssetId.as("2wBMrTzvncodBbNiXaXju4Z9QpdCFtMp9ZoCRrykk9Dk");
+
+    static Stream<Arguments> txOrOrderProvider() {
+        return Stream.of(
+                arguments(LeaseTransaction.builder(signer.address((byte) 'T'), 1)
+                        .chainId((byte) 'T').version(1).getSignedWith(signer)),
+                arguments(TransferTransaction.builder(signer.address((byte) 'T'), Amount.of(1))
+                        .chainId((byte) 'T').version(1).getSignedWith(signer)),
+                arguments(CreateAliasTransaction.builder("alice")
+                        .chainId((byte) 'T').version(2).getSignedWith(signer)),
+                arguments(TransferTransaction.builder(signer.address((byte) 'T'), Amount.of(1))
+                        .chainId((byte) 'T').version(3).getSignedWith(signer)),
+                arguments(Order.builder(OrderType.SELL, Amount.of(20, assetId), Amount.of(10), signer.publicKey())
+                        .chainId((byte) 'T').version(1).getSignedWith(signer)),
+                arguments(Order.builder(OrderType.SELL, Amount.of(20, assetId), Amount.of(10), signer.publicKey())
+                        .chainId((byte) 'T').version(3).getSignedWith(signer)),
+                arguments(Order.builder(OrderType.SELL, Amount.of(20, assetId), Amount.of(10), signer.publicKey())
+                        .chainId((byte) 'T').version(4).getSignedWith(signer))
+        );
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("txOrOrderProvider")
+    void writesIntoDirectBuffer(TransactionOrOrder txOrOrder) {
+        int offset = 5;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(offset + txOrOrder.serializedSize() + 3)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(offset);
+        txOrOrder.writeTo(buffer);
+        int end = buffer.position();
+
+        ByteBuffer bodyBuffer = ByteBuffer.allocate(txOrOrder.bodyBytes().length);
+        txOrOrder.writeBodyTo(bodyBuffer);
+
+        byte[] written = new byte[end - offset];
+        buffer.position(offset);
+        buffer.get(written);
+
+        assertAll("Written bytes must be equal to serialized ones",
+                () -> assertThat(end).isEqualTo(offset + txOrOrder.serializedSize()),
+                () -> assertThat(written).isEqualTo(txOrOrder.toBytes()),
+                () -> assertThat(bodyBuffer.hasRemaining()).isFalse(),
+                () -> assertThat(bodyBuffer.array()).isEqualTo(txOrOrder.bodyBytes())
+        );
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("txOrOrderProvider")
+    void idIsHashOfBody(TransactionOrOrder txOrOrder) {
+        assertThat(BinarySerializer.id(txOrOrder)).isEqualTo(new Id(Hash.blake(txOrOrder.bodyBytes())));
+    }
+
+    @ParameterizedTest(name = "{index}: type {0} v{1}")
+    @MethodSource("com.wavesplatform.transactions.TransactionFixtures#transactions")
+    void idOfEachTransactionTypeIsHashOfBody(int type, int version, Transaction tx) throws IOException {
+        Transaction decoded = ProtobufConverter.fromProtobuf(tx.toProtobuf());
+
+        assertAll("Streamed id must be equal to the hash of the body bytes",
+                () -> assertThat(BinarySerializer.id(tx)).isEqualTo(new Id(Hash.blake(tx.bodyBytes()))),
+                () -> assertThat(BinarySerializer.id(decoded)).isEqualTo(new Id(Hash.blake(tx.bodyBytes())))
+        );
+    }
+
+    @Test
+    void idIsComputedWithoutBodyBytes() throws IOException {
+        TransferTransaction tx = TransferTransaction.builder(signer.address((byte) 'T'), Amount.of(1))
+                .chainId((byte) 'T').version(3).getSignedWith(signer);
+        Transaction decoded = ProtobufConverter.fromProtobuf(tx.toProtobuf());
+        TransferTransaction unsigned = TransferTransaction.builder(signer.address((byte) 'T'), Amount.of(1))
+                .chainId((byte) 'T').version(2).timestamp(tx.timestamp()).sender(signer.publicKey()).getUnsigned();
+
+        assertThat(decoded.id()).isEqualTo(tx.id());
+        assertThat(unsigned.id()).isEqualTo(new Id(Hash.blake(LegacyBinarySerializer.bodyBytes(unsigned))));
+    }
+
+    @Test
+    void overflowLeavesBufferUntouched() {
+        TransferTransaction tx = TransferTransaction.builder(signer.address((byte) 'T'), Amount.of(1))
+                .chainId((byte) 'T').version(3).getSignedWith(signer);
+        ByteBuffer buffer = ByteBuffer.allocate(tx.serializedSize() - 1);
+
+        assertThatThrownBy(() -> tx.writeTo(buffer)).isInstanceOf(BufferOverflowException.class);
+        assertThat(buffer.position()).isZero();
+        assertThat(buffer.array()).isEqualTo(new byte[buffer.capacity()]);
+    }
+
+    @ParameterizedTest(name = "{index}: type {0} v{1}")
+    @MethodSource("com.wavesplatform.transactions.TransactionFixtures#transactions")
+    void decodedTransactionKeepsOriginalEncoding(int type, int version, Transaction tx) throws IOException {
+        byte[] bytes = tx.toBytes();
+        Transaction decoded = Transaction.fromBytes(bytes);
+        byte[] decodedBytes = decoded.toBytes();
+        decodedBytes[decodedBytes.length - 1]++;
+
+        assertAll("Decoded transaction must return the bytes it was decoded from",
+                () -> assertThat(Transaction.fromBytes(bytes).id()).isEqualTo(tx.id()),
+                () -> assertThat(decoded.bodyBytes()).isEqualTo(tx.bodyBytes()),
+                () -> assertThat(decoded.id()).isEqualTo(tx.id()),
+                () -> assertThat(decoded.serializedSize()).isEqualTo(bytes.length),
+                () -> assertThat(decoded.toBytes()).isEqualTo(bytes)
+        );
+    }
+
+    @ParameterizedTest(name = "{index}: type {0} v{1}")
+    @MethodSource("com.wavesplatform.transactions.TransactionFixtures#transactions")
+    void reusedBufferDoesNotChangeDecodedTransaction(int type, int version, Transaction tx) throws IOException {
+        byte[] bytes = tx.toBytes();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.clone());
+        Transaction decoded = BinarySerializer.transactionFromBytes(buffer);
+        Arrays.fill(buffer.array(), (byte) 0);
+
+        assertAll("Decoded transaction must not depend on the buffer",
+                () -> assertThat(decoded.toBytes()).isEqualTo(bytes),
+                () -> assertThat(decoded.id()).isEqualTo(tx.id()),
+                () -> assertThat(decoded.bodyBytes()).isEqualTo(tx.bodyBytes())
+        );
+    }
+
+    @ParameterizedTest(name = "{index}: type {0} v{1}")
+    @MethodSource("com.wavesplatform.transactions.TransactionFixtures#transactions")
+    void modifiedArrayDoesNotChangeDecodedTransaction(int type, int version, Transaction tx) throws IOException {
+        byte[] bytes = tx.toBytes();
+        byte[] source = bytes.clone();
+        byte[] legacySource = bytes.clone();
+        Transaction decoded = Transaction.fromBytes(source);
+        Transaction decodedWithScheme = Transaction.fromBytes(bytes.clone(), Scheme.of(tx));
+        Transaction decodedLegacy = Scheme.of(tx) == Scheme.PROTOBUF
+                ? decoded : LegacyBinarySerializer.transactionFromBytes(legacySource);
+        Arrays.fill(source, (byte) 0);
+        Arrays.fill(legacySource, (byte) 0);
+
+        assertAll("Decoded transaction must not depend on the source array",
+                () -> assertThat(decoded.toBytes()).isEqualTo(bytes),
+                () -> assertThat(decoded.id()).isEqualTo(tx.id()),
+                () -> assertThat(decoded.bodyBytes()).isEqualTo(tx.bodyBytes()),
+                () -> assertThat(decodedWithScheme.toBytes()).isEqualTo(bytes),
+                () -> assertThat(decodedLegacy.toBytes()).isEqualTo(bytes)
+        );
+    }
+
+    @ParameterizedTest(name = "v{0}")
+    @ValueSource(ints = {1, 2, 3, 4})
+    void modifiedArrayDoesNotChangeDecodedOrder(int version) throws IOException {
+        Order order = Order.builder(OrderType.SELL, Amount.of(20, assetId), Amount.of(10), signer.publicKey())
+                .chainId((byte) 'T').version(version).getSignedWith(signer);
+        byte[] bytes = order.toBytes();
+        byte[] source = bytes.clone();
+        Order decoded = Order.fromBytes(source);
+        Arrays.fill(source, (byte) 0);
+
+        assertThat(decoded.toBytes()).isEqualTo(bytes);
+        assertThat(decoded.id()).isEqualTo(order.id());
+    }
+
+    @Test
+    void legacyVersionInProtobufContainerKeepsLegacyBody() throws IOException {
+        TransferTransaction tx = TransferTransaction.builder(signer.address((byte) 'T'), Amount.of(1))
+                .chainId((byte) 'T').version(2).getSignedWith(signer);
+        Order order = Order.builder(OrderType.SELL, Amount.of(20, assetId), Amount.of(10), signer.publicKey())
+                .chainId((byte) 'T').version(3).getSignedWith(signer);
+        Transaction decoded = Transaction.fromBytes(tx.toProtobuf().toByteArray());
+        Order decodedOrder = Order.fromBytes(order.toProtobuf().toByteArray());
+
+        assertAll("Legacy versions must keep the legacy body and bytes",
+                () -> assertThat(decoded.bodyBytes()).isEqualTo(tx.bodyBytes()),
+                () -> assertThat(decoded.id()).isEqualTo(tx.id()),
+                () -> assertThat(decoded.toBytes()).isEqualTo(tx.toBytes()),
+                () -> assertThat(decodedOrder.bodyBytes()).isEqualTo(order.bodyBytes()),
+                () -> assertThat(decodedOrder.toBytes()).isEqualTo(order.toBytes())
+        );
+    }
+
+    @Test
+    void changedProofsAreEncodedAgain() throws IOException {
+        TransferTransaction tx = TransferTransaction.builder(signer.address((byte) 'T'), Amount.of(1))
+                .chainId((byte) 'T').version(3).getSignedWith(signer);
+        Transaction decoded = Transaction.fromBytes(tx.toBytes());
+        Order order = Order.builder(OrderType.SELL, Amount.of(20, assetId), Amount.of(10), signer.publicKey())
+                .chainId((byte) 'T').version(3).getSignedWith(signer);
+        Order decodedOrder = Order.fromBytes(order.toBytes());
+
+        decoded.proofs().add(Proof.as(new byte[]{1, 2, 3}));
+        decodedOrder.proofs().add(Proof.as(new byte[]{1, 2, 3}));
+        tx.proofs().add(Proof.as(new byte[]{1, 2, 3}));
+        order.proofs().add(Proof.as(new byte[]{1, 2, 3}));
+
+        assertAll("Bytes must contain the changed proofs",
+                () -> assertThat(decoded.toBytes()).isEqualTo(tx.toBytes()),
+                () -> assertThat(decoded.toProtobuf()).isEqualTo(tx.toProtobuf()),
+                () -> assertThat(decoded.serializedSize()).isEqualTo(tx.serializedSize()),
+                () -> assertThat(decodedOrder.toBytes()).isEqualTo(order.toBytes()),
+                () -> assertThat(decodedOrder.id()).isEqualTo(order.id())
+        );
+    }
+
+    static List<Transaction> batch(int size) {
+        List<Transaction> txs = new ArrayList<>();
+        for (int i = 0; i < size; i++)
+            txs.add(TransferTransaction.builder(signer.address((byte) 'T'), Amount.of(i + 1))
+                    .chainId((byte) 'T').version(i % 3 + 1).timestamp(1600000000000L + i).getSignedWith(signer));
+        return txs;
+    }
+
+    @Test
+    void batchKeepsOrderAndReportsErrorsPerRecord() {
+        List<Transaction> txs = batch(100);
+        List<byte[]> records = txs.stream().map(Transaction::toBytes).collect(Collectors.toList());
+        records.set(42, new byte[]{0, 4, 2, 1});
+
+        DecodeResult[] results = BinarySerializer.transactionsFromBytes(records, ForkJoinPool.commonPool());
+
+        assertThat(results).hasSize(txs.size());
+        for (int i = 0; i < results.length; i++)
+            if (i == 42)
+                assertThat(results[i].isSuccess()).isFalse();
+            else
+                assertThat(results[i].transaction()).isEqualTo(txs.get(i));
+        assertThat(results[42].error()).isInstanceOf(IllegalArgumentException.class);
+        assertThat(results[42].transaction()).isNull();
+    }
+
+    @Test
+    void batchOfFramedRecords() throws IOException {
+        List<Transaction> txs = batch(50);
+        BytesWriter lengthPrefixed = new BytesWriter();
+        ByteArrayOutputStream delimited = new ByteArrayOutputStream();
+        for (Transaction tx : txs) {
+            lengthPrefixed.writeInt(tx.toBytes().length).write(tx.toBytes());
+            tx.toProtobuf().writeDelimitedTo(delimited);
+        }
+        ByteBuffer prefixedBuffer = ByteBuffer.wrap(lengthPrefixed.getBytes());
+
+        DecodeResult[] prefixedResults = BinarySerializer.transactionsFromBytes(
+                prefixedBuffer, TransactionReader.Framing.LENGTH_PREFIXED, Runnable::run);
+        DecodeResult[] delimitedResults = BinarySerializer.transactionsFromBytes(
+                ByteBuffer.wrap(delimited.toByteArray()), TransactionReader.Framing.PROTOBUF_DELIMITED,
+                ForkJoinPool.commonPool());
+
+        assertThat(Arrays.stream(prefixedResults).map(DecodeResult::transaction)).containsExactlyElementsOf(txs);
+        assertThat(Arrays.stream(delimitedResults).map(DecodeResult::transaction)).containsExactlyElementsOf(txs);
+        assertThat(prefixedBuffer.position()).isZero();
+        assertThatThrownBy(() -> BinarySerializer.transactionsFromBytes(
+                ByteBuffer.wrap(lengthPrefixed.getBytes(), 0, 10), TransactionReader.Framing.LENGTH_PREFIXED, Runnable::run))
+                .isInstanceOf(EOFException.class);
+    }
+}
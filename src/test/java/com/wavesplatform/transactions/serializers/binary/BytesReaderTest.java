@@ -0,0 +1,78 @@
+package com.wavesplatform.transactions.serializers.binary;
+
+import com.wavesplatform.crypto.Bytes;
+import com.wavesplatform.transactions.TransferTransaction;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Alias;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.Base58String;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BytesReaderTest {
+
+    @Test
+    void readsPrimitivesFromDirectBufferWithOffset() {
+        byte[] bytes = new BytesWriter()
+                .write((byte) 99)
+                .writeShort((short) -2)
+                .writeInt(Integer.MIN_VALUE)
+                .writeLong(Long.MAX_VALUE)
+                .writeArrayWithLength("key".getBytes())
+                .getBytes();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        buffer.get();
+
+        BytesReader reader = new BytesReader(buffer);
+
+        assertThat(reader.readShort()).isEqualTo((short) -2);
+        assertThat(reader.readInt()).isEqualTo(Integer.MIN_VALUE);
+        assertThat(reader.readLong()).isEqualTo(Long.MAX_VALUE);
+        assertThat(reader.readStringWithLength()).isEqualTo("key");
+        assertThat(reader.hasNext()).isFalse();
+        assertThat(reader.position()).isEqualTo(bytes.length - 1);
+        assertThat(buffer.position()).isEqualTo(1);
+    }
+
+    @Test
+    void sliceIsViewOfSource() {
+        byte[] bytes = Bytes.of((byte) 0, (byte) 2, (byte) 7, (byte) 8, (byte) 9);
+        BytesReader reader = new BytesReader(bytes);
+
+        ByteBuffer slice = reader.readSliceWithLength();
+
+        assertThat(slice.remaining()).isEqualTo(2);
+        assertThat(slice.get(0)).isEqualTo((byte) 7);
+        assertThat(reader.readByte()).isEqualTo((byte) 9);
+    }
+
+    @Test
+    void underflowIsIllegalArgument() {
+        BytesReader reader = new BytesReader(new byte[3], 1, 2);
+
+        assertThatThrownBy(reader::readInt)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("4 bytes requested");
+    }
+
+    @Test
+    void transactionFromDirectBuffer() {
+        TransferTransaction tx = TransferTransaction
+                .builder(Alias.as((byte) 'T', "alice"), Amount.of(100))
+                .attachment(new Base58String("attachment"))
+                .chainId((byte) 'T')
+                .version(2)
+                .getSignedWith(PrivateKey.fromSeed("seed"));
+        byte[] bytes = tx.toBytes();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 3);
+        buffer.put(new byte[3]).put(bytes).flip();
+        buffer.position(3);
+
+        assertThat(LegacyBinarySerializer.transactionFromBytes(buffer)).isEqualTo(tx);
+    }
+}
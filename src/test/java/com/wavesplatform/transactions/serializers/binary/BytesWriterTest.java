@@ -1,8 +1,10 @@
 package com.wavesplatform.transactions.serializers.binary;
 
+import com.wavesplatform.crypto.Bytes;
 import com.wavesplatform.transactions.invocation.StringArg;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.util.Collections;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -17,4 +19,41 @@ public class BytesWriterTest {
                 .writeArguments(Collections.singletonList(emojiArg))
                 .getBytes()).containsExactly(0, 0, 0, 1, 2, 0, 0, 0, 4, -16, -97, -97, -95);
     }
+
+    @Test
+    void primitivesAreBigEndian() {
+        assertThat(new BytesWriter()
+                .writeShort((short) 0x0102)
+                .writeInt(0x03040506)
+                .writeLong(0x0708090A0B0C0D0EL)
+                .getBytes()).containsExactly(Bytes.concat(
+                        Bytes.fromShort((short) 0x0102),
+                        Bytes.fromInt(0x03040506),
+                        Bytes.fromLong(0x0708090A0B0C0D0EL)));
+    }
+
+    @Test
+    void growsBeyondInitialCapacity() throws IOException {
+        BytesWriter writer = new BytesWriter(1);
+        byte[] expected = new byte[1000];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = (byte) i;
+            writer.write((byte) i);
+        }
+        writer.asOutputStream().write(new byte[]{1, 2, 3}, 1, 2);
+
+        assertThat(writer.size()).isEqualTo(1002);
+        assertThat(writer.getBytes()).containsExactly(Bytes.concat(expected, Bytes.of((byte) 2, (byte) 3)));
+    }
+
+    @Test
+    void exactCapacityIsNotCopiedAndStaysIntactAfterReset() {
+        BytesWriter writer = new BytesWriter(4).writeInt(42);
+        byte[] bytes = writer.getBytes();
+
+        writer.reset().writeInt(7);
+
+        assertThat(bytes).containsExactly(Bytes.fromInt(42));
+        assertThat(writer.getBytes()).containsExactly(Bytes.fromInt(7));
+    }
 }
@@ -0,0 +1,139 @@
+package com.wavesplatform.transactions.serializers.binary;
+
+import com.google.protobuf.CodedOutputStream;
+import com.wavesplatform.transactions.CreateAliasTransaction;
+import com.wavesplatform.transactions.DataTransaction;
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.TransferTransaction;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.data.IntegerEntry;
+import com.wavesplatform.transactions.data.StringEntry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TransactionReaderTest {
+
+    static PrivateKey signer = PrivateKey.fromSeed("seed");
+
+    static List<Transaction> transactions(int version) {
+        return Arrays.asList(
+                TransferTransaction.builder(signer.address((byte) 'T'), Amount.of(1))
+                        .chainId((byte) 'T').version(version).getSignedWith(signer),
+                CreateAliasTransaction.builder("alice")
+                        .chainId((byte) 'T').version(version).getSignedWith(signer),
+                DataTransaction.builder(StringEntry.as("key", "value"), IntegerEntry.as("int", 1))
+                        .chainId((byte) 'T').version(Math.min(version, 2)).getSignedWith(signer)
+        );
+    }
+
+    @Test
+    void protobufDelimitedRecords() throws IOException {
+        List<Transaction> txs = transactions(3);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (Transaction tx : txs)
+            tx.toProtobuf().writeDelimitedTo(out);
+
+        TransactionReader reader = new TransactionReader(
+                Channels.newChannel(new ByteArrayInputStream(out.toByteArray())),
+                TransactionReader.Framing.PROTOBUF_DELIMITED, 16);
+
+        assertThat(reader.stream().collect(Collectors.toList())).isEqualTo(txs);
+        assertThat(reader.read()).isNull();
+    }
+
+    @Test
+    void protobufRecordKeepsOriginalEncoding() throws IOException {
+        Transaction tx = transactions(3).get(0);
+        // unknown varint field 15, which is skipped by the parser but stays in the original bytes
+        byte[] record = new BytesWriter().write(tx.toProtobuf().toByteArray()).write(new byte[]{15 << 3, 1}).getBytes();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CodedOutputStream output = CodedOutputStream.newInstance(out);
+        output.writeByteArrayNoTag(record);
+        output.flush();
+
+        Transaction read = TransactionReader.ofProtobuf(new ByteArrayInputStream(out.toByteArray())).read();
+
+        assertThat(read).isEqualTo(tx);
+        assertThat(read.toBytes()).isEqualTo(record);
+    }
+
+    @Test
+    void nonBlockingChannelIsRejected() throws IOException {
+        Pipe pipe = Pipe.open();
+        pipe.source().configureBlocking(false);
+
+        try {
+            assertThatThrownBy(() -> TransactionReader.ofProtobuf(pipe.source()))
+                    .isInstanceOf(IllegalArgumentException.class);
+        } finally {
+            pipe.source().close();
+            pipe.sink().close();
+        }
+    }
+
+    @Test
+    void channelWithoutProgressIsError() {
+        ReadableByteChannel idle = new ReadableByteChannel() {
+            @Override
+            public int read(ByteBuffer dst) {
+                return 0;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        assertThatThrownBy(() -> TransactionReader.ofLengthPrefixed(idle).read())
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("blocking mode");
+    }
+
+    @Test
+    void lengthPrefixedRecordsOfAnyScheme() throws IOException {
+        List<Transaction> txs = transactions(2);
+        BytesWriter writer = new BytesWriter();
+        for (Transaction tx : txs) {
+            writer.writeInt(tx.toBytes().length).write(tx.toBytes());
+        }
+        Transaction protobufTx = transactions(3).get(0);
+        writer.writeInt(protobufTx.toBytes().length).write(protobufTx.toBytes());
+
+        try (TransactionReader reader = TransactionReader.ofLengthPrefixed(new ByteArrayInputStream(writer.getBytes()))) {
+            for (Transaction tx : txs)
+                assertThat(reader.next()).isEqualTo(tx);
+            assertThat(reader.next()).isEqualTo(protobufTx);
+            assertThat(reader.hasNext()).isFalse();
+        }
+    }
+
+    @Test
+    void truncatedRecordIsError() {
+        byte[] bytes = transactions(2).get(0).toBytes();
+        byte[] input = new BytesWriter().writeInt(bytes.length).write(Arrays.copyOf(bytes, bytes.length - 1)).getBytes();
+
+        TransactionReader reader = TransactionReader.ofLengthPrefixed(new ByteArrayInputStream(input));
+
+        assertThatThrownBy(reader::read).isInstanceOf(EOFException.class);
+    }
+}
@@ -0,0 +1,182 @@
+package com.wavesplatform.transactions.serializers.eth;
+
+import com.wavesplatform.transactions.EthereumTransaction;
+import com.wavesplatform.transactions.MetamaskHelper;
+import com.wavesplatform.transactions.account.Address;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.AssetId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.Sign;
+import org.web3j.crypto.SignedRawTransaction;
+import org.web3j.crypto.TransactionDecoder;
+import org.web3j.crypto.TransactionEncoder;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class EthRawTransactionTest {
+
+    static Credentials credentials = MetamaskHelper.generateCredentials(
+            "river denial defense vintage umbrella upon lumber bleak wave wasp demise behind", 1);
+
+    static Stream<String> signedTransactions() {
+        RawTransaction legacy = RawTransaction.createEtherTransaction(BigInteger.valueOf(1600000000000L),
+                EthereumTransaction.DEFAULT_GAS_PRICE, BigInteger.valueOf(100000),
+                "0xfff689d6fea7aba445868536036452faf366fee6", BigInteger.TEN.pow(12));
+        return Stream.of(
+                "0xf8728601816d987be28502540be400830186a094fff689d6fea7aba445868536036452faf" +
+                        "366fee68609184e72a0008081c9a04d6024005e6eca364324cdd9b8018ad8c0d9d97ef34058cf1088367190e166d9a017c80004" +
+                        "614c38245351ede25d1447ee089a1a068d4d45d0c8b14b9b7c640e00",
+                "0xf873860189d376da988502540be400830186a094b4a384b911b2b055f4f45fd69a4b06e9f6b9ab2d874" +
+                        "70de4df8200008081d1a085ccf91a21722978ad4ee0ed218f96281c2d2d10d9d5d1b0d52e2c49c106d83fa07e83b04b57b1d" +
+                        "a7822eaac0a7dac65debf33f74e600467f2e9dc1a4a13778781",
+                erc20Transfer().toRawHexString(),
+                Numeric.toHexString(TransactionEncoder.signMessage(legacy, credentials))
+        );
+    }
+
+    static EthereumTransaction erc20Transfer() {
+        return EthereumTransaction.transfer(Address.as("3FnTLD1F3auKYaujGRz3aPjvfe1aCzo51tH"),
+                Amount.of(5_000000L, AssetId.as("5EiF5XiRVCUNW5M3dKXwCeMxem7YZHCDYgCwAtgpXHGT")),
+                EthereumTransaction.DEFAULT_GAS_PRICE, (byte) 'E', 100000, 1637671778141L, credentials.getEcKeyPair());
+    }
+
+    @ParameterizedTest
+    @MethodSource("signedTransactions")
+    void fieldsAreEqualToWeb3jDecoder(String hex) {
+        SignedRawTransaction expected = (SignedRawTransaction) TransactionDecoder.decode(hex);
+        byte[] bytes = Numeric.hexStringToByteArray(hex);
+        ByteBuffer buffer = ByteBuffer.allocate(bytes.length + 2);
+        buffer.put((byte) 1).put(bytes).put((byte) 2).position(1).limit(1 + bytes.length);
+        EthRawTransaction raw = EthRawTransaction.decode(buffer);
+
+        assertAll("Fields must be equal to the ones decoded by web3j",
+                () -> assertThat(raw.nonce()).isEqualTo(expected.getNonce()),
+                () -> assertThat(raw.gasPrice()).isEqualTo(expected.getGasPrice()),
+                () -> assertThat(raw.gasLimit()).isEqualTo(expected.getGasLimit()),
+                () -> assertThat(Numeric.toHexString(raw.to())).isEqualTo(expected.getTo()),
+                () -> assertThat(raw.value()).isEqualTo(expected.getValue()),
+                () -> assertThat(Numeric.toHexStringNoPrefix(raw.data())).isEqualTo(expected.getData()),
+                () -> assertThat(raw.signatureData()).isEqualTo(expected.getSignatureData()),
+                () -> assertThat(raw.chainId()).isEqualTo(expected.getChainId()),
+                () -> assertThat(EthRawTransaction.decode(bytes).signatureData()).isEqualTo(expected.getSignatureData()),
+                () -> assertThat(buffer.position()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    void wavesTransferAmountIsDividedByMultiplier() {
+        EthereumTransaction tx = EthereumTransaction.transfer(Address.as("3FnTLD1F3auKYaujGRz3aPjvfe1aCzo51tH"),
+                Amount.of(123), EthereumTransaction.DEFAULT_GAS_PRICE, (byte) 'E', 100000, 1637671778141L,
+                credentials.getEcKeyPair());
+        EthereumTransaction parsed = EthereumTransaction.parse(tx.toBytes());
+
+        assertAll("Wei of the Waves transfer must be divided by the multiplier",
+                () -> assertThat(EthRawTransaction.decode(tx.toBytes()).value())
+                        .isEqualTo(BigInteger.valueOf(1_230_000_000_000L)),
+                () -> assertThat(((EthereumTransaction.Transfer) parsed.payload()).amount()).isEqualTo(Amount.of(123))
+        );
+    }
+
+    @Test
+    void erc20TransferAmountIsTakenAsIs() {
+        EthereumTransaction tx = erc20Transfer();
+        byte[] data = EthRawTransaction.decode(tx.toBytes()).data();
+        EthereumTransaction parsed = EthereumTransaction.parse(tx.toBytes());
+        EthereumTransaction.Transfer transfer = (EthereumTransaction.Transfer) parsed.payload();
+
+        assertAll("ERC20 transfer must be parsed with its recipient and the encoded amount",
+                () -> assertThat(new BigInteger(1, Arrays.copyOfRange(data, 4 + 32, data.length)))
+                        .isEqualTo(BigInteger.valueOf(5_000000L)),
+                () -> assertThat(transfer.recipient()).isEqualTo(Address.as("3FnTLD1F3auKYaujGRz3aPjvfe1aCzo51tH")),
+                () -> assertThat(transfer.amount().value()).isEqualTo(5_000000L),
+                () -> assertThat(transfer.amount().assetId().bytes()).isEqualTo(Arrays.copyOf(
+                        AssetId.as("5EiF5XiRVCUNW5M3dKXwCeMxem7YZHCDYgCwAtgpXHGT").bytes(), 20)),
+                () -> assertThat(parsed.sender()).isEqualTo(tx.sender()),
+                () -> assertThat(parsed.toBytes()).isEqualTo(tx.toBytes())
+        );
+    }
+
+    @Test
+    void erc20AmountLargerThanLongIsRejected() {
+        byte[] data = Arrays.copyOf(EthRawTransaction.decode(erc20Transfer().toBytes()).data(),
+                EthRawTransaction.ERC20_TRANSFER_DATA_LENGTH);
+        byte[] amount = BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE).toByteArray();
+        Arrays.fill(data, 4 + 32, data.length, (byte) 0);
+        System.arraycopy(amount, 0, data, data.length - amount.length, amount.length);
+        RawTransaction tx = RawTransaction.createTransaction(BigInteger.valueOf(1637671778141L),
+                EthereumTransaction.DEFAULT_GAS_PRICE, BigInteger.valueOf(100000),
+                "0xfff689d6fea7aba445868536036452faf366fee6", BigInteger.ZERO, Numeric.toHexString(data));
+        byte[] signed = TransactionEncoder.signMessage(tx, 'E', credentials);
+
+        assertThat(EthRawTransaction.decode(signed).isErc20Transfer()).isTrue();
+        assertThatThrownBy(() -> EthereumTransaction.parse(signed))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("9223372036854775808")
+                .hasCauseInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void legacyTransactionWithoutChainIdIsRejected() {
+        String legacy = signedTransactions().skip(3).findFirst().orElseThrow(IllegalStateException::new);
+
+        assertThat(EthRawTransaction.decode(Numeric.hexStringToByteArray(legacy)).chainId()).isNull();
+        assertThatThrownBy(() -> EthereumTransaction.parse(legacy))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    static byte[] signedWithV(long v) {
+        RawTransaction tx = RawTransaction.createEtherTransaction(BigInteger.ONE,
+                EthereumTransaction.DEFAULT_GAS_PRICE, BigInteger.valueOf(100000),
+                "0xfff689d6fea7aba445868536036452faf366fee6", BigInteger.TEN.pow(12));
+        return TransactionEncoder.encode(tx, new Sign.SignatureData(
+                BigInteger.valueOf(v).toByteArray(), new byte[32], new byte[32]));
+    }
+
+    @Test
+    void invalidVIsRejected() {
+        assertAll("Signature v must be 27, 28 or at least 35",
+                () -> assertThat(EthRawTransaction.decode(signedWithV(28)).chainId()).isNull(),
+                () -> assertThat(EthRawTransaction.decode(signedWithV(35 + 2 * 'E')).chainId()).isEqualTo('E'),
+                () -> assertThatThrownBy(() -> EthRawTransaction.decode(signedWithV(0)).chainId())
+                        .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("v"),
+                () -> assertThatThrownBy(() -> EthRawTransaction.decode(signedWithV(30)).chainId())
+                        .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("v"),
+                () -> assertThatThrownBy(() -> EthereumTransaction.parse(signedWithV(34)))
+                        .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("v"),
+                () -> assertThatThrownBy(() -> EthereumTransaction.parse(signedWithV(35 + 2 * 256)))
+                        .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("256")
+        );
+    }
+
+    @Test
+    void malformedBytesAreRejected() {
+        byte[] bytes = erc20Transfer().toBytes();
+        byte[] typed = new byte[bytes.length + 1];
+        typed[0] = 2;
+        System.arraycopy(bytes, 0, typed, 1, bytes.length);
+
+        assertAll("Malformed transactions must be rejected",
+                () -> assertThatThrownBy(() -> EthRawTransaction.decode(Arrays.copyOf(bytes, bytes.length - 1)))
+                        .isInstanceOf(IllegalArgumentException.class),
+                () -> assertThatThrownBy(() -> EthRawTransaction.decode(Arrays.copyOf(bytes, bytes.length + 1)))
+                        .isInstanceOf(IllegalArgumentException.class),
+                () -> assertThatThrownBy(() -> EthRawTransaction.decode(typed))
+                        .isInstanceOf(IllegalArgumentException.class),
+                () -> assertThatThrownBy(() -> EthRawTransaction.decode(new byte[0]))
+                        .isInstanceOf(IllegalArgumentException.class)
+        );
+    }
+
+}
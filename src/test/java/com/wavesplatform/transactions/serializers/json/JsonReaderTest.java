@@ -0,0 +1,176 @@
+package com.wavesplatform.transactions.serializers.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.wavesplatform.transactions.DataTransaction;
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.WavesConfig;
+import com.wavesplatform.transactions.common.ChainId;
+import com.wavesplatform.transactions.exchange.Order;
+import com.wavesplatform.transactions.serializers.TransactionCodec;
+import com.wavesplatform.transactions.serializers.TransactionCodecs;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.web3j.utils.Numeric;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.JSON_MAPPER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class JsonReaderTest {
+
+    @BeforeAll
+    static void beforeAll() {
+        WavesConfig.chainId('T');
+    }
+
+    @AfterAll
+    static void afterAll() {
+        WavesConfig.chainId(ChainId.MAINNET);
+    }
+
+    static JsonNode reversed(JsonNode json) {
+        if (json.isArray()) {
+            List<JsonNode> elements = new ArrayList<>();
+            json.forEach(e -> elements.add(reversed(e)));
+            return JSON_MAPPER.createArrayNode().addAll(elements);
+        } else if (!json.isObject())
+            return json;
+
+        List<String> names = new ArrayList<>();
+        Iterator<String> it = json.fieldNames();
+        it.forEachRemaining(names::add);
+        Collections.reverse(names);
+        ObjectNode result = JSON_MAPPER.createObjectNode();
+        for (String name : names)
+            result.set(name, reversed(json.get(name)));
+        return result;
+    }
+
+    @ParameterizedTest(name = "{index}: type {0} v{1}")
+    @MethodSource({"com.wavesplatform.transactions.TransactionFixtures#transactions",
+            "com.wavesplatform.transactions.TransactionFixtures#edgeCases"})
+    void transactionIsEqualToReadFromTree(int type, int version, Transaction tx) throws IOException {
+        ObjectNode tree = (ObjectNode) JsonSerializer.toJsonObject(tx);
+        tree.put("height", 100).putObject("stateChanges").putArray("data").addObject().put("key", "k");
+        String json = tree.toString();
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        Transaction expected = JsonSerializer.fromJson(JSON_MAPPER.readTree(json));
+
+        assertAll("Streamed transaction must be equal to the one read from the tree",
+                () -> assertThat(JsonReader.fromJson(json)).isEqualTo(expected),
+                () -> assertThat(JsonReader.fromJson(bytes)).isEqualTo(expected),
+                () -> assertThat(JsonReader.fromJson(new StringReader(json))).isEqualTo(expected),
+                () -> assertThat(JsonReader.fromJson(new ByteArrayInputStream(bytes))).isEqualTo(expected),
+                () -> assertThat(JsonReader.fromJson(ByteBuffer.wrap(bytes))).isEqualTo(expected),
+                () -> assertThat(JsonReader.fromJson(direct)).isEqualTo(expected),
+                () -> assertThat(direct.position()).isZero(),
+                () -> assertThat(JsonReader.fromJson(reversed(tree).toString())).isEqualTo(expected),
+                () -> assertThat(JsonReader.fromJson(json).id()).isEqualTo(tx.id())
+        );
+    }
+
+    @ParameterizedTest(name = "{index}: type {0} v{1}")
+    @MethodSource("com.wavesplatform.transactions.TransactionFixtures#transactions")
+    void codecGetsTreeOfItsTypeOnly(int type, int version, Transaction tx) throws IOException {
+        JsonNode tree = JsonSerializer.toJsonObject(tx);
+        Transaction expected = JsonSerializer.fromJson(tree);
+        List<String> decoded = new ArrayList<>();
+        TransactionCodecs.register(new TransactionCodec<DataTransaction>() {
+            @Override
+            public int type() {
+                return DataTransaction.TYPE;
+            }
+
+            @Override
+            public DataTransaction fromJson(JsonNode json) {
+                decoded.add(json.toString());
+                return null;
+            }
+        });
+
+        try (JsonParser parser = JSON_MAPPER.getFactory().createParser("[" + reversed(tree) + "," + tree + "]")) {
+            parser.nextToken();
+            parser.nextToken();
+            Transaction first = JsonReader.fromJson(parser);
+            assertThat(parser.currentToken()).isEqualTo(JsonToken.END_OBJECT);
+            parser.nextToken();
+            Transaction second = JsonReader.fromJson(parser);
+
+            assertAll("Codec must get the whole object of its type, others must be streamed",
+                    () -> assertThat(first).isEqualTo(expected),
+                    () -> assertThat(second).isEqualTo(expected),
+                    () -> assertThat(parser.nextToken()).isEqualTo(JsonToken.END_ARRAY),
+                    () -> assertThat(decoded).containsExactlyElementsOf(type == DataTransaction.TYPE
+                            ? Arrays.asList(reversed(tree).toString(), tree.toString()) : Collections.emptyList())
+            );
+        } finally {
+            TransactionCodecs.unregister(DataTransaction.TYPE);
+        }
+    }
+
+    @ParameterizedTest(name = "{index}: type {0} v{1}")
+    @MethodSource("com.wavesplatform.transactions.TransactionFixtures#ethereumTransactions")
+    void ethereumTransactionIsEqualToReadFromTree(int type, int version, Transaction tx) throws IOException {
+        ObjectNode tree = (ObjectNode) JsonSerializer.toJsonObject(tx);
+        tree.put("bytes", Numeric.toHexString(tx.toBytes()));
+        ObjectNode payload = (ObjectNode) tree.get("payload");
+        if (payload.has("assetId")) // the node names the asset of an Ethereum transfer "asset"
+            payload.set("asset", payload.remove("assetId"));
+        String json = tree.toString();
+        Transaction expected = JsonSerializer.fromJson(JSON_MAPPER.readTree(json));
+
+        assertAll("Streamed transaction must be equal to the one read from the tree",
+                () -> assertThat(expected.id()).isEqualTo(tx.id()),
+                () -> assertThat(JsonReader.fromJson(json)).isEqualTo(expected),
+                () -> assertThat(JsonReader.fromJson(reversed(tree).toString())).isEqualTo(expected)
+        );
+    }
+
+    @ParameterizedTest(name = "{index}: {0} v{1}")
+    @MethodSource("com.wavesplatform.transactions.TransactionFixtures#orders")
+    void orderIsEqualToReadFromTree(String type, int version, Order order) throws IOException {
+        JsonNode tree = JsonSerializer.toJsonObject(order);
+        Order expected = JsonSerializer.orderFromJson(tree);
+
+        assertAll("Streamed order must be equal to the one read from the tree",
+                () -> assertThat(expected.id()).isEqualTo(order.id()),
+                () -> assertThat(JsonReader.orderFromJson(tree.toString())).isEqualTo(expected),
+                () -> assertThat(JsonReader.orderFromJson(reversed(tree).toString())).isEqualTo(expected)
+        );
+    }
+
+    @Test
+    void malformedJsonIsRejected() {
+        assertAll("Malformed transactions must be rejected",
+                () -> assertThatThrownBy(() -> JsonReader.fromJson("[]"))
+                        .isInstanceOf(IOException.class),
+                () -> assertThatThrownBy(() -> JsonReader.fromJson("{\"type\":4,\"fee\":1}"))
+                        .isInstanceOf(IOException.class).hasMessageContaining("timestamp"),
+                () -> assertThatThrownBy(() -> JsonReader.fromJson("{\"type\":4,\"fee\":{},\"timestamp\":1}"))
+                        .isInstanceOf(IOException.class),
+                () -> assertThatThrownBy(() -> JsonReader.fromJson("{\"type\":99,\"fee\":1,\"timestamp\":1}"))
+                        .isInstanceOf(IOException.class)
+        );
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.wavesplatform.transactions.serializers.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.wavesplatform.transactions.TransactionFixtures;
+import com.wavesplatform.transactions.TransactionOrOrder;
+import com.wavesplatform.transactions.exchange.Order;
+import com.wavesplatform.transactions.exchange.OrderType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.JSON_MAPPER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class JsonWriterTest {
+
+    @ParameterizedTest(name = "{index}: type {0} v{1}")
+    @MethodSource({"com.wavesplatform.transactions.TransactionFixtures#transactions",
+            "com.wavesplatform.transactions.TransactionFixtures#edgeCases",
+            "com.wavesplatform.transactions.TransactionFixtures#ethereumTransactions",
+            "com.wavesplatform.transactions.TransactionFixtures#orders"})
+    void outputIsEqualForAllTargets(Object type, int version, TransactionOrOrder txOrOrder) throws IOException {
+        String expected = JsonWriter.toJson(txOrOrder);
+        byte[] expectedBytes = expected.getBytes(StandardCharsets.UTF_8);
+
+        StringWriter writer = new StringWriter();
+        JsonWriter.write(txOrOrder, writer);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        JsonWriter.write(txOrOrder, stream);
+        ByteBuffer buffer = ByteBuffer.allocate(expectedBytes.length + 1);
+        JsonWriter.write(txOrOrder, buffer);
+        StringWriter generated = new StringWriter();
+        try (JsonGenerator generator = JSON_MAPPER.getFactory().createGenerator(generated)) {
+            generator.writeStartArray();
+            JsonWriter.write(txOrOrder, generator);
+            generator.writeEndArray();
+        }
+
+        assertAll("Streamed JSON must be equal for all targets",
+                () -> assertThat(JsonSerializer.toJsonObject(txOrOrder).toString()).isEqualTo(expected),
+                () -> assertThat(JsonSerializer.toPrettyJson(txOrOrder))
+                        .isEqualTo(JsonSerializer.toJsonObject(txOrOrder).toPrettyString()),
+                () -> assertThat(writer.toString()).isEqualTo(expected),
+                () -> assertThat(stream.toByteArray()).isEqualTo(expectedBytes),
+                () -> assertThat(buffer.position()).isEqualTo(expectedBytes.length),
+                () -> assertThat(generated.toString()).isEqualTo("[" + expected + "]")
+        );
+    }
+
+    @Test
+    void targetsAreNotClosed() throws IOException {
+        Order order = TransactionFixtures.order(OrderType.BUY, 4);
+        boolean[] closed = new boolean[2];
+        StringWriter writer = new StringWriter() {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        ByteArrayOutputStream stream = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[1] = true;
+            }
+        };
+
+        JsonWriter.write(order, writer);
+        JsonWriter.write(order, stream);
+
+        assertThat(closed).containsExactly(false, false);
+        assertThat(writer.toString()).isEqualTo(JsonSerializer.toJson(order));
+    }
+
+}
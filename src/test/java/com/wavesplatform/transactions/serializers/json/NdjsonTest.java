@@ -0,0 +1,128 @@
+package com.wavesplatform.transactions.serializers.json;
+
+import com.wavesplatform.transactions.DataTransaction;
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.TransferTransaction;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.data.StringEntry;
+import com.wavesplatform.transactions.exchange.Order;
+import com.wavesplatform.transactions.exchange.OrderType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class NdjsonTest {
+
+    static byte chainId = 'T';
+    static PrivateKey signer = PrivateKey.fromSeed("seed");
+
+    static List<Transaction> transactions(int count) {
+        List<Transaction> txs = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+            txs.add(i % 2 == 0
+                    ? TransferTransaction.builder(signer.address(chainId), Amount.of(i + 1))
+                    .chainId(chainId).version(3).getSignedWith(signer)
+                    : DataTransaction.builder(StringEntry.as("key", "значение\n" + i))
+                    .chainId(chainId).getSignedWith(signer));
+        return txs;
+    }
+
+    @ParameterizedTest(name = "{0} transactions")
+    @ValueSource(ints = {0, 1, 5000})
+    void transactionsAreWrittenAndReadByLines(int count) throws IOException {
+        List<Transaction> txs = transactions(count);
+        String expected = txs.stream().map(tx -> tx.toJson() + "\n").collect(Collectors.joining());
+
+        ByteArrayOutputStream sequential = new ByteArrayOutputStream();
+        try (NdjsonWriter writer = new NdjsonWriter(sequential)) {
+            writer.writeAll(txs);
+        }
+        ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+        try (NdjsonWriter writer = new NdjsonWriter(parallel)) {
+            if (count > 0)
+                writer.write(txs.get(0));
+            writer.writeAll(txs.subList(Math.min(1, count), count), ForkJoinPool.commonPool());
+        }
+        byte[] bytes = sequential.toByteArray();
+        List<Transaction> read;
+        try (NdjsonReader reader = new NdjsonReader(new ByteArrayInputStream(bytes))) {
+            read = reader.readAll();
+        }
+
+        assertAll("Lines must be equal to the JSON of the transactions",
+                () -> assertThat(new String(bytes, StandardCharsets.UTF_8)).isEqualTo(expected),
+                () -> assertThat(parallel.toByteArray()).isEqualTo(bytes),
+                () -> assertThat(read).isEqualTo(txs),
+                () -> assertThat(NdjsonReader.readAll(bytes, ForkJoinPool.commonPool())).isEqualTo(txs),
+                () -> assertThat(NdjsonReader.readAll(bytes, Runnable::run)).isEqualTo(txs)
+        );
+    }
+
+    @Test
+    void ordersAreWrittenAndReadByLines() throws IOException {
+        List<Order> orders = Arrays.asList(
+                Order.builder(OrderType.BUY, Amount.of(20), Amount.of(10), signer.publicKey())
+                        .chainId(chainId).getSignedWith(signer),
+                Order.builder(OrderType.SELL, Amount.of(20), Amount.of(10), signer.publicKey())
+                        .chainId(chainId).version(3).getSignedWith(signer));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (NdjsonWriter writer = new NdjsonWriter(output)) {
+            writer.writeAll(orders);
+        }
+
+        try (NdjsonReader reader = new NdjsonReader(new ByteArrayInputStream(output.toByteArray()))) {
+            assertThat(reader.readOrder().id()).isEqualTo(orders.get(0).id());
+            assertThat(reader.readOrder().id()).isEqualTo(orders.get(1).id());
+            assertThat(reader.readOrder()).isNull();
+        }
+        assertThat(NdjsonReader.readAllOrders(output.toByteArray(), ForkJoinPool.commonPool()))
+                .extracting(Order::id).containsExactly(orders.get(0).id(), orders.get(1).id());
+    }
+
+    @Test
+    void objectsMustBeOnTheirOwnLines() {
+        List<Transaction> txs = transactions(2);
+        List<String> inputs = Arrays.asList(
+                txs.get(0).toJson() + txs.get(1).toJson() + "\n",
+                txs.get(0).toJson() + "\n" + txs.get(1).toJson() + " " + txs.get(0).toJson() + "\n",
+                txs.get(0).toJson() + "\n" + txs.get(1).toPrettyJson() + "\n");
+
+        for (String input : inputs) {
+            byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+            assertAll("Both reading paths must reject the input",
+                    () -> assertThatThrownBy(() -> new NdjsonReader(new ByteArrayInputStream(bytes)).readAll())
+                            .isInstanceOf(IOException.class).hasMessageContaining("JSON object"),
+                    () -> assertThatThrownBy(() -> NdjsonReader.readAll(bytes, ForkJoinPool.commonPool()))
+                            .isInstanceOf(IOException.class).hasMessageContaining("JSON object")
+            );
+        }
+    }
+
+    @Test
+    void malformedLineIsRejected() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (NdjsonWriter writer = new NdjsonWriter(output)) {
+            writer.writeAll(transactions(10_000));
+        }
+        output.write("{\"type\":4}\n".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> NdjsonReader.readAll(output.toByteArray(), ForkJoinPool.commonPool()))
+                .isInstanceOf(IOException.class).hasMessageContaining("fee");
+    }
+
+}
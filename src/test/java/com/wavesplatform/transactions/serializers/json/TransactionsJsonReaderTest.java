@@ -0,0 +1,112 @@
+package com.wavesplatform.transactions.serializers.json;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.TransferTransaction;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Amount;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.JSON_MAPPER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class TransactionsJsonReaderTest {
+
+    static byte chainId = 'T';
+    static PrivateKey signer = PrivateKey.fromSeed("seed");
+
+    static List<Transaction> transactions(int count) {
+        List<Transaction> txs = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+            txs.add(TransferTransaction.builder(signer.address(chainId), Amount.of(i + 1))
+                    .chainId(chainId).version(3).getSignedWith(signer));
+        return txs;
+    }
+
+    static List<Transaction> readAll(TransactionsJsonReader reader) throws IOException {
+        List<Transaction> txs = new ArrayList<>();
+        try (TransactionsJsonReader r = reader) {
+            r.forEachRemaining(txs::add);
+        }
+        return txs;
+    }
+
+    @ParameterizedTest(name = "{0} transactions")
+    @ValueSource(ints = {0, 1, 1000})
+    void transactionsAreReadOneByOne(int count) throws IOException {
+        List<Transaction> txs = transactions(count);
+        String array = JSON_MAPPER.writeValueAsString(txs);
+        ObjectNode block = JSON_MAPPER.createObjectNode().put("height", 1);
+        block.putObject("nxt-consensus").put("base-target", 1);
+        block.set("transactions", JSON_MAPPER.readTree(array));
+        block.put("signature", "1");
+
+        assertAll("Transactions must be read in the order of the array",
+                () -> assertThat(readAll(TransactionsJsonReader.of(array.getBytes(StandardCharsets.UTF_8))))
+                        .isEqualTo(txs),
+                () -> assertThat(readAll(TransactionsJsonReader.of(new StringReader("[" + array + "]"))))
+                        .isEqualTo(txs),
+                () -> assertThat(readAll(TransactionsJsonReader.of(
+                        new ByteArrayInputStream(block.toString().getBytes(StandardCharsets.UTF_8))))).isEqualTo(txs)
+        );
+    }
+
+    @Test
+    void firstTransactionsAreReadBeforeTheEndOfInput() throws IOException {
+        Transaction tx = transactions(1).get(0);
+        byte[] head = ("[" + tx.toJson() + ",").getBytes(StandardCharsets.UTF_8);
+        InputStream truncated = new InputStream() {
+            boolean sent;
+
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (sent)
+                    throw new IOException("Connection reset");
+                sent = true;
+                System.arraycopy(head, 0, b, off, head.length);
+                return head.length;
+            }
+        };
+
+        try (TransactionsJsonReader reader = TransactionsJsonReader.of(truncated)) {
+            assertThat(reader.next()).isEqualTo(tx);
+            assertThatThrownBy(reader::hasNext).isInstanceOf(UncheckedIOException.class)
+                    .hasMessageContaining("Connection reset");
+            assertThat(reader.hasNext()).isFalse();
+        }
+    }
+
+    @Test
+    void malformedJsonIsRejected() {
+        assertAll("Malformed arrays must be rejected",
+                () -> assertThatThrownBy(() -> TransactionsJsonReader.of("{\"height\":1}".getBytes()))
+                        .isInstanceOf(IOException.class),
+                () -> assertThatThrownBy(() -> TransactionsJsonReader.of("1".getBytes()))
+                        .isInstanceOf(IOException.class),
+                () -> assertThatThrownBy(() -> readAll(TransactionsJsonReader.of("[1]".getBytes())))
+                        .isInstanceOf(UncheckedIOException.class),
+                () -> assertThat(readAll(TransactionsJsonReader.of("[[]]".getBytes())))
+                        .isEqualTo(Collections.emptyList())
+        );
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.wavesplatform.transactions.serializers.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.wavesplatform.transactions.*;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.AssetId;
+import com.wavesplatform.transactions.common.ChainId;
+import com.wavesplatform.transactions.data.*;
+import com.wavesplatform.transactions.exchange.Order;
+import com.wavesplatform.transactions.exchange.OrderType;
+import com.wavesplatform.transactions.invocation.*;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.JSON_MAPPER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class WavesTransactionsModuleTest {
+
+    static byte chainId = 'T';
+    static PrivateKey signer = PrivateKey.fromSeed("seed");
+    static PrivateKey matcher = PrivateKey.fromSeed("matcher");
+    static AssetId assetId = AssetId.as("2wBMrTzvncodBbNiXaXju4Z9QpdCFtMp9ZoCRrykk9Dk");
+
+    @BeforeAll
+    static void beforeAll() {
+        WavesConfig.chainId('T');
+    }
+
+    @AfterAll
+    static void afterAll() {
+        WavesConfig.chainId(ChainId.MAINNET);
+    }
+
+    public static class Response {
+        public int height;
+        public List<Transaction> transactions;
+        public Order order;
+        public List<DataEntry> data;
+        public List<Arg> args;
+        public Amount amount;
+    }
+
+    static Response response() {
+        Response response = new Response();
+        response.height = 100;
+        response.amount = Amount.of(5, assetId);
+        response.data = Arrays.asList(IntegerEntry.as("int", Long.MAX_VALUE), BooleanEntry.as("bool", true),
+                BinaryEntry.as("bin", new byte[]{1, 2}), StringEntry.as("str", "value"), DeleteEntry.as("deleted"));
+        response.args = Arrays.asList(IntegerArg.as(1), BinaryArg.as(new byte[]{1}), StringArg.as("s"),
+                BooleanArg.as(true), ListArg.as(IntegerArg.as(2), StringArg.as("t")));
+        response.order = Order.builder(OrderType.BUY, Amount.of(20, assetId), Amount.of(10), matcher.publicKey())
+                .chainId(chainId).getSignedWith(signer);
+        response.transactions = Arrays.asList(
+                new GenesisTransaction(signer.address(chainId), 100, 1600000000000L),
+                TransferTransaction.builder(signer.address(chainId), Amount.of(1, assetId))
+                        .chainId(chainId).getSignedWith(signer),
+                DataTransaction.builder(response.data).chainId(chainId).getSignedWith(signer),
+                InvokeScriptTransaction.builder(signer.address(chainId), Function.as("call", response.args))
+                        .payments(Amount.of(1), response.amount).chainId(chainId).getSignedWith(signer),
+                ExchangeTransaction.builder(response.order,
+                        Order.builder(OrderType.SELL, Amount.of(20, assetId), Amount.of(10), matcher.publicKey())
+                                .chainId(chainId).getSignedWith(signer), 20, 10, 3, 4)
+                        .chainId(chainId).getSignedWith(matcher));
+        return response;
+    }
+
+    @Test
+    void responseIsBoundInSinglePass() throws IOException {
+        Response expected = response();
+        String json = JSON_MAPPER.writeValueAsString(expected);
+        JsonNode tree = JSON_MAPPER.readTree(json);
+        Response actual = JSON_MAPPER.readValue(json, Response.class);
+
+        assertAll("Response must be bound with the module serializers and deserializers",
+                () -> assertThat(tree.get("transactions").get(1))
+                        .isEqualTo(JSON_MAPPER.readTree(expected.transactions.get(1).toJson())),
+                () -> assertThat(JSON_MAPPER.writeValueAsString(expected.transactions.get(1)))
+                        .isEqualTo(expected.transactions.get(1).toJson()),
+                () -> assertThat(tree.get("amount"))
+                        .isEqualTo(JSON_MAPPER.createObjectNode().put("amount", 5).put("assetId", assetId.toString())),
+                () -> assertThat(actual.height).isEqualTo(100),
+                () -> assertThat(actual.transactions).isEqualTo(expected.transactions),
+                () -> assertThat(actual.order).isEqualTo(expected.order),
+                () -> assertThat(actual.data).isEqualTo(expected.data),
+                () -> assertThat(actual.args).isEqualTo(expected.args),
+                () -> assertThat(actual.amount).isEqualTo(expected.amount),
+                () -> assertThat(JSON_MAPPER.writeValueAsString(actual)).isEqualTo(json)
+        );
+    }
+
+    @Test
+    void unknownFieldsOfTransactionAreSkipped() throws IOException {
+        Transaction tx = response().transactions.get(1);
+        ObjectNode json = (ObjectNode) JSON_MAPPER.readTree(tx.toJson());
+        json.put("height", 1).putObject("stateChanges").putArray("invokes").addObject().put("dApp", "x");
+
+        assertThat(JSON_MAPPER.treeToValue(json, Transaction.class)).isEqualTo(tx);
+        assertThat(JSON_MAPPER.convertValue(tx, Transaction.class)).isEqualTo(tx);
+    }
+
+    @Test
+    void malformedEntriesAreRejected() throws IOException {
+        assertThat(JSON_MAPPER.readValue("{\"key\":\"k\",\"value\":null}", DataEntry.class))
+                .isEqualTo(DeleteEntry.as("k"));
+        assertThat(JSON_MAPPER.readValue("{\"key\":\"k\"}", DataEntry.class))
+                .isEqualTo(DeleteEntry.as("k"));
+        assertAll("Entries without a type, of unknown type or without a value must be rejected",
+                () -> assertThatThrownBy(() -> JSON_MAPPER.readValue("{\"key\":\"k\",\"value\":5}", DataEntry.class))
+                        .isInstanceOf(IOException.class).hasMessageContaining("type"),
+                () -> assertThatThrownBy(() -> JSON_MAPPER.readValue(
+                        "{\"key\":\"k\",\"type\":\"long\",\"value\":5}", DataEntry.class))
+                        .isInstanceOf(IOException.class).hasMessageContaining("long"),
+                () -> assertThatThrownBy(() -> JSON_MAPPER.readValue(
+                        "{\"key\":\"k\",\"type\":\"boolean\"}", DataEntry.class))
+                        .isInstanceOf(IOException.class).hasMessageContaining("value"),
+                () -> assertThatThrownBy(() -> JSON_MAPPER.readValue(
+                        "{\"key\":\"k\",\"type\":\"integer\",\"value\":null}", DataEntry.class))
+                        .isInstanceOf(IOException.class).hasMessageContaining("value"),
+                () -> assertThatThrownBy(() -> JsonReader.fromJson(DataTransaction.builder(IntegerEntry.as("k", 1))
+                        .chainId(chainId).getSignedWith(signer).toJson().replace("\"integer\"", "\"long\"")))
+                        .isInstanceOf(IOException.class).hasMessageContaining("long")
+        );
+    }
+
+}